@@ -0,0 +1,95 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Evaluations per second of four ANDed clauses written in the worst order for a skewed workload.
+ *
+ * <p>The clauses cost 400, 200, 100 and 10 {@link Blackhole#consumeCPU(long)} tokens and are true for 99%, 95%, 80%
+ * and 10% of the inputs, so the cheapest clause, written last, decides most results. {@code writtenOrder} evaluates
+ * them as {@link LazyCondition#and(BooleanSupplier)} would, in order. {@code adaptive} is an
+ * {@link AdaptiveCondition#allOf(BooleanSupplier...)} with the default settings, and {@code bestOrder} is the
+ * {@link LazyCondition} written in the best order, as the limit. Inputs are uniformly random, from a fixed seed.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdaptiveConditionBenchmark {
+
+    private static final long[] COSTS = {400, 200, 100, 10};
+    private static final int[] PERCENT_TRUE = {99, 95, 80, 10};
+    private static final int INPUTS = 1 << 12;
+    private static final long SEED = 42L;
+
+    private final boolean[][] inputs = new boolean[INPUTS][COSTS.length];
+    private boolean[] input;
+    private int index;
+
+    private LazyCondition writtenOrder;
+    private LazyCondition bestOrder;
+    private AdaptiveCondition adaptive;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(SEED);
+        for (final boolean[] row : inputs) {
+            for (int clause = 0; clause < COSTS.length; clause++) {
+                row[clause] = random.nextInt(100) < PERCENT_TRUE[clause];
+            }
+        }
+        final BooleanSupplier[] clauses = new BooleanSupplier[COSTS.length];
+        for (int clause = 0; clause < COSTS.length; clause++) {
+            final int id = clause;
+            clauses[clause] = () -> {
+                Blackhole.consumeCPU(COSTS[id]);
+                return input[id];
+            };
+        }
+        writtenOrder = LazyCondition.when(clauses[0]).and(clauses[1]).and(clauses[2]).and(clauses[3]);
+        bestOrder = LazyCondition.when(clauses[3]).and(clauses[2]).and(clauses[1]).and(clauses[0]);
+        adaptive = AdaptiveCondition.allOf(clauses);
+    }
+
+    private void nextInput() {
+        input = inputs[index];
+        index = (index + 1) & (INPUTS - 1);
+    }
+
+    @Benchmark
+    public boolean writtenOrder() {
+        nextInput();
+        return writtenOrder.isTrue();
+    }
+
+    @Benchmark
+    public boolean adaptive() {
+        nextInput();
+        return adaptive.isTrue();
+    }
+
+    @Benchmark
+    public boolean bestOrder() {
+        nextInput();
+        return bestOrder.isTrue();
+    }
+
+}
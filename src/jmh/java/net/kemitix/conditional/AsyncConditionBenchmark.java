@@ -0,0 +1,117 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures chains of {@link AsyncCondition#and} over clauses completed on a shared executor, some of whose threads
+ * are kept busy by background work.
+ *
+ * <p>{@code depth} is the number of clauses in the chain and {@code load} the percentage of the executor's
+ * threads that are busy. The blocking baseline waits for each clause in turn, as a caller of {@link Condition}
+ * must.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncConditionBenchmark {
+
+    private static final int THREADS = 4;
+    private static final int IN_FLIGHT = 32;
+
+    @Param({"1", "8", "64"})
+    public int depth;
+
+    @Param({"0", "75"})
+    public int load;
+
+    private ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Setup
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        running.set(true);
+        for (int i = 0; i < THREADS * load / 100; i++) {
+            executor.execute(() -> {
+                while (running.get()) {
+                    Thread.yield();
+                }
+            });
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        running.set(false);
+        executor.shutdownNow();
+    }
+
+    private CompletionStage<Boolean> lookup(final boolean value) {
+        return CompletableFuture.supplyAsync(() -> value, executor);
+    }
+
+    private CompletionStage<Boolean> chain(final boolean first) {
+        AsyncCondition condition = AsyncCondition.where(lookup(first));
+        for (int i = 1; i < depth; i++) {
+            condition = condition.and(() -> lookup(true));
+        }
+        return condition.stage();
+    }
+
+    @Benchmark
+    public boolean asyncChain() {
+        return chain(true).toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public boolean asyncChainShortCircuit() {
+        return chain(false).toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public boolean blockingChain() {
+        Condition condition = Condition.where(lookup(true).toCompletableFuture().join());
+        for (int i = 1; i < depth; i++) {
+            condition = condition.and(() -> lookup(true).toCompletableFuture().join());
+        }
+        return condition.isTrue();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(IN_FLIGHT)
+    public int asyncChainsInFlight() {
+        final CompletableFuture<?>[] chains = new CompletableFuture<?>[IN_FLIGHT];
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            chains[i] = chain(true).toCompletableFuture();
+        }
+        CompletableFuture.allOf(chains).join();
+        return chains.length;
+    }
+
+}
@@ -0,0 +1,95 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares filtering a 64K row batch with {@link BatchCondition} against a {@link Condition} per row.
+ *
+ * <p>Each invocation filters the whole batch and is counted as one operation per row, so the throughput figures
+ * are rows per second. {@code selectivity} is the percentage of rows each comparison selects.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(BatchConditionBenchmark.ROWS)
+public class BatchConditionBenchmark {
+
+    static final int ROWS = 1 << 16;
+    private static final int RANGE = 100;
+    private static final long SEED = 42L;
+
+    @Param({"1", "10", "50", "90"})
+    public int selectivity;
+
+    private int[] quantities;
+    private double[] prices;
+    private long[] mask;
+    private BatchCondition batch;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(SEED);
+        quantities = random.ints(ROWS, 0, RANGE).toArray();
+        prices = random.doubles(ROWS, 0, RANGE).toArray();
+        mask = new long[MaskBits.words(ROWS)];
+        batch = BatchCondition.lessThan(quantities, selectivity)
+                .and(BatchCondition.lessThan(prices, selectivity));
+    }
+
+    @Benchmark
+    public long[] batch() {
+        batch.select(ROWS, mask);
+        return mask;
+    }
+
+    @Benchmark
+    public long[] batchSingleColumn() {
+        BatchCondition.lessThan(quantities, selectivity).select(ROWS, mask);
+        return mask;
+    }
+
+    @Benchmark
+    public BitSet perRowCondition() {
+        final BitSet selected = new BitSet(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            final int row = i;
+            Condition.where(quantities[row] < selectivity)
+                    .and(() -> prices[row] < selectivity)
+                    .then(() -> selected.set(row));
+        }
+        return selected;
+    }
+
+    @Benchmark
+    public long[] baselineLoop() {
+        for (int i = 0; i < ROWS; i++) {
+            if (quantities[i] < selectivity && prices[i] < selectivity) {
+                mask[i >>> 6] |= 1L << i;
+            } else {
+                mask[i >>> 6] &= ~(1L << i);
+            }
+        }
+        return mask;
+    }
+
+}
@@ -0,0 +1,71 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Supplies the boolean inputs for the benchmarks.
+ *
+ * <p>{@code CONSTANT_TRUE} and {@code CONSTANT_FALSE} let the branch predictor learn the outcome,
+ * {@code UNPREDICTABLE} is a fixed-seed random sequence where each input is true half of the time.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+public class BranchInputs {
+
+    private static final int SIZE = 1 << 12;
+    private static final int MASK = SIZE - 1;
+    private static final long SEED = 42L;
+
+    @Param({"CONSTANT_TRUE", "CONSTANT_FALSE", "UNPREDICTABLE"})
+    public Branching branching;
+
+    private boolean[] flags;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        flags = branching.flags(SIZE, new Random(SEED));
+    }
+
+    /**
+     * The next input in the sequence.
+     *
+     * @return the next input
+     */
+    public boolean next() {
+        return flags[index++ & MASK];
+    }
+
+    /**
+     * How the inputs are distributed.
+     */
+    public enum Branching {
+        CONSTANT_TRUE,
+        CONSTANT_FALSE,
+        UNPREDICTABLE;
+
+        boolean[] flags(final int size, final Random random) {
+            final boolean[] flags = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                switch (this) {
+                    case CONSTANT_TRUE:
+                        flags[i] = true;
+                        break;
+                    case CONSTANT_FALSE:
+                        flags[i] = false;
+                        break;
+                    default:
+                        flags[i] = random.nextBoolean();
+                }
+            }
+            return flags;
+        }
+    }
+
+}
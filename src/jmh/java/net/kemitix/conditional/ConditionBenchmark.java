@@ -0,0 +1,161 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Compares each {@link Condition} entry point with the equivalent hand-written {@code if}.
+ *
+ * <p>Methods prefixed {@code baseline} are the hand-written equivalents.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConditionBenchmark {
+
+    private final Exception exception = new Exception("benchmark");
+
+    private int counter;
+    private Action thenAction;
+    private Action otherwiseAction;
+    private Supplier<Boolean> secondClause;
+    private BooleanSupplier secondPrimitiveClause;
+    private Function<Boolean, Condition> flatMapper;
+    private Supplier<Exception> exceptionSupplier;
+    private BranchInputs second;
+
+    @Setup
+    public void setUp(final BranchInputs inputs) {
+        second = inputs;
+        thenAction = () -> counter++;
+        otherwiseAction = () -> counter--;
+        secondClause = () -> second.next();
+        secondPrimitiveClause = () -> second.next();
+        flatMapper = Condition::where;
+        exceptionSupplier = () -> exception;
+    }
+
+    @Benchmark
+    public int whereThenOtherwise(final BranchInputs inputs) {
+        Condition.where(inputs.next())
+                .then(thenAction)
+                .otherwise(otherwiseAction);
+        return counter;
+    }
+
+    @Benchmark
+    public int baselineIfElse(final BranchInputs inputs) {
+        if (inputs.next()) {
+            counter++;
+        } else {
+            counter--;
+        }
+        return counter;
+    }
+
+    @Benchmark
+    public boolean andSupplier(final BranchInputs inputs) {
+        return Condition.where(inputs.next())
+                .and(secondClause)
+                .isTrue();
+    }
+
+    @Benchmark
+    public boolean andBooleanSupplier(final BranchInputs inputs) {
+        return Condition.where(inputs.next())
+                .and(secondPrimitiveClause)
+                .isTrue();
+    }
+
+    @Benchmark
+    public boolean baselineAnd(final BranchInputs inputs) {
+        return inputs.next() && second.next();
+    }
+
+    @Benchmark
+    public boolean orSupplier(final BranchInputs inputs) {
+        return Condition.where(inputs.next())
+                .or(secondClause)
+                .isTrue();
+    }
+
+    @Benchmark
+    public boolean orBooleanSupplier(final BranchInputs inputs) {
+        return Condition.where(inputs.next())
+                .or(secondPrimitiveClause)
+                .isTrue();
+    }
+
+    @Benchmark
+    public boolean baselineOr(final BranchInputs inputs) {
+        return inputs.next() || second.next();
+    }
+
+    @Benchmark
+    public boolean andCondition(final BranchInputs inputs) {
+        return Condition.where(inputs.next())
+                .and(Condition.where(inputs.next()))
+                .isTrue();
+    }
+
+    @Benchmark
+    public boolean baselineAndEager(final BranchInputs inputs) {
+        final boolean first = inputs.next();
+        final boolean other = inputs.next();
+        return first && other;
+    }
+
+    @Benchmark
+    public boolean flatMap(final BranchInputs inputs) {
+        return Condition.where(inputs.next())
+                .flatMap(flatMapper)
+                .isTrue();
+    }
+
+    @Benchmark
+    public boolean baselineFlatMap(final BranchInputs inputs) {
+        return inputs.next();
+    }
+
+    @Benchmark
+    public boolean thenThrow(final BranchInputs inputs) {
+        try {
+            Condition.where(inputs.next())
+                    .thenThrow(exceptionSupplier);
+            return false;
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+    @Benchmark
+    public boolean baselineThrow(final BranchInputs inputs) {
+        try {
+            if (inputs.next()) {
+                throw exceptionSupplier.get();
+            }
+            return false;
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+}
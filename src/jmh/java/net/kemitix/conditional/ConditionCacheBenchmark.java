@@ -0,0 +1,107 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link ConditionCache#get(Object)} from 1, 8 and 64 threads sharing one cache of 10K keys.
+ *
+ * <p>{@code keys} is the number of distinct keys looked up, uniformly at random: with 10K every lookup soon hits,
+ * with 100K about nine in ten miss and evict. A miss tests a clause that does {@code COST}
+ * {@link Blackhole#consumeCPU(long)} tokens of work, as a slow lookup would. {@code uncached} tests that clause every
+ * time.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConditionCacheBenchmark {
+
+    private static final int MAXIMUM_SIZE = 10_000;
+    private static final long COST = 1_000;
+    private static final int LOOKUPS = 1 << 16;
+
+    @Param({"10000", "100000"})
+    public int keys;
+
+    private ConditionCache<Integer> cache;
+
+    private static boolean slowClause(final Integer key) {
+        Blackhole.consumeCPU(COST);
+        return key % 2 == 0;
+    }
+
+    @Setup
+    public void setUp() {
+        cache = ConditionCache.<Integer>builder()
+                .maximumSize(MAXIMUM_SIZE)
+                .build(ConditionCacheBenchmark::slowClause);
+    }
+
+    /**
+     * The keys each thread looks up, in turn.
+     */
+    @State(Scope.Thread)
+    public static class Lookups {
+
+        private final Integer[] keys = new Integer[LOOKUPS];
+        private int next;
+
+        @Setup
+        public void setUp(final ConditionCacheBenchmark benchmark) {
+            final Random random = new Random(Thread.currentThread().getId());
+            for (int i = 0; i < LOOKUPS; i++) {
+                keys[i] = random.nextInt(benchmark.keys);
+            }
+        }
+
+        Integer next() {
+            next = (next + 1) & (LOOKUPS - 1);
+            return keys[next];
+        }
+
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean oneThread(final Lookups lookups) {
+        return cache.get(lookups.next()).isTrue();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean eightThreads(final Lookups lookups) {
+        return cache.get(lookups.next()).isTrue();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean sixtyFourThreads(final Lookups lookups) {
+        return cache.get(lookups.next()).isTrue();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean uncached(final Lookups lookups) {
+        return slowClause(lookups.next());
+    }
+
+}
@@ -0,0 +1,66 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares interpreted evaluation of expressions of 2 to 128 clauses with those compiled by
+ * {@link ConditionCompiler} and {@link BytecodeCompiler}.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConditionCompilerBenchmark {
+
+    private LazyCondition compiled;
+    private MethodHandle handle;
+    private LazyCondition bytecode;
+
+    @Setup
+    public void setUp(final ConditionTrees trees) {
+        compiled = ConditionCompiler.compile(trees.expression);
+        handle = ConditionCompiler.toMethodHandle(trees.expression);
+        bytecode = BytecodeCompiler.compile(trees.expression);
+    }
+
+    @Benchmark
+    public boolean interpreted(final ConditionTrees trees) {
+        trees.nextRow();
+        return trees.expression.isTrue();
+    }
+
+    @Benchmark
+    public boolean compiled(final ConditionTrees trees) {
+        trees.nextRow();
+        return compiled.isTrue();
+    }
+
+    @Benchmark
+    public boolean methodHandle(final ConditionTrees trees) throws Throwable {
+        trees.nextRow();
+        return (boolean) handle.invokeExact();
+    }
+
+    @Benchmark
+    public boolean bytecode(final ConditionTrees trees) {
+        trees.nextRow();
+        return bytecode.isTrue();
+    }
+
+}
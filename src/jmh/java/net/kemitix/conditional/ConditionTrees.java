@@ -0,0 +1,79 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A {@link LazyCondition} of alternating {@code and} and {@code or} over a number of clauses, as might be assembled
+ * from configuration.
+ *
+ * <p>The clauses use several lambda shapes so the call sites within the expression see more than one type.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+public class ConditionTrees {
+
+    private static final int ROWS = 1 << 10;
+    private static final int MASK = ROWS - 1;
+    private static final long SEED = 42L;
+    private static final int SHAPES = 4;
+
+    @Param({"2", "8", "32", "128"})
+    public int clauses;
+
+    /**
+     * The expression.
+     */
+    public LazyCondition expression;
+
+    private boolean[][] rows;
+    private boolean[] row;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(SEED);
+        rows = new boolean[ROWS][clauses];
+        for (final boolean[] r : rows) {
+            for (int i = 0; i < clauses; i++) {
+                r[i] = random.nextBoolean();
+            }
+        }
+        row = rows[0];
+        expression = LazyCondition.when(clause(0));
+        for (int i = 1; i < clauses; i++) {
+            if (i % 2 == 0) {
+                expression = expression.and(clause(i));
+            } else {
+                expression = expression.or(clause(i));
+            }
+        }
+    }
+
+    private BooleanSupplier clause(final int i) {
+        switch (i % SHAPES) {
+            case 0:
+                return () -> row[i];
+            case 1:
+                return () -> !row[i];
+            case 2:
+                return () -> row[i] ^ row[0];
+            default:
+                return () -> row[i] | row[0];
+        }
+    }
+
+    /**
+     * Move the clauses on to the next row of inputs.
+     */
+    public void nextRow() {
+        row = rows[index++ & MASK];
+    }
+
+}
@@ -0,0 +1,97 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Compares {@link ConditionalCollectors} with {@link Collectors} driven by a {@link Condition} or {@link Value} per
+ * element, over a stream of 50M elements.
+ *
+ * <p>Each invocation collects the whole stream and is counted as one operation per element, so the throughput
+ * figures are elements per second. {@code parallel} selects a sequential or parallel stream.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@OperationsPerInvocation(ConditionalCollectorsBenchmark.ELEMENTS)
+public class ConditionalCollectorsBenchmark {
+
+    static final int ELEMENTS = 50_000_000;
+
+    private static final Predicate<Integer> THIRD = i -> i % 3 == 0;
+    private static final Predicate<Integer> NEXT_THIRD = i -> i % 3 == 1;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private Stream<Integer> elements() {
+        final Stream<Integer> elements = IntStream.range(0, ELEMENTS).boxed();
+        if (parallel) {
+            return elements.parallel();
+        }
+        return elements;
+    }
+
+    @Benchmark
+    public Map<Boolean, Long> partition() {
+        return elements().collect(ConditionalCollectors.partition(THIRD, Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<Boolean, Long> partitioningByCondition() {
+        return elements().collect(Collectors.partitioningBy(
+                i -> Condition.where(THIRD.test(i)).isTrue(),
+                Collectors.counting()));
+    }
+
+    @Benchmark
+    public List<Long> route() {
+        return elements().collect(ConditionalCollectors.route(Arrays.asList(THIRD, NEXT_THIRD), Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> groupingByCondition() {
+        return elements().collect(Collectors.groupingBy(
+                i -> Value.where(Condition.where(THIRD.test(i)), () -> 0,
+                        () -> Value.where(Condition.where(NEXT_THIRD.test(i)), () -> 1, () -> 2)),
+                Collectors.counting()));
+    }
+
+    @Benchmark
+    public long mapping() {
+        return elements().collect(ConditionalCollectors.mapping(
+                THIRD, i -> i, i -> -i,
+                Collectors.summingLong(i -> i)));
+    }
+
+    @Benchmark
+    public long mappingWithValue() {
+        return elements().collect(Collectors.mapping(
+                i -> Value.where(THIRD.test(i), () -> i, () -> -i),
+                Collectors.summingLong(i -> i)));
+    }
+
+}
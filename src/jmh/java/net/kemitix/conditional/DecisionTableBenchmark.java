@@ -0,0 +1,122 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Decisions per second from a first-match {@link DecisionTable} of 10, 100 and 1,000 rows, and from the same rules
+ * as an else-if cascade of {@link Condition} and {@link Value#where(boolean, java.util.function.Supplier,
+ * java.util.function.Supplier)}.
+ *
+ * <p>Each input has a region (of 8), a tier (of 4) and a band. Row {@code r} matches region {@code r % 8}, tier
+ * {@code r / 8 % 4} and band {@code r / 32}, testing them in that order, and the last row matches anything. The region
+ * and tier clauses are shared by many rows, so the table tests each at most once per input and skips the rows that
+ * share one that is false. The cascade tests the clauses of every row before the hit. Inputs are uniformly random,
+ * from a fixed seed.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecisionTableBenchmark {
+
+    private static final int REGIONS = 8;
+    private static final int TIERS = 4;
+    private static final int PER_BAND = REGIONS * TIERS;
+    private static final int INPUTS = 1 << 12;
+    private static final long SEED = 42L;
+
+    @Param({"10", "100", "1000"})
+    public int rows;
+
+    private DecisionTable<int[], Integer> table;
+    private Predicate<int[]>[][] rowClauses;
+    private Function<int[], Integer>[] outcomes;
+    private int[][] inputs;
+    private int index;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        final Predicate<int[]>[] regions = new Predicate[REGIONS];
+        for (int region = 0; region < REGIONS; region++) {
+            final int value = region;
+            regions[region] = input -> input[0] == value;
+        }
+        final Predicate<int[]>[] tiers = new Predicate[TIERS];
+        for (int tier = 0; tier < TIERS; tier++) {
+            final int value = tier;
+            tiers[tier] = input -> input[1] == value;
+        }
+        final DecisionTable.Builder<int[], Integer> builder = DecisionTable.builder(DecisionTable.HitPolicy.FIRST);
+        rowClauses = new Predicate[rows][];
+        outcomes = new Function[rows];
+        for (int row = 0; row < rows - 1; row++) {
+            final int band = row / PER_BAND;
+            final int outcome = row;
+            final Predicate<int[]> inBand = input -> input[2] == band;
+            rowClauses[row] = new Predicate[]{regions[row % REGIONS], tiers[row / REGIONS % TIERS], inBand};
+            outcomes[row] = input -> outcome;
+            builder.when(rowClauses[row]).then(outcomes[row]);
+        }
+        rowClauses[rows - 1] = new Predicate[0];
+        outcomes[rows - 1] = input -> -1;
+        table = builder.when().then(outcomes[rows - 1]).build();
+        final Random random = new Random(SEED);
+        final int bands = (rows + PER_BAND - 1) / PER_BAND;
+        inputs = new int[INPUTS][];
+        for (int i = 0; i < INPUTS; i++) {
+            inputs[i] = new int[]{random.nextInt(REGIONS), random.nextInt(TIERS), random.nextInt(bands)};
+        }
+    }
+
+    private int[] nextInput() {
+        final int[] input = inputs[index];
+        index = (index + 1) & (INPUTS - 1);
+        return input;
+    }
+
+    @Benchmark
+    public Integer decisionTable() {
+        return table.decide(nextInput()).orElse(null);
+    }
+
+    @Benchmark
+    public Integer cascade() {
+        return cascade(nextInput(), 0);
+    }
+
+    private Integer cascade(final int[] input, final int row) {
+        return Value.where(
+                matches(input, row),
+                () -> outcomes[row].apply(input),
+                () -> cascade(input, row + 1));
+    }
+
+    private boolean matches(final int[] input, final int row) {
+        Condition condition = Condition.where(true);
+        for (final Predicate<int[]> clause : rowClauses[row]) {
+            condition = condition.and(() -> clause.test(input));
+        }
+        return condition.isTrue();
+    }
+
+}
@@ -0,0 +1,68 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a {@link LazyCondition} built once with a {@link Condition} chain rebuilt for each evaluation.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyConditionBenchmark {
+
+    private boolean a;
+    private boolean b;
+    private boolean c;
+    private LazyCondition rule;
+
+    @Setup
+    public void setUp() {
+        rule = LazyCondition.when(() -> a)
+                .and(() -> b)
+                .or(() -> c);
+    }
+
+    private void next(final BranchInputs inputs) {
+        a = inputs.next();
+        b = inputs.next();
+        c = inputs.next();
+    }
+
+    @Benchmark
+    public boolean lazyCondition(final BranchInputs inputs) {
+        next(inputs);
+        return rule.isTrue();
+    }
+
+    @Benchmark
+    public boolean rebuiltCondition(final BranchInputs inputs) {
+        next(inputs);
+        return Condition.where(a)
+                .and(() -> b)
+                .or(() -> c)
+                .isTrue();
+    }
+
+    @Benchmark
+    public boolean baseline(final BranchInputs inputs) {
+        next(inputs);
+        return a && b || c;
+    }
+
+}
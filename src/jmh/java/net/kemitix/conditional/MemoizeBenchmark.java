@@ -0,0 +1,81 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the {@link Memoize} modes, reading a remembered result from one thread and from eight at once, and
+ * computing the first result.
+ *
+ * <p>The contended benchmarks share a single memoized supplier between all threads. {@code unmemoized} calls the
+ * underlying supplier, which does {@code COST} {@link Blackhole#consumeCPU(long)} tokens of work, each time.
+ * {@code SINGLE_THREADED} is only safe to read from several threads here because its result was computed, and
+ * published, during setup.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoizeBenchmark {
+
+    private static final long COST = 100;
+    private static final int CONTENDING_THREADS = 8;
+
+    @Param({"SINGLE_THREADED", "LOCK_FREE", "DOUBLE_CHECKED_LOCKING"})
+    public Memoize.Mode mode;
+
+    private final Supplier<Object> expensive = () -> {
+        Blackhole.consumeCPU(COST);
+        return new Object();
+    };
+    private Supplier<Object> memo;
+
+    @Setup
+    public void setUp() {
+        memo = Memoize.supplier(expensive, mode);
+        memo.get();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object uncontended() {
+        return memo.get();
+    }
+
+    @Benchmark
+    @Threads(CONTENDING_THREADS)
+    public Object contended() {
+        return memo.get();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object firstCall() {
+        return Memoize.supplier(expensive, mode).get();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object unmemoized() {
+        return expensive.get();
+    }
+
+}
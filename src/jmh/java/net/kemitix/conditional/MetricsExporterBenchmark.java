@@ -0,0 +1,71 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost on the evaluation threads of exporting probe counts to {@link ConditionMetrics}.
+ *
+ * <p>Four threads evaluate through one recording probe while a {@link MetricsExporter} reports to an
+ * {@link InMemoryMetrics} every {@code intervalMillis}; {@code 0} runs without an exporter, as the baseline. The
+ * exporter only reads the probe's counters, so the evaluations should cost the same at any interval.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsExporterBenchmark {
+
+    private static final Probe PROBE = ProbeRegistry.register("benchmark.metrics");
+
+    @Param({"0", "1", "100"})
+    private int intervalMillis;
+
+    private MetricsExporter exporter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (intervalMillis > 0) {
+            exporter = MetricsExporter.start(Duration.ofMillis(intervalMillis), new InMemoryMetrics());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (exporter != null) {
+            exporter.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean where(final BranchInputs inputs) {
+        return PROBE.where(inputs.next()).isTrue();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String value(final BranchInputs inputs) {
+        return PROBE.value(inputs.next(), () -> "yes", () -> "no");
+    }
+
+}
@@ -0,0 +1,109 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Compares the latency of {@link Condition#allOf} and {@link Condition#anyOf} with chaining {@code and}/{@code or}
+ * as the cost of each clause grows.
+ *
+ * <p>{@code cost} is the work done by each clause, in {@link Blackhole#consumeCPU(long)} tokens. All clauses are
+ * true, so {@code allOf} must evaluate every clause. The last is the only true clause for {@code anyOf}.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelConditionBenchmark {
+
+    private static final int CLAUSES = 4;
+
+    @Param({"10", "1000", "10000", "100000"})
+    public long cost;
+
+    private BooleanSupplier[] allTrue;
+    private BooleanSupplier[] lastTrue;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        allTrue = new BooleanSupplier[CLAUSES];
+        lastTrue = new BooleanSupplier[CLAUSES];
+        for (int i = 0; i < CLAUSES; i++) {
+            final boolean last = i == CLAUSES - 1;
+            allTrue[i] = () -> {
+                Blackhole.consumeCPU(cost);
+                return true;
+            };
+            lastTrue[i] = () -> {
+                Blackhole.consumeCPU(cost);
+                return last;
+            };
+        }
+        executor = Executors.newFixedThreadPool(CLAUSES);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean serialAnd() {
+        Condition condition = Condition.where(true);
+        for (final BooleanSupplier clause : allTrue) {
+            condition = condition.and(clause);
+        }
+        return condition.isTrue();
+    }
+
+    @Benchmark
+    public boolean allOfCommonPool() {
+        return Condition.allOf(allTrue).isTrue();
+    }
+
+    @Benchmark
+    public boolean allOfExecutor() {
+        return Condition.allOf(executor, allTrue).isTrue();
+    }
+
+    @Benchmark
+    public boolean serialOr() {
+        Condition condition = Condition.where(false);
+        for (final BooleanSupplier clause : lastTrue) {
+            condition = condition.or(clause);
+        }
+        return condition.isTrue();
+    }
+
+    @Benchmark
+    public boolean anyOfCommonPool() {
+        return Condition.anyOf(lastTrue).isTrue();
+    }
+
+    @Benchmark
+    public boolean anyOfExecutor() {
+        return Condition.anyOf(executor, lastTrue).isTrue();
+    }
+
+}
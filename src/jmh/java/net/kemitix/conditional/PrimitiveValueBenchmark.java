@@ -0,0 +1,99 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Compares {@link IntValue} and {@link DoubleValue} with the generic {@link Value} and the raw ternary.
+ *
+ * <p>The selected values vary with each call so the boxed {@link Value} can't use the {@link Integer} cache.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveValueBenchmark {
+
+    private int fee;
+    private IntSupplier primitiveFee;
+    private IntSupplier primitiveDiscount;
+    private Supplier<Integer> boxedFee;
+    private Supplier<Integer> boxedDiscount;
+    private DoubleSupplier primitiveScore;
+    private DoubleSupplier primitiveDefault;
+    private Supplier<Double> boxedScore;
+    private Supplier<Double> boxedDefault;
+
+    @Setup
+    public void setUp() {
+        primitiveFee = () -> fee += 1000;
+        primitiveDiscount = () -> fee -= 999;
+        boxedFee = () -> fee += 1000;
+        boxedDiscount = () -> fee -= 999;
+        primitiveScore = () -> fee * 1.5;
+        primitiveDefault = () -> fee * 0.5;
+        boxedScore = () -> fee * 1.5;
+        boxedDefault = () -> fee * 0.5;
+    }
+
+    @Benchmark
+    public int intValue(final BranchInputs inputs) {
+        return IntValue.where(inputs.next(), primitiveFee, primitiveDiscount);
+    }
+
+    @Benchmark
+    public int intValueClause(final BranchInputs inputs) {
+        return IntValue.where(inputs.next())
+                .then(primitiveFee)
+                .otherwise(primitiveDiscount);
+    }
+
+    @Benchmark
+    public int genericValue(final BranchInputs inputs) {
+        return Value.where(inputs.next(), boxedFee, boxedDiscount);
+    }
+
+    @Benchmark
+    public int baselineIntTernary(final BranchInputs inputs) {
+        return inputs.next() ? primitiveFee.getAsInt() : primitiveDiscount.getAsInt();
+    }
+
+    @Benchmark
+    public OptionalInt intValueOptional(final BranchInputs inputs) {
+        return IntValue.where(inputs.next(), primitiveFee);
+    }
+
+    @Benchmark
+    public double doubleValue(final BranchInputs inputs) {
+        return DoubleValue.where(inputs.next(), primitiveScore, primitiveDefault);
+    }
+
+    @Benchmark
+    public double genericDoubleValue(final BranchInputs inputs) {
+        return Value.where(inputs.next(), boxedScore, boxedDefault);
+    }
+
+    @Benchmark
+    public double baselineDoubleTernary(final BranchInputs inputs) {
+        return inputs.next() ? primitiveScore.getAsDouble() : primitiveDefault.getAsDouble();
+    }
+
+}
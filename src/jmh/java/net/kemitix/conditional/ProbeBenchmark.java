@@ -0,0 +1,78 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The overhead of a {@link Probe} on {@link Condition} and {@link Value} call sites, off and on.
+ *
+ * <p>{@code disabled} probes are what {@link Probe#named(String)} returns when probes are off, and should match the
+ * {@code baseline} without a probe. {@code enabled} probes record every evaluation; the {@code contended} variants
+ * share one probe between 8 threads. Each probe is held in a {@code static final} field, as recommended.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProbeBenchmark {
+
+    private static final Probe DISABLED = new DisabledProbe("benchmark.disabled");
+    private static final Probe ENABLED = new RecordingProbe("benchmark.enabled");
+
+    @Benchmark
+    public boolean baselineWhere(final BranchInputs inputs) {
+        return Condition.where(inputs.next()).isTrue();
+    }
+
+    @Benchmark
+    public boolean disabledWhere(final BranchInputs inputs) {
+        return DISABLED.where(inputs.next()).isTrue();
+    }
+
+    @Benchmark
+    public boolean enabledWhere(final BranchInputs inputs) {
+        return ENABLED.where(inputs.next()).isTrue();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean enabledWhereContended(final BranchInputs inputs) {
+        return ENABLED.where(inputs.next()).isTrue();
+    }
+
+    @Benchmark
+    public String baselineValue(final BranchInputs inputs) {
+        return Value.where(inputs.next(), () -> "yes", () -> "no");
+    }
+
+    @Benchmark
+    public String disabledValue(final BranchInputs inputs) {
+        return DISABLED.value(inputs.next(), () -> "yes", () -> "no");
+    }
+
+    @Benchmark
+    public String enabledValue(final BranchInputs inputs) {
+        return ENABLED.value(inputs.next(), () -> "yes", () -> "no");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String enabledValueContended(final BranchInputs inputs) {
+        return ENABLED.value(inputs.next(), () -> "yes", () -> "no");
+    }
+
+}
@@ -0,0 +1,130 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validations per second when a share of the inputs is rejected, for each way of rejecting.
+ *
+ * <p>{@code thenThrow} throws a new {@link IllegalArgumentException}, filling in its stack trace, as the baseline.
+ * {@code thenThrowStackless} throws a new {@link ConditionFailedException}, {@code thenFail} throws the shared one for
+ * the reason, and {@code thenReject} returns an {@link Outcome} without throwing. Each rejection is caught
+ * {@code depth} calls above the check, as it would be in a handler. {@code rejectPercent} of the inputs are rejected,
+ * uniformly at random from a fixed seed.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RejectionBenchmark {
+
+    private static final int INPUTS = 1 << 12;
+    private static final long SEED = 42L;
+    private static final String REASON = "invalid";
+
+    @Param({"1", "50", "100"})
+    private int rejectPercent;
+
+    @Param({"10", "50"})
+    private int depth;
+
+    private final boolean[] invalid = new boolean[INPUTS];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(SEED);
+        for (int i = 0; i < INPUTS; i++) {
+            invalid[i] = random.nextInt(100) < rejectPercent;
+        }
+    }
+
+    private boolean next() {
+        final boolean next = invalid[index];
+        index = (index + 1) & (INPUTS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public boolean thenThrow() {
+        try {
+            throwing(depth, next());
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean thenThrowStackless() {
+        try {
+            stackless(depth, next());
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean thenFail() {
+        try {
+            failing(depth, next());
+            return true;
+        } catch (ConditionFailedException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean thenReject() {
+        return rejecting(depth, next()).isAccepted();
+    }
+
+    private static void throwing(final int depth, final boolean invalid) throws Exception {
+        if (depth > 0) {
+            throwing(depth - 1, invalid);
+            return;
+        }
+        Condition.where(invalid).thenThrow(() -> new IllegalArgumentException(REASON));
+    }
+
+    private static void stackless(final int depth, final boolean invalid) throws Exception {
+        if (depth > 0) {
+            stackless(depth - 1, invalid);
+            return;
+        }
+        Condition.where(invalid).thenThrow(() -> new ConditionFailedException(REASON));
+    }
+
+    private static void failing(final int depth, final boolean invalid) {
+        if (depth > 0) {
+            failing(depth - 1, invalid);
+            return;
+        }
+        Condition.where(invalid).thenFail(REASON);
+    }
+
+    private static Outcome rejecting(final int depth, final boolean invalid) {
+        if (depth > 0) {
+            return rejecting(depth - 1, invalid);
+        }
+        return Condition.where(invalid).thenReject(REASON);
+    }
+
+}
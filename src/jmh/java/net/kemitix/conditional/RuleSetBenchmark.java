@@ -0,0 +1,101 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Evaluations per second of 500 rules, each the AND of five clauses, four of them (80%) drawn from 40 shared clauses
+ * and one of its own.
+ *
+ * <p>Each clause does {@code COST} {@link Blackhole#consumeCPU(long)} tokens of work and is true for three inputs in
+ * four. {@code ruleSet} evaluates the rules compiled by {@link RuleSet#compile(List)}, testing each shared clause at
+ * most once per input. {@code separateRules} evaluates each {@link LazyCondition} on its own. Inputs are uniformly
+ * random, from a fixed seed.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuleSetBenchmark {
+
+    private static final int RULES = 500;
+    private static final int SHARED = 40;
+    private static final int SHARED_PER_RULE = 4;
+    private static final long COST = 10;
+    private static final int INPUTS = 1 << 10;
+    private static final long SEED = 42L;
+
+    private final long[] inputs = new long[INPUTS];
+    private final List<LazyCondition> rules = new ArrayList<>();
+    private RuleSet ruleSet;
+    private int index;
+    private long input;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(SEED);
+        for (int i = 0; i < INPUTS; i++) {
+            inputs[i] = random.nextLong();
+        }
+        final List<BooleanSupplier> shared = new ArrayList<>();
+        for (int clause = 0; clause < SHARED; clause++) {
+            shared.add(clause(clause));
+        }
+        for (int rule = 0; rule < RULES; rule++) {
+            LazyCondition condition = LazyCondition.when(shared.get(random.nextInt(SHARED)));
+            for (int clause = 1; clause < SHARED_PER_RULE; clause++) {
+                condition = condition.and(shared.get(random.nextInt(SHARED)));
+            }
+            rules.add(condition.and(clause(SHARED + rule)));
+        }
+        ruleSet = RuleSet.compile(rules);
+    }
+
+    private BooleanSupplier clause(final int id) {
+        return () -> {
+            Blackhole.consumeCPU(COST);
+            return (Long.rotateRight(input, id) & 3) != 0;
+        };
+    }
+
+    private void nextInput() {
+        input = inputs[index];
+        index = (index + 1) & (INPUTS - 1);
+    }
+
+    @Benchmark
+    public boolean[] ruleSet() {
+        nextInput();
+        return ruleSet.evaluate();
+    }
+
+    @Benchmark
+    public boolean[] separateRules() {
+        nextInput();
+        final boolean[] results = new boolean[RULES];
+        for (int rule = 0; rule < RULES; rule++) {
+            results[rule] = rules.get(rule).isTrue();
+        }
+        return results;
+    }
+
+}
@@ -0,0 +1,297 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selections per second of a value by a string key from 4, 16 and 64 cases.
+ *
+ * <p>{@code selector} uses a {@link Selector} from {@link Value#match()}, {@code nestedWhere} a chain of
+ * {@link Value#where(boolean, java.util.function.Supplier, java.util.function.Supplier)} testing each key in turn, and
+ * {@code nativeSwitch} a {@code switch} statement on the string with the same cases. The keys are uniformly random
+ * cases, from a fixed seed.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectorBenchmark {
+
+    private static final int MAX_CASES = 64;
+    private static final String[] KEYS = new String[MAX_CASES];
+    private static final Integer[] VALUES = new Integer[MAX_CASES];
+    private static final Integer OTHERWISE = -1;
+    private static final int INPUTS = 1 << 12;
+    private static final long SEED = 42L;
+
+    static {
+        for (int i = 0; i < MAX_CASES; i++) {
+            KEYS[i] = "case" + i;
+            VALUES[i] = 1000 + i;
+        }
+    }
+
+    @Param({"4", "16", "64"})
+    public int cases;
+
+    private Selector<String, Integer> selector;
+    private final String[] inputs = new String[INPUTS];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        final Selector.Builder<String, Integer> builder = Value.match();
+        for (int i = 0; i < cases; i++) {
+            final Integer value = VALUES[i];
+            builder.when(KEYS[i], () -> value);
+        }
+        selector = builder.otherwise(() -> OTHERWISE);
+        final Random random = new Random(SEED);
+        for (int i = 0; i < INPUTS; i++) {
+            // a copy, as a key read from input would be, so equals compares the characters
+            inputs[i] = new String(KEYS[random.nextInt(cases)].toCharArray());
+        }
+    }
+
+    private String nextInput() {
+        final String input = inputs[index];
+        index = (index + 1) & (INPUTS - 1);
+        return input;
+    }
+
+    @Benchmark
+    public Integer selector() {
+        return selector.select(nextInput());
+    }
+
+    @Benchmark
+    public Integer nestedWhere() {
+        return nestedWhere(nextInput(), 0);
+    }
+
+    private Integer nestedWhere(final String key, final int from) {
+        if (from == cases) {
+            return OTHERWISE;
+        }
+        return Value.where(key.equals(KEYS[from]), () -> VALUES[from], () -> nestedWhere(key, from + 1));
+    }
+
+    @Benchmark
+    public Integer nativeSwitch() {
+        final String key = nextInput();
+        switch (cases) {
+            case 4:
+                return switch4(key);
+            case 16:
+                return switch16(key);
+            default:
+                return switch64(key);
+        }
+    }
+
+    private static Integer switch4(final String key) {
+        switch (key) {
+            case "case0":
+                return VALUES[0];
+            case "case1":
+                return VALUES[1];
+            case "case2":
+                return VALUES[2];
+            case "case3":
+                return VALUES[3];
+            default:
+                return OTHERWISE;
+        }
+    }
+
+    private static Integer switch16(final String key) {
+        switch (key) {
+            case "case0":
+                return VALUES[0];
+            case "case1":
+                return VALUES[1];
+            case "case2":
+                return VALUES[2];
+            case "case3":
+                return VALUES[3];
+            case "case4":
+                return VALUES[4];
+            case "case5":
+                return VALUES[5];
+            case "case6":
+                return VALUES[6];
+            case "case7":
+                return VALUES[7];
+            case "case8":
+                return VALUES[8];
+            case "case9":
+                return VALUES[9];
+            case "case10":
+                return VALUES[10];
+            case "case11":
+                return VALUES[11];
+            case "case12":
+                return VALUES[12];
+            case "case13":
+                return VALUES[13];
+            case "case14":
+                return VALUES[14];
+            case "case15":
+                return VALUES[15];
+            default:
+                return OTHERWISE;
+        }
+    }
+
+    private static Integer switch64(final String key) {
+        switch (key) {
+            case "case0":
+                return VALUES[0];
+            case "case1":
+                return VALUES[1];
+            case "case2":
+                return VALUES[2];
+            case "case3":
+                return VALUES[3];
+            case "case4":
+                return VALUES[4];
+            case "case5":
+                return VALUES[5];
+            case "case6":
+                return VALUES[6];
+            case "case7":
+                return VALUES[7];
+            case "case8":
+                return VALUES[8];
+            case "case9":
+                return VALUES[9];
+            case "case10":
+                return VALUES[10];
+            case "case11":
+                return VALUES[11];
+            case "case12":
+                return VALUES[12];
+            case "case13":
+                return VALUES[13];
+            case "case14":
+                return VALUES[14];
+            case "case15":
+                return VALUES[15];
+            case "case16":
+                return VALUES[16];
+            case "case17":
+                return VALUES[17];
+            case "case18":
+                return VALUES[18];
+            case "case19":
+                return VALUES[19];
+            case "case20":
+                return VALUES[20];
+            case "case21":
+                return VALUES[21];
+            case "case22":
+                return VALUES[22];
+            case "case23":
+                return VALUES[23];
+            case "case24":
+                return VALUES[24];
+            case "case25":
+                return VALUES[25];
+            case "case26":
+                return VALUES[26];
+            case "case27":
+                return VALUES[27];
+            case "case28":
+                return VALUES[28];
+            case "case29":
+                return VALUES[29];
+            case "case30":
+                return VALUES[30];
+            case "case31":
+                return VALUES[31];
+            case "case32":
+                return VALUES[32];
+            case "case33":
+                return VALUES[33];
+            case "case34":
+                return VALUES[34];
+            case "case35":
+                return VALUES[35];
+            case "case36":
+                return VALUES[36];
+            case "case37":
+                return VALUES[37];
+            case "case38":
+                return VALUES[38];
+            case "case39":
+                return VALUES[39];
+            case "case40":
+                return VALUES[40];
+            case "case41":
+                return VALUES[41];
+            case "case42":
+                return VALUES[42];
+            case "case43":
+                return VALUES[43];
+            case "case44":
+                return VALUES[44];
+            case "case45":
+                return VALUES[45];
+            case "case46":
+                return VALUES[46];
+            case "case47":
+                return VALUES[47];
+            case "case48":
+                return VALUES[48];
+            case "case49":
+                return VALUES[49];
+            case "case50":
+                return VALUES[50];
+            case "case51":
+                return VALUES[51];
+            case "case52":
+                return VALUES[52];
+            case "case53":
+                return VALUES[53];
+            case "case54":
+                return VALUES[54];
+            case "case55":
+                return VALUES[55];
+            case "case56":
+                return VALUES[56];
+            case "case57":
+                return VALUES[57];
+            case "case58":
+                return VALUES[58];
+            case "case59":
+                return VALUES[59];
+            case "case60":
+                return VALUES[60];
+            case "case61":
+                return VALUES[61];
+            case "case62":
+                return VALUES[62];
+            case "case63":
+                return VALUES[63];
+            default:
+                return OTHERWISE;
+        }
+    }
+
+}
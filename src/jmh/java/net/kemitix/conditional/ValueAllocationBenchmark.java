@@ -0,0 +1,84 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Allocation per operation of the {@link Value} pipeline.
+ *
+ * <p>Read the {@code gc.alloc.rate.norm} figure from the GC profiler. The {@code noEscapeAnalysis} variants run
+ * with escape analysis disabled to show what each form allocates before the JIT removes it.</p>
+ *
+ * <p>With {@code CONSTANT_TRUE} inputs, {@code thenOtherwise} and {@code thenOptional} measure the holder that the
+ * true side of a {@link Value.ValueClause} creates for its supplier. It is only removed when the chain is compiled
+ * and inlined, so unlike {@code where} that side is not allocation-free in every run.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueAllocationBenchmark {
+
+    private static final String TRUE = "true";
+    private static final String FALSE = "false";
+
+    private final Supplier<String> trueSupplier = () -> TRUE;
+    private final Supplier<String> falseSupplier = () -> FALSE;
+
+    @Benchmark
+    public String where(final BranchInputs inputs) {
+        return Value.where(inputs.next(), trueSupplier, falseSupplier);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-XX:-DoEscapeAnalysis")
+    public String whereNoEscapeAnalysis(final BranchInputs inputs) {
+        return Value.where(inputs.next(), trueSupplier, falseSupplier);
+    }
+
+    @Benchmark
+    public String thenOtherwise(final BranchInputs inputs) {
+        return Value.<String>where(inputs.next())
+                .then(trueSupplier)
+                .otherwise(falseSupplier);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-XX:-DoEscapeAnalysis")
+    public String thenOtherwiseNoEscapeAnalysis(final BranchInputs inputs) {
+        return Value.<String>where(inputs.next())
+                .then(trueSupplier)
+                .otherwise(falseSupplier);
+    }
+
+    @Benchmark
+    public Optional<String> thenOptional(final BranchInputs inputs) {
+        return Value.<String>where(inputs.next())
+                .then(trueSupplier)
+                .optional();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-XX:-DoEscapeAnalysis")
+    public Optional<String> thenOptionalNoEscapeAnalysis(final BranchInputs inputs) {
+        return Value.<String>where(inputs.next())
+                .then(trueSupplier)
+                .optional();
+    }
+
+}
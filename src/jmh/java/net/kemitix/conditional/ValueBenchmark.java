@@ -0,0 +1,97 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares each {@link Value} entry point with the equivalent ternary expression.
+ *
+ * <p>Methods prefixed {@code baseline} are the hand-written equivalents.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueBenchmark {
+
+    private static final String TRUE = "true";
+    private static final String FALSE = "false";
+
+    private final Supplier<String> trueSupplier = () -> TRUE;
+    private final Supplier<String> falseSupplier = () -> FALSE;
+
+    @Benchmark
+    public String whereBoolean(final BranchInputs inputs) {
+        return Value.where(inputs.next(), trueSupplier, falseSupplier);
+    }
+
+    @Benchmark
+    public String whereCondition(final BranchInputs inputs) {
+        return Value.where(Condition.where(inputs.next()), trueSupplier, falseSupplier);
+    }
+
+    @Benchmark
+    public String baselineTernary(final BranchInputs inputs) {
+        return inputs.next() ? trueSupplier.get() : falseSupplier.get();
+    }
+
+    @Benchmark
+    public Optional<String> whereBooleanOptional(final BranchInputs inputs) {
+        return Value.where(inputs.next(), trueSupplier);
+    }
+
+    @Benchmark
+    public Optional<String> whereConditionOptional(final BranchInputs inputs) {
+        return Value.where(Condition.where(inputs.next()), trueSupplier);
+    }
+
+    @Benchmark
+    public Optional<String> baselineOptional(final BranchInputs inputs) {
+        return inputs.next() ? Optional.ofNullable(trueSupplier.get()) : Optional.empty();
+    }
+
+    @Benchmark
+    public String whereThenOtherwise(final BranchInputs inputs) {
+        return Value.<String>where(inputs.next())
+                .then(trueSupplier)
+                .otherwise(falseSupplier);
+    }
+
+    @Benchmark
+    public Optional<String> whereThenOptional(final BranchInputs inputs) {
+        return Value.<String>where(inputs.next())
+                .then(trueSupplier)
+                .optional();
+    }
+
+    @Benchmark
+    public String whereAndThenOtherwise(final BranchInputs inputs) {
+        final boolean second = inputs.next();
+        return Value.<String>where(inputs.next())
+                .and(() -> second)
+                .then(trueSupplier)
+                .otherwise(falseSupplier);
+    }
+
+    @Benchmark
+    public String baselineAndTernary(final BranchInputs inputs) {
+        final boolean second = inputs.next();
+        return inputs.next() && second ? trueSupplier.get() : falseSupplier.get();
+    }
+
+}
@@ -0,0 +1,125 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the bulk {@link DoubleValue#select} and {@link Value#select} with a loop calling
+ * {@link DoubleValue#where} or {@link Value#where} for each element.
+ *
+ * <p>Each invocation fills a million elements and is counted as one operation per element.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(ValueSelectBenchmark.SIZE)
+public class ValueSelectBenchmark {
+
+    static final int SIZE = 1 << 20;
+    private static final long SEED = 42L;
+
+    private boolean[] conditions;
+    private Mask flags;
+    private Mask words;
+    private double[] scores;
+    private double[] penalties;
+    private double[] result;
+    private String[] labels;
+    private String[] defaults;
+    private String[] chosen;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(SEED);
+        conditions = new boolean[SIZE];
+        final long[] packed = new long[MaskBits.words(SIZE)];
+        for (int i = 0; i < SIZE; i++) {
+            conditions[i] = random.nextBoolean();
+            packed[i >>> 6] |= (conditions[i] ? 1L : 0L) << i;
+        }
+        flags = Mask.of(conditions);
+        words = Mask.of(packed);
+        scores = random.doubles(SIZE).toArray();
+        penalties = random.doubles(SIZE).toArray();
+        result = new double[SIZE];
+        labels = new String[SIZE];
+        defaults = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            labels[i] = "label" + (i & 0xff);
+            defaults[i] = "default";
+        }
+        chosen = new String[SIZE];
+    }
+
+    @Benchmark
+    public double[] doubleWhereLoop() {
+        for (int i = 0; i < SIZE; i++) {
+            final int index = i;
+            result[i] = DoubleValue.where(conditions[i], () -> scores[index], () -> penalties[index]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[] doubleSelectFlags() {
+        DoubleValue.select(flags, scores, penalties, result);
+        return result;
+    }
+
+    @Benchmark
+    public double[] doubleSelectWords() {
+        DoubleValue.select(words, scores, penalties, result);
+        return result;
+    }
+
+    @Benchmark
+    public double[] doubleSelectFunctions() {
+        DoubleValue.select(words, i -> scores[i], i -> penalties[i], result);
+        return result;
+    }
+
+    @Benchmark
+    public double[] doubleParallelSelect() {
+        DoubleValue.parallelSelect(words, scores, penalties, result);
+        return result;
+    }
+
+    @Benchmark
+    public String[] valueWhereLoop() {
+        for (int i = 0; i < SIZE; i++) {
+            final int index = i;
+            chosen[i] = Value.where(conditions[i], () -> labels[index], () -> defaults[index]);
+        }
+        return chosen;
+    }
+
+    @Benchmark
+    public String[] valueSelect() {
+        Value.select(words, labels, defaults, chosen);
+        return chosen;
+    }
+
+    @Benchmark
+    public String[] valueParallelSelect() {
+        Value.parallelSelect(words, labels, defaults, chosen);
+        return chosen;
+    }
+
+}
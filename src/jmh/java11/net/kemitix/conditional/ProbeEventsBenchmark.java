@@ -0,0 +1,79 @@
+package net.kemitix.conditional;
+
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of the JFR events emitted by a {@link Probe}, with and without a recording.
+ *
+ * <p>{@code recording} is {@code none} when no recording is running, {@code disabled} when a recording is running
+ * without the events enabled, {@code threshold} when the events are enabled with a 1 ms threshold that no evaluation
+ * reaches, and {@code enabled} when every evaluation is committed. The {@code baseline} is the same {@link Condition}
+ * without a probe, and {@code none} is the cost of the recording probe itself.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProbeEventsBenchmark {
+
+    private static final Probe PROBE = new RecordingProbe("benchmark.events");
+
+    @Param({"none", "disabled", "threshold", "enabled"})
+    private String recording;
+
+    private Recording jfr;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("none".equals(recording)) {
+            return;
+        }
+        jfr = new Recording();
+        jfr.setToDisk(false);
+        if ("threshold".equals(recording)) {
+            jfr.enable(ConditionEvaluatedEvent.NAME).withThreshold(Duration.ofMillis(1));
+        } else if ("enabled".equals(recording)) {
+            jfr.enable(ConditionEvaluatedEvent.NAME).withThreshold(Duration.ZERO);
+        }
+        jfr.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (jfr != null) {
+            jfr.close();
+        }
+    }
+
+    @Benchmark
+    public boolean baseline(final BranchInputs inputs) {
+        return Condition.where(inputs.next()).isTrue();
+    }
+
+    @Benchmark
+    public boolean when(final BranchInputs inputs) {
+        final boolean next = inputs.next();
+        return PROBE.when(() -> next).isTrue();
+    }
+
+}
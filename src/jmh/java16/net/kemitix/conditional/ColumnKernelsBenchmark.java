@@ -0,0 +1,89 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar and Vector API {@link ColumnKernels} at each vector size.
+ *
+ * <p>Each invocation compares a 64K row column and is counted as one operation per row, so the throughput figures
+ * are rows per second. Vector sizes wider than the hardware supports are emulated, and will be slow.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@OperationsPerInvocation(ColumnKernelsBenchmark.ROWS)
+public class ColumnKernelsBenchmark {
+
+    static final int ROWS = 1 << 16;
+    private static final int RANGE = 100;
+    private static final int THRESHOLD = 50;
+    private static final long SEED = 42L;
+
+    @Param({"scalar", "128", "256", "512"})
+    public String kernels;
+
+    private ColumnKernels columnKernels;
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+    private long[] mask;
+
+    @Setup
+    public void setUp() {
+        columnKernels = "scalar".equals(kernels)
+                ? ColumnKernels.scalar()
+                : ColumnKernels.vector(Integer.parseInt(kernels))
+                        .orElseThrow(() -> new IllegalStateException("Vector API not available"));
+        final Random random = new Random(SEED);
+        ints = random.ints(ROWS, 0, RANGE).toArray();
+        longs = random.longs(ROWS, 0, RANGE).toArray();
+        doubles = random.doubles(ROWS, 0, RANGE).toArray();
+        mask = new long[MaskBits.words(ROWS)];
+    }
+
+    @Benchmark
+    public long[] intLessThan() {
+        columnKernels.lessThan(ints, THRESHOLD, ROWS, mask);
+        return mask;
+    }
+
+    @Benchmark
+    public long[] longLessThan() {
+        columnKernels.lessThan(longs, THRESHOLD, ROWS, mask);
+        return mask;
+    }
+
+    @Benchmark
+    public long[] doubleLessThan() {
+        columnKernels.lessThan(doubles, THRESHOLD, ROWS, mask);
+        return mask;
+    }
+
+    @Benchmark
+    public long[] batchCondition() {
+        BatchCondition.lessThan(ints, THRESHOLD)
+                .and(BatchCondition.lessThan(doubles, THRESHOLD))
+                .select(ROWS, mask, columnKernels);
+        return mask;
+    }
+
+}
@@ -0,0 +1,101 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test of 10K concurrent evaluations of blocking clauses.
+ *
+ * <p>Each evaluation races three clauses that block for {@code latency} milliseconds, as a lookup would; only the
+ * last is true. Each invocation starts all 10K evaluations, each on its own virtual thread, and waits for them all,
+ * so the throughput figures are evaluations per second.</p>
+ *
+ * <p>{@code anyOfBlocking} runs the clauses on virtual threads. The baseline runs them with
+ * {@link Condition#anyOf(java.util.concurrent.Executor, java.util.function.BooleanSupplier...)} on a pool of 200
+ * platform threads.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@OperationsPerInvocation(BlockingConditionBenchmark.EVALUATIONS)
+public class BlockingConditionBenchmark {
+
+    static final int EVALUATIONS = 10_000;
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"1", "10"})
+    public long latency;
+
+    private ExecutorService platformPool;
+
+    @Setup
+    public void setUp() {
+        platformPool = Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        platformPool.shutdownNow();
+    }
+
+    private boolean lookup(final boolean value) {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+    private int evaluateConcurrently(final Runnable evaluation) {
+        final AtomicInteger completed = new AtomicInteger();
+        try (ExecutorService drivers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < EVALUATIONS; i++) {
+                drivers.execute(() -> {
+                    evaluation.run();
+                    completed.incrementAndGet();
+                });
+            }
+        }
+        return completed.get();
+    }
+
+    @Benchmark
+    public int anyOfBlockingOnVirtualThreads() {
+        return evaluateConcurrently(() -> {
+            try {
+                Condition.anyOfBlocking(() -> lookup(false), () -> lookup(false), () -> lookup(true));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Benchmark
+    public int anyOfOnPlatformPool() {
+        return evaluateConcurrently(() ->
+                Condition.anyOf(platformPool, () -> lookup(false), () -> lookup(false), () -> lookup(true)));
+    }
+
+}
@@ -0,0 +1,85 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Compares {@link ConditionalGatherers} with {@code map} and {@code partitioningBy} driven by a {@link Value} or
+ * {@link Condition} per element, over a stream of 50M elements.
+ *
+ * <p>Each invocation processes the whole stream and is counted as one operation per element, so the throughput
+ * figures are elements per second. {@code parallel} selects a sequential or parallel stream.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@OperationsPerInvocation(ConditionalGatherersBenchmark.ELEMENTS)
+public class ConditionalGatherersBenchmark {
+
+    static final int ELEMENTS = 50_000_000;
+
+    private static final Predicate<Integer> THIRD = i -> i % 3 == 0;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private Stream<Integer> elements() {
+        final Stream<Integer> elements = IntStream.range(0, ELEMENTS).boxed();
+        if (parallel) {
+            return elements.parallel();
+        }
+        return elements;
+    }
+
+    @Benchmark
+    public long mapping() {
+        return elements()
+                .gather(ConditionalGatherers.mapping(THIRD, i -> i, i -> -i))
+                .mapToLong(i -> i)
+                .sum();
+    }
+
+    @Benchmark
+    public long mapWithValue() {
+        return elements()
+                .map(i -> Value.where(THIRD.test(i), () -> i, () -> -i))
+                .mapToLong(i -> i)
+                .sum();
+    }
+
+    @Benchmark
+    public long partitioned() {
+        return elements()
+                .gather(ConditionalGatherers.partitioned(THIRD))
+                .count();
+    }
+
+    @Benchmark
+    public Map<Boolean, Long> partitioningByCondition() {
+        return elements().collect(Collectors.partitioningBy(
+                i -> Condition.where(THIRD.test(i)).isTrue(),
+                Collectors.counting()));
+    }
+
+}
@@ -0,0 +1,184 @@
+package net.kemitix.conditional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of 10M events through a three-way {@link ConditionalFlow#split(java.util.function.Predicate[])}.
+ *
+ * <p>Each invocation publishes 10M events, synchronously and on demand, into a split by the event modulo 3. Each
+ * route's subscriber requests {@code BATCH} events at a time. The throughput figures are events per second.
+ * {@code prefetch} is the number of events the split requests from upstream at a time.</p>
+ *
+ * <p>The baseline is a single subscriber that tests the clauses itself, with no routing or buffering.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@OperationsPerInvocation(ConditionalFlowBenchmark.EVENTS)
+public class ConditionalFlowBenchmark {
+
+    static final int EVENTS = 10_000_000;
+    private static final int BATCH = 128;
+    private static final Integer[] VALUES = new Integer[1024];
+
+    static {
+        for (int i = 0; i < VALUES.length; i++) {
+            VALUES[i] = i;
+        }
+    }
+
+    @Param({"32", "256"})
+    public int prefetch;
+
+    @Benchmark
+    public long split() {
+        final ConditionalSplit<Integer> split = ConditionalFlow.split(Arrays.asList(
+                i -> i % 3 == 0,
+                i -> i % 3 == 1), prefetch);
+        final Counter[] counters = {new Counter(), new Counter(), new Counter()};
+        split.route(0).subscribe(counters[0]);
+        split.route(1).subscribe(counters[1]);
+        split.otherwise().subscribe(counters[2]);
+        new EventPublisher().subscribe(split);
+        return counters[0].count + counters[1].count + counters[2].count;
+    }
+
+    @Benchmark
+    public long baselineSubscriber() {
+        final long[] counts = new long[3];
+        new EventPublisher().subscribe(new Flow.Subscriber<Integer>() {
+            private Flow.Subscription subscription;
+            private int received;
+
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(prefetch);
+            }
+
+            @Override
+            public void onNext(final Integer item) {
+                if (item % 3 == 0) {
+                    counts[0]++;
+                } else if (item % 3 == 1) {
+                    counts[1]++;
+                } else {
+                    counts[2]++;
+                }
+                if (++received == prefetch) {
+                    received = 0;
+                    subscription.request(prefetch);
+                }
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                // counted
+            }
+        });
+        return counts[0] + counts[1] + counts[2];
+    }
+
+    /**
+     * Publishes {@code EVENTS} events on the thread that requests them.
+     */
+    private static final class EventPublisher implements Flow.Publisher<Integer>, Flow.Subscription {
+
+        private Flow.Subscriber<? super Integer> subscriber;
+        private long demand;
+        private int next;
+        private boolean emitting;
+        private boolean cancelled;
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super Integer> newSubscriber) {
+            subscriber = newSubscriber;
+            newSubscriber.onSubscribe(this);
+        }
+
+        @Override
+        public void request(final long n) {
+            demand += n;
+            if (emitting) {
+                return;
+            }
+            emitting = true;
+            while (demand > 0 && next < EVENTS && !cancelled) {
+                demand--;
+                subscriber.onNext(VALUES[next++ & (VALUES.length - 1)]);
+            }
+            if (next == EVENTS && !cancelled) {
+                cancelled = true;
+                subscriber.onComplete();
+            }
+            emitting = false;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+    }
+
+    /**
+     * Counts the events it receives, requesting {@code BATCH} at a time.
+     */
+    private static final class Counter implements Flow.Subscriber<Integer> {
+
+        private Flow.Subscription subscription;
+        private long count;
+        private int received;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(BATCH);
+        }
+
+        @Override
+        public void onNext(final Integer item) {
+            count++;
+            if (++received == BATCH) {
+                received = 0;
+                subscription.request(BATCH);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            // counted
+        }
+
+    }
+
+}
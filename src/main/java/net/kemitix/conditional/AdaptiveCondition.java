@@ -0,0 +1,279 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * A {@link LazyCondition} over a group of clauses, all ANDed or all ORed, that learns the best order to evaluate them.
+ *
+ * <p>{@link Condition#and(BooleanSupplier)} and {@link Condition#or(BooleanSupplier)} evaluate clauses in the order
+ * they are written, so an expensive clause written first is always evaluated. An {@code AdaptiveCondition} records, for
+ * each clause, how often it decides the result (false for {@link #allOf(BooleanSupplier...)}, true for
+ * {@link #anyOf(BooleanSupplier...)}) and, on a sample of evaluations, how long it takes. Every so many evaluations it
+ * reorders the clauses by the cost of each clause divided by the rate at which it decides the result, lowest first,
+ * so cheap and decisive clauses are evaluated first. The counts are then halved, so the order follows a changing
+ * workload. A clause placed behind others may go a while without being timed or evaluated, and keeps its last
+ * estimates until it is; only a clause that has never been measured is placed first to be measured.</p>
+ *
+ * <p>The clauses must be commutative: free of side effects and not relying on being guarded by an earlier clause. If
+ * more than one clause would throw, which exception is thrown depends on the current order.</p>
+ *
+ * <p>Evaluating from many threads at once is safe, but counts from concurrent evaluations may be lost. That only
+ * affects the choice of order, never the result. For repeatable tests, evaluate from one thread and set a
+ * {@link Builder#ticker(LongSupplier)}: the order then depends only on the results of the clauses and the ticker.</p>
+ *
+ * <p>{@link #accept(LazyCondition.Visitor)} sees the clauses in the order they were written.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public final class AdaptiveCondition implements LazyCondition {
+
+    private final boolean decidingValue;
+    private final BooleanSupplier[] clauses;
+    private final LazyCondition written;
+    private final int sampleEvery;
+    private final int reorderEvery;
+    private final LongSupplier ticker;
+    private final long[] evaluated;
+    private final long[] decided;
+    private final long[] sampledNanos;
+    private final long[] samples;
+    private final double[] cost;
+    private final double[] decisive;
+    private volatile int[] order;
+    private int evaluations;
+
+    private AdaptiveCondition(
+            final Builder builder,
+            final boolean decidingValue,
+            final BooleanSupplier... clauses
+    ) {
+        if (clauses.length == 0) {
+            throw new IllegalArgumentException("At least one clause is required");
+        }
+        this.decidingValue = decidingValue;
+        this.clauses = clauses.clone();
+        this.sampleEvery = builder.sampleEvery;
+        this.reorderEvery = builder.reorderEvery;
+        this.ticker = builder.ticker;
+        this.evaluated = new long[clauses.length];
+        this.decided = new long[clauses.length];
+        this.sampledNanos = new long[clauses.length];
+        this.samples = new long[clauses.length];
+        this.cost = new double[clauses.length];
+        this.decisive = new double[clauses.length];
+        Arrays.fill(decisive, 1);
+        this.order = IntStream.range(0, clauses.length).toArray();
+        LazyCondition expression = LazyCondition.when(clauses[0]);
+        for (int i = 1; i < clauses.length; i++) {
+            if (decidingValue) {
+                expression = expression.or(clauses[i]);
+            } else {
+                expression = expression.and(clauses[i]);
+            }
+        }
+        this.written = expression;
+    }
+
+    /**
+     * Create a new {@code AdaptiveCondition} that is true if all the clauses are true, with the default settings.
+     *
+     * @param clauses the commutative clauses
+     * @return the AdaptiveCondition
+     */
+    public static AdaptiveCondition allOf(final BooleanSupplier... clauses) {
+        return builder().allOf(clauses);
+    }
+
+    /**
+     * Create a new {@code AdaptiveCondition} that is true if any of the clauses are true, with the default settings.
+     *
+     * @param clauses the commutative clauses
+     * @return the AdaptiveCondition
+     */
+    public static AdaptiveCondition anyOf(final BooleanSupplier... clauses) {
+        return builder().anyOf(clauses);
+    }
+
+    /**
+     * Create a builder to configure how an {@code AdaptiveCondition} learns.
+     *
+     * @return the Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public boolean isTrue() {
+        final int[] current = order;
+        final int count = ++evaluations;
+        final boolean sample = count % sampleEvery == 0;
+        boolean result = !decidingValue;
+        for (final int clause : current) {
+            final boolean value;
+            if (sample) {
+                final long start = ticker.getAsLong();
+                value = clauses[clause].getAsBoolean();
+                sampledNanos[clause] += ticker.getAsLong() - start;
+                samples[clause]++;
+            } else {
+                value = clauses[clause].getAsBoolean();
+            }
+            evaluated[clause]++;
+            if (value == decidingValue) {
+                decided[clause]++;
+                result = decidingValue;
+                break;
+            }
+        }
+        if (count >= reorderEvery) {
+            reorder();
+        }
+        return result;
+    }
+
+    /**
+     * The order the clauses are currently evaluated in.
+     *
+     * @return the indexes of the clauses, as passed when created, in the order they are evaluated
+     */
+    public int[] order() {
+        return order.clone();
+    }
+
+    @Override
+    public <R> R accept(final Visitor<R> visitor) {
+        return written.accept(visitor);
+    }
+
+    private synchronized void reorder() {
+        if (evaluations < reorderEvery) {
+            return;
+        }
+        final double[] rank = new double[clauses.length];
+        for (int i = 0; i < clauses.length; i++) {
+            // a clause never timed, or never evaluated, ranks first so that it is measured; once measured, a clause
+            // keeps its last estimate while it is evaluated too rarely for its decayed counts to give a new one
+            if (samples[i] > 0) {
+                cost[i] = (double) sampledNanos[i] / samples[i];
+            }
+            if (evaluated[i] > 0) {
+                decisive[i] = (double) decided[i] / evaluated[i];
+            }
+            rank[i] = decisive[i] == 0 ? Double.POSITIVE_INFINITY : cost[i] / decisive[i];
+            evaluated[i] >>= 1;
+            decided[i] >>= 1;
+            sampledNanos[i] >>= 1;
+            samples[i] >>= 1;
+        }
+        order = IntStream.range(0, clauses.length).boxed()
+                .sorted(Comparator.<Integer>comparingDouble(i -> rank[i]).thenComparingDouble(i -> cost[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        evaluations = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveCondition{" + (decidingValue ? "anyOf" : "allOf") + ", order=" + Arrays.toString(order) + "}";
+    }
+
+    /**
+     * Configures how an {@link AdaptiveCondition} learns the order of its clauses.
+     */
+    public static final class Builder {
+
+        private int sampleEvery = 16;
+        private int reorderEvery = 1024;
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder() {
+        }
+
+        /**
+         * How often to time the clauses, every 16th evaluation if not set.
+         *
+         * @param evaluations the number of evaluations per timed evaluation
+         * @return the Builder
+         */
+        public Builder sampleEvery(final int evaluations) {
+            if (evaluations < 1) {
+                throw new IllegalArgumentException("sampleEvery must be positive: " + evaluations);
+            }
+            this.sampleEvery = evaluations;
+            return this;
+        }
+
+        /**
+         * How often to reorder the clauses, every 1,024 evaluations if not set.
+         *
+         * @param evaluations the number of evaluations between reorderings
+         * @return the Builder
+         */
+        public Builder reorderEvery(final int evaluations) {
+            if (evaluations < 1) {
+                throw new IllegalArgumentException("reorderEvery must be positive: " + evaluations);
+            }
+            this.reorderEvery = evaluations;
+            return this;
+        }
+
+        /**
+         * The source of the time, in nanoseconds, to time the clauses with, {@link System#nanoTime()} if not set.
+         *
+         * @param nanoTicker the source of the time
+         * @return the Builder
+         */
+        public Builder ticker(final LongSupplier nanoTicker) {
+            this.ticker = nanoTicker;
+            return this;
+        }
+
+        /**
+         * Create a new {@code AdaptiveCondition} that is true if all the clauses are true.
+         *
+         * @param clauses the commutative clauses
+         * @return the AdaptiveCondition
+         */
+        public AdaptiveCondition allOf(final BooleanSupplier... clauses) {
+            return new AdaptiveCondition(this, false, clauses);
+        }
+
+        /**
+         * Create a new {@code AdaptiveCondition} that is true if any of the clauses are true.
+         *
+         * @param clauses the commutative clauses
+         * @return the AdaptiveCondition
+         */
+        public AdaptiveCondition anyOf(final BooleanSupplier... clauses) {
+            return new AdaptiveCondition(this, true, clauses);
+        }
+
+    }
+
+}
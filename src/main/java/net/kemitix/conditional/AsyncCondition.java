@@ -0,0 +1,123 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * If-then-else in a functional-style, over a clause that will be known later.
+ *
+ * <p>The clause is a {@link CompletionStage} of a {@link Boolean}, such as the result of an asynchronous lookup.
+ * Nothing blocks: each step is run by the thread that completes the stage before it, or by the calling thread if
+ * that stage is already complete.</p>
+ *
+ * <p>{@code and} and {@code or} take a supplier of the right-hand stage, which is only called, starting the work
+ * behind it, once the left-hand side is known not to decide the result. If a stage completes exceptionally, so
+ * does every stage after it, and no actions are performed.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public interface AsyncCondition {
+
+    /**
+     * Create a new {@code AsyncCondition} for the clause.
+     *
+     * @param clause the condition to test, when it completes
+     * @return the AsyncCondition
+     */
+    static AsyncCondition where(final CompletionStage<Boolean> clause) {
+        return new StagedAsyncCondition(clause);
+    }
+
+    /**
+     * Create a new, already known, {@code AsyncCondition} for the clause.
+     *
+     * @param clause the condition to test
+     * @return the AsyncCondition
+     */
+    static AsyncCondition where(final boolean clause) {
+        return where(CompletableFuture.completedFuture(clause));
+    }
+
+    /**
+     * The result of the {@code AsyncCondition}.
+     *
+     * @return a stage that completes with the value of the clause
+     */
+    CompletionStage<Boolean> stage();
+
+    /**
+     * The result of the {@code AsyncCondition} as a {@link Condition}.
+     *
+     * @return a stage that completes with a true or false Condition
+     */
+    default CompletionStage<Condition> evaluate() {
+        return stage().thenApply(Condition::where);
+    }
+
+    /**
+     * Negates the {@code AsyncCondition}.
+     *
+     * @return an AsyncCondition that is true when this one is false
+     */
+    AsyncCondition not();
+
+    /**
+     * Logically AND combine the current {@code AsyncCondition} with the clause.
+     *
+     * <p>The clause is only supplied if the current {@code AsyncCondition} completes as true.</p>
+     *
+     * @param clause the supplier of the condition to test
+     * @return the AsyncCondition
+     */
+    AsyncCondition and(Supplier<? extends CompletionStage<Boolean>> clause);
+
+    /**
+     * Logically OR combine the current {@code AsyncCondition} with the clause.
+     *
+     * <p>The clause is only supplied if the current {@code AsyncCondition} completes as false.</p>
+     *
+     * @param clause the supplier of the condition to test
+     * @return the AsyncCondition
+     */
+    @SuppressWarnings("PMD.ShortMethodName")
+    AsyncCondition or(Supplier<? extends CompletionStage<Boolean>> clause);
+
+    /**
+     * Perform this response if the {@code AsyncCondition} completes as {@code true}.
+     *
+     * @param response the response to perform
+     * @return an AsyncCondition with the same value, completing after the response has been performed
+     */
+    AsyncCondition then(Action response);
+
+    /**
+     * Perform this response if the {@code AsyncCondition} completes as {@code false}.
+     *
+     * @param response the response to perform
+     * @return a stage that completes after the response has been performed, if it was
+     */
+    CompletionStage<Void> otherwise(Action response);
+
+}
@@ -0,0 +1,123 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * A Value from an if-then-else in a functional-style, over an {@link AsyncCondition}.
+ *
+ * <p>Only the supplier for the branch taken is called, once the condition completes, so the work behind the other
+ * branch is never started. Nothing blocks.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public interface AsyncValue {
+
+    /**
+     * Return one of two values depending on the value of a clause.
+     *
+     * @param clause        The deciding clause
+     * @param trueSupplier  The supplier to provide the value when the clause is true
+     * @param falseSupplier The supplier to provide the value when the clause is false
+     * @param <T>           The type of the value
+     * @return a stage that completes with the value from either the trueSupplier or the falseSupplier
+     */
+    static <T> CompletionStage<T> where(
+            final AsyncCondition clause,
+            final Supplier<? extends CompletionStage<T>> trueSupplier,
+            final Supplier<? extends CompletionStage<T>> falseSupplier
+    ) {
+        return AsyncValue.<T>where(clause).then(trueSupplier).otherwise(falseSupplier);
+    }
+
+    /**
+     * Return an Optional either containing a value, if the clause is true, or empty.
+     *
+     * @param clause       The deciding clause
+     * @param trueSupplier The supplier to provide the value when the clause is true
+     * @param <T>          The type of the value
+     * @return a stage that completes with an Optional either containing the value from the trueSupplier or empty
+     */
+    static <T> CompletionStage<Optional<T>> where(
+            final AsyncCondition clause,
+            final Supplier<? extends CompletionStage<T>> trueSupplier
+    ) {
+        return AsyncValue.<T>where(clause).then(trueSupplier).optional();
+    }
+
+    /**
+     * Create a new {@link AsyncValueClause} for the clause.
+     *
+     * @param clause the condition to test
+     * @param <T>    the type of the value
+     * @return an AsyncValueClause
+     */
+    static <T> AsyncValueClause<T> where(final AsyncCondition clause) {
+        return trueSupplier -> new StagedAsyncValueSupplier<>(clause.stage(), trueSupplier);
+    }
+
+    /**
+     * An intermediate state in determining the final {@link AsyncValue}.
+     *
+     * @param <T> the type of the value
+     */
+    @FunctionalInterface
+    interface AsyncValueClause<T> {
+
+        /**
+         * Create an {@link AsyncValueSupplier} with the supplier to use should the clause be true.
+         *
+         * @param trueSupplier the supplier of the stage to use should the clause be true
+         * @return an AsyncValueSupplier
+         */
+        AsyncValueSupplier<T> then(Supplier<? extends CompletionStage<T>> trueSupplier);
+
+    }
+
+    /**
+     * An intermediate result of the {@link AsyncValue}.
+     *
+     * @param <T> the type of the value
+     */
+    interface AsyncValueSupplier<T> {
+
+        /**
+         * Determine the value, using the supplier if the clause is false.
+         *
+         * @param falseSupplier the supplier of the stage to use should the clause be false
+         * @return a stage that completes with the value
+         */
+        CompletionStage<T> otherwise(Supplier<? extends CompletionStage<T>> falseSupplier);
+
+        /**
+         * Determine the value, if the clause is true.
+         *
+         * @return a stage that completes with an Optional containing the value, or empty if the clause is false
+         */
+        CompletionStage<Optional<T>> optional();
+
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A {@link BatchCondition} combining the masks of two others a word at a time.
+ *
+ * <p>The right side is evaluated into a scratch mask kept for each thread, grown as needed, so evaluating a batch
+ * allocates nothing once the scratch mask is large enough.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@RequiredArgsConstructor
+final class BatchCombination implements BatchCondition {
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final BatchCondition left;
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final BatchCondition right;
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final Combiner combiner;
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final ThreadLocal<long[]> scratch = ThreadLocal.withInitial(() -> new long[0]);
+
+    @Override
+    public void select(final int rows, final long[] mask, final ColumnKernels kernels) {
+        left.select(rows, mask, kernels);
+        final long[] other = scratch(MaskBits.words(rows));
+        right.select(rows, other, kernels);
+        combiner.combine(mask, other, rows);
+    }
+
+    private long[] scratch(final int words) {
+        final long[] other = scratch.get();
+        if (other.length >= words) {
+            return other;
+        }
+        final long[] grown = new long[words];
+        scratch.set(grown);
+        return grown;
+    }
+
+    /**
+     * Combines the other mask into the target.
+     */
+    @FunctionalInterface
+    interface Combiner {
+        void combine(long[] target, long[] other, int rows);
+    }
+
+}
@@ -0,0 +1,239 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+/**
+ * A condition evaluated over every row of a batch of columns at once.
+ *
+ * <p>The result is a selection mask, packed 64 rows to a {@code long} with row {@code r} at bit {@code r % 64} of
+ * word {@code r / 64}, the same layout as {@link BitSet#valueOf(long[])}. See {@link MaskBits} for working with
+ * masks.</p>
+ *
+ * <p>Unlike {@link Condition}, {@code and} and {@code or} do not short-circuit: both sides are evaluated over the
+ * whole batch and the masks combined a word at a time.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@SuppressWarnings({"methodcount", "PMD.TooManyMethods"})
+public interface BatchCondition {
+
+    /**
+     * Selects the rows where the column is less than the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @return the BatchCondition
+     */
+    static BatchCondition lessThan(final int[] column, final int value) {
+        return new IntColumnCondition(column, Comparison.LESS_THAN, value);
+    }
+
+    /**
+     * Selects the rows where the column is equal to the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @return the BatchCondition
+     */
+    static BatchCondition equalTo(final int[] column, final int value) {
+        return new IntColumnCondition(column, Comparison.EQUAL_TO, value);
+    }
+
+    /**
+     * Selects the rows where the column is greater than the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @return the BatchCondition
+     */
+    static BatchCondition greaterThan(final int[] column, final int value) {
+        return new IntColumnCondition(column, Comparison.GREATER_THAN, value);
+    }
+
+    /**
+     * Selects the rows where the column is less than the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @return the BatchCondition
+     */
+    static BatchCondition lessThan(final long[] column, final long value) {
+        return new LongColumnCondition(column, Comparison.LESS_THAN, value);
+    }
+
+    /**
+     * Selects the rows where the column is equal to the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @return the BatchCondition
+     */
+    static BatchCondition equalTo(final long[] column, final long value) {
+        return new LongColumnCondition(column, Comparison.EQUAL_TO, value);
+    }
+
+    /**
+     * Selects the rows where the column is greater than the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @return the BatchCondition
+     */
+    static BatchCondition greaterThan(final long[] column, final long value) {
+        return new LongColumnCondition(column, Comparison.GREATER_THAN, value);
+    }
+
+    /**
+     * Selects the rows where the column is less than the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @return the BatchCondition
+     */
+    static BatchCondition lessThan(final double[] column, final double value) {
+        return new DoubleColumnCondition(column, Comparison.LESS_THAN, value);
+    }
+
+    /**
+     * Selects the rows where the column is equal to the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @return the BatchCondition
+     */
+    static BatchCondition equalTo(final double[] column, final double value) {
+        return new DoubleColumnCondition(column, Comparison.EQUAL_TO, value);
+    }
+
+    /**
+     * Selects the rows where the column is greater than the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @return the BatchCondition
+     */
+    static BatchCondition greaterThan(final double[] column, final double value) {
+        return new DoubleColumnCondition(column, Comparison.GREATER_THAN, value);
+    }
+
+    /**
+     * Selects the rows that match a predicate on the row number.
+     *
+     * <p>The predicate is called once for each row, so prefer the column comparisons where they fit.</p>
+     *
+     * @param row the predicate, given the row number
+     * @return the BatchCondition
+     */
+    static BatchCondition where(final IntPredicate row) {
+        return new RowPredicateCondition(row);
+    }
+
+    /**
+     * Evaluates the condition for the first {@code rows} rows into the mask, using the given kernels for the column
+     * comparisons.
+     *
+     * <p>Every word covering those rows is overwritten, with any bits beyond the last row cleared.</p>
+     *
+     * @param rows    the number of rows to evaluate
+     * @param mask    the mask to write, at least {@link MaskBits#words(int)} long
+     * @param kernels the kernels to compare columns with
+     */
+    void select(int rows, long[] mask, ColumnKernels kernels);
+
+    /**
+     * Evaluates the condition for the first {@code rows} rows into the mask, using the
+     * {@link ColumnKernels#preferred() preferred} kernels.
+     *
+     * <p>Every word covering those rows is overwritten, with any bits beyond the last row cleared.</p>
+     *
+     * @param rows the number of rows to evaluate
+     * @param mask the mask to write, at least {@link MaskBits#words(int)} long
+     */
+    default void select(final int rows, final long[] mask) {
+        select(rows, mask, ColumnKernels.preferred());
+    }
+
+    /**
+     * Evaluates the condition for the first {@code rows} rows into a new mask.
+     *
+     * @param rows the number of rows to evaluate
+     * @return the mask
+     */
+    default long[] select(final int rows) {
+        final long[] mask = new long[MaskBits.words(rows)];
+        select(rows, mask);
+        return mask;
+    }
+
+    /**
+     * Evaluates the condition for the first {@code rows} rows into a {@link BitSet}.
+     *
+     * @param rows the number of rows to evaluate
+     * @return the selected rows
+     */
+    default BitSet selectBitSet(final int rows) {
+        return BitSet.valueOf(select(rows));
+    }
+
+    /**
+     * Logically AND the condition with another.
+     *
+     * @param other the other condition
+     * @return a BatchCondition selecting the rows selected by both
+     */
+    default BatchCondition and(final BatchCondition other) {
+        return new BatchCombination(this, other, MaskBits::and);
+    }
+
+    /**
+     * Logically OR the condition with another.
+     *
+     * @param other the other condition
+     * @return a BatchCondition selecting the rows selected by either
+     */
+    @SuppressWarnings("PMD.ShortMethodName")
+    default BatchCondition or(final BatchCondition other) {
+        return new BatchCombination(this, other, MaskBits::or);
+    }
+
+    /**
+     * Negates the condition.
+     *
+     * @return a BatchCondition selecting the rows not selected by this one
+     */
+    default BatchCondition not() {
+        return new BatchNot(this);
+    }
+
+    /**
+     * How a column is compared with a value.
+     */
+    enum Comparison {
+        LESS_THAN,
+        EQUAL_TO,
+        GREATER_THAN
+    }
+
+}
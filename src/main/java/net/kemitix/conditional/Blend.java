@@ -0,0 +1,179 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * The loops behind the bulk {@code select} operations of {@link Value} and its primitive specialisations.
+ *
+ * <p>Each fills the destination in a single pass. In parallel, the destination is split into chunks filled on the
+ * common {@link java.util.concurrent.ForkJoinPool}; destinations smaller than a couple of chunks are filled on the
+ * calling thread.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@SuppressWarnings({"methodcount", "PMD.TooManyMethods"})
+final class Blend {
+
+    static final int CHUNK = 1 << 12;
+
+    private Blend() {
+        throw new UnsupportedOperationException();
+    }
+
+    static <T> void select(
+            final Mask mask,
+            final T[] whenTrue,
+            final T[] whenFalse,
+            final T[] destination,
+            final boolean parallel
+    ) {
+        forEachChunk(destination.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                destination[i] = mask.isSelected(i) ? whenTrue[i] : whenFalse[i];
+            }
+        });
+    }
+
+    static <T> void select(
+            final Mask mask,
+            final IntFunction<T> whenTrue,
+            final IntFunction<T> whenFalse,
+            final T[] destination,
+            final boolean parallel
+    ) {
+        forEachChunk(destination.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                destination[i] = mask.isSelected(i) ? whenTrue.apply(i) : whenFalse.apply(i);
+            }
+        });
+    }
+
+    static void select(
+            final Mask mask,
+            final int[] whenTrue,
+            final int[] whenFalse,
+            final int[] destination,
+            final boolean parallel
+    ) {
+        forEachChunk(destination.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                destination[i] = mask.isSelected(i) ? whenTrue[i] : whenFalse[i];
+            }
+        });
+    }
+
+    static void select(
+            final Mask mask,
+            final IntUnaryOperator whenTrue,
+            final IntUnaryOperator whenFalse,
+            final int[] destination,
+            final boolean parallel
+    ) {
+        forEachChunk(destination.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                destination[i] = mask.isSelected(i) ? whenTrue.applyAsInt(i) : whenFalse.applyAsInt(i);
+            }
+        });
+    }
+
+    static void select(
+            final Mask mask,
+            final long[] whenTrue,
+            final long[] whenFalse,
+            final long[] destination,
+            final boolean parallel
+    ) {
+        forEachChunk(destination.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                destination[i] = mask.isSelected(i) ? whenTrue[i] : whenFalse[i];
+            }
+        });
+    }
+
+    static void select(
+            final Mask mask,
+            final IntToLongFunction whenTrue,
+            final IntToLongFunction whenFalse,
+            final long[] destination,
+            final boolean parallel
+    ) {
+        forEachChunk(destination.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                destination[i] = mask.isSelected(i) ? whenTrue.applyAsLong(i) : whenFalse.applyAsLong(i);
+            }
+        });
+    }
+
+    static void select(
+            final Mask mask,
+            final double[] whenTrue,
+            final double[] whenFalse,
+            final double[] destination,
+            final boolean parallel
+    ) {
+        forEachChunk(destination.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                destination[i] = mask.isSelected(i) ? whenTrue[i] : whenFalse[i];
+            }
+        });
+    }
+
+    static void select(
+            final Mask mask,
+            final IntToDoubleFunction whenTrue,
+            final IntToDoubleFunction whenFalse,
+            final double[] destination,
+            final boolean parallel
+    ) {
+        forEachChunk(destination.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                destination[i] = mask.isSelected(i) ? whenTrue.applyAsDouble(i) : whenFalse.applyAsDouble(i);
+            }
+        });
+    }
+
+    private static void forEachChunk(final int length, final boolean parallel, final Range range) {
+        if (!parallel || length < 2 * CHUNK) {
+            range.fill(0, length);
+            return;
+        }
+        final int chunks = (length + CHUNK - 1) / CHUNK;
+        IntStream.range(0, chunks)
+                .parallel()
+                .forEach(chunk -> range.fill(chunk * CHUNK, Math.min(length, (chunk + 1) * CHUNK)));
+    }
+
+    /**
+     * Fills a range of the destination.
+     */
+    @FunctionalInterface
+    private interface Range {
+        void fill(int from, int to);
+    }
+
+}
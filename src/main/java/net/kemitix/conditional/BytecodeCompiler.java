@@ -0,0 +1,127 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Compiles a {@link LazyCondition} expression into a dedicated hidden class.
+ *
+ * <p>The generated class evaluates the whole expression in one method of straight-line {@code if}/{@code else}
+ * bytecode, with no virtual dispatch between the nodes of the expression and a separate call site for each clause.
+ * See {@link ConditionClassWriter} for the shape of the class.</p>
+ *
+ * <p>Hidden classes ({@code MethodHandles.Lookup.defineHiddenClass}) need Java 15 or later. On earlier JVMs, or
+ * when the expression is too large for a single method, {@link #compile(LazyCondition)} returns the expression
+ * unchanged to be interpreted, as it is if the JVM rejects the generated class.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public final class BytecodeCompiler {
+
+    private static final Method DEFINE_HIDDEN_CLASS = findDefineHiddenClass();
+    private static final Object NO_OPTIONS = DEFINE_HIDDEN_CLASS == null
+            ? null
+            : Array.newInstance(DEFINE_HIDDEN_CLASS.getParameterTypes()[2].getComponentType(), 0);
+    private static final MethodType CONSTRUCTOR = MethodType.methodType(void.class,
+            LazyCondition.class, BooleanSupplier[].class, Function[].class);
+
+    private BytecodeCompiler() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Whether this JVM can define hidden classes.
+     *
+     * @return true if expressions will be compiled
+     */
+    public static boolean isSupported() {
+        return DEFINE_HIDDEN_CLASS != null;
+    }
+
+    /**
+     * Compile the expression into a hidden class.
+     *
+     * <p>The structure seen by {@link LazyCondition#accept(LazyCondition.Visitor)} is that of the original
+     * expression.</p>
+     *
+     * @param condition the expression to compile
+     * @return the compiled LazyCondition, or the expression itself when it can't be compiled
+     */
+    public static LazyCondition compile(final LazyCondition condition) {
+        if (!isSupported()) {
+            return condition;
+        }
+        final ConditionClassWriter writer = new ConditionClassWriter(condition);
+        if (!writer.isGenerated()) {
+            return condition;
+        }
+        return define(condition, writer.toByteArray(), writer);
+    }
+
+    /**
+     * Define the class and create an instance of it for the expression.
+     *
+     * <p>If the JVM rejects the class, whether it fails to load, link or verify, the expression is returned to be
+     * interpreted.</p>
+     *
+     * @param condition the expression
+     * @param classFile the class generated for the expression
+     * @param writer    the writer that generated the class, holding the clauses and functions it calls
+     * @return the compiled LazyCondition, or the expression itself when the class can't be defined
+     */
+    @SuppressWarnings({"PMD.AvoidCatchingThrowable", "PMD.AvoidRethrowingException"})
+    static LazyCondition define(
+            final LazyCondition condition,
+            final byte[] classFile,
+            final ConditionClassWriter writer
+    ) {
+        try {
+            final MethodHandles.Lookup lookup = (MethodHandles.Lookup)
+                    DEFINE_HIDDEN_CLASS.invoke(MethodHandles.lookup(), classFile, true, NO_OPTIONS);
+            return (LazyCondition) lookup.findConstructor(lookup.lookupClass(), CONSTRUCTOR)
+                    .invoke(condition, writer.clauses(), writer.functions());
+        } catch (LinkageError | ReflectiveOperationException e) {
+            return condition;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not create compiled condition for " + condition, e);
+        }
+    }
+
+    private static Method findDefineHiddenClass() {
+        try {
+            final Class<?> options = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            return MethodHandles.Lookup.class.getMethod("defineHiddenClass",
+                    byte[].class, boolean.class, Array.newInstance(options, 0).getClass());
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Counts the clauses in a {@link LazyCondition} expression, each use of a clause counting once.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class ClauseCounter implements LazyCondition.Visitor<Integer> {
+
+    static final ClauseCounter INSTANCE = new ClauseCounter();
+
+    private ClauseCounter() {
+    }
+
+    @Override
+    public Integer visitClause(final BooleanSupplier clause) {
+        return 1;
+    }
+
+    @Override
+    public Integer visitConstant(final boolean value) {
+        return 0;
+    }
+
+    @Override
+    public Integer visitAnd(final LazyCondition left, final LazyCondition right) {
+        return left.accept(this) + right.accept(this);
+    }
+
+    @Override
+    @SuppressWarnings("PMD.ShortMethodName")
+    public Integer visitOr(final LazyCondition left, final LazyCondition right) {
+        return left.accept(this) + right.accept(this);
+    }
+
+    @Override
+    public Integer visitNot(final LazyCondition operand) {
+        return operand.accept(this);
+    }
+
+    @Override
+    public Integer visitFlatMap(final LazyCondition source, final Function<Boolean, Condition> f) {
+        return source.accept(this);
+    }
+
+}
@@ -0,0 +1,170 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.Optional;
+
+/**
+ * The loops a {@link BatchCondition} uses to compare a column with a value.
+ *
+ * <p>The {@link #scalar() scalar} kernels run on any JVM. On Java 16 or later, with the
+ * {@code jdk.incubator.vector} module added ({@code --add-modules jdk.incubator.vector}), the
+ * {@link #vector(int) vector} kernels use the Vector API to compare a whole register of rows at once.</p>
+ *
+ * <p>All kernels write the same mask for the same input, with comparisons following the Java operators, so
+ * {@code NaN} is never less than, equal to or greater than anything.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@SuppressWarnings({"methodcount", "PMD.TooManyMethods"})
+public interface ColumnKernels {
+
+    /**
+     * The kernels that run on any JVM.
+     *
+     * @return the scalar kernels
+     */
+    static ColumnKernels scalar() {
+        return ScalarKernels.SCALAR;
+    }
+
+    /**
+     * The Vector API kernels for the given vector size, if the {@code jdk.incubator.vector} module is available.
+     *
+     * <p>Sizes wider than the hardware supports still give the right answer, but are emulated and slow. Prefer
+     * {@link #preferred()} outside of benchmarks.</p>
+     *
+     * @param bits the vector size in bits: 128, 256 or 512
+     * @return the vector kernels, or empty if the Vector API is not available
+     * @throws IllegalArgumentException if bits is not a supported vector size
+     */
+    static Optional<ColumnKernels> vector(final int bits) {
+        return VectorKernelsLoader.vector(bits);
+    }
+
+    /**
+     * The vector kernels for the hardware's preferred vector size where available, otherwise the scalar kernels.
+     *
+     * @return the preferred kernels
+     */
+    static ColumnKernels preferred() {
+        return VectorKernelsLoader.PREFERRED;
+    }
+
+    /**
+     * A short description of the kernels, e.g. {@code scalar} or {@code vector-256}.
+     *
+     * @return the name
+     */
+    String name();
+
+    /**
+     * Writes the mask of the rows where the column is less than the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @param rows   the number of rows to compare
+     * @param mask   the mask to write
+     */
+    void lessThan(int[] column, int value, int rows, long[] mask);
+
+    /**
+     * Writes the mask of the rows where the column is equal to the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @param rows   the number of rows to compare
+     * @param mask   the mask to write
+     */
+    void equalTo(int[] column, int value, int rows, long[] mask);
+
+    /**
+     * Writes the mask of the rows where the column is greater than the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @param rows   the number of rows to compare
+     * @param mask   the mask to write
+     */
+    void greaterThan(int[] column, int value, int rows, long[] mask);
+
+    /**
+     * Writes the mask of the rows where the column is less than the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @param rows   the number of rows to compare
+     * @param mask   the mask to write
+     */
+    void lessThan(long[] column, long value, int rows, long[] mask);
+
+    /**
+     * Writes the mask of the rows where the column is equal to the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @param rows   the number of rows to compare
+     * @param mask   the mask to write
+     */
+    void equalTo(long[] column, long value, int rows, long[] mask);
+
+    /**
+     * Writes the mask of the rows where the column is greater than the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @param rows   the number of rows to compare
+     * @param mask   the mask to write
+     */
+    void greaterThan(long[] column, long value, int rows, long[] mask);
+
+    /**
+     * Writes the mask of the rows where the column is less than the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @param rows   the number of rows to compare
+     * @param mask   the mask to write
+     */
+    void lessThan(double[] column, double value, int rows, long[] mask);
+
+    /**
+     * Writes the mask of the rows where the column is equal to the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @param rows   the number of rows to compare
+     * @param mask   the mask to write
+     */
+    void equalTo(double[] column, double value, int rows, long[] mask);
+
+    /**
+     * Writes the mask of the rows where the column is greater than the value.
+     *
+     * @param column the column
+     * @param value  the value to compare with
+     * @param rows   the number of rows to compare
+     * @param mask   the mask to write
+     */
+    void greaterThan(double[] column, double value, int rows, long[] mask);
+
+}
@@ -0,0 +1,59 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import lombok.RequiredArgsConstructor;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * A {@link LazyCondition} evaluated by a {@link MethodHandle} compiled by {@link ConditionCompiler}.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@RequiredArgsConstructor
+final class CompiledCondition implements LazyCondition {
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final LazyCondition source;
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final MethodHandle invoker;
+
+    @Override
+    @SuppressWarnings({"PMD.AvoidCatchingThrowable", "PMD.AvoidRethrowingException"})
+    public boolean isTrue() {
+        try {
+            return (boolean) invoker.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    @Override
+    public <R> R accept(final Visitor<R> visitor) {
+        return source.accept(visitor);
+    }
+
+}
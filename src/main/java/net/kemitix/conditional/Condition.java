@@ -21,6 +21,11 @@
 
 package net.kemitix.conditional;
 
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -45,6 +50,108 @@ public interface Condition {
         return FalseCondition.FALSE;
     }
 
+    /**
+     * Create a new {@link LazyCondition} for the clause, to be evaluated each time it is needed.
+     *
+     * @param clause the condition to test
+     * @return the LazyCondition
+     */
+    static LazyCondition when(final BooleanSupplier clause) {
+        return LazyCondition.when(clause);
+    }
+
+    /**
+     * Create a new {@code Condition} that is true if all the clauses are true, evaluating them concurrently on the
+     * common {@link ForkJoinPool}.
+     *
+     * <p>See {@link #allOf(Executor, BooleanSupplier...)}.</p>
+     *
+     * @param clauses the independent conditions to test
+     * @return the Condition
+     */
+    static Condition allOf(final BooleanSupplier... clauses) {
+        return allOf(ForkJoinPool.commonPool(), clauses);
+    }
+
+    /**
+     * Create a new {@code Condition} that is true if all the clauses are true, evaluating them concurrently.
+     *
+     * <p>The first clause is evaluated on the calling thread and the rest on the executor. The result, including
+     * any exception thrown, is the same as evaluating the clauses in order with {@code &&}. As soon as a clause is
+     * false, the clauses after it are cancelled. Clauses must not depend on each other, or on running in order.</p>
+     *
+     * @param executor the executor to evaluate the clauses on
+     * @param clauses  the independent conditions to test
+     * @return the Condition
+     */
+    static Condition allOf(final Executor executor, final BooleanSupplier... clauses) {
+        return where(ParallelClauses.evaluate(executor, clauses, false));
+    }
+
+    /**
+     * Create a new {@code Condition} that is true if any of the clauses are true, evaluating them concurrently on
+     * the common {@link ForkJoinPool}.
+     *
+     * <p>See {@link #anyOf(Executor, BooleanSupplier...)}.</p>
+     *
+     * @param clauses the independent conditions to test
+     * @return the Condition
+     */
+    static Condition anyOf(final BooleanSupplier... clauses) {
+        return anyOf(ForkJoinPool.commonPool(), clauses);
+    }
+
+    /**
+     * Create a new {@code Condition} that is true if any of the clauses are true, evaluating them concurrently.
+     *
+     * <p>The first clause is evaluated on the calling thread and the rest on the executor. The result, including
+     * any exception thrown, is the same as evaluating the clauses in order with {@code ||}. As soon as a clause is
+     * true, the clauses after it are cancelled. Clauses must not depend on each other, or on running in order.</p>
+     *
+     * @param executor the executor to evaluate the clauses on
+     * @param clauses  the independent conditions to test
+     * @return the Condition
+     */
+    static Condition anyOf(final Executor executor, final BooleanSupplier... clauses) {
+        return where(ParallelClauses.evaluate(executor, clauses, true));
+    }
+
+    /**
+     * Create a new {@code Condition} that is true if all the blocking clauses are true, racing them concurrently.
+     *
+     * <p>Each clause runs on its own thread: a virtual thread on Java 21 or later, otherwise a daemon thread from a
+     * shared pool. The first clause to return false decides the result, and the others are interrupted. If no clause
+     * returns false, the exception thrown by the first clause to fail, in order, is thrown, as
+     * {@link #thenThrow(Supplier)} would throw it. Clauses must not depend on each other, or on running in order.</p>
+     *
+     * @param clauses the independent, blocking conditions to test
+     * @return the Condition
+     * @throws Exception the exception thrown by a clause
+     */
+    @SafeVarargs
+    @SuppressWarnings({SuppressHelper.CS_ILLEGALTHROWS, "varargs"})
+    static Condition allOfBlocking(final Callable<Boolean>... clauses) throws Exception {
+        return where(BlockingClauses.evaluate(Varargs.copyOf(clauses), false));
+    }
+
+    /**
+     * Create a new {@code Condition} that is true if any of the blocking clauses are true, racing them concurrently.
+     *
+     * <p>Each clause runs on its own thread: a virtual thread on Java 21 or later, otherwise a daemon thread from a
+     * shared pool. The first clause to return true decides the result, and the others are interrupted. If no clause
+     * returns true, the exception thrown by the first clause to fail, in order, is thrown, as
+     * {@link #thenThrow(Supplier)} would throw it. Clauses must not depend on each other, or on running in order.</p>
+     *
+     * @param clauses the independent, blocking conditions to test
+     * @return the Condition
+     * @throws Exception the exception thrown by a clause
+     */
+    @SafeVarargs
+    @SuppressWarnings({SuppressHelper.CS_ILLEGALTHROWS, "varargs"})
+    static Condition anyOfBlocking(final Callable<Boolean>... clauses) throws Exception {
+        return where(BlockingClauses.evaluate(Varargs.copyOf(clauses), true));
+    }
+
     /**
      * Checks if the Condition is true or not.
      *
@@ -76,6 +183,16 @@ public interface Condition {
      */
     Condition and(Supplier<Boolean> clause);
 
+    /**
+     * Logically AND combine the current {@code Condition} with the clause, without boxing the result of the clause.
+     *
+     * @param clause the condition to test
+     * @return the Condition
+     */
+    default Condition and(final BooleanSupplier clause) {
+        return where(isTrue() && clause.getAsBoolean());
+    }
+
     /**
      * Logically AND current {@code Condition} with the other {@code Condition}.
      *
@@ -83,7 +200,7 @@ public interface Condition {
      * @return true if both Conditions are true
      */
     default Condition and(Condition other) {
-        return Condition.where(isTrue()).and(other::isTrue);
+        return Condition.where(isTrue() && other.isTrue());
     }
 
     /**
@@ -105,6 +222,17 @@ public interface Condition {
     @SuppressWarnings("PMD.ShortMethodName")
     Condition or(Supplier<Boolean> clause);
 
+    /**
+     * Logically OR combine the current {@code Condition} with the clause, without boxing the result of the clause.
+     *
+     * @param clause the condition to test
+     * @return the Condition
+     */
+    @SuppressWarnings("PMD.ShortMethodName")
+    default Condition or(final BooleanSupplier clause) {
+        return where(isTrue() || clause.getAsBoolean());
+    }
+
     /**
      * Logically OR the current {@code Condition} with the other {@code Condition}.
      *
@@ -112,7 +240,7 @@ public interface Condition {
      * @return true if either Condition is true
      */
     default Condition or(Condition other) {
-        return where(isTrue()).or(other::isTrue);
+        return where(isTrue() || other.isTrue());
     }
 
     /**
@@ -150,6 +278,17 @@ public interface Condition {
         return where(clause.get());
     }
 
+    /**
+     * Create a new {@code Condition} for the clause as a continuation to an existing {@code Condition}, without
+     * boxing the result of the clause.
+     *
+     * @param clause the condition to test
+     * @return the Condition
+     */
+    default Condition otherwise(final BooleanSupplier clause) {
+        return where(clause.getAsBoolean());
+    }
+
     /**
      * Throw the exception if the {@code Condition} is {@code true}.
      *
@@ -190,6 +329,67 @@ public interface Condition {
     @SuppressWarnings(SuppressHelper.CS_ILLEGALTHROWS)
     void otherwiseThrow(Supplier<Exception> exceptionSupplier) throws Exception;
 
+    /**
+     * Throw the shared, stackless {@link ConditionFailedException} for the reason if the {@code Condition} is
+     * {@code true}.
+     *
+     * <p>The exception is only shared for a constant reason. A reason built from the input, such as
+     * {@code "bad id " + id}, creates a new exception each time; see {@link ConditionFailedException#of(String)}.</p>
+     *
+     * @param reason the reason for the failure
+     * @throws ConditionFailedException the exception
+     */
+    default void thenFail(final String reason) {
+        Objects.requireNonNull(reason, "reason");
+        if (isTrue()) {
+            throw ConditionFailedException.of(reason);
+        }
+    }
+
+    /**
+     * Throw the shared, stackless {@link ConditionFailedException} for the reason if the {@code Condition} is
+     * {@code false}.
+     *
+     * <p>As with {@link #thenFail(String)}, the exception is only shared for a constant reason.</p>
+     *
+     * @param reason the reason for the failure
+     * @throws ConditionFailedException the exception
+     */
+    default void otherwiseFail(final String reason) {
+        Objects.requireNonNull(reason, "reason");
+        if (isFalse()) {
+            throw ConditionFailedException.of(reason);
+        }
+    }
+
+    /**
+     * Reject with the reason if the {@code Condition} is {@code true}, without throwing.
+     *
+     * @param reason the reason for the rejection
+     * @return the Outcome, rejected if true, otherwise accepted
+     */
+    default Outcome thenReject(final String reason) {
+        Objects.requireNonNull(reason, "reason");
+        if (isTrue()) {
+            return Outcome.rejected(reason);
+        }
+        return Outcome.accepted();
+    }
+
+    /**
+     * Reject with the reason if the {@code Condition} is {@code false}, without throwing.
+     *
+     * @param reason the reason for the rejection
+     * @return the Outcome, rejected if false, otherwise accepted
+     */
+    default Outcome otherwiseReject(final String reason) {
+        Objects.requireNonNull(reason, "reason");
+        if (isFalse()) {
+            return Outcome.rejected(reason);
+        }
+        return Outcome.accepted();
+    }
+
     /**
      * Apply the function to the Condtion, resulting an another Condition.
      *
@@ -0,0 +1,551 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * A bounded cache of decided conditions by key, for clauses that depend on slow-changing inputs.
+ *
+ * <p>{@link #get(Object)} returns the cached {@link Condition} for the key, or tests the loader clause for the key
+ * and caches the result. Every cached result is one of the two shared true and false conditions, so the cache holds
+ * only a flag and a timestamp per key.</p>
+ *
+ * <p>The keys are spread over independently locked segments, each evicting its least recently used key when it is
+ * full, so threads using different keys rarely contend. Entries can expire a fixed time after they were loaded, and
+ * can be refreshed in the background once they are older than a shorter time, while the old result is still
+ * returned. Loading is done outside the segment lock, so threads that miss on the same key at once may each test the
+ * loader clause.</p>
+ *
+ * <p>Create with {@link #builder()}.</p>
+ *
+ * @param <K> the type of the keys
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@SuppressWarnings({"methodcount", "PMD.TooManyMethods"})
+public final class ConditionCache<K> {
+
+    private static final int MAX_SEGMENTS = 64;
+
+    private final Predicate<? super K> loader;
+    private final Segment<K>[] segments;
+    private final int segmentMask;
+    private final long expireAfterWrite;
+    private final long refreshAfterWrite;
+    private final Executor executor;
+    private final LongSupplier ticker;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expiries = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private ConditionCache(final Builder<K> builder, final Predicate<? super K> loader) {
+        this.loader = loader;
+        this.expireAfterWrite = builder.expireAfterWrite;
+        this.refreshAfterWrite = builder.refreshAfterWrite;
+        this.executor = builder.executor;
+        this.ticker = builder.ticker;
+        final int count = Integer.highestOneBit((int) Math.min(builder.concurrencyLevel, builder.maximumSize));
+        segmentMask = count - 1;
+        segments = new Segment[count];
+        final long perSegment = Math.max(1, builder.maximumSize / count);
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(perSegment, evictions);
+        }
+    }
+
+    /**
+     * Create a builder for a cache.
+     *
+     * @param <K> the type of the keys
+     * @return the Builder
+     */
+    public static <K> Builder<K> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * The condition for the key, from the cache or by testing the loader clause with the key.
+     *
+     * @param key the key
+     * @return the Condition
+     */
+    public Condition get(final K key) {
+        final Segment<K> segment = segmentFor(key);
+        final long now = ticker.getAsLong();
+        final Cached entry = segment.lookup(key, now, this);
+        if (entry != null) {
+            hits.increment();
+            if (entry.isDueForRefresh(now, refreshAfterWrite)) {
+                refresh(segment, key, entry);
+            }
+            return Condition.where(entry.value);
+        }
+        misses.increment();
+        final boolean value = load(key);
+        segment.store(key, new Cached(value, ticker.getAsLong()));
+        return Condition.where(value);
+    }
+
+    /**
+     * The condition for the key, if it is in the cache and has not expired.
+     *
+     * <p>Doesn't load the key, count as a hit or miss, or start a refresh.</p>
+     *
+     * @param key the key
+     * @return the Condition, or empty
+     */
+    public Optional<Condition> getIfPresent(final K key) {
+        final Cached entry = segmentFor(key).peek(key, ticker.getAsLong(), this);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Condition.where(entry.value));
+    }
+
+    /**
+     * Cache the value for the key, replacing any value already cached.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(final K key, final boolean value) {
+        segmentFor(key).store(key, new Cached(value, ticker.getAsLong()));
+    }
+
+    /**
+     * Remove the key from the cache.
+     *
+     * @param key the key
+     */
+    public void invalidate(final K key) {
+        segmentFor(key).remove(key);
+    }
+
+    /**
+     * Remove every key from the cache.
+     */
+    public void invalidateAll() {
+        for (final Segment<K> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * The number of keys in the cache, including any that have expired but not yet been removed.
+     *
+     * @return the number of keys
+     */
+    public long size() {
+        long size = 0;
+        for (final Segment<K> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * A snapshot of the statistics of the cache since it was created.
+     *
+     * @return the Stats
+     */
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), loadFailures.sum(), evictions.sum(), expiries.sum(),
+                refreshes.sum());
+    }
+
+    private Segment<K> segmentFor(final K key) {
+        final int hash = Objects.requireNonNull(key, "key").hashCode();
+        return segments[(hash ^ (hash >>> 16)) & segmentMask];
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private boolean load(final K key) {
+        try {
+            return loader.test(key);
+        } catch (RuntimeException | Error e) {
+            loadFailures.increment();
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void refresh(final Segment<K> segment, final K key, final Cached entry) {
+        if (!entry.startRefresh()) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    final boolean value = load(key);
+                    if (segment.replace(key, entry, new Cached(value, ticker.getAsLong()))) {
+                        refreshes.increment();
+                    }
+                } catch (RuntimeException e) {
+                    // keep the cached result until it expires; the failure is counted by load
+                } finally {
+                    entry.endRefresh();
+                }
+            });
+        } catch (RuntimeException e) {
+            entry.endRefresh();
+            throw e;
+        }
+    }
+
+    private boolean isExpired(final Cached entry, final long now) {
+        return expireAfterWrite > 0 && now - entry.written >= expireAfterWrite;
+    }
+
+    /**
+     * Builds a {@link ConditionCache}.
+     *
+     * @param <K> the type of the keys
+     */
+    public static final class Builder<K> {
+
+        private long maximumSize = 10_000;
+        private int concurrencyLevel = Math.min(MAX_SEGMENTS, 4 * Runtime.getRuntime().availableProcessors());
+        private long expireAfterWrite;
+        private long refreshAfterWrite;
+        private Executor executor = ForkJoinPool.commonPool();
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder() {
+        }
+
+        /**
+         * The most keys to cache, 10,000 if not set.
+         *
+         * <p>The keys are spread over segments that each hold an equal share, so a segment may evict a key before
+         * the cache as a whole is full.</p>
+         *
+         * @param size the most keys to cache
+         * @return the Builder
+         */
+        public Builder<K> maximumSize(final long size) {
+            if (size < 1) {
+                throw new IllegalArgumentException("maximumSize must be positive: " + size);
+            }
+            this.maximumSize = size;
+            return this;
+        }
+
+        /**
+         * The number of independently locked segments to spread the keys over, rounded down to a power of two and
+         * no more than the maximum size. Defaults to four per processor, up to 64.
+         *
+         * @param segments the number of segments
+         * @return the Builder
+         */
+        public Builder<K> concurrencyLevel(final int segments) {
+            if (segments < 1) {
+                throw new IllegalArgumentException("concurrencyLevel must be positive: " + segments);
+            }
+            this.concurrencyLevel = segments;
+            return this;
+        }
+
+        /**
+         * How long after a key is loaded it expires, and is loaded again on the next
+         * {@link ConditionCache#get(Object)}. By default, keys don't expire.
+         *
+         * @param duration the time to keep each key
+         * @return the Builder
+         */
+        public Builder<K> expireAfterWrite(final Duration duration) {
+            this.expireAfterWrite = positiveNanos(duration, "expireAfterWrite");
+            return this;
+        }
+
+        /**
+         * How long after a key is loaded the next {@link ConditionCache#get(Object)} starts loading it again in the
+         * background, while still returning the cached result. By default, keys aren't refreshed.
+         *
+         * @param duration the time before refreshing each key
+         * @return the Builder
+         */
+        public Builder<K> refreshAfterWrite(final Duration duration) {
+            this.refreshAfterWrite = positiveNanos(duration, "refreshAfterWrite");
+            return this;
+        }
+
+        /**
+         * The executor to refresh keys on, the common {@link ForkJoinPool} if not set.
+         *
+         * @param refreshExecutor the executor
+         * @return the Builder
+         */
+        public Builder<K> executor(final Executor refreshExecutor) {
+            this.executor = Objects.requireNonNull(refreshExecutor, "executor");
+            return this;
+        }
+
+        /**
+         * The source of the current time in nanoseconds, {@link System#nanoTime()} if not set.
+         *
+         * @param nanoTime the source of the time
+         * @return the Builder
+         */
+        public Builder<K> ticker(final LongSupplier nanoTime) {
+            this.ticker = Objects.requireNonNull(nanoTime, "ticker");
+            return this;
+        }
+
+        /**
+         * Create the cache.
+         *
+         * @param loader the clause to test a key with when it isn't cached
+         * @return the ConditionCache
+         */
+        public ConditionCache<K> build(final Predicate<? super K> loader) {
+            return new ConditionCache<>(this, Objects.requireNonNull(loader, "loader"));
+        }
+
+        private static long positiveNanos(final Duration duration, final String name) {
+            if (duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException(name + " must be positive: " + duration);
+            }
+            return duration.toNanos();
+        }
+
+    }
+
+    /**
+     * A snapshot of the statistics of a {@link ConditionCache}.
+     */
+    public static final class Stats {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long loadFailureCount;
+        private final long evictionCount;
+        private final long expiryCount;
+        private final long refreshCount;
+
+        Stats(
+                final long hitCount,
+                final long missCount,
+                final long loadFailureCount,
+                final long evictionCount,
+                final long expiryCount,
+                final long refreshCount
+        ) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.loadFailureCount = loadFailureCount;
+            this.evictionCount = evictionCount;
+            this.expiryCount = expiryCount;
+            this.refreshCount = refreshCount;
+        }
+
+        /**
+         * The number of times {@link ConditionCache#get(Object)} found the key cached.
+         *
+         * @return the count
+         */
+        public long hitCount() {
+            return hitCount;
+        }
+
+        /**
+         * The number of times {@link ConditionCache#get(Object)} didn't find the key cached, and loaded it.
+         *
+         * @return the count
+         */
+        public long missCount() {
+            return missCount;
+        }
+
+        /**
+         * The number of times the loader clause threw, whether loading or refreshing.
+         *
+         * @return the count
+         */
+        public long loadFailureCount() {
+            return loadFailureCount;
+        }
+
+        /**
+         * The number of keys removed to make room for others.
+         *
+         * @return the count
+         */
+        public long evictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * The number of keys removed because they had expired.
+         *
+         * @return the count
+         */
+        public long expiryCount() {
+            return expiryCount;
+        }
+
+        /**
+         * The number of keys refreshed in the background.
+         *
+         * @return the count
+         */
+        public long refreshCount() {
+            return refreshCount;
+        }
+
+        /**
+         * The fraction of {@link ConditionCache#get(Object)} calls that found the key cached, or 1 if there have been
+         * none.
+         *
+         * @return the hit rate, from 0 to 1
+         */
+        public double hitRate() {
+            final long requests = hitCount + missCount;
+            if (requests == 0) {
+                return 1.0;
+            }
+            return (double) hitCount / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ConditionCache.Stats{hits=%d, misses=%d, loadFailures=%d, evictions=%d, "
+                            + "expiries=%d, refreshes=%d}",
+                    hitCount, missCount, loadFailureCount, evictionCount, expiryCount, refreshCount);
+        }
+
+    }
+
+    /**
+     * A cached result.
+     */
+    private static final class Cached {
+
+        private final boolean value;
+        private final long written;
+        private volatile boolean refreshing;
+
+        Cached(final boolean value, final long written) {
+            this.value = value;
+            this.written = written;
+        }
+
+        boolean isDueForRefresh(final long now, final long refreshAfterWrite) {
+            return refreshAfterWrite > 0 && !refreshing && now - written >= refreshAfterWrite;
+        }
+
+        synchronized boolean startRefresh() {
+            if (refreshing) {
+                return false;
+            }
+            refreshing = true;
+            return true;
+        }
+
+        void endRefresh() {
+            refreshing = false;
+        }
+
+    }
+
+    /**
+     * A share of the keys, in least recently used order, guarded by its own lock.
+     *
+     * @param <K> the type of the keys
+     */
+    private static final class Segment<K> {
+
+        private final Map<K, Cached> entries;
+
+        Segment(final long capacity, final LongAdder evictions) {
+            entries = new LinkedHashMap<K, Cached>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<K, Cached> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized Cached lookup(final K key, final long now, final ConditionCache<K> cache) {
+            final Cached entry = entries.get(key);
+            if (entry != null && cache.isExpired(entry, now)) {
+                entries.remove(key);
+                cache.expiries.increment();
+                return null;
+            }
+            return entry;
+        }
+
+        synchronized Cached peek(final K key, final long now, final ConditionCache<K> cache) {
+            final Cached entry = entries.get(key);
+            if (entry == null || cache.isExpired(entry, now)) {
+                return null;
+            }
+            return entry;
+        }
+
+        synchronized void store(final K key, final Cached entry) {
+            entries.put(key, entry);
+        }
+
+        synchronized boolean replace(final K key, final Cached expected, final Cached replacement) {
+            if (entries.get(key) != expected) {
+                return false;
+            }
+            entries.put(key, replacement);
+            return true;
+        }
+
+        synchronized void remove(final K key) {
+            entries.remove(key);
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+    }
+
+}
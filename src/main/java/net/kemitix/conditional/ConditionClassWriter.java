@@ -0,0 +1,556 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Writes the class file for a {@link LazyCondition} expression with straight-line {@code if}/{@code else} bytecode.
+ *
+ * <p>The generated class is equivalent to:</p>
+ *
+ * <pre>{@code
+ * final class GeneratedCondition implements LazyCondition {
+ *     private final LazyCondition source;
+ *     private final BooleanSupplier[] clauses;
+ *     private final Function[] functions;
+ *
+ *     public boolean isTrue() {
+ *         // e.g. for when(a).and(b).or(c)
+ *         if (clauses[0].getAsBoolean() && clauses[1].getAsBoolean() || clauses[2].getAsBoolean()) {
+ *             return true;
+ *         }
+ *         return false;
+ *     }
+ *
+ *     public Object accept(Visitor visitor) {
+ *         return source.accept(visitor);
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Each clause is called from its own call site, so each stays monomorphic. The class file version is 49, which is
+ * verified without stack map frames.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@SuppressWarnings({"checkstyle:magicnumber", "PMD.AvoidUsingShortType"})
+final class ConditionClassWriter {
+
+    /**
+     * The internal name of the generated class.
+     */
+    static final String CLASS_NAME = "net/kemitix/conditional/GeneratedCondition";
+
+    /**
+     * The largest method body, in bytes, the 16-bit branch offsets can address.
+     */
+    private static final int MAX_CODE_LENGTH = Short.MAX_VALUE;
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int MAJOR_VERSION = 49;
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private static final int ICONST_0 = 0x03;
+    private static final int ICONST_1 = 0x04;
+    private static final int ICONST_MAX = 5;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+    private static final int ILOAD_1 = 0x1b;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int ALOAD_3 = 0x2d;
+    private static final int AALOAD = 0x32;
+    private static final int ISTORE_1 = 0x3c;
+    private static final int IFEQ = 0x99;
+    private static final int GOTO = 0xa7;
+    private static final int IRETURN = 0xac;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int CHECKCAST = 0xc0;
+
+    private static final String LAZY_CONDITION = "net/kemitix/conditional/LazyCondition";
+    private static final String LAZY_CONDITION_DESCRIPTOR = "L" + LAZY_CONDITION + ";";
+    private static final String CLAUSES_DESCRIPTOR = "[Ljava/util/function/BooleanSupplier;";
+    private static final String FUNCTIONS_DESCRIPTOR = "[Ljava/util/function/Function;";
+
+    private final ConstantPool pool = new ConstantPool();
+    private final List<BooleanSupplier> clauses = new ArrayList<>();
+    private final List<Function<Boolean, Condition>> functions = new ArrayList<>();
+    private final byte[] bytes;
+
+    /**
+     * Generate the class for the expression.
+     *
+     * @param condition the expression
+     */
+    ConditionClassWriter(final LazyCondition condition) {
+        final Code isTrue = new Code();
+        final Label whenTrue = new Label();
+        final Label whenFalse = new Label();
+        new Generator(isTrue).jump(condition, whenTrue, whenFalse);
+        isTrue.place(whenTrue);
+        isTrue.op(ICONST_1).op(IRETURN);
+        isTrue.place(whenFalse);
+        isTrue.op(ICONST_0).op(IRETURN);
+        bytes = isTrue.length() > MAX_CODE_LENGTH ? null : write(isTrue);
+    }
+
+    /**
+     * Whether the expression fitted into a single method.
+     *
+     * @return true if the class was generated
+     */
+    boolean isGenerated() {
+        return bytes != null;
+    }
+
+    /**
+     * The class file.
+     *
+     * @return the bytes of the class file
+     */
+    byte[] toByteArray() {
+        return bytes.clone();
+    }
+
+    /**
+     * The clauses to pass to the constructor, indexed as the generated code expects.
+     *
+     * @return the clauses
+     */
+    BooleanSupplier[] clauses() {
+        return clauses.toArray(new BooleanSupplier[0]);
+    }
+
+    /**
+     * The flatMap functions to pass to the constructor, indexed as the generated code expects.
+     *
+     * @return the functions
+     */
+    Function<?, ?>[] functions() {
+        return functions.toArray(new Function<?, ?>[0]);
+    }
+
+    private byte[] write(final Code isTrue) {
+        final int thisClass = pool.classInfo(CLASS_NAME);
+        final int superClass = pool.classInfo("java/lang/Object");
+        final int lazyCondition = pool.classInfo(LAZY_CONDITION);
+        final int source = pool.field(CLASS_NAME, "source", LAZY_CONDITION_DESCRIPTOR);
+        final int clausesField = pool.field(CLASS_NAME, "clauses", CLAUSES_DESCRIPTOR);
+        final int functionsField = pool.field(CLASS_NAME, "functions", FUNCTIONS_DESCRIPTOR);
+        final Code init = new Code()
+                .op(ALOAD_0).op(INVOKESPECIAL).u2(pool.method("java/lang/Object", "<init>", "()V"))
+                .op(ALOAD_0).op(ALOAD_1).op(PUTFIELD).u2(source)
+                .op(ALOAD_0).op(ALOAD_2).op(PUTFIELD).u2(clausesField)
+                .op(ALOAD_0).op(ALOAD_3).op(PUTFIELD).u2(functionsField)
+                .op(RETURN);
+        final Code accept = new Code()
+                .op(ALOAD_0).op(GETFIELD).u2(source)
+                .op(ALOAD_1)
+                .op(INVOKEINTERFACE).u2(pool.interfaceMethod(LAZY_CONDITION, "accept",
+                        "(Lnet/kemitix/conditional/LazyCondition$Visitor;)Ljava/lang/Object;")).op(2).op(0)
+                .op(ARETURN);
+        final String initDescriptor = "(" + LAZY_CONDITION_DESCRIPTOR + CLAUSES_DESCRIPTOR + FUNCTIONS_DESCRIPTOR
+                + ")V";
+        final int codeName = pool.utf8("Code");
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            final int[] fieldNames = {pool.utf8("source"), pool.utf8("clauses"), pool.utf8("functions")};
+            final int[] fieldDescriptors = {pool.utf8(LAZY_CONDITION_DESCRIPTOR), pool.utf8(CLAUSES_DESCRIPTOR),
+                    pool.utf8(FUNCTIONS_DESCRIPTOR)};
+            final int[][] methods = {
+                    {pool.utf8("<init>"), pool.utf8(initDescriptor), 2, 4},
+                    {pool.utf8("isTrue"), pool.utf8("()Z"), 4, 2},
+                    {pool.utf8("accept"), pool.utf8("(Lnet/kemitix/conditional/LazyCondition$Visitor;)"
+                            + "Ljava/lang/Object;"), 2, 2},
+            };
+            final Code[] bodies = {init, isTrue, accept};
+            out.writeInt(MAGIC);
+            out.writeShort(0);
+            out.writeShort(MAJOR_VERSION);
+            pool.writeTo(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(lazyCondition);
+            out.writeShort(fieldNames.length);
+            for (int i = 0; i < fieldNames.length; i++) {
+                out.writeShort(ACC_PRIVATE | ACC_FINAL);
+                out.writeShort(fieldNames[i]);
+                out.writeShort(fieldDescriptors[i]);
+                out.writeShort(0);
+            }
+            out.writeShort(methods.length);
+            for (int i = 0; i < methods.length; i++) {
+                out.writeShort(ACC_PUBLIC);
+                out.writeShort(methods[i][0]);
+                out.writeShort(methods[i][1]);
+                out.writeShort(1);
+                out.writeShort(codeName);
+                final byte[] code = bodies[i].toByteArray();
+                out.writeInt(12 + code.length);
+                out.writeShort(methods[i][2]);
+                out.writeShort(methods[i][3]);
+                out.writeInt(code.length);
+                out.write(code);
+                out.writeShort(0);
+                out.writeShort(0);
+            }
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Generates the jumps for each node of the expression.
+     *
+     * <p>Each node jumps to {@code whenTrue} or {@code whenFalse}, in the style of a compiler's short-circuit
+     * code generation.</p>
+     */
+    private final class Generator implements LazyCondition.Visitor<Void> {
+
+        private final Code code;
+        private Label whenTrue;
+        private Label whenFalse;
+
+        Generator(final Code code) {
+            this.code = code;
+        }
+
+        void jump(final LazyCondition condition, final Label onTrue, final Label onFalse) {
+            final Label savedTrue = whenTrue;
+            final Label savedFalse = whenFalse;
+            whenTrue = onTrue;
+            whenFalse = onFalse;
+            condition.accept(this);
+            whenTrue = savedTrue;
+            whenFalse = savedFalse;
+        }
+
+        private void branchOnStack() {
+            code.branch(IFEQ, whenFalse);
+            code.branch(GOTO, whenTrue);
+        }
+
+        @Override
+        public Void visitClause(final BooleanSupplier clause) {
+            code.op(ALOAD_0).op(GETFIELD).u2(pool.field(CLASS_NAME, "clauses", CLAUSES_DESCRIPTOR));
+            code.pushInt(clauses.size(), pool);
+            code.op(AALOAD);
+            code.op(INVOKEINTERFACE).u2(pool.interfaceMethod("java/util/function/BooleanSupplier", "getAsBoolean",
+                    "()Z")).op(1).op(0);
+            clauses.add(clause);
+            branchOnStack();
+            return null;
+        }
+
+        @Override
+        public Void visitConstant(final boolean value) {
+            if (value) {
+                code.branch(GOTO, whenTrue);
+            } else {
+                code.branch(GOTO, whenFalse);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitAnd(final LazyCondition left, final LazyCondition right) {
+            final Label evaluateRight = new Label();
+            jump(left, evaluateRight, whenFalse);
+            code.place(evaluateRight);
+            jump(right, whenTrue, whenFalse);
+            return null;
+        }
+
+        @Override
+        @SuppressWarnings("PMD.ShortMethodName")
+        public Void visitOr(final LazyCondition left, final LazyCondition right) {
+            final Label evaluateRight = new Label();
+            jump(left, whenTrue, evaluateRight);
+            code.place(evaluateRight);
+            jump(right, whenTrue, whenFalse);
+            return null;
+        }
+
+        @Override
+        public Void visitNot(final LazyCondition operand) {
+            jump(operand, whenFalse, whenTrue);
+            return null;
+        }
+
+        @Override
+        public Void visitFlatMap(final LazyCondition source, final Function<Boolean, Condition> f) {
+            final Label sourceTrue = new Label();
+            final Label sourceFalse = new Label();
+            final Label apply = new Label();
+            jump(source, sourceTrue, sourceFalse);
+            code.place(sourceTrue);
+            code.op(ICONST_1).branch(GOTO, apply);
+            code.place(sourceFalse);
+            code.op(ICONST_0);
+            code.place(apply);
+            code.op(ISTORE_1);
+            code.op(ALOAD_0).op(GETFIELD).u2(pool.field(CLASS_NAME, "functions", FUNCTIONS_DESCRIPTOR));
+            code.pushInt(functions.size(), pool);
+            code.op(AALOAD);
+            code.op(ILOAD_1);
+            code.op(INVOKESTATIC).u2(pool.method("java/lang/Boolean", "valueOf", "(Z)Ljava/lang/Boolean;"));
+            code.op(INVOKEINTERFACE).u2(pool.interfaceMethod("java/util/function/Function", "apply",
+                    "(Ljava/lang/Object;)Ljava/lang/Object;")).op(2).op(0);
+            code.op(CHECKCAST).u2(pool.classInfo("net/kemitix/conditional/Condition"));
+            code.op(INVOKEINTERFACE).u2(pool.interfaceMethod("net/kemitix/conditional/Condition", "isTrue", "()Z"))
+                    .op(1).op(0);
+            functions.add(f);
+            branchOnStack();
+            return null;
+        }
+    }
+
+    /**
+     * A position in the code, which may be branched to before it is placed.
+     */
+    private static final class Label {
+        private int position = -1;
+        private final List<Integer> references = new ArrayList<>();
+    }
+
+    /**
+     * The bytecode of a method.
+     */
+    private static final class Code {
+
+        private static final int NO_GOTO = -1;
+
+        private byte[] code = new byte[64];
+        private int length;
+        private int lastGoto = NO_GOTO;
+        private Label lastGotoTarget;
+        private final List<Label> placed = new ArrayList<>();
+
+        Code op(final int opcode) {
+            lastGoto = NO_GOTO;
+            return u1(opcode);
+        }
+
+        private Code u1(final int value) {
+            if (length == code.length) {
+                final byte[] grown = new byte[code.length * 2];
+                System.arraycopy(code, 0, grown, 0, length);
+                code = grown;
+            }
+            code[length++] = (byte) value;
+            return this;
+        }
+
+        Code u2(final int value) {
+            return u1(value >> 8).u1(value);
+        }
+
+        void pushInt(final int value, final ConstantPool pool) {
+            if (value <= ICONST_MAX) {
+                op(ICONST_0 + value);
+            } else if (value <= Byte.MAX_VALUE) {
+                op(BIPUSH).u1(value);
+            } else if (value <= Short.MAX_VALUE) {
+                op(SIPUSH).u2(value);
+            } else {
+                op(LDC_W).u2(pool.integer(value));
+            }
+        }
+
+        Code branch(final int opcode, final Label target) {
+            final int start = length;
+            op(opcode);
+            target.references.add(start);
+            u2(0);
+            if (opcode == GOTO) {
+                lastGoto = start;
+                lastGotoTarget = target;
+            }
+            return this;
+        }
+
+        /**
+         * Place the label at the current position, dropping a {@code goto} that would jump straight to it.
+         *
+         * @param label the label
+         */
+        void place(final Label label) {
+            if (lastGoto != NO_GOTO && lastGotoTarget == label) {
+                label.references.remove(Integer.valueOf(lastGoto));
+                for (final Label other : placed) {
+                    if (other.position == length) {
+                        other.position = lastGoto;
+                    }
+                }
+                length = lastGoto;
+            }
+            lastGoto = NO_GOTO;
+            label.position = length;
+            placed.add(label);
+        }
+
+        int length() {
+            return length;
+        }
+
+        byte[] toByteArray() {
+            for (final Label label : placed) {
+                for (final int reference : label.references) {
+                    final int offset = label.position - reference;
+                    code[reference + 1] = (byte) (offset >> 8);
+                    code[reference + 2] = (byte) offset;
+                }
+            }
+            final byte[] bytes = new byte[length];
+            System.arraycopy(code, 0, bytes, 0, length);
+            return bytes;
+        }
+    }
+
+    /**
+     * The constant pool of the class, with each entry written once.
+     */
+    private static final class ConstantPool {
+
+        private final Map<String, Integer> entries = new HashMap<>();
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(buffer);
+        private int count = 1;
+
+        private int entry(final String key, final Writer writer) {
+            final Integer existing = entries.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            try {
+                writer.write(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            final int index = count++;
+            entries.put(key, index);
+            return index;
+        }
+
+        int utf8(final String value) {
+            return entry("U" + value, o -> {
+                o.writeByte(CONSTANT_UTF8);
+                o.writeUTF(value);
+            });
+        }
+
+        int integer(final int value) {
+            return entry("I" + value, o -> {
+                o.writeByte(CONSTANT_INTEGER);
+                o.writeInt(value);
+            });
+        }
+
+        int classInfo(final String name) {
+            final int nameIndex = utf8(name);
+            return entry("C" + name, o -> {
+                o.writeByte(CONSTANT_CLASS);
+                o.writeShort(nameIndex);
+            });
+        }
+
+        private int nameAndType(final String name, final String descriptor) {
+            final int nameIndex = utf8(name);
+            final int descriptorIndex = utf8(descriptor);
+            return entry("N" + name + ":" + descriptor, o -> {
+                o.writeByte(CONSTANT_NAME_AND_TYPE);
+                o.writeShort(nameIndex);
+                o.writeShort(descriptorIndex);
+            });
+        }
+
+        private int member(final int tag, final String owner, final String name, final String descriptor) {
+            final int ownerIndex = classInfo(owner);
+            final int nameAndTypeIndex = nameAndType(name, descriptor);
+            return entry(tag + owner + "." + name + ":" + descriptor, o -> {
+                o.writeByte(tag);
+                o.writeShort(ownerIndex);
+                o.writeShort(nameAndTypeIndex);
+            });
+        }
+
+        int field(final String owner, final String name, final String descriptor) {
+            return member(CONSTANT_FIELDREF, owner, name, descriptor);
+        }
+
+        int method(final String owner, final String name, final String descriptor) {
+            return member(CONSTANT_METHODREF, owner, name, descriptor);
+        }
+
+        int interfaceMethod(final String owner, final String name, final String descriptor) {
+            return member(CONSTANT_INTERFACE_METHODREF, owner, name, descriptor);
+        }
+
+        void writeTo(final DataOutputStream target) throws IOException {
+            out.flush();
+            target.writeShort(count);
+            buffer.writeTo(target);
+        }
+
+        /**
+         * Writes a single entry.
+         */
+        @FunctionalInterface
+        private interface Writer {
+            void write(DataOutputStream out) throws IOException;
+        }
+    }
+
+}
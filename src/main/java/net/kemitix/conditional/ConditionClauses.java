@@ -0,0 +1,70 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package net.kemitix.conditional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Adapts clauses that give a {@link Condition} for each item to the {@link Predicate}s that the stream, flow and
+ * decision table operators test items with.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class ConditionClauses {
+
+    private ConditionClauses() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * A predicate that is true for an item when the clause gives a true {@link Condition} for it.
+     *
+     * @param clause the function giving the condition for an item
+     * @param <T>    the type of the items
+     * @return the Predicate
+     */
+    static <T> Predicate<T> toPredicate(final Function<? super T, ? extends Condition> clause) {
+        Objects.requireNonNull(clause, "clause");
+        return item -> clause.apply(item).isTrue();
+    }
+
+    /**
+     * The predicates for each of the clauses, in order.
+     *
+     * @param clauses the functions giving the condition for an item
+     * @param <T>     the type of the items
+     * @return a new list of the Predicates
+     */
+    static <T> List<Predicate<T>> toPredicates(final List<? extends Function<? super T, ? extends Condition>> clauses) {
+        final List<Predicate<T>> predicates = new ArrayList<>(clauses.size());
+        for (final Function<? super T, ? extends Condition> clause : clauses) {
+            predicates.add(toPredicate(clause));
+        }
+        return predicates;
+    }
+
+}
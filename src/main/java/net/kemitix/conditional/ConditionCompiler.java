@@ -0,0 +1,146 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Compiles a {@link LazyCondition} expression into a single {@link MethodHandle}.
+ *
+ * <p>Evaluating a {@link LazyCondition} walks the expression through an interface call per node. When the expression
+ * is assembled at runtime those call sites see many implementations and the JIT stops inlining them. A compiled
+ * expression is one {@link MethodHandle} tree, combined with {@link MethodHandles#guardWithTest} to keep the
+ * short-circuit of {@code and} and {@code or}, that HotSpot can inline as a whole when the handle is a constant.</p>
+ *
+ * <p>The JIT only treats a {@link MethodHandle} as a constant when it is reachable from a {@code static final} field,
+ * so hold the handle from {@link #toMethodHandle(LazyCondition)} in one for the best results. The
+ * {@link LazyCondition} from {@link #compile(LazyCondition)} keeps its handle in an instance field, which the JIT
+ * does not trust as a constant, so it is not inlined into the caller; use {@link BytecodeCompiler} where each
+ * expression needs its own compiled class.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public final class ConditionCompiler {
+
+    private static final MethodHandle GET_AS_BOOLEAN;
+    private static final MethodHandle NOT;
+    private static final MethodHandle FLAT_MAP;
+    private static final MethodHandle TRUE = MethodHandles.constant(boolean.class, true);
+    private static final MethodHandle FALSE = MethodHandles.constant(boolean.class, false);
+
+    static {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            GET_AS_BOOLEAN = lookup.findVirtual(BooleanSupplier.class, "getAsBoolean",
+                    MethodType.methodType(boolean.class));
+            NOT = lookup.findStatic(ConditionCompiler.class, "not",
+                    MethodType.methodType(boolean.class, boolean.class));
+            FLAT_MAP = lookup.findStatic(ConditionCompiler.class, "flatMap",
+                    MethodType.methodType(boolean.class, Function.class, boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private ConditionCompiler() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Compile the expression into a {@link MethodHandle} of type {@code ()boolean}.
+     *
+     * @param condition the expression to compile
+     * @return the method handle
+     */
+    public static MethodHandle toMethodHandle(final LazyCondition condition) {
+        return condition.accept(new Compiler());
+    }
+
+    /**
+     * Compile the expression into a {@link LazyCondition} that is evaluated by a single {@link MethodHandle}.
+     *
+     * <p>The handle is invoked through an instance field, so this saves walking the expression but doesn't let the
+     * JIT inline the handle tree into the caller. See {@link #toMethodHandle(LazyCondition)} for that.</p>
+     *
+     * <p>The structure seen by {@link LazyCondition#accept(LazyCondition.Visitor)} is that of the original
+     * expression.</p>
+     *
+     * @param condition the expression to compile
+     * @return the compiled LazyCondition
+     */
+    public static LazyCondition compile(final LazyCondition condition) {
+        return new CompiledCondition(condition, toMethodHandle(condition));
+    }
+
+    private static boolean not(final boolean value) {
+        return !value;
+    }
+
+    private static boolean flatMap(final Function<Boolean, Condition> f, final boolean value) {
+        return f.apply(value).isTrue();
+    }
+
+    /**
+     * Builds the {@link MethodHandle} for each node of the expression.
+     */
+    private static final class Compiler implements LazyCondition.Visitor<MethodHandle> {
+
+        @Override
+        public MethodHandle visitClause(final BooleanSupplier clause) {
+            return GET_AS_BOOLEAN.bindTo(clause);
+        }
+
+        @Override
+        public MethodHandle visitConstant(final boolean value) {
+            if (value) {
+                return TRUE;
+            }
+            return FALSE;
+        }
+
+        @Override
+        public MethodHandle visitAnd(final LazyCondition left, final LazyCondition right) {
+            return MethodHandles.guardWithTest(left.accept(this), right.accept(this), FALSE);
+        }
+
+        @Override
+        @SuppressWarnings("PMD.ShortMethodName")
+        public MethodHandle visitOr(final LazyCondition left, final LazyCondition right) {
+            return MethodHandles.guardWithTest(left.accept(this), TRUE, right.accept(this));
+        }
+
+        @Override
+        public MethodHandle visitNot(final LazyCondition operand) {
+            return MethodHandles.filterReturnValue(operand.accept(this), NOT);
+        }
+
+        @Override
+        public MethodHandle visitFlatMap(final LazyCondition source, final Function<Boolean, Condition> f) {
+            return MethodHandles.filterReturnValue(source.accept(this), FLAT_MAP.bindTo(f));
+        }
+    }
+
+}
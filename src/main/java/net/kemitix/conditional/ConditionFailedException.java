@@ -0,0 +1,88 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A cheap exception for rejecting input, thrown by {@link Condition#thenFail(String)} and
+ * {@link Condition#otherwiseFail(String)}.
+ *
+ * <p>It has no stack trace and no suppressed exceptions, so creating one costs no more than any small object, and
+ * its only state is the reason. That makes it safe to share: {@link #of(String)} keeps the instance for recent
+ * reasons, so throwing one for a constant reason allocates nothing. A caller can also hold its own instance in a
+ * {@code static final} field and throw that. Where the rejection is expected, consider
+ * {@link Condition#thenReject(String)}, which returns an {@link Outcome} instead of throwing.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class ConditionFailedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int CACHED_REASONS = 256;
+    private static final AtomicReferenceArray<ConditionFailedException> CACHE =
+            new AtomicReferenceArray<>(CACHED_REASONS);
+
+    /**
+     * Creates an exception without a stack trace.
+     *
+     * @param reason the reason for the failure
+     */
+    public ConditionFailedException(final String reason) {
+        super(reason, null, false, false);
+    }
+
+    /**
+     * The shared exception for the reason, created when the reason is not in the cache.
+     *
+     * <p>The cache has a fixed number of slots, chosen by the hash of the reason, and each slot holds the exception
+     * for the last reason to use it. A constant reason is created once and then shared, unless another reason takes
+     * its slot. A reason that includes the rejected input, such as {@code "bad id " + id}, creates a new exception
+     * each time, and is dropped from the cache as other reasons replace it, so such reasons are never all kept.</p>
+     *
+     * @param reason the reason for the failure
+     * @return the ConditionFailedException
+     */
+    public static ConditionFailedException of(final String reason) {
+        final int hash = Objects.requireNonNull(reason, "reason").hashCode();
+        final int slot = (hash ^ (hash >>> 16)) & (CACHED_REASONS - 1);
+        final ConditionFailedException cached = CACHE.get(slot);
+        if (cached != null && reason.equals(cached.reason())) {
+            return cached;
+        }
+        final ConditionFailedException created = new ConditionFailedException(reason);
+        CACHE.set(slot, created);
+        return created;
+    }
+
+    /**
+     * The reason for the failure.
+     *
+     * @return the reason
+     */
+    public String reason() {
+        return getMessage();
+    }
+
+}
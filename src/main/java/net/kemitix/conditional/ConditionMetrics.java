@@ -0,0 +1,59 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.time.Duration;
+
+/**
+ * Receives the statistics of named {@link Condition} and {@link Value} evaluations, to pass on to a metrics backend.
+ *
+ * <p>This is a service provider interface. Implementations listed in a
+ * {@code META-INF/services/net.kemitix.conditional.ConditionMetrics} file are discovered by
+ * {@link MetricsExporter#start(Duration)}, and need a public no-argument constructor.</p>
+ *
+ * <p>The evaluations are counted by {@link Probe}s, so only call sites using a {@link Probe} are reported, and only
+ * when probes are enabled. A {@link MetricsExporter} collects the counts off the evaluation threads and reports them
+ * in batches, calling {@link #record(Probe.Snapshot)} with what each probe has counted since the last batch, then
+ * {@link #flush()}. Both are called from one thread at a time.</p>
+ *
+ * <p>{@link InMemoryMetrics} keeps the totals in memory, and {@link MetricsFileWriter} writes them to a file as
+ * plain text or in the Prometheus text format.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public interface ConditionMetrics {
+
+    /**
+     * Record what a probe has counted since the last batch.
+     *
+     * @param delta the counts since the last batch
+     */
+    void record(Probe.Snapshot delta);
+
+    /**
+     * Called after each batch has been recorded.
+     */
+    default void flush() {
+        // nothing to flush
+    }
+
+}
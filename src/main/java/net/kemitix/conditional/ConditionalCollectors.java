@@ -0,0 +1,253 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Collectors that partition, route or map the elements of a stream by a clause.
+ *
+ * <p>Each clause is a {@link Predicate} tested against each element directly, in the manner of
+ * {@link Condition#where(boolean)} and {@link Value#where(boolean, Supplier, Supplier)} but without creating a
+ * {@code Condition} or supplier for each element. Where the clause is already written as a {@link Condition}, use
+ * {@link #partitionWhere(Function)}, {@link #routeWhere(List, Collector)} or
+ * {@link #mappingWhere(Function, Function, Function, Collector)}.</p>
+ *
+ * <p>On a parallel stream each thread collects into its own containers, one per route, and the combiner merges them
+ * route by route with the downstream collector's combiner, so no container is shared between threads.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public final class ConditionalCollectors {
+
+    private ConditionalCollectors() {
+    }
+
+    /**
+     * Collect the elements into a list of those that match the clause and a list of those that don't.
+     *
+     * @param clause the condition to test each element with
+     * @param <T>    the type of the elements
+     * @return the Collector, of a map from whether the elements matched to the list of them
+     */
+    public static <T> Collector<T, ?, Map<Boolean, List<T>>> partition(final Predicate<? super T> clause) {
+        return partition(clause, Collectors.toList());
+    }
+
+    /**
+     * Collect the elements that match the clause, and separately those that don't, with the downstream collector.
+     *
+     * @param clause     the condition to test each element with
+     * @param downstream the collector for each partition
+     * @param <T>        the type of the elements
+     * @param <A>        the type of the downstream collector's container
+     * @param <D>        the type of the downstream collector's result
+     * @return the Collector, of a map from whether the elements matched to the result for them
+     */
+    public static <T, A, D> Collector<T, ?, Map<Boolean, D>> partition(
+            final Predicate<? super T> clause,
+            final Collector<? super T, A, D> downstream
+    ) {
+        return routing(2, element -> clause.test(element) ? 0 : 1, downstream, results -> {
+            final Map<Boolean, D> partitions = new HashMap<>(4);
+            partitions.put(true, results.get(0));
+            partitions.put(false, results.get(1));
+            return partitions;
+        });
+    }
+
+    /**
+     * Collect the elements into a list of those for which the clause gives a true {@link Condition} and a list of
+     * the others.
+     *
+     * @param clause the function giving the condition for each element
+     * @param <T>    the type of the elements
+     * @return the Collector, of a map from whether the condition was true to the list of those elements
+     */
+    public static <T> Collector<T, ?, Map<Boolean, List<T>>> partitionWhere(
+            final Function<? super T, ? extends Condition> clause
+    ) {
+        return partition(ConditionClauses.toPredicate(clause), Collectors.toList());
+    }
+
+    /**
+     * Collect the elements into a list for each clause, of the elements that match it and no clause before it, and
+     * one more list of the elements that match none.
+     *
+     * @param clauses the conditions to test each element with, in order
+     * @param <T>     the type of the elements
+     * @return the Collector, of the list for each clause followed by the list for no clause
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> Collector<T, ?, List<List<T>>> route(final Predicate<? super T>... clauses) {
+        return route(Varargs.copyOf(clauses), Collectors.<T>toList());
+    }
+
+    /**
+     * Collect the elements with the downstream collector for the first clause each matches, or with a further one
+     * for elements that match none.
+     *
+     * @param clauses    the conditions to test each element with, in order
+     * @param downstream the collector for each route
+     * @param <T>        the type of the elements
+     * @param <A>        the type of the downstream collector's container
+     * @param <D>        the type of the downstream collector's result
+     * @return the Collector, of the result for each clause followed by the result for no clause
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T, A, D> Collector<T, ?, List<D>> route(
+            final List<? extends Predicate<? super T>> clauses,
+            final Collector<? super T, A, D> downstream
+    ) {
+        final Predicate<? super T>[] tests = clauses.toArray(new Predicate[0]);
+        return routing(tests.length + 1, element -> {
+            for (int i = 0; i < tests.length; i++) {
+                if (tests[i].test(element)) {
+                    return i;
+                }
+            }
+            return tests.length;
+        }, downstream, Function.identity());
+    }
+
+    /**
+     * Collect the elements with the downstream collector for the first clause that gives a true {@link Condition}
+     * for each, or with a further one for elements where none do.
+     *
+     * @param clauses    the functions giving the condition for each element, in order
+     * @param downstream the collector for each route
+     * @param <T>        the type of the elements
+     * @param <A>        the type of the downstream collector's container
+     * @param <D>        the type of the downstream collector's result
+     * @return the Collector, of the result for each clause followed by the result for no clause
+     */
+    public static <T, A, D> Collector<T, ?, List<D>> routeWhere(
+            final List<? extends Function<? super T, ? extends Condition>> clauses,
+            final Collector<? super T, A, D> downstream
+    ) {
+        return route(ConditionClauses.<T>toPredicates(clauses), downstream);
+    }
+
+    /**
+     * Map each element with one function if it matches the clause, or the other if it doesn't, and collect the
+     * results with the downstream collector.
+     *
+     * <p>Like {@link Collectors#mapping(Function, Collector)} with a function that selects a {@link Value}.</p>
+     *
+     * @param clause     the condition to test each element with
+     * @param whenTrue   the function to map elements that match
+     * @param whenFalse  the function to map elements that don't match
+     * @param downstream the collector of the mapped elements
+     * @param <T>        the type of the elements
+     * @param <R>        the type of the mapped elements
+     * @param <A>        the type of the downstream collector's container
+     * @param <D>        the type of the downstream collector's result
+     * @return the Collector
+     */
+    public static <T, R, A, D> Collector<T, A, D> mapping(
+            final Predicate<? super T> clause,
+            final Function<? super T, ? extends R> whenTrue,
+            final Function<? super T, ? extends R> whenFalse,
+            final Collector<? super R, A, D> downstream
+    ) {
+        final BiConsumer<A, ? super R> accumulator = downstream.accumulator();
+        return Collector.of(
+                downstream.supplier(),
+                (container, element) -> accumulator.accept(container,
+                        clause.test(element) ? whenTrue.apply(element) : whenFalse.apply(element)),
+                downstream.combiner(),
+                downstream.finisher(),
+                downstream.characteristics().toArray(new Collector.Characteristics[0]));
+    }
+
+    /**
+     * Map each element with one function if the clause gives a true {@link Condition} for it, or the other if it
+     * gives a false one, as {@link Value#where(Condition, Supplier, Supplier)} would, and collect the results with the
+     * downstream collector.
+     *
+     * @param clause     the function giving the condition for each element
+     * @param whenTrue   the function to map elements whose condition is true
+     * @param whenFalse  the function to map elements whose condition is false
+     * @param downstream the collector of the mapped elements
+     * @param <T>        the type of the elements
+     * @param <R>        the type of the mapped elements
+     * @param <A>        the type of the downstream collector's container
+     * @param <D>        the type of the downstream collector's result
+     * @return the Collector
+     */
+    public static <T, R, A, D> Collector<T, A, D> mappingWhere(
+            final Function<? super T, ? extends Condition> clause,
+            final Function<? super T, ? extends R> whenTrue,
+            final Function<? super T, ? extends R> whenFalse,
+            final Collector<? super R, A, D> downstream
+    ) {
+        return mapping(ConditionClauses.toPredicate(clause), whenTrue, whenFalse, downstream);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, A, D, R> Collector<T, Object[], R> routing(
+            final int routes,
+            final ToIntFunction<? super T> route,
+            final Collector<? super T, A, D> downstream,
+            final Function<List<D>, R> finisher
+    ) {
+        final Supplier<A> supplier = downstream.supplier();
+        final BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+        final BinaryOperator<A> combiner = downstream.combiner();
+        final Function<A, D> finish = downstream.finisher();
+        return Collector.of(
+                () -> {
+                    final Object[] containers = new Object[routes];
+                    for (int i = 0; i < routes; i++) {
+                        containers[i] = supplier.get();
+                    }
+                    return containers;
+                },
+                (containers, element) -> accumulator.accept((A) containers[route.applyAsInt(element)], element),
+                (left, right) -> {
+                    for (int i = 0; i < routes; i++) {
+                        left[i] = combiner.apply((A) left[i], (A) right[i]);
+                    }
+                    return left;
+                },
+                containers -> {
+                    final List<D> results = new ArrayList<>(routes);
+                    for (final Object container : containers) {
+                        results.add(finish.apply((A) container));
+                    }
+                    return finisher.apply(results);
+                });
+    }
+
+}
@@ -0,0 +1,401 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A decision table: rows of clauses, each with an outcome, replacing a long else-if cascade of
+ * {@link Condition#where(boolean)} and {@link Value#where(boolean, java.util.function.Supplier,
+ * java.util.function.Supplier)}.
+ *
+ * <p>A row matches an input when all its clauses are true for it. The clauses of a row are tested in order, stopping
+ * at the first false one, as with {@link Condition#and(java.util.function.BooleanSupplier)}. The outcome of a row is
+ * only computed when the row is a hit.</p>
+ *
+ * <p>When the table is built, the clauses are indexed by identity, so a clause object shared by several rows is
+ * tested at most once per decision. Once a shared clause is false, every row that contains it is skipped without
+ * testing its other clauses. Clauses should therefore be free of side effects.</p>
+ *
+ * <p>Rows can also be written with {@link Builder#where(Function[])}, taking clauses that give a {@link Condition}
+ * for the input, and finished with {@link RowBuilder#then(Supplier)}, taking an outcome as a {@link Value} would.</p>
+ *
+ * <p>Create with {@link #builder(HitPolicy)}.</p>
+ *
+ * @param <I> the type of the input
+ * @param <O> the type of the outcome
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public final class DecisionTable<I, O> {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+
+    private final HitPolicy hitPolicy;
+    private final Predicate<? super I>[] clauses;
+    private final int[][] rowClauses;
+    private final int[][] clauseRows;
+    private final Function<? super I, ? extends O>[] outcomes;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private DecisionTable(final HitPolicy hitPolicy, final List<Row<I, O>> rows) {
+        this.hitPolicy = hitPolicy;
+        final List<Row<I, O>> ordered = new ArrayList<>(rows);
+        if (hitPolicy == HitPolicy.PRIORITY) {
+            // stable, so rows of equal priority keep their order
+            ordered.sort(Comparator.comparingInt((Row<I, O> row) -> row.priority).reversed());
+        }
+        final Map<Predicate<? super I>, Integer> ids = new IdentityHashMap<>();
+        final List<Predicate<? super I>> distinct = new ArrayList<>();
+        final List<List<Integer>> rowsOfClause = new ArrayList<>();
+        rowClauses = new int[ordered.size()][];
+        outcomes = new Function[ordered.size()];
+        for (int row = 0; row < ordered.size(); row++) {
+            final List<Predicate<? super I>> rowClauseList = ordered.get(row).clauses;
+            rowClauses[row] = new int[rowClauseList.size()];
+            for (int i = 0; i < rowClauseList.size(); i++) {
+                final Predicate<? super I> clause = rowClauseList.get(i);
+                Integer id = ids.get(clause);
+                if (id == null) {
+                    id = distinct.size();
+                    ids.put(clause, id);
+                    distinct.add(clause);
+                    rowsOfClause.add(new ArrayList<>());
+                }
+                rowClauses[row][i] = id;
+                rowsOfClause.get(id).add(row);
+            }
+            outcomes[row] = ordered.get(row).outcome;
+        }
+        clauses = distinct.toArray(new Predicate[0]);
+        clauseRows = new int[distinct.size()][];
+        for (int id = 0; id < distinct.size(); id++) {
+            clauseRows[id] = rowsOfClause.get(id).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Create a builder for a decision table.
+     *
+     * @param hitPolicy how the rows that match are chosen
+     * @param <I>       the type of the input
+     * @param <O>       the type of the outcome
+     * @return the Builder
+     */
+    public static <I, O> Builder<I, O> builder(final HitPolicy hitPolicy) {
+        return new Builder<>(hitPolicy);
+    }
+
+    /**
+     * The outcome of the hit row, if any.
+     *
+     * <p>For {@link HitPolicy#ALL} this is the outcome of the first row that matches.</p>
+     *
+     * @param input the input
+     * @return the outcome, or empty if no row matches
+     */
+    public Optional<O> decide(final I input) {
+        final Decision decision = new Decision(input);
+        final int row = decision.nextMatch(0);
+        if (row < 0) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(outcomes[row].apply(input));
+    }
+
+    /**
+     * The outcomes of the hit rows.
+     *
+     * <p>For {@link HitPolicy#ALL} these are the outcomes of every row that matches, in order. Otherwise there is at
+     * most one, as from {@link #decide(Object)}.</p>
+     *
+     * @param input the input
+     * @return the outcomes
+     */
+    public List<O> decideAll(final I input) {
+        if (hitPolicy != HitPolicy.ALL) {
+            return decide(input).map(Collections::singletonList).orElseGet(Collections::emptyList);
+        }
+        final Decision decision = new Decision(input);
+        final List<O> results = new ArrayList<>();
+        for (int row = decision.nextMatch(0); row >= 0; row = decision.nextMatch(row + 1)) {
+            results.add(outcomes[row].apply(input));
+        }
+        return results;
+    }
+
+    /**
+     * The number of rows in the table.
+     *
+     * @return the number of rows
+     */
+    public int rows() {
+        return rowClauses.length;
+    }
+
+    /**
+     * The hit policy of the table.
+     *
+     * @return the HitPolicy
+     */
+    public HitPolicy hitPolicy() {
+        return hitPolicy;
+    }
+
+    /**
+     * How the rows that match an input are chosen.
+     */
+    public enum HitPolicy {
+
+        /**
+         * The first row that matches, in the order the rows were added.
+         */
+        FIRST,
+
+        /**
+         * The row that matches with the highest priority, or the first of those with the highest.
+         */
+        PRIORITY,
+
+        /**
+         * Every row that matches, in the order the rows were added.
+         */
+        ALL
+
+    }
+
+    /**
+     * The state of deciding one input: the clauses tested so far, and the rows ruled out by them.
+     */
+    private final class Decision {
+
+        private final I input;
+        private final byte[] results = new byte[clauses.length];
+        private final long[] ruledOut = new long[MaskBits.words(rowClauses.length)];
+
+        Decision(final I input) {
+            this.input = input;
+        }
+
+        /**
+         * The next row, from the given one, that matches.
+         *
+         * @param from the first row to consider
+         * @return the row, or -1 if none match
+         */
+        int nextMatch(final int from) {
+            final int rows = rowClauses.length;
+            for (int word = from >>> 6; word < ruledOut.length; word++) {
+                long candidates = ~ruledOut[word];
+                if (word == from >>> 6) {
+                    candidates &= -1L << from;
+                }
+                while (candidates != 0) {
+                    final int row = (word << 6) + Long.numberOfTrailingZeros(candidates);
+                    if (row >= rows) {
+                        return -1;
+                    }
+                    if (matches(row)) {
+                        return row;
+                    }
+                    // a false clause may have ruled out later rows in this word too
+                    candidates &= ~ruledOut[word] & (-1L << row << 1);
+                }
+            }
+            return -1;
+        }
+
+        private boolean matches(final int row) {
+            for (final int clause : rowClauses[row]) {
+                if (!test(clause)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean test(final int clause) {
+            final byte known = results[clause];
+            if (known != UNKNOWN) {
+                return known == TRUE;
+            }
+            if (clauses[clause].test(input)) {
+                results[clause] = TRUE;
+                return true;
+            }
+            results[clause] = FALSE;
+            for (final int row : clauseRows[clause]) {
+                ruledOut[row >>> 6] |= 1L << row;
+            }
+            return false;
+        }
+
+    }
+
+    /**
+     * A row of the table.
+     *
+     * @param <I> the type of the input
+     * @param <O> the type of the outcome
+     */
+    private static final class Row<I, O> {
+
+        private final List<Predicate<? super I>> clauses;
+        private final int priority;
+        private final Function<? super I, ? extends O> outcome;
+
+        Row(
+                final List<Predicate<? super I>> clauses,
+                final int priority,
+                final Function<? super I, ? extends O> outcome
+        ) {
+            this.clauses = clauses;
+            this.priority = priority;
+            this.outcome = outcome;
+        }
+
+    }
+
+    /**
+     * Builds a {@link DecisionTable}, one row at a time.
+     *
+     * @param <I> the type of the input
+     * @param <O> the type of the outcome
+     */
+    public static final class Builder<I, O> {
+
+        private final HitPolicy hitPolicy;
+        private final List<Row<I, O>> rows = new ArrayList<>();
+        private final Map<Function<? super I, ? extends Condition>, Predicate<? super I>> conditionClauses =
+                new IdentityHashMap<>();
+
+        private Builder(final HitPolicy hitPolicy) {
+            this.hitPolicy = hitPolicy;
+        }
+
+        /**
+         * Start a row that matches when all the clauses are true.
+         *
+         * <p>Reuse the same clause object in each row it applies to, so it is only tested once per decision.</p>
+         *
+         * @param clauses the clauses, tested in order; none for a row that always matches
+         * @return the RowBuilder
+         */
+        @SafeVarargs
+        @SuppressWarnings("varargs")
+        public final RowBuilder<I, O> when(final Predicate<? super I>... clauses) {
+            return new RowBuilder<>(this, Varargs.copyOf(clauses));
+        }
+
+        /**
+         * Start a row that matches when all the clauses give a true {@link Condition} for the input.
+         *
+         * <p>As with {@link #when(Predicate[])}, reuse the same clause object in each row it applies to, so it is only
+         * tested once per decision.</p>
+         *
+         * @param clauses the functions giving the condition for the input, tested in order; none for a row that always
+         *                matches
+         * @return the RowBuilder
+         */
+        @SafeVarargs
+        public final RowBuilder<I, O> where(final Function<? super I, ? extends Condition>... clauses) {
+            final List<Predicate<? super I>> predicates = new ArrayList<>(clauses.length);
+            for (final Function<? super I, ? extends Condition> clause : clauses) {
+                predicates.add(conditionClauses.computeIfAbsent(clause, c -> ConditionClauses.<I>toPredicate(c)));
+            }
+            return new RowBuilder<>(this, predicates);
+        }
+
+        /**
+         * Create the table.
+         *
+         * @return the DecisionTable
+         */
+        public DecisionTable<I, O> build() {
+            return new DecisionTable<>(hitPolicy, rows);
+        }
+
+    }
+
+    /**
+     * Builds a row of a {@link DecisionTable}.
+     *
+     * @param <I> the type of the input
+     * @param <O> the type of the outcome
+     */
+    public static final class RowBuilder<I, O> {
+
+        private final Builder<I, O> builder;
+        private final List<Predicate<? super I>> clauses;
+        private int priority;
+
+        private RowBuilder(final Builder<I, O> builder, final List<Predicate<? super I>> clauses) {
+            this.builder = builder;
+            this.clauses = clauses;
+        }
+
+        /**
+         * The priority of the row, for {@link HitPolicy#PRIORITY}; 0 if not set. Higher priorities win.
+         *
+         * @param rowPriority the priority
+         * @return the RowBuilder
+         */
+        public RowBuilder<I, O> priority(final int rowPriority) {
+            this.priority = rowPriority;
+            return this;
+        }
+
+        /**
+         * Finish the row with the outcome, which is only computed when the row is a hit.
+         *
+         * @param outcome the function to compute the outcome from the input
+         * @return the Builder
+         */
+        public Builder<I, O> then(final Function<? super I, ? extends O> outcome) {
+            builder.rows.add(new Row<>(clauses, priority, outcome));
+            return builder;
+        }
+
+        /**
+         * Finish the row with the outcome from the supplier, as {@link Value.ValueClause#then(Supplier)} gives a value,
+         * which is only computed when the row is a hit.
+         *
+         * @param outcome the supplier of the outcome
+         * @return the Builder
+         */
+        public Builder<I, O> then(final Supplier<? extends O> outcome) {
+            return then(input -> outcome.get());
+        }
+
+    }
+
+}
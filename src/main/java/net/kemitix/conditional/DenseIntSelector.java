@@ -0,0 +1,70 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * An {@link IntSelector} with a supplier for every key from the lowest case to the highest.
+ *
+ * @param <T> the type of the value
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class DenseIntSelector<T> implements IntSelector<T> {
+
+    private final int offset;
+    private final Supplier<? extends T>[] byKey;
+    private final Supplier<? extends T> otherwise;
+
+    private DenseIntSelector(final int offset, final Supplier<? extends T>[] byKey,
+                             final Supplier<? extends T> otherwise) {
+        this.offset = offset;
+        this.byKey = byKey;
+        this.otherwise = otherwise;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <T> DenseIntSelector<T> create(
+            final int offset,
+            final int range,
+            final Map<Integer, Supplier<? extends T>> cases,
+            final Supplier<? extends T> otherwise
+    ) {
+        final Supplier<? extends T>[] byKey = new Supplier[range];
+        Arrays.fill(byKey, otherwise);
+        cases.forEach((key, supplier) -> byKey[key - offset] = supplier);
+        return new DenseIntSelector<>(offset, byKey, otherwise);
+    }
+
+    @Override
+    public T select(final int key) {
+        final int index = key - offset;
+        // unsigned, so keys below the offset are out of range too
+        if (Integer.compareUnsigned(index, byKey.length) < 0) {
+            return byKey[index].get();
+        }
+        return otherwise.get();
+    }
+
+}
@@ -0,0 +1,77 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Probe} that records nothing, used when probes are off.
+ *
+ * <p>It emits no JFR events either, so that a disabled probe costs no more than the call it wraps.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@RequiredArgsConstructor
+final class DisabledProbe implements Probe {
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final String name;
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public Condition where(final boolean clause) {
+        return Condition.where(clause);
+    }
+
+    @Override
+    public Condition when(final BooleanSupplier clause) {
+        return Condition.where(clause.getAsBoolean());
+    }
+
+    @Override
+    public Condition evaluate(final LazyCondition condition) {
+        return condition.evaluate();
+    }
+
+    @Override
+    public <T> T value(final boolean clause, final Supplier<T> trueSupplier, final Supplier<T> falseSupplier) {
+        return Value.where(clause, trueSupplier, falseSupplier);
+    }
+
+    @Override
+    public Snapshot snapshot() {
+        return new Snapshot(name, 0, 0, 0, new long[Snapshot.BUCKETS]);
+    }
+
+    @Override
+    public void reset() {
+        // nothing recorded
+    }
+
+}
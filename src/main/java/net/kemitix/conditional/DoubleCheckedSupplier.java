@@ -0,0 +1,83 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.function.Supplier;
+
+/**
+ * A {@link Memoize} supplier that computes its result at most once, locking only until it has one.
+ *
+ * @param <T> the type of the result
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class DoubleCheckedSupplier<T> implements Supplier<T> {
+
+    private static final Object NULL = new Object();
+
+    private final Object lock = new Object();
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private Supplier<? extends T> supplier;
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private volatile Object value;
+
+    /**
+     * Creates the supplier.
+     *
+     * @param supplier the supplier to remember the result of
+     */
+    DoubleCheckedSupplier(final Supplier<? extends T> supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public T get() {
+        Object current = value;
+        if (current == null) {
+            synchronized (lock) {
+                current = value;
+                if (current == null) {
+                    current = box(supplier.get());
+                    // the volatile write publishes the result; the supplier is only read under the lock
+                    value = current;
+                    supplier = null;
+                }
+            }
+        }
+        return unbox(current);
+    }
+
+    private static Object box(final Object result) {
+        if (result == null) {
+            return NULL;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T unbox(final Object current) {
+        if (current == NULL) {
+            return null;
+        }
+        return (T) current;
+    }
+
+}
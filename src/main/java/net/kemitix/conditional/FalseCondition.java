@@ -21,6 +21,8 @@
 
 package net.kemitix.conditional;
 
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -37,12 +39,23 @@ final class FalseCondition implements Condition {
         return FALSE;
     }
 
+    @Override
+    public Condition and(final BooleanSupplier clause) {
+        return FALSE;
+    }
+
     @Override
     @SuppressWarnings("PMD.ShortMethodName")
     public Condition or(final Supplier<Boolean> secondClause) {
         return Condition.where(secondClause.get());
     }
 
+    @Override
+    @SuppressWarnings("PMD.ShortMethodName")
+    public Condition or(final BooleanSupplier secondClause) {
+        return Condition.where(secondClause.getAsBoolean());
+    }
+
     @Override
     public Condition then(final Action response) {
         return FALSE;
@@ -65,12 +78,36 @@ final class FalseCondition implements Condition {
 
     @Override
     public void otherwiseThrow(final Exception exception) throws Exception {
-        throw exception;
+        throw ProbeEvents.thrown("otherwiseThrow", exception);
     }
 
     @Override
     public void otherwiseThrow(final Supplier<Exception> exceptionSupplier) throws Exception {
-        throw exceptionSupplier.get();
+        throw ProbeEvents.thrown("otherwiseThrow", exceptionSupplier);
+    }
+
+    @Override
+    public void thenFail(final String reason) {
+        Objects.requireNonNull(reason, "reason");
+        // do nothing
+    }
+
+    @Override
+    public Outcome thenReject(final String reason) {
+        Objects.requireNonNull(reason, "reason");
+        return Outcome.accepted();
+    }
+
+    @Override
+    public void otherwiseFail(final String reason) {
+        Objects.requireNonNull(reason, "reason");
+        throw ProbeEvents.thrown("otherwiseFail", ConditionFailedException.of(reason));
+    }
+
+    @Override
+    public Outcome otherwiseReject(final String reason) {
+        Objects.requireNonNull(reason, "reason");
+        return Outcome.rejected(reason);
     }
 
     @Override
@@ -0,0 +1,84 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.OptionalDouble;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+
+/**
+ * An intermediate state where the clause has evaluated to false.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+class FalseDoubleValueClause implements DoubleValue.DoubleValueClause {
+
+    protected static final DoubleValue.DoubleValueClause FALSE = new FalseDoubleValueClause();
+
+    @Override
+    public DoubleValue.DoubleValueClause not() {
+        return DoubleValue.where(true);
+    }
+
+    @Override
+    public DoubleValueSupplier then(final DoubleSupplier trueSupplier) {
+        return FalseDoubleValueSupplier.FALSE;
+    }
+
+    @Override
+    public DoubleValue.DoubleValueClause and(final BooleanSupplier clause) {
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.ShortMethodName")
+    public DoubleValue.DoubleValueClause or(final BooleanSupplier clause) {
+        return DoubleValue.where(clause.getAsBoolean());
+    }
+
+    @Override
+    public DoubleValue.DoubleValueClause orNot(final BooleanSupplier clause) {
+        return DoubleValue.where(!clause.getAsBoolean());
+    }
+
+    /**
+     * An intermediate result of the {@link DoubleValue} where the clause has evaluated to false.
+     *
+     * <p>It holds no state so a single instance is shared by every false {@link DoubleValueClause}.</p>
+     */
+    private static final class FalseDoubleValueSupplier implements DoubleValueSupplier {
+
+        private static final DoubleValueSupplier FALSE = new FalseDoubleValueSupplier();
+
+        @Override
+        public double otherwise(final DoubleSupplier falseSupplier) {
+            return falseSupplier.getAsDouble();
+        }
+
+        @Override
+        public OptionalDouble optional() {
+            return OptionalDouble.empty();
+        }
+
+    }
+
+}
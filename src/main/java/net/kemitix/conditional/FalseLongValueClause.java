@@ -0,0 +1,84 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.OptionalLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * An intermediate state where the clause has evaluated to false.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+class FalseLongValueClause implements LongValue.LongValueClause {
+
+    protected static final LongValue.LongValueClause FALSE = new FalseLongValueClause();
+
+    @Override
+    public LongValue.LongValueClause not() {
+        return LongValue.where(true);
+    }
+
+    @Override
+    public LongValueSupplier then(final LongSupplier trueSupplier) {
+        return FalseLongValueSupplier.FALSE;
+    }
+
+    @Override
+    public LongValue.LongValueClause and(final BooleanSupplier clause) {
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.ShortMethodName")
+    public LongValue.LongValueClause or(final BooleanSupplier clause) {
+        return LongValue.where(clause.getAsBoolean());
+    }
+
+    @Override
+    public LongValue.LongValueClause orNot(final BooleanSupplier clause) {
+        return LongValue.where(!clause.getAsBoolean());
+    }
+
+    /**
+     * An intermediate result of the {@link LongValue} where the clause has evaluated to false.
+     *
+     * <p>It holds no state so a single instance is shared by every false {@link LongValueClause}.</p>
+     */
+    private static final class FalseLongValueSupplier implements LongValueSupplier {
+
+        private static final LongValueSupplier FALSE = new FalseLongValueSupplier();
+
+        @Override
+        public long otherwise(final LongSupplier falseSupplier) {
+            return falseSupplier.getAsLong();
+        }
+
+        @Override
+        public OptionalLong optional() {
+            return OptionalLong.empty();
+        }
+
+    }
+
+}
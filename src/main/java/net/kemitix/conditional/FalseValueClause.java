@@ -22,6 +22,7 @@
 package net.kemitix.conditional;
 
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -40,8 +41,9 @@ class FalseValueClause<T> implements Value.ValueClause<T> {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public ValueSupplier<T> then(final Supplier<T> trueSupplier) {
-        return new FalseValueSupplier<>();
+        return (ValueSupplier<T>) FalseValueSupplier.FALSE;
     }
 
     @Override
@@ -49,19 +51,39 @@ class FalseValueClause<T> implements Value.ValueClause<T> {
         return this;
     }
 
+    @Override
+    public Value.ValueClause<T> and(final BooleanSupplier clause) {
+        return this;
+    }
+
     @Override
     @SuppressWarnings("PMD.ShortMethodName")
     public Value.ValueClause<T> or(final Supplier<Boolean> clause) {
         return Value.where(clause.get());
     }
 
+    @Override
+    @SuppressWarnings("PMD.ShortMethodName")
+    public Value.ValueClause<T> or(final BooleanSupplier clause) {
+        return Value.where(clause.getAsBoolean());
+    }
+
+    @Override
+    public Value.ValueClause<T> orNot(final BooleanSupplier clause) {
+        return Value.where(!clause.getAsBoolean());
+    }
+
     /**
      * An intermediate result of the {@link Value} where the clause has evaluated to false.
      *
+     * <p>It holds no state so a single instance is shared by every false {@link ValueClause}.</p>
+     *
      * @param <T> the type of the value
      */
     private static final class FalseValueSupplier<T> implements ValueSupplier<T> {
 
+        private static final ValueSupplier<?> FALSE = new FalseValueSupplier<>();
+
         @Override
         public T otherwise(final Supplier<T> falseSupplier) {
             return falseSupplier.get();
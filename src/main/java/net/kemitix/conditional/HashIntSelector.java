@@ -0,0 +1,88 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * An {@link IntSelector} that finds the case for a key in a table indexed by a perfect hash of the keys.
+ *
+ * @param <T> the type of the value
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class HashIntSelector<T> implements IntSelector<T> {
+
+    private final PerfectHash hash;
+    private final int[] keys;
+    private final Supplier<? extends T>[] suppliers;
+    private final Supplier<? extends T> otherwise;
+
+    private HashIntSelector(
+            final PerfectHash hash,
+            final int[] keys,
+            final Supplier<? extends T>[] suppliers,
+            final Supplier<? extends T> otherwise
+    ) {
+        this.hash = hash;
+        this.keys = keys;
+        this.suppliers = suppliers;
+        this.otherwise = otherwise;
+    }
+
+    /**
+     * Create a selector for the cases, if the keys have a perfect hash.
+     *
+     * @param cases     the supplier for each key
+     * @param otherwise the supplier for other keys
+     * @param <T>       the type of the value
+     * @return the IntSelector, or null if there is no perfect hash
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <T> HashIntSelector<T> create(
+            final Map<Integer, Supplier<? extends T>> cases,
+            final Supplier<? extends T> otherwise
+    ) {
+        final PerfectHash hash = PerfectHash.find(cases.keySet().stream().mapToInt(Integer::intValue).toArray());
+        if (hash == null) {
+            return null;
+        }
+        final int[] keys = new int[hash.size()];
+        final Supplier<? extends T>[] suppliers = new Supplier[hash.size()];
+        cases.forEach((key, supplier) -> {
+            final int slot = hash.slot(key);
+            keys[slot] = key;
+            suppliers[slot] = supplier;
+        });
+        return new HashIntSelector<>(hash, keys, suppliers, otherwise);
+    }
+
+    @Override
+    public T select(final int key) {
+        final int slot = hash.slot(key);
+        if (suppliers[slot] != null && keys[slot] == key) {
+            return suppliers[slot].get();
+        }
+        return otherwise.get();
+    }
+
+}
@@ -0,0 +1,93 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Selector} that finds the case for a key in a table indexed by a perfect hash of the keys.
+ *
+ * @param <K> the type of the key
+ * @param <T> the type of the value
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class HashSelector<K, T> implements Selector<K, T> {
+
+    private final PerfectHash hash;
+    private final Object[] keys;
+    private final Supplier<? extends T>[] suppliers;
+    private final Supplier<? extends T> otherwise;
+
+    private HashSelector(
+            final PerfectHash hash,
+            final Object[] keys,
+            final Supplier<? extends T>[] suppliers,
+            final Supplier<? extends T> otherwise
+    ) {
+        this.hash = hash;
+        this.keys = keys;
+        this.suppliers = suppliers;
+        this.otherwise = otherwise;
+    }
+
+    /**
+     * Create a selector for the cases, if the keys have a perfect hash.
+     *
+     * @param cases     the supplier for each key
+     * @param otherwise the supplier for other keys
+     * @param <K>       the type of the key
+     * @param <T>       the type of the value
+     * @return the Selector, or null if there is no perfect hash, as when keys share a hash code
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <K, T> HashSelector<K, T> create(
+            final Map<K, Supplier<? extends T>> cases,
+            final Supplier<? extends T> otherwise
+    ) {
+        final PerfectHash hash = PerfectHash.find(cases.keySet().stream().mapToInt(Object::hashCode).toArray());
+        if (hash == null) {
+            return null;
+        }
+        final Object[] keys = new Object[hash.size()];
+        final Supplier<? extends T>[] suppliers = new Supplier[hash.size()];
+        cases.forEach((key, supplier) -> {
+            final int slot = hash.slot(key.hashCode());
+            keys[slot] = key;
+            suppliers[slot] = supplier;
+        });
+        return new HashSelector<>(hash, keys, suppliers, otherwise);
+    }
+
+    @Override
+    public T select(final K key) {
+        if (key != null) {
+            final int slot = hash.slot(key.hashCode());
+            final Object candidate = keys[slot];
+            if (candidate != null && candidate.equals(key)) {
+                return suppliers[slot].get();
+            }
+        }
+        return otherwise.get();
+    }
+
+}
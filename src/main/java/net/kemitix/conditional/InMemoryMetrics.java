@@ -0,0 +1,98 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ConditionMetrics} that keeps the totals for each probe in memory.
+ *
+ * <p>Recording is lock-free, so an instance can be shared between exporters and read while it is being updated.
+ * Read the totals with {@link #snapshots()}.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public final class InMemoryMetrics implements ConditionMetrics {
+
+    private final ConcurrentMap<String, Totals> totals = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(final Probe.Snapshot delta) {
+        totals.computeIfAbsent(delta.name(), name -> new Totals()).add(delta);
+    }
+
+    /**
+     * The totals for every probe recorded, ordered by name.
+     *
+     * @return the Snapshots
+     */
+    public Map<String, Probe.Snapshot> snapshots() {
+        final Map<String, Probe.Snapshot> snapshots = new TreeMap<>();
+        totals.forEach((name, total) -> snapshots.put(name, total.snapshot(name)));
+        return snapshots;
+    }
+
+    /**
+     * Forget every probe recorded.
+     */
+    public void reset() {
+        totals.clear();
+    }
+
+    /**
+     * The running totals for one probe.
+     */
+    private static final class Totals {
+
+        private final LongAdder trueCount = new LongAdder();
+        private final LongAdder falseCount = new LongAdder();
+        private final LongAdder supplierCount = new LongAdder();
+        private final AtomicLongArray latencies = new AtomicLongArray(Probe.Snapshot.BUCKETS);
+
+        void add(final Probe.Snapshot delta) {
+            trueCount.add(delta.trueCount());
+            falseCount.add(delta.falseCount());
+            supplierCount.add(delta.supplierCount());
+            final long[] histogram = delta.latencyHistogram();
+            for (int bucket = 0; bucket < histogram.length; bucket++) {
+                if (histogram[bucket] != 0) {
+                    latencies.getAndAdd(bucket, histogram[bucket]);
+                }
+            }
+        }
+
+        Probe.Snapshot snapshot(final String name) {
+            final long[] histogram = new long[latencies.length()];
+            for (int bucket = 0; bucket < histogram.length; bucket++) {
+                histogram[bucket] = latencies.get(bucket);
+            }
+            return new Probe.Snapshot(name, trueCount.sum(), falseCount.sum(), supplierCount.sum(), histogram);
+        }
+
+    }
+
+}
@@ -0,0 +1,120 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A Value chosen from many by an {@code int} key, in place of a chain of
+ * {@link Value#where(boolean, Supplier, Supplier)}.
+ *
+ * <p>The cases are compiled into a table when the selector is created: an array indexed by the key when the keys are
+ * close together, or by a perfect hash of the keys otherwise. Selecting a value takes the same time however many cases
+ * there are, and only the supplier for the selected case is called. If no perfect hash is found for many hundreds of
+ * sparse keys, the cases are held in a {@link HashMap} instead.</p>
+ *
+ * @param <T> the type of the value
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@FunctionalInterface
+public interface IntSelector<T> {
+
+    /**
+     * Create a builder for a selector.
+     *
+     * @param <T> the type of the value
+     * @return the Builder
+     */
+    static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Get the value for the key from the supplier for its case, or from the otherwise supplier if it has none.
+     *
+     * @param key the key
+     * @return the value
+     */
+    T select(int key);
+
+    /**
+     * Builds an {@link IntSelector}, one case at a time.
+     *
+     * @param <T> the type of the value
+     */
+    final class Builder<T> {
+
+        private static final int MAX_GAPS_PER_CASE = 4;
+        private static final int MAX_GAPS = 64;
+
+        private final Map<Integer, Supplier<? extends T>> cases = new LinkedHashMap<>();
+        private int min = Integer.MAX_VALUE;
+        private int max = Integer.MIN_VALUE;
+
+        private Builder() {
+        }
+
+        /**
+         * Add a case.
+         *
+         * @param key      the key for the case
+         * @param supplier the supplier of the value, called only when the case is selected
+         * @return the Builder
+         * @throws IllegalArgumentException if there is already a case for the key
+         */
+        public Builder<T> when(final int key, final Supplier<? extends T> supplier) {
+            Objects.requireNonNull(supplier, "supplier");
+            if (cases.putIfAbsent(key, supplier) != null) {
+                throw new IllegalArgumentException("Duplicate case: " + key);
+            }
+            min = Math.min(min, key);
+            max = Math.max(max, key);
+            return this;
+        }
+
+        /**
+         * Create the selector, using the supplier for keys without a case.
+         *
+         * @param supplier the supplier of the value when no case matches
+         * @return the IntSelector
+         */
+        public IntSelector<T> otherwise(final Supplier<? extends T> supplier) {
+            Objects.requireNonNull(supplier, "supplier");
+            final long range = (long) max - min + 1;
+            if (range <= (long) cases.size() * MAX_GAPS_PER_CASE + MAX_GAPS) {
+                return DenseIntSelector.create(min, (int) Math.max(0, range), cases, supplier);
+            }
+            final IntSelector<T> hashed = HashIntSelector.create(cases, supplier);
+            if (hashed != null) {
+                return hashed;
+            }
+            final Map<Integer, Supplier<? extends T>> copy = new HashMap<>(cases);
+            return key -> copy.getOrDefault(key, supplier).get();
+        }
+
+    }
+
+}
@@ -0,0 +1,233 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * A condition expression that is built once and evaluated each time it is needed.
+ *
+ * <p>Where {@link Condition#where(boolean)} evaluates immediately, a {@code LazyCondition} records the structure of
+ * the expression. Each call to {@link #isTrue()} evaluates the clauses again, short-circuiting {@code and} and
+ * {@code or} as the Java operators do. Use {@link #evaluate()} to get the result as a {@link Condition}.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@SuppressWarnings({"methodcount", "PMD.TooManyMethods"})
+public interface LazyCondition {
+
+    /**
+     * Create a new {@code LazyCondition} for the clause.
+     *
+     * @param clause the condition to test each time the LazyCondition is evaluated
+     * @return the LazyCondition
+     */
+    static LazyCondition when(final BooleanSupplier clause) {
+        return new LazyClause(clause);
+    }
+
+    /**
+     * Create a new {@code LazyCondition} for the clause, identified by the key.
+     *
+     * <p>The key only matters to a {@link RuleSet}, which tests clauses with equal keys once between them, as if they
+     * were the same clause. Use it when the same test is written as separate lambdas.</p>
+     *
+     * @param key    the key that identifies the test the clause makes
+     * @param clause the condition to test each time the LazyCondition is evaluated
+     * @return the LazyCondition
+     */
+    static LazyCondition when(final Object key, final BooleanSupplier clause) {
+        return new LazyClause(new KeyedClause(key, clause));
+    }
+
+    /**
+     * Create a new {@code LazyCondition} that always has the same value.
+     *
+     * @param clause the value of the condition
+     * @return the LazyCondition
+     */
+    static LazyCondition where(final boolean clause) {
+        if (clause) {
+            return LazyConstant.TRUE;
+        }
+        return LazyConstant.FALSE;
+    }
+
+    /**
+     * Evaluates the {@code LazyCondition}.
+     *
+     * @return true if the LazyCondition is currently true
+     */
+    boolean isTrue();
+
+    /**
+     * Evaluates the {@code LazyCondition}.
+     *
+     * @return true if the LazyCondition is currently false
+     */
+    default boolean isFalse() {
+        return !isTrue();
+    }
+
+    /**
+     * Evaluates the {@code LazyCondition}.
+     *
+     * @return the current value as a Condition
+     */
+    default Condition evaluate() {
+        return Condition.where(isTrue());
+    }
+
+    /**
+     * Negates the {@code LazyCondition}.
+     *
+     * @return a LazyCondition that is true when this LazyCondition is false
+     */
+    default LazyCondition not() {
+        return new LazyNot(this);
+    }
+
+    /**
+     * Logically AND combine the current {@code LazyCondition} with the clause.
+     *
+     * @param clause the condition to test, only when this LazyCondition is true
+     * @return the LazyCondition
+     */
+    default LazyCondition and(final BooleanSupplier clause) {
+        return and(when(clause));
+    }
+
+    /**
+     * Logically AND combine the current {@code LazyCondition} with the other {@code LazyCondition}.
+     *
+     * @param other the other LazyCondition, only evaluated when this LazyCondition is true
+     * @return the LazyCondition
+     */
+    default LazyCondition and(final LazyCondition other) {
+        return new LazyAnd(this, other);
+    }
+
+    /**
+     * Logically OR combine the current {@code LazyCondition} with the clause.
+     *
+     * @param clause the condition to test, only when this LazyCondition is false
+     * @return the LazyCondition
+     */
+    @SuppressWarnings("PMD.ShortMethodName")
+    default LazyCondition or(final BooleanSupplier clause) {
+        return or(when(clause));
+    }
+
+    /**
+     * Logically OR combine the current {@code LazyCondition} with the other {@code LazyCondition}.
+     *
+     * @param other the other LazyCondition, only evaluated when this LazyCondition is false
+     * @return the LazyCondition
+     */
+    @SuppressWarnings("PMD.ShortMethodName")
+    default LazyCondition or(final LazyCondition other) {
+        return new LazyOr(this, other);
+    }
+
+    /**
+     * Apply the function to the value of the {@code LazyCondition} each time it is evaluated.
+     *
+     * @param f the function to apply
+     * @return the LazyCondition
+     */
+    default LazyCondition flatMap(final Function<Boolean, Condition> f) {
+        return new LazyFlatMap(this, f);
+    }
+
+    /**
+     * Passes the structure of the {@code LazyCondition} to the visitor.
+     *
+     * @param visitor the visitor
+     * @param <R>     the type of the result of the visitor
+     * @return the result of the visitor
+     */
+    <R> R accept(Visitor<R> visitor);
+
+    /**
+     * Visits the nodes of a {@link LazyCondition} expression.
+     *
+     * <p>Implementations decide whether, and in what order, to visit the operands.</p>
+     *
+     * @param <R> the type of the result
+     */
+    interface Visitor<R> {
+
+        /**
+         * Visit a clause.
+         *
+         * @param clause the clause
+         * @return the result
+         */
+        R visitClause(BooleanSupplier clause);
+
+        /**
+         * Visit a constant.
+         *
+         * @param value the value of the constant
+         * @return the result
+         */
+        R visitConstant(boolean value);
+
+        /**
+         * Visit a logical AND.
+         *
+         * @param left  the left operand, evaluated first
+         * @param right the right operand, evaluated only when the left is true
+         * @return the result
+         */
+        R visitAnd(LazyCondition left, LazyCondition right);
+
+        /**
+         * Visit a logical OR.
+         *
+         * @param left  the left operand, evaluated first
+         * @param right the right operand, evaluated only when the left is false
+         * @return the result
+         */
+        @SuppressWarnings("PMD.ShortMethodName")
+        R visitOr(LazyCondition left, LazyCondition right);
+
+        /**
+         * Visit a negation.
+         *
+         * @param operand the condition being negated
+         * @return the result
+         */
+        R visitNot(LazyCondition operand);
+
+        /**
+         * Visit a flatMap.
+         *
+         * @param source the condition whose value is passed to the function
+         * @param f      the function
+         * @return the result
+         */
+        R visitFlatMap(LazyCondition source, Function<Boolean, Condition> f);
+    }
+
+}
@@ -0,0 +1,57 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A {@link BatchCondition} comparing a {@code long} column with a value.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@RequiredArgsConstructor
+final class LongColumnCondition implements BatchCondition {
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final long[] column;
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final Comparison comparison;
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final long value;
+
+    @Override
+    public void select(final int rows, final long[] mask, final ColumnKernels kernels) {
+        switch (comparison) {
+            case LESS_THAN:
+                kernels.lessThan(column, value, rows, mask);
+                break;
+            case EQUAL_TO:
+                kernels.equalTo(column, value, rows, mask);
+                break;
+            default:
+                kernels.greaterThan(column, value, rows, mask);
+        }
+    }
+
+}
@@ -0,0 +1,269 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.OptionalLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@code long} Value from an if-then-else in a functional-style.
+ *
+ * <p>The {@code long} specialisation of {@link Value}, which never boxes the value.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public interface LongValue {
+
+    /**
+     * Return one of two values depending on the value of a clause.
+     *
+     * @param clause        The deciding clause
+     * @param trueSupplier  The supplier to provide the value when the clause is true
+     * @param falseSupplier The supplier to provide the value when the clause is false
+     * @return the value from either the trueSupplier or the falseSupplier
+     */
+    static long where(
+            final boolean clause,
+            final LongSupplier trueSupplier,
+            final LongSupplier falseSupplier
+    ) {
+        if (clause) {
+            return trueSupplier.getAsLong();
+        }
+        return falseSupplier.getAsLong();
+    }
+
+    /**
+     * Return one of two values depending on the value of a clause.
+     *
+     * @param clause        The deciding clause
+     * @param trueSupplier  The supplier to provide the value when the clause is true
+     * @param falseSupplier The supplier to provide the value when the clause is false
+     * @return the value from either the trueSupplier or the falseSupplier
+     */
+    static long where(
+            final Condition clause,
+            final LongSupplier trueSupplier,
+            final LongSupplier falseSupplier
+    ) {
+        return LongValue.where(clause.isTrue(), trueSupplier, falseSupplier);
+    }
+
+    /**
+     * Return an OptionalLong either containing a value, if the clause is true, or empty.
+     *
+     * @param clause       The deciding clause
+     * @param trueSupplier The supplier to provide the value when the clause is true
+     * @return an OptionalLong either containing the value from the trueSupplier or empty
+     */
+    static OptionalLong where(
+            final boolean clause,
+            final LongSupplier trueSupplier
+    ) {
+        if (clause) {
+            return OptionalLong.of(trueSupplier.getAsLong());
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Return an OptionalLong either containing a value, if the clause is true, or empty.
+     *
+     * @param clause       The deciding clause
+     * @param trueSupplier The supplier to provide the value when the clause is true
+     * @return an OptionalLong either containing the value from the trueSupplier or empty
+     */
+    static OptionalLong where(
+            final Condition clause,
+            final LongSupplier trueSupplier
+    ) {
+        return LongValue.where(clause.isTrue(), trueSupplier);
+    }
+
+    /**
+     * Create a new {@link LongValueClause} for the clause.
+     *
+     * @param clause the condition to test
+     * @return a true or false value clause
+     */
+    static LongValueClause where(final boolean clause) {
+        if (clause) {
+            return TrueLongValueClause.TRUE;
+        }
+        return FalseLongValueClause.FALSE;
+    }
+
+    /**
+     * Create a new {@link LongValueClause} for the clause.
+     *
+     * @param clause the condition to test
+     * @return a true or false value clause
+     */
+    static LongValueClause where(final Condition clause) {
+        return LongValue.where(clause.isTrue());
+    }
+
+    /**
+     * Fills the destination with the value from one of two arrays at each index, depending on whether the index is
+     * selected by the mask.
+     *
+     * @param mask        The selected indexes
+     * @param whenTrue    The values for selected indexes
+     * @param whenFalse   The values for the other indexes
+     * @param destination The array to fill, which must be no longer than either source
+     */
+    static void select(
+            final Mask mask,
+            final long[] whenTrue,
+            final long[] whenFalse,
+            final long[] destination
+    ) {
+        Blend.select(mask, whenTrue, whenFalse, destination, false);
+    }
+
+    /**
+     * Fills the destination with the value from one of two functions of the index, depending on whether the index is
+     * selected by the mask. Only one function is called for each index.
+     *
+     * @param mask        The selected indexes
+     * @param whenTrue    The values for selected indexes
+     * @param whenFalse   The values for the other indexes
+     * @param destination The array to fill
+     */
+    static void select(
+            final Mask mask,
+            final IntToLongFunction whenTrue,
+            final IntToLongFunction whenFalse,
+            final long[] destination
+    ) {
+        Blend.select(mask, whenTrue, whenFalse, destination, false);
+    }
+
+    /**
+     * Fills the destination as {@link #select(Mask, long[], long[], long[])} does, with chunks of large
+     * destinations filled in parallel on the common {@link java.util.concurrent.ForkJoinPool}.
+     *
+     * @param mask        The selected indexes
+     * @param whenTrue    The values for selected indexes
+     * @param whenFalse   The values for the other indexes
+     * @param destination The array to fill, which must be no longer than either source
+     */
+    static void parallelSelect(
+            final Mask mask,
+            final long[] whenTrue,
+            final long[] whenFalse,
+            final long[] destination
+    ) {
+        Blend.select(mask, whenTrue, whenFalse, destination, true);
+    }
+
+    /**
+     * Fills the destination as {@link #select(Mask, IntToLongFunction, IntToLongFunction, long[])} does, with chunks of
+     * large destinations filled in parallel on the common {@link java.util.concurrent.ForkJoinPool}. The functions
+     * must be safe to call from several threads.
+     *
+     * @param mask        The selected indexes
+     * @param whenTrue    The values for selected indexes
+     * @param whenFalse   The values for the other indexes
+     * @param destination The array to fill
+     */
+    static void parallelSelect(
+            final Mask mask,
+            final IntToLongFunction whenTrue,
+            final IntToLongFunction whenFalse,
+            final long[] destination
+    ) {
+        Blend.select(mask, whenTrue, whenFalse, destination, true);
+    }
+
+    /**
+     * An intermediate state in determining the final {@link LongValue}.
+     */
+    /* default */ interface LongValueClause {
+
+        /**
+         * Negate the Value.
+         *
+         * @return a new LongValueClause with a negated value
+         */
+        LongValueClause not();
+
+        /**
+         * Create a {@link LongValueSupplier} with the {@link LongSupplier} should the {@link LongValueClause} be true.
+         *
+         * @param trueSupplier the Supplier for the true value
+         * @return the value supplier
+         */
+        LongValueSupplier then(LongSupplier trueSupplier);
+
+        /**
+         * Logically AND combine the current {@link LongValueClause} with clause.
+         *
+         * @param clause the condition to test
+         * @return a true or false value clause
+         */
+        LongValueClause and(BooleanSupplier clause);
+
+        /**
+         * Logically OR combine the current {@link LongValueClause} with clause.
+         *
+         * @param clause the condition to test
+         * @return a true or false value clause
+         */
+        @SuppressWarnings("PMD.ShortMethodName")
+        LongValueClause or(BooleanSupplier clause);
+
+        /**
+         * Logically OR combine the current {@link LongValueClause} with boolean opposite of the clause.
+         *
+         * @param clause the condition to test
+         * @return a true or false value clause
+         */
+        LongValueClause orNot(BooleanSupplier clause);
+
+        /**
+         * An intermediate result of the {@link LongValue}.
+         */
+        /* default */ interface LongValueSupplier {
+
+            /**
+             * Determine the value by whether the {@link LongValueClause} was true or false.
+             *
+             * @param falseSupplier the Supplier for the false value
+             * @return the value
+             */
+            long otherwise(LongSupplier falseSupplier);
+
+            /**
+             * Returns the value in an OptionalLong if the {@link LongValueClause} is true, or an empty OptionalLong if
+             * it is false.
+             *
+             * @return an OptionalLong, possibly containing the value
+             */
+            OptionalLong optional();
+        }
+
+    }
+
+}
@@ -0,0 +1,92 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.BitSet;
+
+/**
+ * A selection of elements by index, for the bulk {@code select} operations of {@link Value}, {@link IntValue},
+ * {@link LongValue} and {@link DoubleValue}.
+ *
+ * <p>Indexes beyond the end of the mask are not selected. The mask is not copied, so changes to the array are
+ * seen by later selections.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public final class Mask {
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final long[] words;
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final boolean[] flags;
+
+    private Mask(final long[] words, final boolean[] flags) {
+        this.words = words;
+        this.flags = flags;
+    }
+
+    /**
+     * A mask packed 64 indexes to a {@code long}, as written by {@link BatchCondition}.
+     *
+     * @param words the packed mask
+     * @return the Mask
+     */
+    public static Mask of(final long[] words) {
+        return new Mask(words, null);
+    }
+
+    /**
+     * A mask with one flag per index.
+     *
+     * @param flags the flags
+     * @return the Mask
+     */
+    public static Mask of(final boolean[] flags) {
+        return new Mask(null, flags);
+    }
+
+    /**
+     * A mask of the bits set in the BitSet, as it is now.
+     *
+     * @param bitSet the BitSet
+     * @return the Mask
+     */
+    public static Mask of(final BitSet bitSet) {
+        return of(bitSet.toLongArray());
+    }
+
+    /**
+     * Whether the index is selected.
+     *
+     * @param index the index
+     * @return true if the index is selected
+     */
+    public boolean isSelected(final int index) {
+        if (words != null) {
+            final int word = index >>> 6;
+            return word < words.length && (words[word] & (1L << index)) != 0;
+        }
+        return index < flags.length && flags[index];
+    }
+
+}
@@ -0,0 +1,165 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+/**
+ * Operations on selection masks, packed 64 rows to a {@code long}, as written by {@link BatchCondition}.
+ *
+ * <p>The binary operations work a word at a time, in place on their first argument.</p>
+ *
+ * <p>These work on the raw {@code long[]} words; {@link Mask} wraps such an array, or other forms, as a value for the
+ * bulk {@code select} operations.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public final class MaskBits {
+
+    /**
+     * The number of rows in each word of a mask.
+     */
+    public static final int ROWS_PER_WORD = Long.SIZE;
+
+    private static final int WORD_SHIFT = 6;
+
+    private MaskBits() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * The number of words in a mask of the given number of rows.
+     *
+     * @param rows the number of rows
+     * @return the number of words
+     */
+    public static int words(final int rows) {
+        return (rows + ROWS_PER_WORD - 1) >>> WORD_SHIFT;
+    }
+
+    /**
+     * Whether the row is selected.
+     *
+     * @param mask the mask
+     * @param row  the row
+     * @return true if the row is selected
+     */
+    public static boolean isSelected(final long[] mask, final int row) {
+        return (mask[row >>> WORD_SHIFT] & (1L << row)) != 0;
+    }
+
+    /**
+     * Whether the row is selected, as a {@link Condition}.
+     *
+     * @param mask the mask
+     * @param row  the row
+     * @return a true Condition if the row is selected
+     */
+    public static Condition condition(final long[] mask, final int row) {
+        return Condition.where(isSelected(mask, row));
+    }
+
+    /**
+     * Sets the mask to the rows selected by both masks.
+     *
+     * @param target the mask to update
+     * @param other  the other mask
+     * @param rows   the number of rows
+     */
+    public static void and(final long[] target, final long[] other, final int rows) {
+        final int words = words(rows);
+        for (int i = 0; i < words; i++) {
+            target[i] &= other[i];
+        }
+    }
+
+    /**
+     * Sets the mask to the rows selected by either mask.
+     *
+     * @param target the mask to update
+     * @param other  the other mask
+     * @param rows   the number of rows
+     */
+    @SuppressWarnings("PMD.ShortMethodName")
+    public static void or(final long[] target, final long[] other, final int rows) {
+        final int words = words(rows);
+        for (int i = 0; i < words; i++) {
+            target[i] |= other[i];
+        }
+    }
+
+    /**
+     * Sets the mask to the rows selected by the first mask but not the other.
+     *
+     * @param target the mask to update
+     * @param other  the other mask
+     * @param rows   the number of rows
+     */
+    public static void andNot(final long[] target, final long[] other, final int rows) {
+        final int words = words(rows);
+        for (int i = 0; i < words; i++) {
+            target[i] &= ~other[i];
+        }
+    }
+
+    /**
+     * Inverts the mask, leaving the bits beyond the last row clear.
+     *
+     * @param target the mask to update
+     * @param rows   the number of rows
+     */
+    public static void not(final long[] target, final int rows) {
+        final int words = words(rows);
+        for (int i = 0; i < words; i++) {
+            target[i] = ~target[i];
+        }
+        clearTail(target, rows);
+    }
+
+    /**
+     * The number of rows selected.
+     *
+     * @param mask the mask
+     * @param rows the number of rows
+     * @return the number of rows selected
+     */
+    public static int count(final long[] mask, final int rows) {
+        final int words = words(rows);
+        int count = 0;
+        for (int i = 0; i < words; i++) {
+            count += Long.bitCount(mask[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Clears the bits in the last word that are beyond the last row.
+     *
+     * @param mask the mask
+     * @param rows the number of rows
+     */
+    static void clearTail(final long[] mask, final int rows) {
+        final int tail = rows & (ROWS_PER_WORD - 1);
+        if (tail != 0) {
+            mask[rows >>> WORD_SHIFT] &= -1L >>> (ROWS_PER_WORD - tail);
+        }
+    }
+
+}
@@ -0,0 +1,130 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Wrappers for suppliers that remember the first result, so an expensive clause or value shared between several
+ * {@link Condition} chains, or between {@link Value} branches, is only computed once.
+ *
+ * <p>If the supplier throws, nothing is remembered and the next call tries again.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public final class Memoize {
+
+    private Memoize() {
+    }
+
+    /**
+     * Create a supplier that remembers the first result of the supplier, using
+     * {@link Mode#DOUBLE_CHECKED_LOCKING}.
+     *
+     * @param supplier the supplier to remember the result of
+     * @param <T>      the type of the result
+     * @return the memoizing Supplier
+     */
+    public static <T> Supplier<T> supplier(final Supplier<? extends T> supplier) {
+        return supplier(supplier, Mode.DOUBLE_CHECKED_LOCKING);
+    }
+
+    /**
+     * Create a supplier that remembers the first result of the supplier.
+     *
+     * @param supplier the supplier to remember the result of
+     * @param mode     how the result is shared between threads
+     * @param <T>      the type of the result
+     * @return the memoizing Supplier
+     */
+    public static <T> Supplier<T> supplier(final Supplier<? extends T> supplier, final Mode mode) {
+        switch (mode) {
+            case SINGLE_THREADED:
+                return new SingleThreadedSupplier<>(supplier);
+            case LOCK_FREE:
+                return new LockFreeSupplier<>(supplier);
+            default:
+                return new DoubleCheckedSupplier<>(supplier);
+        }
+    }
+
+    /**
+     * Create a clause that remembers the first result of the clause, using {@link Mode#DOUBLE_CHECKED_LOCKING}.
+     *
+     * @param clause the clause to remember the result of
+     * @return the memoizing BooleanSupplier
+     */
+    public static BooleanSupplier clause(final BooleanSupplier clause) {
+        return clause(clause, Mode.DOUBLE_CHECKED_LOCKING);
+    }
+
+    /**
+     * Create a clause that remembers the first result of the clause.
+     *
+     * <p>The result is held as one of the two shared {@link Boolean} instances, so nothing is allocated.</p>
+     *
+     * @param clause the clause to remember the result of
+     * @param mode   how the result is shared between threads
+     * @return the memoizing BooleanSupplier
+     */
+    public static BooleanSupplier clause(final BooleanSupplier clause, final Mode mode) {
+        final Supplier<Boolean> memo = supplier(clause::getAsBoolean, mode);
+        return memo::get;
+    }
+
+    /**
+     * How a memoized result is computed and shared between threads.
+     */
+    public enum Mode {
+
+        /**
+         * For use by one thread at a time, with no synchronisation.
+         *
+         * <p>Nothing is guaranteed if more than one thread calls the supplier at once: each may compute the result,
+         * and a thread may see a result that isn't fully constructed. Pass it to another thread only through
+         * something that publishes it safely, such as an executor or a {@code volatile} field.</p>
+         */
+        SINGLE_THREADED,
+
+        /**
+         * Shared between threads without locking, using compare-and-set.
+         *
+         * <p>If threads call the supplier at the same time before there is a result, each may compute one, but only
+         * the first to finish is kept and every thread returns that one. The result is safely published: a thread
+         * that returns it sees everything the computing thread did before finishing. Use this when computing the
+         * result more than once is only wasteful, not wrong.</p>
+         */
+        LOCK_FREE,
+
+        /**
+         * Shared between threads by locking only until there is a result.
+         *
+         * <p>The result is computed at most once, by the first thread to call the supplier; any others wait for
+         * it. Once there is a result it is read without locking. The result is safely published, as for
+         * {@link #LOCK_FREE}.</p>
+         */
+        DOUBLE_CHECKED_LOCKING
+
+    }
+
+}
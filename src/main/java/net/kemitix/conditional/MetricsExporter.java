@@ -0,0 +1,180 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Reports the counts of every {@link Probe} to {@link ConditionMetrics} in batches, from a background thread.
+ *
+ * <p>Evaluation threads only update the probes' striped counters. At each interval the exporter takes a snapshot of
+ * every probe, works out what has been counted since the last batch, and passes that to each {@link ConditionMetrics},
+ * so aggregation and exporting never slow down an evaluation. A probe that has counted nothing since the last batch
+ * is left out of it. Closing the exporter stops the thread and reports a final batch.</p>
+ *
+ * <pre>{@code
+ * final MetricsExporter exporter = MetricsExporter.start(Duration.ofSeconds(15));
+ * }</pre>
+ *
+ * <p>Probes only count when they are enabled with {@code -Dnet.kemitix.conditional.probes=true}.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public final class MetricsExporter implements AutoCloseable {
+
+    private final Supplier<Map<String, Probe.Snapshot>> source;
+    private final List<ConditionMetrics> metrics;
+    private final Map<String, Probe.Snapshot> previous = new HashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "conditional-metrics");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile RuntimeException lastFailure;
+
+    /**
+     * Creates an exporter, without starting it.
+     *
+     * @param source  the snapshots of every probe
+     * @param metrics the metrics to report to
+     */
+    MetricsExporter(final Supplier<Map<String, Probe.Snapshot>> source, final List<ConditionMetrics> metrics) {
+        this.source = source;
+        this.metrics = Collections.unmodifiableList(new ArrayList<>(metrics));
+    }
+
+    /**
+     * Start reporting to the {@link ConditionMetrics} registered as services with the context class loader.
+     *
+     * @param interval the time between batches
+     * @return the MetricsExporter
+     */
+    public static MetricsExporter start(final Duration interval) {
+        return start(interval, discover(Thread.currentThread().getContextClassLoader()));
+    }
+
+    /**
+     * Start reporting to the given {@link ConditionMetrics}.
+     *
+     * @param interval the time between batches
+     * @param metrics  the metrics to report to
+     * @return the MetricsExporter
+     */
+    public static MetricsExporter start(final Duration interval, final ConditionMetrics... metrics) {
+        return start(interval, Arrays.asList(metrics));
+    }
+
+    /**
+     * Start reporting to the given {@link ConditionMetrics}.
+     *
+     * @param interval the time between batches
+     * @param metrics  the metrics to report to
+     * @return the MetricsExporter
+     */
+    public static MetricsExporter start(final Duration interval, final List<ConditionMetrics> metrics) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("interval must be positive: " + interval);
+        }
+        final MetricsExporter exporter = new MetricsExporter(ProbeRegistry::snapshots, metrics);
+        final long nanos = interval.toNanos();
+        exporter.scheduler.scheduleAtFixedRate(exporter::export, nanos, nanos, TimeUnit.NANOSECONDS);
+        return exporter;
+    }
+
+    /**
+     * The {@link ConditionMetrics} registered as services with the class loader.
+     *
+     * @param loader the class loader
+     * @return the metrics, in the order they were found
+     */
+    static List<ConditionMetrics> discover(final ClassLoader loader) {
+        final List<ConditionMetrics> found = new ArrayList<>();
+        ServiceLoader.load(ConditionMetrics.class, loader).forEach(found::add);
+        return found;
+    }
+
+    /**
+     * The metrics reported to.
+     *
+     * @return the metrics
+     */
+    public List<ConditionMetrics> metrics() {
+        return metrics;
+    }
+
+    /**
+     * Report a batch now, on the calling thread.
+     *
+     * <p>A failure in one {@link ConditionMetrics} does not stop the others, or later batches, from being reported.
+     * The latest failure is available from {@link #lastFailure()}.</p>
+     */
+    public synchronized void export() {
+        final List<Probe.Snapshot> batch = new ArrayList<>();
+        source.get().forEach((name, snapshot) -> {
+            final Probe.Snapshot earlier = previous.put(name, snapshot);
+            final Probe.Snapshot delta = earlier == null ? snapshot : snapshot.since(earlier);
+            if (!delta.isEmpty()) {
+                batch.add(delta);
+            }
+        });
+        for (final ConditionMetrics metric : metrics) {
+            try {
+                batch.forEach(metric::record);
+                metric.flush();
+            } catch (RuntimeException e) {
+                lastFailure = e;
+            }
+        }
+    }
+
+    /**
+     * The latest failure of a {@link ConditionMetrics}, if any.
+     *
+     * @return the failure, or empty
+     */
+    public Optional<RuntimeException> lastFailure() {
+        return Optional.ofNullable(lastFailure);
+    }
+
+    /**
+     * Stop the background thread and report a final batch.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        export();
+    }
+
+}
@@ -0,0 +1,217 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * {@link ConditionMetrics} that writes the totals for every probe to a file after each batch.
+ *
+ * <p>The file is replaced as a whole, so a reader, such as a Prometheus node exporter textfile collector, never sees
+ * it half written. When discovered as a service, the file and format are taken from the system properties
+ * {@value #FILE_PROPERTY} and {@value #FORMAT_PROPERTY}.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public final class MetricsFileWriter implements ConditionMetrics {
+
+    /**
+     * The system property with the path of the file, by default {@code conditional-metrics.txt}.
+     */
+    public static final String FILE_PROPERTY = "net.kemitix.conditional.metrics.file";
+
+    /**
+     * The system property with the name of the {@link Format}, by default {@code TEXT}.
+     */
+    public static final String FORMAT_PROPERTY = "net.kemitix.conditional.metrics.format";
+
+    private final Path file;
+    private final Format format;
+    private final InMemoryMetrics totals = new InMemoryMetrics();
+
+    /**
+     * Creates a writer configured by the system properties {@value #FILE_PROPERTY} and {@value #FORMAT_PROPERTY}.
+     */
+    public MetricsFileWriter() {
+        this(Paths.get(System.getProperty(FILE_PROPERTY, "conditional-metrics.txt")),
+                Format.valueOf(System.getProperty(FORMAT_PROPERTY, "TEXT").toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Creates a writer.
+     *
+     * @param file   the file to write
+     * @param format the format to write in
+     */
+    public MetricsFileWriter(final Path file, final Format format) {
+        this.file = file;
+        this.format = format;
+    }
+
+    /**
+     * The file written.
+     *
+     * @return the path of the file
+     */
+    public Path file() {
+        return file;
+    }
+
+    @Override
+    public void record(final Probe.Snapshot delta) {
+        totals.record(delta);
+    }
+
+    /**
+     * Replace the file with the current totals.
+     *
+     * @throws UncheckedIOException if the file can't be written
+     */
+    @Override
+    public void flush() {
+        final Path directory = file.toAbsolutePath().getParent();
+        try {
+            final Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temporary, format.render(totals.snapshots().values()).getBytes(StandardCharsets.UTF_8));
+                move(temporary);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void move(final Path temporary) throws IOException {
+        try {
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * The formats of the file.
+     */
+    public enum Format {
+
+        /**
+         * One line per probe, as {@link Probe.Snapshot#toString()}.
+         */
+        TEXT {
+            @Override
+            String render(final Collection<Probe.Snapshot> snapshots) {
+                final StringBuilder text = new StringBuilder();
+                snapshots.forEach(snapshot -> text.append(snapshot).append('\n'));
+                return text.toString();
+            }
+        },
+
+        /**
+         * The Prometheus text exposition format: a {@code conditional_evaluations_total} counter by probe and outcome,
+         * and a {@code conditional_supplier_duration_seconds} histogram by probe. The histogram has no {@code _sum},
+         * as only the buckets are recorded.
+         */
+        PROMETHEUS {
+            @Override
+            String render(final Collection<Probe.Snapshot> snapshots) {
+                final StringBuilder text = new StringBuilder();
+                header(text, EVALUATIONS, "Evaluations of probed conditions, by outcome.", "counter");
+                snapshots.forEach(snapshot -> {
+                    final String probe = "probe=\"" + label(snapshot.name()) + "\"";
+                    sample(text, EVALUATIONS, probe + ",outcome=\"true\"", snapshot.trueCount());
+                    sample(text, EVALUATIONS, probe + ",outcome=\"false\"", snapshot.falseCount());
+                });
+                header(text, DURATION, "Time taken by the suppliers of probed conditions.", "histogram");
+                snapshots.forEach(snapshot -> histogram(text, snapshot));
+                return text.toString();
+            }
+        };
+
+        private static final String EVALUATIONS = "conditional_evaluations_total";
+        private static final String DURATION = "conditional_supplier_duration_seconds";
+        private static final double NANOS_PER_SECOND = 1e9;
+
+        /**
+         * Render the totals.
+         *
+         * @param snapshots the totals for each probe
+         * @return the contents of the file
+         */
+        abstract String render(Collection<Probe.Snapshot> snapshots);
+
+        private static void header(
+                final StringBuilder text,
+                final String metric,
+                final String help,
+                final String type
+        ) {
+            text.append("# HELP ").append(metric).append(' ').append(help).append('\n')
+                    .append("# TYPE ").append(metric).append(' ').append(type).append('\n');
+        }
+
+        private static void sample(
+                final StringBuilder text,
+                final String metric,
+                final String labels,
+                final long value
+        ) {
+            text.append(metric).append('{').append(labels).append("} ").append(value).append('\n');
+        }
+
+        /**
+         * The cumulative buckets up to the last one used, each bounded by the longest time it counts.
+         */
+        private static void histogram(final StringBuilder text, final Probe.Snapshot snapshot) {
+            final String probe = "probe=\"" + label(snapshot.name()) + "\"";
+            final long[] histogram = snapshot.latencyHistogram();
+            int last = histogram.length - 2;
+            while (last >= 0 && histogram[last] == 0) {
+                last--;
+            }
+            long cumulative = 0;
+            for (int bucket = 0; bucket <= last; bucket++) {
+                cumulative += histogram[bucket];
+                final double bound = ((1L << bucket) - 1) / NANOS_PER_SECOND;
+                sample(text, DURATION + "_bucket", probe + ",le=\"" + bound + "\"", cumulative);
+            }
+            sample(text, DURATION + "_bucket", probe + ",le=\"+Inf\"", snapshot.supplierCount());
+            sample(text, DURATION + "_count", probe, snapshot.supplierCount());
+        }
+
+        private static String label(final String value) {
+            return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+
+    }
+
+}
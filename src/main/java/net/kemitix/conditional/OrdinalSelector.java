@@ -0,0 +1,65 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Selector} keyed by an enum, with a supplier for each ordinal.
+ *
+ * @param <E> the type of the key
+ * @param <T> the type of the value
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class OrdinalSelector<E extends Enum<E>, T> implements Selector<E, T> {
+
+    private final Supplier<? extends T>[] byOrdinal;
+    private final Supplier<? extends T> otherwise;
+
+    private OrdinalSelector(final Supplier<? extends T>[] byOrdinal, final Supplier<? extends T> otherwise) {
+        this.byOrdinal = byOrdinal;
+        this.otherwise = otherwise;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <E extends Enum<E>, T> OrdinalSelector<E, T> create(
+            final Class<E> enumType,
+            final Map<E, Supplier<? extends T>> cases,
+            final Supplier<? extends T> otherwise
+    ) {
+        final Supplier<? extends T>[] byOrdinal = new Supplier[enumType.getEnumConstants().length];
+        Arrays.fill(byOrdinal, otherwise);
+        cases.forEach((key, supplier) -> byOrdinal[key.ordinal()] = supplier);
+        return new OrdinalSelector<>(byOrdinal, otherwise);
+    }
+
+    @Override
+    public T select(final E key) {
+        if (key == null) {
+            return otherwise.get();
+        }
+        return byOrdinal[key.ordinal()].get();
+    }
+
+}
@@ -0,0 +1,140 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * The result of a check that is either accepted or rejected for a reason, returned by
+ * {@link Condition#thenReject(String)} and {@link Condition#otherwiseReject(String)}.
+ *
+ * <p>Unlike {@link Condition#thenThrow(Supplier)}, a rejection costs no exception, so it suits paths where
+ * rejections are common. Checks can be chained with {@link #and(Supplier)}, stopping at the first rejection.</p>
+ *
+ * <pre>{@code
+ * final Outcome outcome = Condition.where(order.isEmpty()).thenReject("empty order")
+ *         .and(() -> Condition.where(order.total() > limit).thenReject("over limit"));
+ * }</pre>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public final class Outcome {
+
+    private static final Outcome ACCEPTED = new Outcome(null);
+
+    private final String reason;
+
+    private Outcome(final String reason) {
+        this.reason = reason;
+    }
+
+    /**
+     * The accepted outcome.
+     *
+     * @return the Outcome
+     */
+    public static Outcome accepted() {
+        return ACCEPTED;
+    }
+
+    /**
+     * A rejected outcome.
+     *
+     * @param reason the reason for the rejection
+     * @return the Outcome
+     */
+    public static Outcome rejected(final String reason) {
+        return new Outcome(Objects.requireNonNull(reason, "reason"));
+    }
+
+    /**
+     * Whether the check was accepted.
+     *
+     * @return true if accepted
+     */
+    public boolean isAccepted() {
+        return reason == null;
+    }
+
+    /**
+     * Whether the check was rejected.
+     *
+     * @return true if rejected
+     */
+    public boolean isRejected() {
+        return reason != null;
+    }
+
+    /**
+     * The reason for the rejection.
+     *
+     * @return the reason, or empty if accepted
+     */
+    public Optional<String> reason() {
+        return Optional.ofNullable(reason);
+    }
+
+    /**
+     * The next check if this one was accepted, otherwise this rejection, without making the next check.
+     *
+     * @param next the next check
+     * @return the Outcome
+     */
+    public Outcome and(final Supplier<Outcome> next) {
+        if (reason == null) {
+            return next.get();
+        }
+        return this;
+    }
+
+    /**
+     * Throw the shared {@link ConditionFailedException} for the reason if the check was rejected.
+     *
+     * @throws ConditionFailedException if rejected
+     */
+    public void orFail() {
+        if (reason != null) {
+            throw ConditionFailedException.of(reason);
+        }
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof Outcome && Objects.equals(reason, ((Outcome) other).reason);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(reason);
+    }
+
+    @Override
+    public String toString() {
+        if (reason == null) {
+            return "Outcome{accepted}";
+        }
+        return "Outcome{rejected=" + reason + "}";
+    }
+
+}
@@ -0,0 +1,280 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Evaluates independent clauses concurrently.
+ *
+ * <p>{@link #evaluate(Executor, BooleanSupplier[], boolean)}, for {@link Condition#allOf(Executor,
+ * BooleanSupplier...)} and {@link Condition#anyOf(Executor, BooleanSupplier...)}, runs the first clause on the
+ * calling thread and the others on the executor. The result is the same as evaluating the clauses in order with
+ * {@code &&} or {@code ||}: it is decided by the first clause, in order, that either gives the deciding value or
+ * throws. Once a clause gives the deciding value, the clauses after it are cancelled, as they can no longer change
+ * the result.</p>
+ *
+ * <p>{@link #race(Executor, List, boolean)}, for blocking clauses, runs every clause on the executor and is
+ * decided by whichever clause gives the deciding value first. A failure is only thrown if no clause gives the
+ * deciding value.</p>
+ *
+ * <p>Either way, once the result is known any clauses still running are cancelled. Cancelling interrupts a
+ * running clause, which it is free to ignore.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class ParallelClauses {
+
+    private ParallelClauses() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Evaluates the clauses until one, in order, gives the deciding value or throws.
+     *
+     * @param executor the executor to run all but the first clause on
+     * @param clauses  the clauses
+     * @param deciding the value that decides the result: false for AND, true for OR
+     * @return the result
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    static boolean evaluate(final Executor executor, final BooleanSupplier[] clauses, final boolean deciding) {
+        final int count = clauses.length;
+        if (count == 0) {
+            return !deciding;
+        }
+        if (count == 1) {
+            return clauses[0].getAsBoolean();
+        }
+        final CompletionService<ClauseResult> service = new ExecutorCompletionService<>(executor);
+        final List<Future<ClauseResult>> futures = new ArrayList<>(count);
+        // the first clause runs on the calling thread, so has no future
+        futures.add(null);
+        try {
+            for (int i = 1; i < count; i++) {
+                futures.add(service.submit(new Clause(i, clauses[i]::getAsBoolean)));
+            }
+            final ClauseResult[] results = new ClauseResult[count];
+            results[0] = new Clause(0, clauses[0]::getAsBoolean).call();
+            int next = 0;
+            while (true) {
+                while (next < count && results[next] != null) {
+                    final ClauseResult result = results[next];
+                    if (result.isDeciding(deciding)) {
+                        return result.get();
+                    }
+                    next++;
+                }
+                if (next == count) {
+                    return !deciding;
+                }
+                final ClauseResult result = take(service);
+                if (result != null) {
+                    results[result.index] = result;
+                    if (result.isDeciding(deciding)) {
+                        cancel(futures, result.index + 1);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new IllegalStateException("Interrupted while evaluating clauses", e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            // only unchecked exceptions can be thrown by a BooleanSupplier
+            throw new IllegalStateException(e);
+        } finally {
+            cancel(futures, 1);
+        }
+    }
+
+    /**
+     * Evaluates the clauses until any gives the deciding value, or all have completed.
+     *
+     * @param executor the executor to run the clauses on
+     * @param clauses  the clauses
+     * @param deciding the value that decides the result: false for AND, true for OR
+     * @return the result
+     * @throws Exception the first failure, in order, if no clause gave the deciding value
+     */
+    @SuppressWarnings(SuppressHelper.CS_ILLEGALTHROWS)
+    static boolean race(
+            final Executor executor,
+            final List<Callable<Boolean>> clauses,
+            final boolean deciding
+    ) throws Exception {
+        final int count = clauses.size();
+        final CompletionService<ClauseResult> service = new ExecutorCompletionService<>(executor);
+        final List<Future<ClauseResult>> futures = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                futures.add(service.submit(new Clause(i, clauses.get(i))));
+            }
+            final ClauseResult[] results = new ClauseResult[count];
+            for (int completed = 0; completed < count; completed++) {
+                final ClauseResult result = take(service);
+                if (!result.isFailure() && result.value == deciding) {
+                    return deciding;
+                }
+                results[result.index] = result;
+            }
+            for (final ClauseResult result : results) {
+                result.get();
+            }
+            return !deciding;
+        } finally {
+            cancel(futures, 0);
+        }
+    }
+
+    private static void cancel(final List<Future<ClauseResult>> futures, final int from) {
+        for (int i = from; i < futures.size(); i++) {
+            futures.get(i).cancel(true);
+        }
+    }
+
+    /**
+     * Waits for the next clause to complete.
+     *
+     * @return the result, or null if the clause was cancelled
+     */
+    private static ClauseResult take(final CompletionService<ClauseResult> service) throws InterruptedException {
+        final Taker taker = new Taker(service);
+        try {
+            ForkJoinPool.managedBlock(taker);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        if (taker.taken.isCancelled()) {
+            return null;
+        }
+        try {
+            return taker.taken.get();
+        } catch (ExecutionException e) {
+            // a Clause records its failure in its ClauseResult rather than throwing
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Waits for the next clause to complete, letting a {@link ForkJoinPool} add a worker while the calling thread,
+     * if it is one of its own, is blocked.
+     */
+    private static final class Taker implements ForkJoinPool.ManagedBlocker {
+
+        private final CompletionService<ClauseResult> service;
+        private Future<ClauseResult> taken;
+
+        Taker(final CompletionService<ClauseResult> service) {
+            this.service = service;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (taken == null) {
+                taken = service.take();
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            if (taken == null) {
+                taken = service.poll();
+            }
+            return taken != null;
+        }
+
+    }
+
+    /**
+     * A clause to be evaluated, which never throws, recording any failure in its result instead.
+     */
+    private static final class Clause implements Callable<ClauseResult> {
+
+        private final int index;
+        private final Callable<Boolean> callable;
+
+        Clause(final int index, final Callable<Boolean> callable) {
+            this.index = index;
+            this.callable = callable;
+        }
+
+        @Override
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
+        public ClauseResult call() {
+            try {
+                return new ClauseResult(index, callable.call(), null);
+            } catch (Exception | Error e) {
+                return new ClauseResult(index, false, e);
+            }
+        }
+
+    }
+
+    /**
+     * The value of a clause, or how it failed.
+     */
+    private static final class ClauseResult {
+
+        private final int index;
+        private final boolean value;
+        private final Throwable failure;
+
+        ClauseResult(final int index, final boolean value, final Throwable failure) {
+            this.index = index;
+            this.value = value;
+            this.failure = failure;
+        }
+
+        boolean isFailure() {
+            return failure != null;
+        }
+
+        boolean isDeciding(final boolean deciding) {
+            return isFailure() || value == deciding;
+        }
+
+        @SuppressWarnings(SuppressHelper.CS_ILLEGALTHROWS)
+        boolean get() throws Exception {
+            if (failure instanceof Exception) {
+                throw (Exception) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            return value;
+        }
+
+    }
+
+}
@@ -0,0 +1,102 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Finds a multiplicative hash that maps a set of hash codes to distinct slots of a power of two sized table.
+ *
+ * <p>The slot of a hash code {@code h} is {@code (h * multiplier) >>> shift}. Multipliers are tried from a fixed
+ * sequence, so the same hash codes always give the same table.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class PerfectHash {
+
+    private static final int TRIES_PER_SIZE = 64;
+    private static final int MAX_LOAD_INVERSE = 8;
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final int multiplier;
+    private final int shift;
+
+    private PerfectHash(final int multiplier, final int shift) {
+        this.multiplier = multiplier;
+        this.shift = shift;
+    }
+
+    /**
+     * Find a perfect hash for the hash codes, in a table of at least twice as many slots, and at most eight times.
+     *
+     * @param hashes the distinct hash codes
+     * @return the PerfectHash, or null if none was found
+     */
+    static PerfectHash find(final int[] hashes) {
+        final Random random = new Random(SEED);
+        final int minimum = Integer.highestOneBit(Math.max(1, hashes.length * 2 - 1)) << 1;
+        for (int size = minimum; size <= minimum * MAX_LOAD_INVERSE && size > 0; size <<= 1) {
+            final int shift = Integer.numberOfLeadingZeros(size - 1);
+            final boolean[] used = new boolean[size];
+            for (int attempt = 0; attempt < TRIES_PER_SIZE; attempt++) {
+                final int multiplier = random.nextInt() | 1;
+                if (isPerfect(hashes, multiplier, shift, used)) {
+                    return new PerfectHash(multiplier, shift);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isPerfect(final int[] hashes, final int multiplier, final int shift, final boolean[] used) {
+        Arrays.fill(used, false);
+        for (final int hash : hashes) {
+            final int slot = (hash * multiplier) >>> shift;
+            if (used[slot]) {
+                return false;
+            }
+            used[slot] = true;
+        }
+        return true;
+    }
+
+    /**
+     * The number of slots in the table.
+     *
+     * @return the size of the table
+     */
+    int size() {
+        return 1 << (Integer.SIZE - shift);
+    }
+
+    /**
+     * The slot for the hash code.
+     *
+     * @param hash the hash code
+     * @return the slot
+     */
+    int slot(final int hash) {
+        return (hash * multiplier) >>> shift;
+    }
+
+}
@@ -0,0 +1,290 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A named probe that counts the branches taken at a {@link Condition} or {@link Value} call site.
+ *
+ * <p>Probes are off unless the JVM is started with {@code -Dnet.kemitix.conditional.probes=true}. When off,
+ * {@link #named(String)} returns a probe that only evaluates, recording nothing and allocating nothing. Hold each probe
+ * in a {@code static final} field, so the JIT can inline it away:</p>
+ *
+ * <pre>{@code
+ * private static final Probe IS_PREMIUM = Probe.named("checkout.isPremium");
+ *
+ * IS_PREMIUM.when(() -> customer.isPremium())
+ *           .then(() -> applyDiscount());
+ * }</pre>
+ *
+ * <p>When on, a probe counts true and false results and supplier calls, and records the time taken by each call to a
+ * supplier in a histogram, in low-contention counters. Take a {@link #snapshot()} of a probe, or of every probe with
+ * {@link #snapshots()}.</p>
+ *
+ * <p>On Java 11 or later, when probes are on and the {@code jdk.jfr} module is available, a probe also emits a
+ * {@code net.kemitix.conditional.ConditionEvaluated} Java Flight Recorder event for each evaluation, with the name,
+ * outcome, clause count and duration, but only while JFR is recording that event. It is disabled by default, and
+ * supports a threshold, except that {@link #where(boolean)} records an instant event, as its clause has already been
+ * evaluated, which any threshold above zero drops.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public interface Probe {
+
+    /**
+     * Whether probes record anything, as set by the {@code net.kemitix.conditional.probes} system property.
+     *
+     * @return true if probes are on
+     */
+    static boolean isEnabled() {
+        return ProbeRegistry.ENABLED;
+    }
+
+    /**
+     * The probe with the name, created the first time the name is used.
+     *
+     * @param name the name of the call site
+     * @return the Probe
+     */
+    static Probe named(final String name) {
+        if (ProbeRegistry.ENABLED) {
+            return ProbeRegistry.register(name);
+        }
+        return new DisabledProbe(name);
+    }
+
+    /**
+     * Snapshots of every probe that has recorded, by name; empty when probes are off.
+     *
+     * @return the Snapshots
+     */
+    static Map<String, Snapshot> snapshots() {
+        return ProbeRegistry.snapshots();
+    }
+
+    /**
+     * Reset every probe to zero.
+     */
+    static void resetAll() {
+        ProbeRegistry.resetAll();
+    }
+
+    /**
+     * The name of the call site.
+     *
+     * @return the name
+     */
+    String name();
+
+    /**
+     * Create a new {@link Condition} for the clause, counting whether it is true or false.
+     *
+     * @param clause the condition to test
+     * @return the Condition
+     */
+    Condition where(boolean clause);
+
+    /**
+     * Create a new {@link Condition} for the clause, counting whether it is true or false and timing the clause.
+     *
+     * @param clause the condition to test
+     * @return the Condition
+     */
+    Condition when(BooleanSupplier clause);
+
+    /**
+     * Evaluate the expression, counting whether it is true or false and timing it.
+     *
+     * @param condition the expression to evaluate
+     * @return the Condition
+     */
+    Condition evaluate(LazyCondition condition);
+
+    /**
+     * Return one of two values depending on the value of a clause, as
+     * {@link Value#where(boolean, Supplier, Supplier)}, counting whether it is true or false and timing the supplier.
+     *
+     * @param clause        the deciding clause
+     * @param trueSupplier  the supplier to provide the value when the clause is true
+     * @param falseSupplier the supplier to provide the value when the clause is false
+     * @param <T>           the type of the value
+     * @return the value from either the trueSupplier or the falseSupplier
+     */
+    <T> T value(boolean clause, Supplier<T> trueSupplier, Supplier<T> falseSupplier);
+
+    /**
+     * A snapshot of the counts since the probe was created or last reset.
+     *
+     * @return the Snapshot
+     */
+    Snapshot snapshot();
+
+    /**
+     * Reset the counts to zero.
+     */
+    void reset();
+
+    /**
+     * The counts of a {@link Probe} at a moment.
+     */
+    final class Snapshot {
+
+        /**
+         * The number of buckets in the latency histogram.
+         */
+        public static final int BUCKETS = Long.SIZE;
+
+        private final String name;
+        private final long trueCount;
+        private final long falseCount;
+        private final long supplierCount;
+        private final long[] latencies;
+
+        Snapshot(
+                final String name,
+                final long trueCount,
+                final long falseCount,
+                final long supplierCount,
+                final long[] latencies
+        ) {
+            this.name = name;
+            this.trueCount = trueCount;
+            this.falseCount = falseCount;
+            this.supplierCount = supplierCount;
+            this.latencies = latencies;
+        }
+
+        /**
+         * The name of the probe.
+         *
+         * @return the name
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * The number of times the clause was true.
+         *
+         * @return the count
+         */
+        public long trueCount() {
+            return trueCount;
+        }
+
+        /**
+         * The number of times the clause was false.
+         *
+         * @return the count
+         */
+        public long falseCount() {
+            return falseCount;
+        }
+
+        /**
+         * The number of calls to a supplier: the clause of {@link Probe#when(BooleanSupplier)}, the expression of
+         * {@link Probe#evaluate(LazyCondition)} or the chosen supplier of {@link Probe#value(boolean, Supplier,
+         * Supplier)}.
+         *
+         * @return the count
+         */
+        public long supplierCount() {
+            return supplierCount;
+        }
+
+        /**
+         * The histogram of the time taken by each supplier call. Bucket 0 counts calls that took no measurable time,
+         * and bucket {@code b} counts calls that took from 2<sup>b-1</sup> to 2<sup>b</sup>-1 nanoseconds.
+         *
+         * @return the count in each bucket
+         */
+        public long[] latencyHistogram() {
+            return latencies.clone();
+        }
+
+        /**
+         * An upper bound of the time taken by the given fraction of supplier calls, or 0 if there have been none.
+         *
+         * @param fraction the fraction of calls, from 0 to 1, such as 0.99
+         * @return the upper bound, in nanoseconds
+         */
+        public long latencyPercentile(final double fraction) {
+            if (fraction < 0 || fraction > 1) {
+                throw new IllegalArgumentException("fraction must be from 0 to 1: " + fraction);
+            }
+            final long total = Arrays.stream(latencies).sum();
+            final long wanted = (long) Math.ceil(fraction * total);
+            long seen = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                seen += latencies[bucket];
+                if (seen >= wanted && seen > 0) {
+                    return bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * The counts recorded since an earlier snapshot of the same probe, or every count if the probe has been reset
+         * since then.
+         *
+         * @param earlier the earlier snapshot
+         * @return the Snapshot of the difference
+         */
+        Snapshot since(final Snapshot earlier) {
+            boolean reset = trueCount < earlier.trueCount
+                    || falseCount < earlier.falseCount
+                    || supplierCount < earlier.supplierCount;
+            final long[] histogram = new long[BUCKETS];
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                histogram[bucket] = latencies[bucket] - earlier.latencies[bucket];
+                reset |= histogram[bucket] < 0;
+            }
+            if (reset) {
+                return this;
+            }
+            return new Snapshot(name, trueCount - earlier.trueCount, falseCount - earlier.falseCount,
+                    supplierCount - earlier.supplierCount, histogram);
+        }
+
+        /**
+         * Whether nothing has been recorded.
+         *
+         * @return true if every count is zero
+         */
+        boolean isEmpty() {
+            return trueCount == 0 && falseCount == 0 && supplierCount == 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Probe.Snapshot{name=%s, true=%d, false=%d, suppliers=%d, p50=%dns, p99=%dns}",
+                    name, trueCount, falseCount, supplierCount, latencyPercentile(0.5), latencyPercentile(0.99));
+        }
+
+    }
+
+}
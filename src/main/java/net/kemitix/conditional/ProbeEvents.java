@@ -0,0 +1,116 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Emits Java Flight Recorder events for {@link Probe} evaluations and for {@code thenThrow}, {@code otherwiseThrow},
+ * {@code thenFail} and {@code otherwiseFail}.
+ *
+ * <p>Java 8 has no JFR API, so this only evaluates. The Java 11 layer replaces it with one that emits events when JFR
+ * is recording them.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class ProbeEvents {
+
+    private ProbeEvents() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Record the result of a clause that has already been evaluated.
+     *
+     * @param probe   the name of the probe
+     * @param outcome the result of the clause
+     */
+    static void evaluated(final String probe, final boolean outcome) {
+        // no events before Java 11
+    }
+
+    /**
+     * Evaluate a clause, timing it.
+     *
+     * @param probe  the name of the probe
+     * @param clause the clause
+     * @return the result of the clause
+     */
+    static boolean test(final String probe, final BooleanSupplier clause) {
+        return clause.getAsBoolean();
+    }
+
+    /**
+     * Evaluate an expression, timing it and counting its clauses.
+     *
+     * @param probe     the name of the probe
+     * @param condition the expression
+     * @return the result of the expression
+     */
+    static boolean test(final String probe, final LazyCondition condition) {
+        return condition.isTrue();
+    }
+
+    /**
+     * Get a value from one of two suppliers, timing it.
+     *
+     * @param probe         the name of the probe
+     * @param clause        the deciding clause
+     * @param trueSupplier  the supplier when the clause is true
+     * @param falseSupplier the supplier when the clause is false
+     * @param <T>           the type of the value
+     * @return the value
+     */
+    static <T> T value(
+            final String probe,
+            final boolean clause,
+            final Supplier<T> trueSupplier,
+            final Supplier<T> falseSupplier
+    ) {
+        return Value.where(clause, trueSupplier, falseSupplier);
+    }
+
+    /**
+     * Record an exception about to be thrown.
+     *
+     * @param operation the method throwing it
+     * @param exception the exception
+     * @param <E>       the type of the exception
+     * @return the exception
+     */
+    static <E extends Exception> E thrown(final String operation, final E exception) {
+        return exception;
+    }
+
+    /**
+     * Get an exception about to be thrown, timing the supplier.
+     *
+     * @param operation         the method throwing it
+     * @param exceptionSupplier the supplier of the exception
+     * @return the exception
+     */
+    static Exception thrown(final String operation, final Supplier<Exception> exceptionSupplier) {
+        return exceptionSupplier.get();
+    }
+
+}
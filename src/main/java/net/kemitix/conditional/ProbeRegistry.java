@@ -0,0 +1,75 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The {@link Probe}s that record, by name.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class ProbeRegistry {
+
+    /**
+     * Whether probes record, fixed when the class is loaded so the JIT can fold the check away.
+     */
+    static final boolean ENABLED = Boolean.getBoolean("net.kemitix.conditional.probes");
+
+    private static final ConcurrentMap<String, RecordingProbe> PROBES = new ConcurrentHashMap<>();
+
+    private ProbeRegistry() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * The recording probe with the name, created the first time the name is used.
+     *
+     * @param name the name of the probe
+     * @return the Probe
+     */
+    static RecordingProbe register(final String name) {
+        return PROBES.computeIfAbsent(name, RecordingProbe::new);
+    }
+
+    /**
+     * Snapshots of every recording probe, ordered by name.
+     *
+     * @return the Snapshots
+     */
+    static Map<String, Probe.Snapshot> snapshots() {
+        final Map<String, Probe.Snapshot> snapshots = new TreeMap<>();
+        PROBES.forEach((name, probe) -> snapshots.put(name, probe.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * Reset every recording probe.
+     */
+    static void resetAll() {
+        PROBES.values().forEach(RecordingProbe::reset);
+    }
+
+}
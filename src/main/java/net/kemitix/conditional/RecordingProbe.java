@@ -0,0 +1,120 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Probe} that records into {@link LongAdder}s, used when probes are on.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class RecordingProbe implements Probe {
+
+    private final String name;
+    private final LongAdder trueCount = new LongAdder();
+    private final LongAdder falseCount = new LongAdder();
+    private final LongAdder supplierCount = new LongAdder();
+    private final LongAdder[] latencies = new LongAdder[Snapshot.BUCKETS];
+
+    RecordingProbe(final String name) {
+        this.name = name;
+        for (int bucket = 0; bucket < latencies.length; bucket++) {
+            latencies[bucket] = new LongAdder();
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public Condition where(final boolean clause) {
+        count(clause);
+        ProbeEvents.evaluated(name, clause);
+        return Condition.where(clause);
+    }
+
+    @Override
+    public Condition when(final BooleanSupplier clause) {
+        final long start = System.nanoTime();
+        final boolean value = ProbeEvents.test(name, clause);
+        timed(start);
+        count(value);
+        return Condition.where(value);
+    }
+
+    @Override
+    public Condition evaluate(final LazyCondition condition) {
+        final long start = System.nanoTime();
+        final boolean value = ProbeEvents.test(name, condition);
+        timed(start);
+        count(value);
+        return Condition.where(value);
+    }
+
+    @Override
+    public <T> T value(final boolean clause, final Supplier<T> trueSupplier, final Supplier<T> falseSupplier) {
+        count(clause);
+        final long start = System.nanoTime();
+        final T value = ProbeEvents.value(name, clause, trueSupplier, falseSupplier);
+        timed(start);
+        return value;
+    }
+
+    private void count(final boolean clause) {
+        if (clause) {
+            trueCount.increment();
+        } else {
+            falseCount.increment();
+        }
+    }
+
+    private void timed(final long start) {
+        final long elapsed = Math.max(0, System.nanoTime() - start);
+        supplierCount.increment();
+        latencies[Long.SIZE - Long.numberOfLeadingZeros(elapsed)].increment();
+    }
+
+    @Override
+    public Snapshot snapshot() {
+        final long[] histogram = new long[latencies.length];
+        for (int bucket = 0; bucket < latencies.length; bucket++) {
+            histogram[bucket] = latencies[bucket].sum();
+        }
+        return new Snapshot(name, trueCount.sum(), falseCount.sum(), supplierCount.sum(), histogram);
+    }
+
+    @Override
+    public void reset() {
+        trueCount.reset();
+        falseCount.reset();
+        supplierCount.reset();
+        for (final LongAdder bucket : latencies) {
+            bucket.reset();
+        }
+    }
+
+}
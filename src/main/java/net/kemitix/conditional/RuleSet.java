@@ -0,0 +1,337 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * A set of {@link LazyCondition} rules, compiled so that a clause shared between rules is evaluated at most once each
+ * time the rules are evaluated.
+ *
+ * <p>Clauses are the same when they are the same {@link BooleanSupplier} object, or when they were created by
+ * {@link LazyCondition#when(Object, BooleanSupplier)} with equal keys. Each rule keeps its own structure and
+ * short-circuits {@code and} and {@code or} as it would alone, so a clause is only evaluated when some rule needs it,
+ * and its result is then reused by every other rule that needs it. Clauses should therefore be free of side effects,
+ * and shouldn't change their result while the rules are being evaluated.</p>
+ *
+ * <p>A {@code RuleSet} is safe to evaluate from many threads at once. The {@link #stats()} count every evaluation.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public final class RuleSet {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final Node[] rules;
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final BooleanSupplier[] clauses;
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final int clauseReferences;
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final LongAdder evaluations = new LongAdder();
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final LongAdder clauseEvaluations = new LongAdder();
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final LongAdder savedEvaluations = new LongAdder();
+
+    private RuleSet(final Node[] rules, final BooleanSupplier[] clauses, final int clauseReferences) {
+        this.rules = rules;
+        this.clauses = clauses;
+        this.clauseReferences = clauseReferences;
+    }
+
+    /**
+     * Compile the rules.
+     *
+     * @param rules the rules
+     * @return the RuleSet
+     */
+    public static RuleSet compile(final LazyCondition... rules) {
+        return compile(Arrays.asList(rules));
+    }
+
+    /**
+     * Compile the rules.
+     *
+     * @param rules the rules
+     * @return the RuleSet
+     */
+    public static RuleSet compile(final List<? extends LazyCondition> rules) {
+        final Compiler compiler = new Compiler();
+        final Node[] nodes = new Node[rules.size()];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = rules.get(i).accept(compiler);
+        }
+        return new RuleSet(nodes, compiler.clauses.toArray(new BooleanSupplier[0]), compiler.references);
+    }
+
+    /**
+     * Evaluate every rule.
+     *
+     * @return the value of each rule, in order
+     */
+    public boolean[] evaluate() {
+        final Evaluation evaluation = new Evaluation();
+        final boolean[] results = new boolean[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            results[i] = rules[i].isTrue(evaluation);
+        }
+        evaluation.record();
+        return results;
+    }
+
+    /**
+     * Evaluate the rules in order, until one is true.
+     *
+     * @return the index of the first rule that is true, or -1 if none are
+     */
+    public int firstMatch() {
+        final Evaluation evaluation = new Evaluation();
+        try {
+            for (int i = 0; i < rules.length; i++) {
+                if (rules[i].isTrue(evaluation)) {
+                    return i;
+                }
+            }
+            return -1;
+        } finally {
+            evaluation.record();
+        }
+    }
+
+    /**
+     * The number of rules.
+     *
+     * @return the number of rules
+     */
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * The number of distinct clauses used by the rules.
+     *
+     * @return the number of distinct clauses
+     */
+    public int distinctClauses() {
+        return clauses.length;
+    }
+
+    /**
+     * The number of clauses in the rules, counting each use of a shared clause.
+     *
+     * @return the number of clauses
+     */
+    public int clauseReferences() {
+        return clauseReferences;
+    }
+
+    /**
+     * A snapshot of the statistics of the rule set since it was compiled.
+     *
+     * @return the Stats
+     */
+    public Stats stats() {
+        return new Stats(evaluations.sum(), clauseEvaluations.sum(), savedEvaluations.sum());
+    }
+
+    /**
+     * Statistics of the evaluations of a {@link RuleSet}.
+     */
+    public static final class Stats {
+
+        private final long evaluationCount;
+        private final long clauseEvaluationCount;
+        private final long savedEvaluationCount;
+
+        Stats(final long evaluationCount, final long clauseEvaluationCount, final long savedEvaluationCount) {
+            this.evaluationCount = evaluationCount;
+            this.clauseEvaluationCount = clauseEvaluationCount;
+            this.savedEvaluationCount = savedEvaluationCount;
+        }
+
+        /**
+         * The number of times the rules have been evaluated, by {@link RuleSet#evaluate()} or
+         * {@link RuleSet#firstMatch()}.
+         *
+         * @return the count
+         */
+        public long evaluationCount() {
+            return evaluationCount;
+        }
+
+        /**
+         * The number of times a clause has been evaluated.
+         *
+         * @return the count
+         */
+        public long clauseEvaluationCount() {
+            return clauseEvaluationCount;
+        }
+
+        /**
+         * The number of times a rule needed a clause that had already been evaluated for another rule, and reused the
+         * result: the evaluations saved compared with evaluating each rule on its own.
+         *
+         * @return the count
+         */
+        public long savedEvaluationCount() {
+            return savedEvaluationCount;
+        }
+
+        /**
+         * The fraction of the clause evaluations the rules needed that were saved, or 0 if they have needed none.
+         *
+         * @return the saved rate, from 0 to 1
+         */
+        public double savedRate() {
+            final long needed = clauseEvaluationCount + savedEvaluationCount;
+            if (needed == 0) {
+                return 0.0;
+            }
+            return (double) savedEvaluationCount / needed;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("RuleSet.Stats{evaluations=%d, clauseEvaluations=%d, savedEvaluations=%d}",
+                    evaluationCount, clauseEvaluationCount, savedEvaluationCount);
+        }
+
+    }
+
+    /**
+     * The results of the clauses evaluated so far by one evaluation of the rules.
+     */
+    private final class Evaluation {
+
+        private final byte[] results = new byte[clauses.length];
+        private long evaluated;
+        private long saved;
+
+        boolean clause(final int id) {
+            final byte known = results[id];
+            if (known != UNKNOWN) {
+                saved++;
+                return known == TRUE;
+            }
+            evaluated++;
+            final boolean value = clauses[id].getAsBoolean();
+            results[id] = value ? TRUE : FALSE;
+            return value;
+        }
+
+        void record() {
+            evaluations.increment();
+            clauseEvaluations.add(evaluated);
+            savedEvaluations.add(saved);
+        }
+
+    }
+
+    /**
+     * A node of a compiled rule.
+     */
+    private interface Node {
+
+        boolean isTrue(RuleSet.Evaluation evaluation);
+
+    }
+
+    /**
+     * Compiles a rule into {@link Node}s, giving each distinct clause an id.
+     */
+    private static final class Compiler implements LazyCondition.Visitor<Node> {
+
+        private final Map<Object, Integer> idsByKey = new HashMap<>();
+        private final Map<BooleanSupplier, Integer> idsBySupplier = new IdentityHashMap<>();
+        private final List<BooleanSupplier> clauses = new ArrayList<>();
+        private int references;
+
+        @Override
+        public Node visitClause(final BooleanSupplier clause) {
+            references++;
+            final Integer id;
+            if (clause instanceof KeyedClause) {
+                id = idsByKey.computeIfAbsent(((KeyedClause) clause).key(), key -> add(clause));
+            } else {
+                id = idsBySupplier.computeIfAbsent(clause, this::add);
+            }
+            return evaluation -> evaluation.clause(id);
+        }
+
+        private Integer add(final BooleanSupplier clause) {
+            clauses.add(clause);
+            return clauses.size() - 1;
+        }
+
+        @Override
+        public Node visitConstant(final boolean value) {
+            return evaluation -> value;
+        }
+
+        @Override
+        public Node visitAnd(final LazyCondition left, final LazyCondition right) {
+            final Node leftNode = left.accept(this);
+            final Node rightNode = right.accept(this);
+            return evaluation -> leftNode.isTrue(evaluation) && rightNode.isTrue(evaluation);
+        }
+
+        @Override
+        @SuppressWarnings("PMD.ShortMethodName")
+        public Node visitOr(final LazyCondition left, final LazyCondition right) {
+            final Node leftNode = left.accept(this);
+            final Node rightNode = right.accept(this);
+            return evaluation -> leftNode.isTrue(evaluation) || rightNode.isTrue(evaluation);
+        }
+
+        @Override
+        public Node visitNot(final LazyCondition operand) {
+            final Node node = operand.accept(this);
+            return evaluation -> !node.isTrue(evaluation);
+        }
+
+        @Override
+        public Node visitFlatMap(final LazyCondition source, final Function<Boolean, Condition> f) {
+            final Node node = source.accept(this);
+            return evaluation -> f.apply(node.isTrue(evaluation)).isTrue();
+        }
+
+    }
+
+}
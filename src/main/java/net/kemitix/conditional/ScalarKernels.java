@@ -0,0 +1,189 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.function.IntPredicate;
+
+/**
+ * The {@link ColumnKernels} that run on any JVM.
+ *
+ * <p>Each word of the mask is built by a counted, branch-free loop over its 64 rows, which the JIT unrolls.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@SuppressWarnings({"methodcount", "PMD.TooManyMethods"})
+final class ScalarKernels implements ColumnKernels {
+
+    static final ColumnKernels SCALAR = new ScalarKernels();
+
+    private ScalarKernels() {
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    private static int rowsInWord(final int rows, final int base) {
+        return Math.min(MaskBits.ROWS_PER_WORD, rows - base);
+    }
+
+    @Override
+    public void lessThan(final int[] column, final int value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = rowsInWord(rows, base);
+            long bits = 0;
+            for (int j = 0; j < n; j++) {
+                bits |= (column[base + j] < value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+    @Override
+    public void equalTo(final int[] column, final int value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = rowsInWord(rows, base);
+            long bits = 0;
+            for (int j = 0; j < n; j++) {
+                bits |= (column[base + j] == value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+    @Override
+    public void greaterThan(final int[] column, final int value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = rowsInWord(rows, base);
+            long bits = 0;
+            for (int j = 0; j < n; j++) {
+                bits |= (column[base + j] > value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+    @Override
+    public void lessThan(final long[] column, final long value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = rowsInWord(rows, base);
+            long bits = 0;
+            for (int j = 0; j < n; j++) {
+                bits |= (column[base + j] < value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+    @Override
+    public void equalTo(final long[] column, final long value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = rowsInWord(rows, base);
+            long bits = 0;
+            for (int j = 0; j < n; j++) {
+                bits |= (column[base + j] == value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+    @Override
+    public void greaterThan(final long[] column, final long value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = rowsInWord(rows, base);
+            long bits = 0;
+            for (int j = 0; j < n; j++) {
+                bits |= (column[base + j] > value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+    @Override
+    public void lessThan(final double[] column, final double value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = rowsInWord(rows, base);
+            long bits = 0;
+            for (int j = 0; j < n; j++) {
+                bits |= (column[base + j] < value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+    @Override
+    public void equalTo(final double[] column, final double value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = rowsInWord(rows, base);
+            long bits = 0;
+            for (int j = 0; j < n; j++) {
+                bits |= (column[base + j] == value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+    @Override
+    public void greaterThan(final double[] column, final double value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = rowsInWord(rows, base);
+            long bits = 0;
+            for (int j = 0; j < n; j++) {
+                bits |= (column[base + j] > value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+    static void where(final IntPredicate row, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = rowsInWord(rows, base);
+            long bits = 0;
+            for (int j = 0; j < n; j++) {
+                bits |= (row.test(base + j) ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+}
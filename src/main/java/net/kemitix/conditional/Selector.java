@@ -0,0 +1,140 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A Value chosen from many by a key, in place of a chain of {@link Value#where(boolean, Supplier, Supplier)}.
+ *
+ * <p>The cases are compiled into a table when the selector is created: indexed by ordinal for an enum key, or by a
+ * perfect hash of the keys otherwise. Selecting a value takes the same time however many cases there are, and only the
+ * supplier for the selected case is called. If no perfect hash is found, as when keys share a hash code or there are
+ * many hundreds of cases, the cases are held in a {@link HashMap} instead.</p>
+ *
+ * <pre>{@code
+ * final Selector<String, Rate> rates = Selector.<String, Rate>forKeys()
+ *         .when("standard", () -> Rate.STANDARD)
+ *         .when("express", () -> Rate.EXPRESS)
+ *         .otherwise(() -> Rate.NONE);
+ * final Rate rate = rates.select(order.getService());
+ * }</pre>
+ *
+ * @param <K> the type of the key
+ * @param <T> the type of the value
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@FunctionalInterface
+public interface Selector<K, T> {
+
+    /**
+     * Create a builder for a selector keyed by the constants of an enum.
+     *
+     * @param keyType the type of the enum
+     * @param <E>     the type of the key
+     * @param <T>     the type of the value
+     * @return the Builder
+     */
+    static <E extends Enum<E>, T> Builder<E, T> forEnum(final Class<E> keyType) {
+        return new Builder<>(Objects.requireNonNull(keyType, "keyType"));
+    }
+
+    /**
+     * Create a builder for a selector keyed by objects, such as strings, with consistent {@code equals} and
+     * {@code hashCode}.
+     *
+     * @param <K> the type of the key
+     * @param <T> the type of the value
+     * @return the Builder
+     */
+    static <K, T> Builder<K, T> forKeys() {
+        return new Builder<>(null);
+    }
+
+    /**
+     * Get the value for the key from the supplier for its case, or from the otherwise supplier if it has none.
+     *
+     * @param key the key, which may be null to select the otherwise supplier
+     * @return the value
+     */
+    T select(K key);
+
+    /**
+     * Builds a {@link Selector}, one case at a time.
+     *
+     * @param <K> the type of the key
+     * @param <T> the type of the value
+     */
+    final class Builder<K, T> {
+
+        private final Class<?> enumType;
+        private final Map<K, Supplier<? extends T>> cases = new LinkedHashMap<>();
+
+        private Builder(final Class<?> enumType) {
+            this.enumType = enumType;
+        }
+
+        /**
+         * Add a case.
+         *
+         * @param key      the key for the case
+         * @param supplier the supplier of the value, called only when the case is selected
+         * @return the Builder
+         * @throws IllegalArgumentException if there is already a case for the key
+         */
+        public Builder<K, T> when(final K key, final Supplier<? extends T> supplier) {
+            Objects.requireNonNull(key, "key");
+            Objects.requireNonNull(supplier, "supplier");
+            if (cases.putIfAbsent(key, supplier) != null) {
+                throw new IllegalArgumentException("Duplicate case: " + key);
+            }
+            return this;
+        }
+
+        /**
+         * Create the selector, using the supplier for keys without a case.
+         *
+         * @param supplier the supplier of the value when no case matches
+         * @return the Selector
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Selector<K, T> otherwise(final Supplier<? extends T> supplier) {
+            Objects.requireNonNull(supplier, "supplier");
+            if (enumType != null) {
+                return (Selector<K, T>) OrdinalSelector.create((Class) enumType, (Map) cases, supplier);
+            }
+            final Selector<K, T> hashed = HashSelector.create(cases, supplier);
+            if (hashed != null) {
+                return hashed;
+            }
+            // some keys share a hash code, so no perfect hash exists
+            final Map<K, Supplier<? extends T>> copy = new HashMap<>(cases);
+            return key -> copy.getOrDefault(key, supplier).get();
+        }
+
+    }
+
+}
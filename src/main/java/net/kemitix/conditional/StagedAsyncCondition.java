@@ -0,0 +1,85 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * An {@link AsyncCondition} over a {@link CompletionStage}.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@RequiredArgsConstructor
+final class StagedAsyncCondition implements AsyncCondition {
+
+    // only returned from within thenCompose, so never exposed to be completed by anyone else
+    private static final CompletionStage<Boolean> TRUE = CompletableFuture.completedFuture(true);
+    private static final CompletionStage<Boolean> FALSE = CompletableFuture.completedFuture(false);
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final CompletionStage<Boolean> stage;
+
+    @Override
+    public CompletionStage<Boolean> stage() {
+        return stage;
+    }
+
+    @Override
+    public AsyncCondition not() {
+        return new StagedAsyncCondition(stage.thenApply(value -> !value));
+    }
+
+    @Override
+    public AsyncCondition and(final Supplier<? extends CompletionStage<Boolean>> clause) {
+        return new StagedAsyncCondition(stage.thenCompose(value -> value ? clause.get() : FALSE));
+    }
+
+    @Override
+    @SuppressWarnings("PMD.ShortMethodName")
+    public AsyncCondition or(final Supplier<? extends CompletionStage<Boolean>> clause) {
+        return new StagedAsyncCondition(stage.thenCompose(value -> value ? TRUE : clause.get()));
+    }
+
+    @Override
+    public AsyncCondition then(final Action response) {
+        return new StagedAsyncCondition(stage.thenApply(value -> {
+            if (value) {
+                response.perform();
+            }
+            return value;
+        }));
+    }
+
+    @Override
+    public CompletionStage<Void> otherwise(final Action response) {
+        return stage.thenAccept(value -> {
+            if (!value) {
+                response.perform();
+            }
+        });
+    }
+
+}
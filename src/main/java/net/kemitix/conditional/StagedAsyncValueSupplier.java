@@ -0,0 +1,58 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * An {@link AsyncValue.AsyncValueSupplier} waiting for a stage to complete.
+ *
+ * @param <T> the type of the value
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@RequiredArgsConstructor
+final class StagedAsyncValueSupplier<T> implements AsyncValue.AsyncValueSupplier<T> {
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final CompletionStage<Boolean> clause;
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private final Supplier<? extends CompletionStage<T>> trueSupplier;
+
+    @Override
+    public CompletionStage<T> otherwise(final Supplier<? extends CompletionStage<T>> falseSupplier) {
+        return clause.thenCompose(value -> value ? trueSupplier.get() : falseSupplier.get());
+    }
+
+    @Override
+    public CompletionStage<Optional<T>> optional() {
+        return clause.thenCompose(value -> value
+                ? trueSupplier.get().thenApply(Optional::ofNullable)
+                : CompletableFuture.completedFuture(Optional.empty()));
+    }
+
+}
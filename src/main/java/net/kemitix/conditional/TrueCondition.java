@@ -21,6 +21,8 @@
 
 package net.kemitix.conditional;
 
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -37,12 +39,23 @@ final class TrueCondition implements Condition {
         return Condition.where(clause.get());
     }
 
+    @Override
+    public Condition and(final BooleanSupplier clause) {
+        return Condition.where(clause.getAsBoolean());
+    }
+
     @Override
     @SuppressWarnings("PMD.ShortMethodName")
     public Condition or(final Supplier<Boolean> secondClause) {
         return TRUE;
     }
 
+    @Override
+    @SuppressWarnings("PMD.ShortMethodName")
+    public Condition or(final BooleanSupplier secondClause) {
+        return TRUE;
+    }
+
     @Override
     public Condition then(final Action response) {
         response.perform();
@@ -56,12 +69,12 @@ final class TrueCondition implements Condition {
 
     @Override
     public void thenThrow(final Exception exception) throws Exception {
-        throw exception;
+        throw ProbeEvents.thrown("thenThrow", exception);
     }
 
     @Override
     public void thenThrow(final Supplier<Exception> exceptionSupplier) throws Exception {
-        throw exceptionSupplier.get();
+        throw ProbeEvents.thrown("thenThrow", exceptionSupplier);
     }
 
     @Override
@@ -74,6 +87,30 @@ final class TrueCondition implements Condition {
         // do nothing
     }
 
+    @Override
+    public void thenFail(final String reason) {
+        Objects.requireNonNull(reason, "reason");
+        throw ProbeEvents.thrown("thenFail", ConditionFailedException.of(reason));
+    }
+
+    @Override
+    public Outcome thenReject(final String reason) {
+        Objects.requireNonNull(reason, "reason");
+        return Outcome.rejected(reason);
+    }
+
+    @Override
+    public void otherwiseFail(final String reason) {
+        Objects.requireNonNull(reason, "reason");
+        // do nothing
+    }
+
+    @Override
+    public Outcome otherwiseReject(final String reason) {
+        Objects.requireNonNull(reason, "reason");
+        return Outcome.accepted();
+    }
+
     @Override
     public boolean isTrue() {
         return true;
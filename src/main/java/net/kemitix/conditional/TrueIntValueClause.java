@@ -0,0 +1,86 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.OptionalInt;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+
+/**
+ * An intermediate state where the clause has evaluated to true.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+class TrueIntValueClause implements IntValue.IntValueClause {
+
+    protected static final IntValue.IntValueClause TRUE = new TrueIntValueClause();
+
+    @Override
+    public IntValue.IntValueClause not() {
+        return IntValue.where(false);
+    }
+
+    @Override
+    public IntValueSupplier then(final IntSupplier trueSupplier) {
+        return new TrueIntValueSupplier(trueSupplier);
+    }
+
+    @Override
+    public IntValue.IntValueClause and(final BooleanSupplier clause) {
+        return IntValue.where(clause.getAsBoolean());
+    }
+
+    @Override
+    @SuppressWarnings("PMD.ShortMethodName")
+    public IntValue.IntValueClause or(final BooleanSupplier clause) {
+        return this;
+    }
+
+    @Override
+    public IntValue.IntValueClause orNot(final BooleanSupplier clause) {
+        return this;
+    }
+
+    /**
+     * An intermediate result of the {@link IntValue} where the clause has evaluated to true.
+     */
+    @RequiredArgsConstructor
+    private static final class TrueIntValueSupplier implements IntValueSupplier {
+
+        @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+        private final IntSupplier valueSupplier;
+
+        @Override
+        public int otherwise(final IntSupplier falseSupplier) {
+            return valueSupplier.getAsInt();
+        }
+
+        @Override
+        public OptionalInt optional() {
+            return OptionalInt.of(valueSupplier.getAsInt());
+        }
+
+    }
+
+}
@@ -24,6 +24,7 @@ package net.kemitix.conditional;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -51,15 +52,35 @@ class TrueValueClause<T> implements Value.ValueClause<T> {
         return Value.where(clause.get());
     }
 
+    @Override
+    public Value.ValueClause<T> and(final BooleanSupplier clause) {
+        return Value.where(clause.getAsBoolean());
+    }
+
     @Override
     @SuppressWarnings("PMD.ShortMethodName")
     public Value.ValueClause<T> or(final Supplier<Boolean> clause) {
         return this;
     }
 
+    @Override
+    @SuppressWarnings("PMD.ShortMethodName")
+    public Value.ValueClause<T> or(final BooleanSupplier clause) {
+        return this;
+    }
+
+    @Override
+    public Value.ValueClause<T> orNot(final BooleanSupplier clause) {
+        return this;
+    }
+
     /**
      * An intermediate result of the {@link Value} where the clause has evaluated to true.
      *
+     * <p>This only lives between {@code then()} and {@code otherwise()} or {@code optional()}, so once the chain is
+     * inlined it is scalar replaced by escape analysis. Use {@link Value#where(boolean, Supplier, Supplier)} where
+     * no allocation must be guaranteed.</p>
+     *
      * @param <T> the type of the value
      */
     @RequiredArgsConstructor
@@ -22,6 +22,8 @@
 package net.kemitix.conditional;
 
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
 /**
@@ -45,9 +47,10 @@ public interface Value {
             final Supplier<T> trueSupplier,
             final Supplier<T> falseSupplier
     ) {
-        return Value.<T>where(clause)
-                .then(trueSupplier)
-                .otherwise(falseSupplier);
+        if (clause) {
+            return trueSupplier.get();
+        }
+        return falseSupplier.get();
     }
 
     /**
@@ -79,7 +82,10 @@ public interface Value {
             final boolean clause,
             final Supplier<T> trueSupplier
     ) {
-        return Optional.ofNullable(Value.where(clause, trueSupplier, () -> null));
+        if (clause) {
+            return Optional.ofNullable(trueSupplier.get());
+        }
+        return Optional.empty();
     }
 
     /**
@@ -124,6 +130,116 @@ public interface Value {
         return Value.where(clause.isTrue());
     }
 
+    /**
+     * Create a builder for a {@link Selector} that chooses a value by the constant of an enum.
+     *
+     * @param keyType the type of the enum
+     * @param <E>     the type of the key
+     * @param <T>     the type of the value
+     * @return the Builder
+     */
+    static <E extends Enum<E>, T> Selector.Builder<E, T> match(final Class<E> keyType) {
+        return Selector.forEnum(keyType);
+    }
+
+    /**
+     * Create a builder for a {@link Selector} that chooses a value by a key, such as a string.
+     *
+     * @param <K> the type of the key
+     * @param <T> the type of the value
+     * @return the Builder
+     */
+    static <K, T> Selector.Builder<K, T> match() {
+        return Selector.forKeys();
+    }
+
+    /**
+     * Create a builder for an {@link IntSelector} that chooses a value by an {@code int} key.
+     *
+     * @param <T> the type of the value
+     * @return the Builder
+     */
+    static <T> IntSelector.Builder<T> matchInt() {
+        return IntSelector.builder();
+    }
+
+    /**
+     * Fills the destination with the value from one of two arrays at each index, depending on whether the index is
+     * selected by the mask.
+     *
+     * @param mask        The selected indexes
+     * @param whenTrue    The values for selected indexes
+     * @param whenFalse   The values for the other indexes
+     * @param destination The array to fill, which must be no longer than either source
+     * @param <T>         The type of the values
+     */
+    static <T> void select(
+            final Mask mask,
+            final T[] whenTrue,
+            final T[] whenFalse,
+            final T[] destination
+    ) {
+        Blend.select(mask, whenTrue, whenFalse, destination, false);
+    }
+
+    /**
+     * Fills the destination with the value from one of two functions of the index, depending on whether the index is
+     * selected by the mask. Only one function is called for each index.
+     *
+     * @param mask        The selected indexes
+     * @param whenTrue    The values for selected indexes
+     * @param whenFalse   The values for the other indexes
+     * @param destination The array to fill
+     * @param <T>         The type of the values
+     */
+    static <T> void select(
+            final Mask mask,
+            final IntFunction<T> whenTrue,
+            final IntFunction<T> whenFalse,
+            final T[] destination
+    ) {
+        Blend.select(mask, whenTrue, whenFalse, destination, false);
+    }
+
+    /**
+     * Fills the destination as {@link #select(Mask, Object[], Object[], Object[])} does, with chunks of large
+     * destinations filled in parallel on the common {@link java.util.concurrent.ForkJoinPool}.
+     *
+     * @param mask        The selected indexes
+     * @param whenTrue    The values for selected indexes
+     * @param whenFalse   The values for the other indexes
+     * @param destination The array to fill, which must be no longer than either source
+     * @param <T>         The type of the values
+     */
+    static <T> void parallelSelect(
+            final Mask mask,
+            final T[] whenTrue,
+            final T[] whenFalse,
+            final T[] destination
+    ) {
+        Blend.select(mask, whenTrue, whenFalse, destination, true);
+    }
+
+    /**
+     * Fills the destination as {@link #select(Mask, IntFunction, IntFunction, Object[])} does, with chunks of
+     * large destinations filled in parallel on the common {@link java.util.concurrent.ForkJoinPool}. The functions
+     * must be safe to call from several threads.
+     *
+     * @param mask        The selected indexes
+     * @param whenTrue    The values for selected indexes
+     * @param whenFalse   The values for the other indexes
+     * @param destination The array to fill
+     * @param <T>         The type of the values
+     */
+    static <T> void parallelSelect(
+            final Mask mask,
+            final IntFunction<T> whenTrue,
+            final IntFunction<T> whenFalse,
+            final T[] destination
+    ) {
+        Blend.select(mask, whenTrue, whenFalse, destination, true);
+    }
+
     /**
      * An intermediate state in determining the final {@link Value}.
      *
@@ -154,6 +270,16 @@ public interface Value {
          */
         ValueClause<T> and(Supplier<Boolean> clause);
 
+        /**
+         * Logically AND combine the current {@link ValueClause} with clause, without boxing the result of the clause.
+         *
+         * @param clause the condition to test
+         * @return a true or false value clause
+         */
+        default ValueClause<T> and(final BooleanSupplier clause) {
+            return and((Supplier<Boolean>) clause::getAsBoolean);
+        }
+
         /**
          * Logically OR combine the current {@link ValueClause} with clause.
          *
@@ -163,6 +289,17 @@ public interface Value {
         @SuppressWarnings("PMD.ShortMethodName")
         ValueClause<T> or(Supplier<Boolean> clause);
 
+        /**
+         * Logically OR combine the current {@link ValueClause} with clause, without boxing the result of the clause.
+         *
+         * @param clause the condition to test
+         * @return a true or false value clause
+         */
+        @SuppressWarnings("PMD.ShortMethodName")
+        default ValueClause<T> or(final BooleanSupplier clause) {
+            return or((Supplier<Boolean>) clause::getAsBoolean);
+        }
+
         /**
          * Logically AND combine the current {@link ValueClause} with boolean opposite of the clause.
          *
@@ -185,6 +322,17 @@ public interface Value {
             return or(() -> !clause.get());
         }
 
+        /**
+         * Logically OR combine the current {@link ValueClause} with boolean opposite of the clause, without boxing the
+         * result of the clause.
+         *
+         * @param clause the condition to test
+         * @return a true or false value clause
+         */
+        default ValueClause<T> orNot(final BooleanSupplier clause) {
+            return or(() -> !clause.getAsBoolean());
+        }
+
         /**
          * An intermediate result of the {@link Value}.
          *
@@ -0,0 +1,57 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package net.kemitix.conditional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies the arguments of {@link SafeVarargs} methods.
+ *
+ * <p>The copy is taken an element at a time, so the generic varargs array never leaves the method and a caller can
+ * suppress the {@code varargs} lint warning for passing it here.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class Varargs {
+
+    private Varargs() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Copy the arguments into a new list.
+     *
+     * @param items the varargs array
+     * @param <T>   the type of the items
+     * @return a new, modifiable list of the items
+     */
+    static <T> List<T> copyOf(final T[] items) {
+        final List<T> copy = new ArrayList<>(items.length);
+        for (final T item : items) {
+            copy.add(item);
+        }
+        return copy;
+    }
+
+}
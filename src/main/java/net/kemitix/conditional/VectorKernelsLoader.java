@@ -0,0 +1,74 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+/**
+ * Finds the Vector API kernels, which are only present in the Java 16 layer of the multi-release jar.
+ *
+ * <p>The kernels are looked up reflectively so the core classes have no dependency on
+ * {@code jdk.incubator.vector}. When the layer is not used, or the module has not been added to the JVM, the
+ * lookup fails and the scalar kernels are used instead.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class VectorKernelsLoader {
+
+    private static final String VECTOR_KERNELS = "net.kemitix.conditional.VectorColumnKernels";
+
+    private static final Optional<Method> FOR_BITS = lookup("forBits", int.class);
+
+    static final ColumnKernels PREFERRED = lookup("preferred")
+            .flatMap(VectorKernelsLoader::invoke)
+            .orElse(ScalarKernels.SCALAR);
+
+    private VectorKernelsLoader() {
+        throw new UnsupportedOperationException();
+    }
+
+    static Optional<ColumnKernels> vector(final int bits) {
+        if (bits != 128 && bits != 256 && bits != 512) {
+            throw new IllegalArgumentException("Unsupported vector size: " + bits);
+        }
+        return FOR_BITS.flatMap(method -> invoke(method, bits));
+    }
+
+    private static Optional<Method> lookup(final String name, final Class<?>... parameterTypes) {
+        try {
+            return Optional.of(Class.forName(VECTOR_KERNELS).getDeclaredMethod(name, parameterTypes));
+        } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<ColumnKernels> invoke(final Method method, final Object... args) {
+        try {
+            return Optional.of((ColumnKernels) method.invoke(null, args));
+        } catch (IllegalAccessException | InvocationTargetException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
+
+}
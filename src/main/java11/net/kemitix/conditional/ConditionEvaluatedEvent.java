@@ -0,0 +1,80 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A JFR event for the evaluation of a named {@link Probe}, lasting while the clause, expression or supplier runs.
+ *
+ * <p>{@link Probe#where(boolean)} is given a clause that has already been evaluated, so it records an instant event,
+ * which a threshold above zero drops.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@Name(ConditionEvaluatedEvent.NAME)
+@Label("Condition Evaluated")
+@Description("A named Condition or Value evaluation")
+@Category("Conditional")
+@Enabled(false)
+@Threshold("0 ns")
+@StackTrace(false)
+final class ConditionEvaluatedEvent extends Event {
+
+    /**
+     * The name of the event type.
+     */
+    static final String NAME = "net.kemitix.conditional.ConditionEvaluated";
+
+    @Label("Probe")
+    @Description("The name of the probe")
+    private String probe;
+
+    @Label("Outcome")
+    @Description("The result of the clause")
+    private boolean outcome;
+
+    @Label("Clause Count")
+    @Description("The number of clauses in the expression")
+    private int clauseCount;
+
+    /**
+     * Set the fields of the event.
+     *
+     * @param probeName the name of the probe
+     * @param result    the result of the clause
+     * @param clauses   the number of clauses in the expression
+     */
+    void record(final String probeName, final boolean result, final int clauses) {
+        this.probe = probeName;
+        this.outcome = result;
+        this.clauseCount = clauses;
+    }
+
+}
@@ -0,0 +1,76 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A JFR event for an exception thrown by {@link Condition#thenThrow(java.util.function.Supplier)} or
+ * {@link Condition#otherwiseThrow(java.util.function.Supplier)}, lasting while the exception is supplied.
+ *
+ * <p>An exception passed in already created, as to {@link Condition#thenThrow(Exception)} or
+ * {@link Condition#thenFail(String)}, records an instant event, which a threshold above zero drops.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@Name(ConditionThrownEvent.NAME)
+@Label("Condition Thrown")
+@Description("An exception thrown by thenThrow or otherwiseThrow")
+@Category("Conditional")
+@Enabled(false)
+@Threshold("0 ns")
+final class ConditionThrownEvent extends Event {
+
+    /**
+     * The name of the event type.
+     */
+    static final String NAME = "net.kemitix.conditional.ConditionThrown";
+
+    @Label("Operation")
+    @Description("The method that threw: thenThrow or otherwiseThrow")
+    private String operation;
+
+    @Label("Exception Class")
+    private Class<?> exceptionClass;
+
+    @Label("Message")
+    private String message;
+
+    /**
+     * Set the fields of the event.
+     *
+     * @param method    the method that threw
+     * @param exception the exception
+     */
+    void record(final String method, final Exception exception) {
+        this.operation = method;
+        this.exceptionClass = exception.getClass();
+        this.message = exception.getMessage();
+    }
+
+}
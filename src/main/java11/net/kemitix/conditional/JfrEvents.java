@@ -0,0 +1,195 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import jdk.jfr.EventType;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Emits the Java Flight Recorder events for {@link ProbeEvents}, only loaded once the {@code jdk.jfr} module is known
+ * to be available.
+ *
+ * <p>An event is only created when JFR is recording its type, checked through its {@link EventType} so that nothing
+ * is allocated otherwise. Both types are disabled by default; enable them, and set a threshold, in a JFR settings
+ * file or with {@code jdk.jfr.Recording#enable(String)}.</p>
+ *
+ * <p>Only the work done here can be timed. A clause that was evaluated, or an exception that was created, before it
+ * reached a probe gives an instant event with a duration of zero, which any threshold above zero will drop.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class JfrEvents {
+
+    private static final EventType EVALUATED = EventType.getEventType(ConditionEvaluatedEvent.class);
+    private static final EventType THROWN = EventType.getEventType(ConditionThrownEvent.class);
+
+    private JfrEvents() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Load the event types, failing with a {@link LinkageError} if JFR is not available.
+     *
+     * @return true
+     */
+    static boolean load() {
+        return EVALUATED != null && THROWN != null;
+    }
+
+    /**
+     * Record the result of a clause that has already been evaluated.
+     *
+     * <p>The event is instant, so it is dropped by any threshold above zero.</p>
+     *
+     * @param probe   the name of the probe
+     * @param outcome the result of the clause
+     */
+    static void evaluated(final String probe, final boolean outcome) {
+        if (EVALUATED.isEnabled()) {
+            final ConditionEvaluatedEvent event = new ConditionEvaluatedEvent();
+            event.begin();
+            commit(event, probe, outcome);
+        }
+    }
+
+    /**
+     * Evaluate a clause, timing it.
+     *
+     * @param probe  the name of the probe
+     * @param clause the clause
+     * @return the result of the clause
+     */
+    static boolean test(final String probe, final BooleanSupplier clause) {
+        if (!EVALUATED.isEnabled()) {
+            return clause.getAsBoolean();
+        }
+        final ConditionEvaluatedEvent event = new ConditionEvaluatedEvent();
+        event.begin();
+        final boolean outcome = clause.getAsBoolean();
+        commit(event, probe, outcome);
+        return outcome;
+    }
+
+    /**
+     * Evaluate an expression, timing it and counting its clauses.
+     *
+     * @param probe     the name of the probe
+     * @param condition the expression
+     * @return the result of the expression
+     */
+    static boolean test(final String probe, final LazyCondition condition) {
+        if (!EVALUATED.isEnabled()) {
+            return condition.isTrue();
+        }
+        final ConditionEvaluatedEvent event = new ConditionEvaluatedEvent();
+        event.begin();
+        final boolean outcome = condition.isTrue();
+        event.end();
+        if (event.shouldCommit()) {
+            event.record(probe, outcome, condition.accept(ClauseCounter.INSTANCE));
+            event.commit();
+        }
+        return outcome;
+    }
+
+    /**
+     * Get a value from one of two suppliers, timing it.
+     *
+     * @param probe         the name of the probe
+     * @param clause        the deciding clause
+     * @param trueSupplier  the supplier when the clause is true
+     * @param falseSupplier the supplier when the clause is false
+     * @param <T>           the type of the value
+     * @return the value
+     */
+    static <T> T value(
+            final String probe,
+            final boolean clause,
+            final Supplier<T> trueSupplier,
+            final Supplier<T> falseSupplier
+    ) {
+        if (!EVALUATED.isEnabled()) {
+            return Value.where(clause, trueSupplier, falseSupplier);
+        }
+        final ConditionEvaluatedEvent event = new ConditionEvaluatedEvent();
+        event.begin();
+        final T value = Value.where(clause, trueSupplier, falseSupplier);
+        commit(event, probe, clause);
+        return value;
+    }
+
+    /**
+     * Record an exception about to be thrown.
+     *
+     * <p>The exception already exists, so the event is instant and is dropped by any threshold above zero.</p>
+     *
+     * @param operation the method throwing it
+     * @param exception the exception
+     * @param <E>       the type of the exception
+     * @return the exception
+     */
+    static <E extends Exception> E thrown(final String operation, final E exception) {
+        if (THROWN.isEnabled()) {
+            final ConditionThrownEvent event = new ConditionThrownEvent();
+            event.begin();
+            commit(event, operation, exception);
+        }
+        return exception;
+    }
+
+    /**
+     * Get an exception about to be thrown, timing the supplier.
+     *
+     * @param operation         the method throwing it
+     * @param exceptionSupplier the supplier of the exception
+     * @return the exception
+     */
+    static Exception thrown(final String operation, final Supplier<Exception> exceptionSupplier) {
+        if (!THROWN.isEnabled()) {
+            return exceptionSupplier.get();
+        }
+        final ConditionThrownEvent event = new ConditionThrownEvent();
+        event.begin();
+        final Exception exception = exceptionSupplier.get();
+        commit(event, operation, exception);
+        return exception;
+    }
+
+    private static void commit(final ConditionEvaluatedEvent event, final String probe, final boolean outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.record(probe, outcome, 1);
+            event.commit();
+        }
+    }
+
+    private static void commit(final ConditionThrownEvent event, final String operation, final Exception exception) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.record(operation, exception);
+            event.commit();
+        }
+    }
+
+}
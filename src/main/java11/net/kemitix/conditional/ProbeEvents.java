@@ -0,0 +1,150 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Emits Java Flight Recorder events for {@link Probe} evaluations and for {@code thenThrow}, {@code otherwiseThrow},
+ * {@code thenFail} and {@code otherwiseFail}.
+ *
+ * <p>The events are emitted by {@link JfrEvents}, which is only loaded if the {@code jdk.jfr} module is in the boot
+ * layer, so a runtime without it, such as one built by jlink, only evaluates, as on Java 8.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class ProbeEvents {
+
+    /**
+     * Whether JFR is available, fixed when the class is loaded so the JIT can fold the check away.
+     */
+    private static final boolean JFR = jfrAvailable();
+
+    private ProbeEvents() {
+        throw new UnsupportedOperationException();
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private static boolean jfrAvailable() {
+        if (!ModuleLayer.boot().findModule("jdk.jfr").isPresent()) {
+            return false;
+        }
+        try {
+            return JfrEvents.load();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Record the result of a clause that has already been evaluated.
+     *
+     * @param probe   the name of the probe
+     * @param outcome the result of the clause
+     */
+    static void evaluated(final String probe, final boolean outcome) {
+        if (JFR) {
+            JfrEvents.evaluated(probe, outcome);
+        }
+    }
+
+    /**
+     * Evaluate a clause, timing it.
+     *
+     * @param probe  the name of the probe
+     * @param clause the clause
+     * @return the result of the clause
+     */
+    static boolean test(final String probe, final BooleanSupplier clause) {
+        if (JFR) {
+            return JfrEvents.test(probe, clause);
+        }
+        return clause.getAsBoolean();
+    }
+
+    /**
+     * Evaluate an expression, timing it and counting its clauses.
+     *
+     * @param probe     the name of the probe
+     * @param condition the expression
+     * @return the result of the expression
+     */
+    static boolean test(final String probe, final LazyCondition condition) {
+        if (JFR) {
+            return JfrEvents.test(probe, condition);
+        }
+        return condition.isTrue();
+    }
+
+    /**
+     * Get a value from one of two suppliers, timing it.
+     *
+     * @param probe         the name of the probe
+     * @param clause        the deciding clause
+     * @param trueSupplier  the supplier when the clause is true
+     * @param falseSupplier the supplier when the clause is false
+     * @param <T>           the type of the value
+     * @return the value
+     */
+    static <T> T value(
+            final String probe,
+            final boolean clause,
+            final Supplier<T> trueSupplier,
+            final Supplier<T> falseSupplier
+    ) {
+        if (JFR) {
+            return JfrEvents.value(probe, clause, trueSupplier, falseSupplier);
+        }
+        return Value.where(clause, trueSupplier, falseSupplier);
+    }
+
+    /**
+     * Record an exception about to be thrown.
+     *
+     * @param operation the method throwing it
+     * @param exception the exception
+     * @param <E>       the type of the exception
+     * @return the exception
+     */
+    static <E extends Exception> E thrown(final String operation, final E exception) {
+        if (JFR) {
+            return JfrEvents.thrown(operation, exception);
+        }
+        return exception;
+    }
+
+    /**
+     * Get an exception about to be thrown, timing the supplier.
+     *
+     * @param operation         the method throwing it
+     * @param exceptionSupplier the supplier of the exception
+     * @return the exception
+     */
+    static Exception thrown(final String operation, final Supplier<Exception> exceptionSupplier) {
+        if (JFR) {
+            return JfrEvents.thrown(operation, exceptionSupplier);
+        }
+        return exceptionSupplier.get();
+    }
+
+}
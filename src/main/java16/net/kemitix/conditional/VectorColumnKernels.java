@@ -0,0 +1,257 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ColumnKernels} that compare a vector of rows at a time using the incubating Vector API.
+ *
+ * <p>Each word of the mask is built from the lane masks of the vector comparisons, shifted into place. Any rows
+ * left over when a word has fewer rows than a vector are compared one at a time.</p>
+ *
+ * <p>Found reflectively by {@link VectorKernelsLoader}, as it can only be loaded when the
+ * {@code jdk.incubator.vector} module has been added.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+@SuppressWarnings({"methodcount", "PMD.TooManyMethods"})
+final class VectorColumnKernels implements ColumnKernels {
+
+    private final VectorSpecies<Integer> intSpecies;
+    private final VectorSpecies<Long> longSpecies;
+    private final VectorSpecies<Double> doubleSpecies;
+
+    private VectorColumnKernels(final VectorShape shape) {
+        intSpecies = IntVector.SPECIES_PREFERRED.withShape(shape);
+        longSpecies = LongVector.SPECIES_PREFERRED.withShape(shape);
+        doubleSpecies = DoubleVector.SPECIES_PREFERRED.withShape(shape);
+    }
+
+    static ColumnKernels forBits(final int bits) {
+        return new VectorColumnKernels(VectorShape.forBitSize(bits));
+    }
+
+    static ColumnKernels preferred() {
+        return new VectorColumnKernels(VectorShape.preferredShape());
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + intSpecies.vectorBitSize();
+    }
+
+    @Override
+    public void lessThan(final int[] column, final int value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = Math.min(MaskBits.ROWS_PER_WORD, rows - base);
+            final int bound = intSpecies.loopBound(n);
+            long bits = 0;
+            int j = 0;
+            for (; j < bound; j += intSpecies.length()) {
+                bits |= IntVector.fromArray(intSpecies, column, base + j)
+                        .compare(VectorOperators.LT, value)
+                        .toLong() << j;
+            }
+            for (; j < n; j++) {
+                bits |= (column[base + j] < value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+    @Override
+    public void equalTo(final int[] column, final int value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = Math.min(MaskBits.ROWS_PER_WORD, rows - base);
+            final int bound = intSpecies.loopBound(n);
+            long bits = 0;
+            int j = 0;
+            for (; j < bound; j += intSpecies.length()) {
+                bits |= IntVector.fromArray(intSpecies, column, base + j)
+                        .compare(VectorOperators.EQ, value)
+                        .toLong() << j;
+            }
+            for (; j < n; j++) {
+                bits |= (column[base + j] == value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+    @Override
+    public void greaterThan(final int[] column, final int value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = Math.min(MaskBits.ROWS_PER_WORD, rows - base);
+            final int bound = intSpecies.loopBound(n);
+            long bits = 0;
+            int j = 0;
+            for (; j < bound; j += intSpecies.length()) {
+                bits |= IntVector.fromArray(intSpecies, column, base + j)
+                        .compare(VectorOperators.GT, value)
+                        .toLong() << j;
+            }
+            for (; j < n; j++) {
+                bits |= (column[base + j] > value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+    @Override
+    public void lessThan(final long[] column, final long value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = Math.min(MaskBits.ROWS_PER_WORD, rows - base);
+            final int bound = longSpecies.loopBound(n);
+            long bits = 0;
+            int j = 0;
+            for (; j < bound; j += longSpecies.length()) {
+                bits |= LongVector.fromArray(longSpecies, column, base + j)
+                        .compare(VectorOperators.LT, value)
+                        .toLong() << j;
+            }
+            for (; j < n; j++) {
+                bits |= (column[base + j] < value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+    @Override
+    public void equalTo(final long[] column, final long value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = Math.min(MaskBits.ROWS_PER_WORD, rows - base);
+            final int bound = longSpecies.loopBound(n);
+            long bits = 0;
+            int j = 0;
+            for (; j < bound; j += longSpecies.length()) {
+                bits |= LongVector.fromArray(longSpecies, column, base + j)
+                        .compare(VectorOperators.EQ, value)
+                        .toLong() << j;
+            }
+            for (; j < n; j++) {
+                bits |= (column[base + j] == value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+    @Override
+    public void greaterThan(final long[] column, final long value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = Math.min(MaskBits.ROWS_PER_WORD, rows - base);
+            final int bound = longSpecies.loopBound(n);
+            long bits = 0;
+            int j = 0;
+            for (; j < bound; j += longSpecies.length()) {
+                bits |= LongVector.fromArray(longSpecies, column, base + j)
+                        .compare(VectorOperators.GT, value)
+                        .toLong() << j;
+            }
+            for (; j < n; j++) {
+                bits |= (column[base + j] > value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+    @Override
+    public void lessThan(final double[] column, final double value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = Math.min(MaskBits.ROWS_PER_WORD, rows - base);
+            final int bound = doubleSpecies.loopBound(n);
+            long bits = 0;
+            int j = 0;
+            for (; j < bound; j += doubleSpecies.length()) {
+                bits |= DoubleVector.fromArray(doubleSpecies, column, base + j)
+                        .compare(VectorOperators.LT, value)
+                        .toLong() << j;
+            }
+            for (; j < n; j++) {
+                bits |= (column[base + j] < value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+    @Override
+    public void equalTo(final double[] column, final double value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = Math.min(MaskBits.ROWS_PER_WORD, rows - base);
+            final int bound = doubleSpecies.loopBound(n);
+            long bits = 0;
+            int j = 0;
+            for (; j < bound; j += doubleSpecies.length()) {
+                bits |= DoubleVector.fromArray(doubleSpecies, column, base + j)
+                        .compare(VectorOperators.EQ, value)
+                        .toLong() << j;
+            }
+            for (; j < n; j++) {
+                bits |= (column[base + j] == value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+    @Override
+    public void greaterThan(final double[] column, final double value, final int rows, final long[] mask) {
+        final int words = MaskBits.words(rows);
+        for (int w = 0; w < words; w++) {
+            final int base = w * MaskBits.ROWS_PER_WORD;
+            final int n = Math.min(MaskBits.ROWS_PER_WORD, rows - base);
+            final int bound = doubleSpecies.loopBound(n);
+            long bits = 0;
+            int j = 0;
+            for (; j < bound; j += doubleSpecies.length()) {
+                bits |= DoubleVector.fromArray(doubleSpecies, column, base + j)
+                        .compare(VectorOperators.GT, value)
+                        .toLong() << j;
+            }
+            for (; j < n; j++) {
+                bits |= (column[base + j] > value ? 1L : 0L) << j;
+            }
+            mask[w] = bits;
+        }
+    }
+
+}
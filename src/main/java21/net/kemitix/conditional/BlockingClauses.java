@@ -0,0 +1,63 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Races blocking clauses, each on its own virtual thread, for {@link Condition#allOfBlocking(Callable[])} and
+ * {@link Condition#anyOfBlocking(Callable[])}.
+ *
+ * <p>The clauses are scoped to the evaluation: the executor is closed before returning, which waits for any
+ * cancelled clauses to finish, so no clause outlives the call. {@code StructuredTaskScope} would express the same
+ * thing, but is still a preview API in Java 21.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class BlockingClauses {
+
+    private static final ThreadFactory VIRTUAL = Thread.ofVirtual().name("conditional-blocking-", 0).factory();
+
+    private BlockingClauses() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Evaluates the clauses until any gives the deciding value, or all have completed.
+     *
+     * @param clauses  the clauses
+     * @param deciding the value that decides the result: false for AND, true for OR
+     * @return the result
+     * @throws Exception the first failure, in order, if no clause gave the deciding value
+     */
+    @SuppressWarnings(SuppressHelper.CS_ILLEGALTHROWS)
+    static boolean evaluate(final List<Callable<Boolean>> clauses, final boolean deciding) throws Exception {
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(VIRTUAL)) {
+            return ParallelClauses.race(executor, clauses, deciding);
+        }
+    }
+
+}
@@ -0,0 +1,207 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Gatherer;
+
+/**
+ * Gatherers that partition, route or map the elements of a stream by a clause, as intermediate operations.
+ *
+ * <p>Each clause is a {@link Predicate} tested against each element directly, without creating a {@code Condition}
+ * or supplier for each element. Where the clause is already written as a {@link Condition}, use the {@code Where}
+ * forms. See {@link ConditionalCollectors} for the terminal equivalents.</p>
+ *
+ * <p>All the gatherers can run in parallel. {@link #mapping} and {@link #route} hold no state; {@link #partitioned}
+ * gives each thread its own partitions and merges them in encounter order.</p>
+ *
+ * <p>This class needs Java 24 or later.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public final class ConditionalGatherers {
+
+    private ConditionalGatherers() {
+    }
+
+    /**
+     * Map each element with one function if it matches the clause, or the other if it doesn't.
+     *
+     * @param clause    the condition to test each element with
+     * @param whenTrue  the function to map elements that match
+     * @param whenFalse the function to map elements that don't match
+     * @param <T>       the type of the elements
+     * @param <R>       the type of the mapped elements
+     * @return the Gatherer
+     */
+    public static <T, R> Gatherer<T, ?, R> mapping(
+            final Predicate<? super T> clause,
+            final Function<? super T, ? extends R> whenTrue,
+            final Function<? super T, ? extends R> whenFalse
+    ) {
+        return Gatherer.of(Gatherer.Integrator.<Void, T, R>ofGreedy((state, element, downstream) ->
+                downstream.push(clause.test(element) ? whenTrue.apply(element) : whenFalse.apply(element))));
+    }
+
+    /**
+     * Map each element with one function if the clause gives a true {@link Condition} for it, or the other if it
+     * gives a false one.
+     *
+     * @param clause    the function giving the condition for each element
+     * @param whenTrue  the function to map elements whose condition is true
+     * @param whenFalse the function to map elements whose condition is false
+     * @param <T>       the type of the elements
+     * @param <R>       the type of the mapped elements
+     * @return the Gatherer
+     */
+    public static <T, R> Gatherer<T, ?, R> mappingWhere(
+            final Function<? super T, ? extends Condition> clause,
+            final Function<? super T, ? extends R> whenTrue,
+            final Function<? super T, ? extends R> whenFalse
+    ) {
+        return mapping(ConditionClauses.toPredicate(clause), whenTrue, whenFalse);
+    }
+
+    /**
+     * Map each element with the function for the first clause it matches, or with the last function if it matches
+     * none.
+     *
+     * @param clauses   the conditions to test each element with, in order
+     * @param functions the function for each clause, followed by the function for no clause
+     * @param <T>       the type of the elements
+     * @param <R>       the type of the mapped elements
+     * @return the Gatherer
+     * @throws IllegalArgumentException if there isn't exactly one more function than clauses
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T, R> Gatherer<T, ?, R> route(
+            final List<? extends Predicate<? super T>> clauses,
+            final List<? extends Function<? super T, ? extends R>> functions
+    ) {
+        if (functions.size() != clauses.size() + 1) {
+            throw new IllegalArgumentException(
+                    "Need one more function than clauses: " + functions.size() + " for " + clauses.size());
+        }
+        final Predicate<? super T>[] tests = clauses.toArray(new Predicate[0]);
+        final Function<? super T, ? extends R>[] maps = functions.toArray(new Function[0]);
+        return Gatherer.of(Gatherer.Integrator.<Void, T, R>ofGreedy((state, element, downstream) -> {
+            int route = 0;
+            while (route < tests.length && !tests[route].test(element)) {
+                route++;
+            }
+            return downstream.push(maps[route].apply(element));
+        }));
+    }
+
+    /**
+     * Map each element with the function for the first clause that gives a true {@link Condition} for it, or with
+     * the last function if none do.
+     *
+     * @param clauses   the functions giving the condition for each element, in order
+     * @param functions the function for each clause, followed by the function for no clause
+     * @param <T>       the type of the elements
+     * @param <R>       the type of the mapped elements
+     * @return the Gatherer
+     * @throws IllegalArgumentException if there isn't exactly one more function than clauses
+     */
+    public static <T, R> Gatherer<T, ?, R> routeWhere(
+            final List<? extends Function<? super T, ? extends Condition>> clauses,
+            final List<? extends Function<? super T, ? extends R>> functions
+    ) {
+        return route(ConditionClauses.<T>toPredicates(clauses), functions);
+    }
+
+    /**
+     * Pass on the elements that match the clause, then those that don't, each in encounter order.
+     *
+     * <p>Nothing is passed on until every element has been tested.</p>
+     *
+     * @param clause the condition to test each element with
+     * @param <T>    the type of the elements
+     * @return the Gatherer
+     */
+    public static <T> Gatherer<T, ?, T> partitioned(final Predicate<? super T> clause) {
+        return Gatherer.of(
+                Partitions<T>::new,
+                Gatherer.Integrator.<Partitions<T>, T, T>ofGreedy((partitions, element, downstream) -> {
+                    partitions.add(clause.test(element), element);
+                    return true;
+                }),
+                Partitions::merge,
+                Partitions::emit);
+    }
+
+    /**
+     * Pass on the elements for which the clause gives a true {@link Condition}, then the others, each in encounter
+     * order.
+     *
+     * @param clause the function giving the condition for each element
+     * @param <T>    the type of the elements
+     * @return the Gatherer
+     */
+    public static <T> Gatherer<T, ?, T> partitionedWhere(final Function<? super T, ? extends Condition> clause) {
+        return partitioned(ConditionClauses.toPredicate(clause));
+    }
+
+    /**
+     * The elements that matched and didn't match, so far.
+     *
+     * @param <T> the type of the elements
+     */
+    private static final class Partitions<T> {
+
+        private final List<T> matching = new ArrayList<>();
+        private final List<T> others = new ArrayList<>();
+
+        void add(final boolean matched, final T element) {
+            if (matched) {
+                matching.add(element);
+            } else {
+                others.add(element);
+            }
+        }
+
+        Partitions<T> merge(final Partitions<T> later) {
+            matching.addAll(later.matching);
+            others.addAll(later.others);
+            return this;
+        }
+
+        void emit(final Gatherer.Downstream<? super T> downstream) {
+            for (final T element : matching) {
+                if (!downstream.push(element)) {
+                    return;
+                }
+            }
+            for (final T element : others) {
+                if (!downstream.push(element)) {
+                    return;
+                }
+            }
+        }
+
+    }
+
+}
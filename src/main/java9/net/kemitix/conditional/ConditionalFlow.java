@@ -0,0 +1,226 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Conditional operators for {@link Flow} publishers: filter, map and split a stream of items by a clause.
+ *
+ * <p>Each clause is tested against each item as it arrives, in the manner of {@link Condition#where(boolean)} and
+ * {@link Value#where(boolean, java.util.function.Supplier, java.util.function.Supplier)}, but without creating a
+ * {@code Condition} or supplier for each item. Where the clause is already written as a {@link Condition}, such as
+ * {@code order -> Condition.where(order.isPaid()).and(order::isShipped)}, use {@link #filterWhere(Function)},
+ * {@link #mapWhere(Function, Function, Function)} and {@link #splitWhere(List)}.</p>
+ *
+ * <p>The operators respect the demand of their subscribers. Items are requested from upstream in batches of
+ * {@code prefetch}, {@value #DEFAULT_PREFETCH} by default, and more are requested once three quarters of a batch has
+ * been passed on or dropped, so upstream sees a few large requests rather than one per item. Up to
+ * {@code prefetch} items are buffered for each subscriber that has not yet asked for them.</p>
+ *
+ * <p>This class needs Java 9 or later.</p>
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public final class ConditionalFlow {
+
+    /**
+     * The number of items requested from upstream at a time, if not given.
+     */
+    public static final int DEFAULT_PREFETCH = ConditionalProcessor.DEFAULT_PREFETCH;
+
+    private static final int[] SAME_OUTPUT = {0, 0};
+    private static final int[] FIRST_OUTPUT_ONLY = {0, -1};
+
+    private ConditionalFlow() {
+    }
+
+    /**
+     * Create a processor that passes on only the items that match the clause.
+     *
+     * @param clause the condition to test each item with
+     * @param <T>    the type of the items
+     * @return the Processor
+     */
+    public static <T> Flow.Processor<T, T> filter(final Predicate<? super T> clause) {
+        return filter(clause, DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Create a processor that passes on only the items that match the clause.
+     *
+     * @param clause   the condition to test each item with
+     * @param prefetch the number of items to request from upstream at a time
+     * @param <T>      the type of the items
+     * @return the Processor
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> Flow.Processor<T, T> filter(final Predicate<? super T> clause, final int prefetch) {
+        return new ConditionalProcessor<>(
+                new Predicate[]{clause},
+                FIRST_OUTPUT_ONLY,
+                new Function[]{Function.identity(), null},
+                1,
+                prefetch);
+    }
+
+    /**
+     * Create a processor that passes on only the items for which the clause gives a true {@link Condition}.
+     *
+     * @param clause the function giving the condition for each item
+     * @param <T>    the type of the items
+     * @return the Processor
+     */
+    public static <T> Flow.Processor<T, T> filterWhere(final Function<? super T, ? extends Condition> clause) {
+        return filter(ConditionClauses.toPredicate(clause), DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Create a processor that maps each item with one function if it matches the clause, or the other if it doesn't.
+     *
+     * @param clause    the condition to test each item with
+     * @param whenTrue  the function to map items that match
+     * @param whenFalse the function to map items that don't match
+     * @param <T>       the type of the items received
+     * @param <R>       the type of the items published
+     * @return the Processor
+     */
+    public static <T, R> Flow.Processor<T, R> map(
+            final Predicate<? super T> clause,
+            final Function<? super T, ? extends R> whenTrue,
+            final Function<? super T, ? extends R> whenFalse
+    ) {
+        return map(clause, whenTrue, whenFalse, DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Create a processor that maps each item with one function if it matches the clause, or the other if it doesn't.
+     *
+     * @param clause    the condition to test each item with
+     * @param whenTrue  the function to map items that match
+     * @param whenFalse the function to map items that don't match
+     * @param prefetch  the number of items to request from upstream at a time
+     * @param <T>       the type of the items received
+     * @param <R>       the type of the items published
+     * @return the Processor
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T, R> Flow.Processor<T, R> map(
+            final Predicate<? super T> clause,
+            final Function<? super T, ? extends R> whenTrue,
+            final Function<? super T, ? extends R> whenFalse,
+            final int prefetch
+    ) {
+        return new ConditionalProcessor<>(
+                new Predicate[]{clause},
+                SAME_OUTPUT,
+                new Function[]{whenTrue, whenFalse},
+                1,
+                prefetch);
+    }
+
+    /**
+     * Create a processor that maps each item with one function if the clause gives a true {@link Condition} for it,
+     * or the other if it gives a false one, as {@link Value#where(Condition, java.util.function.Supplier,
+     * java.util.function.Supplier)} would for a single item.
+     *
+     * @param clause    the function giving the condition for each item
+     * @param whenTrue  the function to map items whose condition is true
+     * @param whenFalse the function to map items whose condition is false
+     * @param <T>       the type of the items received
+     * @param <R>       the type of the items published
+     * @return the Processor
+     */
+    public static <T, R> Flow.Processor<T, R> mapWhere(
+            final Function<? super T, ? extends Condition> clause,
+            final Function<? super T, ? extends R> whenTrue,
+            final Function<? super T, ? extends R> whenFalse
+    ) {
+        return map(ConditionClauses.toPredicate(clause), whenTrue, whenFalse, DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Create a split that sends each item to the route of the first clause it matches, or to
+     * {@link ConditionalSplit#otherwise()} if it matches none.
+     *
+     * <p>Two clauses give a three-way split.</p>
+     *
+     * @param clauses the conditions to test each item with, in order
+     * @param <T>     the type of the items
+     * @return the ConditionalSplit
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> ConditionalSplit<T> split(final Predicate<? super T>... clauses) {
+        return ConditionalFlow.<T>split(Varargs.copyOf(clauses), DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Create a split that sends each item to the route of the first clause it matches, or to
+     * {@link ConditionalSplit#otherwise()} if it matches none.
+     *
+     * <p>An item is only requested from upstream when every route has room to buffer it, so a slow or unsubscribed
+     * route holds back the others. Cancel a route that is not needed.</p>
+     *
+     * @param clauses  the conditions to test each item with, in order
+     * @param prefetch the number of items to request from upstream at a time
+     * @param <T>      the type of the items
+     * @return the ConditionalSplit
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> ConditionalSplit<T> split(
+            final List<? extends Predicate<? super T>> clauses,
+            final int prefetch
+    ) {
+        final int routes = clauses.size() + 1;
+        final int[] outputOfRoute = new int[routes];
+        final Function<? super T, ? extends T>[] transformOfRoute = new Function[routes];
+        for (int i = 0; i < routes; i++) {
+            outputOfRoute[i] = i;
+            transformOfRoute[i] = Function.identity();
+        }
+        return new ConditionalSplit<>(new ConditionalProcessor<>(
+                clauses.toArray(new Predicate[0]),
+                outputOfRoute,
+                transformOfRoute,
+                routes,
+                prefetch), clauses.size());
+    }
+
+    /**
+     * Create a split that sends each item to the route of the first clause that gives a true {@link Condition} for
+     * it, or to {@link ConditionalSplit#otherwise()} if none do.
+     *
+     * @param clauses the functions giving the condition for each item, in order
+     * @param <T>     the type of the items
+     * @return the ConditionalSplit
+     */
+    public static <T> ConditionalSplit<T> splitWhere(
+            final List<? extends Function<? super T, ? extends Condition>> clauses
+    ) {
+        return split(ConditionClauses.<T>toPredicates(clauses), DEFAULT_PREFETCH);
+    }
+
+}
@@ -0,0 +1,334 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Routes each item to one of its outputs by the first of its clauses the item matches, for {@link ConditionalFlow}.
+ *
+ * <p>Each item is given a route: the index of the first clause it matches, or the number of clauses if it matches
+ * none. The route selects the output the item goes to, if any, and the function that transforms it on the way.
+ * Each clause is tested directly, so nothing is allocated per item beyond what the clauses and functions
+ * allocate.</p>
+ *
+ * <p>Items are requested from upstream in batches: {@code prefetch} to begin with, then more once three quarters
+ * of those have been consumed. Each output buffers up to {@code prefetch} items until its subscriber requests them,
+ * and no more are requested from upstream than the fullest output has room for. An output without a subscriber
+ * yet buffers its items, so a split only flows once every output is subscribed or cancelled.</p>
+ *
+ * <p>All signals to the outputs' subscribers are sent from a single drain loop, run by whichever thread has
+ * something to drain, so each subscriber sees its signals in order and one at a time.</p>
+ *
+ * @param <T> the type of the items received
+ * @param <R> the type of the items published
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class ConditionalProcessor<T, R> implements Flow.Processor<T, R> {
+
+    static final int DEFAULT_PREFETCH = 256;
+
+    private final Predicate<? super T>[] clauses;
+    private final int[] outputOfRoute;
+    private final Function<? super T, ? extends R>[] transformOfRoute;
+    private final List<Output> outputs;
+    private final int prefetch;
+    private final int limit;
+
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong outstanding = new AtomicLong();
+    private final AtomicBoolean upstreamCancelled = new AtomicBoolean();
+    private volatile Flow.Subscription upstream;
+    private volatile boolean done;
+    private volatile Throwable error;
+
+    /**
+     * Creates the processor.
+     *
+     * @param clauses          the clauses, tested in order
+     * @param outputOfRoute    the output for each route, or -1 to drop items on that route
+     * @param transformOfRoute the function to apply to items on each route
+     * @param outputs          the number of outputs
+     * @param prefetch         the number of items to request from upstream at a time
+     */
+    ConditionalProcessor(
+            final Predicate<? super T>[] clauses,
+            final int[] outputOfRoute,
+            final Function<? super T, ? extends R>[] transformOfRoute,
+            final int outputs,
+            final int prefetch
+    ) {
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("prefetch must be positive: " + prefetch);
+        }
+        this.clauses = clauses.clone();
+        this.outputOfRoute = outputOfRoute.clone();
+        this.transformOfRoute = transformOfRoute.clone();
+        this.outputs = new ArrayList<>(outputs);
+        for (int i = 0; i < outputs; i++) {
+            this.outputs.add(new Output(prefetch));
+        }
+        this.prefetch = prefetch;
+        this.limit = Math.max(1, prefetch - (prefetch >> 2));
+    }
+
+    /**
+     * The publisher of an output.
+     *
+     * @param index the output
+     * @return the publisher
+     */
+    Flow.Publisher<R> output(final int index) {
+        return outputs.get(index);
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super R> subscriber) {
+        outputs.get(0).subscribe(subscriber);
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        outstanding.set(prefetch);
+        subscription.request(prefetch);
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public void onNext(final T item) {
+        if (done) {
+            return;
+        }
+        try {
+            final int route = route(item);
+            final int index = outputOfRoute[route];
+            // enqueue before counting the item as received, so the drain never overestimates the room left
+            if (index >= 0) {
+                final Output output = outputs.get(index);
+                if (!output.cancelled && !output.queue.offer(Objects.requireNonNull(
+                        transformOfRoute[route].apply(item), "the function returned null"))) {
+                    throw new IllegalStateException("More items received than were requested");
+                }
+            }
+        } catch (RuntimeException e) {
+            cancelUpstream();
+            onError(e);
+            return;
+        }
+        outstanding.decrementAndGet();
+        drain();
+    }
+
+    private int route(final T item) {
+        for (int i = 0; i < clauses.length; i++) {
+            if (clauses[i].test(item)) {
+                return i;
+            }
+        }
+        return clauses.length;
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        if (done) {
+            return;
+        }
+        error = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    private void cancelUpstream() {
+        final Flow.Subscription subscription = upstream;
+        if (subscription != null && upstreamCancelled.compareAndSet(false, true)) {
+            subscription.cancel();
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            boolean allCancelled = true;
+            for (final Output output : outputs) {
+                allCancelled &= output.deliver(done, error);
+            }
+            if (allCancelled) {
+                cancelUpstream();
+            } else {
+                replenish();
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void replenish() {
+        final Flow.Subscription subscription = upstream;
+        if (done || subscription == null || upstreamCancelled.get()) {
+            return;
+        }
+        // read the outstanding count before the queue sizes, so an item arriving in between is counted twice
+        final long requested = outstanding.get();
+        int fullest = 0;
+        for (final Output output : outputs) {
+            fullest = Math.max(fullest, output.queue.size());
+        }
+        final long room = prefetch - fullest - requested;
+        if (room >= limit) {
+            outstanding.addAndGet(room);
+            subscription.request(room);
+        }
+    }
+
+    /**
+     * An output of the processor, which is both the publisher for and the subscription of its single subscriber.
+     */
+    private final class Output implements Flow.Publisher<R>, Flow.Subscription {
+
+        private final SpscRing<R> queue;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicBoolean subscribed = new AtomicBoolean();
+        private volatile Flow.Subscriber<? super R> subscriber;
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        private boolean terminated;
+
+        Output(final int capacity) {
+            queue = new SpscRing<>(capacity);
+        }
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super R> newSubscriber) {
+            if (!subscribed.compareAndSet(false, true)) {
+                newSubscriber.onSubscribe(new Rejected());
+                newSubscriber.onError(new IllegalStateException("Only one subscriber is allowed"));
+                return;
+            }
+            newSubscriber.onSubscribe(this);
+            subscriber = newSubscriber;
+            drain();
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Non-positive request: " + n);
+            } else {
+                requested.getAndAccumulate(n, (current, more) -> current + more < 0 ? Long.MAX_VALUE : current + more);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        /**
+         * Delivers what the subscriber has requested and, once upstream is done and the queue empty, completes.
+         *
+         * @param upstreamDone  whether upstream has finished
+         * @param upstreamError the error upstream finished with, if any
+         * @return true if the output no longer wants items
+         */
+        boolean deliver(final boolean upstreamDone, final Throwable upstreamError) {
+            if (cancelled || terminated) {
+                queue.clear();
+                return true;
+            }
+            final Flow.Subscriber<? super R> target = subscriber;
+            if (target == null) {
+                return false;
+            }
+            if (invalidRequest != null) {
+                terminated = true;
+                queue.clear();
+                target.onError(invalidRequest);
+                return true;
+            }
+            final long demand = requested.get();
+            long emitted = 0;
+            while (emitted != demand && !cancelled) {
+                final R item = queue.poll();
+                if (item == null) {
+                    break;
+                }
+                target.onNext(item);
+                emitted++;
+            }
+            if (emitted != 0 && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+            if (upstreamDone && queue.isEmpty() && !cancelled) {
+                terminated = true;
+                if (upstreamError == null) {
+                    target.onComplete();
+                } else {
+                    target.onError(upstreamError);
+                }
+                return true;
+            }
+            return cancelled;
+        }
+
+    }
+
+    /**
+     * The subscription given to a subscriber that was rejected.
+     */
+    private static final class Rejected implements Flow.Subscription {
+
+        @Override
+        public void request(final long n) {
+            // nothing will be published
+        }
+
+        @Override
+        public void cancel() {
+            // nothing to cancel
+        }
+
+    }
+
+}
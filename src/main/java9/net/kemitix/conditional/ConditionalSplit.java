@@ -0,0 +1,92 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.util.concurrent.Flow;
+
+/**
+ * A subscriber that sends each item on to one of several publishers, by the first clause the item matches.
+ *
+ * <p>Create with {@link ConditionalFlow#split(java.util.function.Predicate[])}. Each route allows a single subscriber.</p>
+ *
+ * @param <T> the type of the items
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public final class ConditionalSplit<T> implements Flow.Subscriber<T> {
+
+    private final ConditionalProcessor<T, T> processor;
+    private final int routes;
+
+    /**
+     * Creates the split.
+     *
+     * @param processor the processor with an output per clause, and one more for items that match none
+     * @param routes    the number of clauses
+     */
+    ConditionalSplit(final ConditionalProcessor<T, T> processor, final int routes) {
+        this.processor = processor;
+        this.routes = routes;
+    }
+
+    /**
+     * The publisher of the items that match a clause, and none before it.
+     *
+     * @param index the index of the clause
+     * @return the Publisher
+     */
+    public Flow.Publisher<T> route(final int index) {
+        if (index < 0 || index >= routes) {
+            throw new IndexOutOfBoundsException("No route " + index + " of " + routes);
+        }
+        return processor.output(index);
+    }
+
+    /**
+     * The publisher of the items that match none of the clauses.
+     *
+     * @return the Publisher
+     */
+    public Flow.Publisher<T> otherwise() {
+        return processor.output(routes);
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        processor.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(final T item) {
+        processor.onNext(item);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        processor.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        processor.onComplete();
+    }
+
+}
@@ -0,0 +1,93 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Paul Campbell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE
+ * AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package net.kemitix.conditional;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Memoize} supplier that keeps the first result computed, using compare-and-set.
+ *
+ * <p>The result is read with acquire rather than volatile semantics, which is enough to publish it safely.</p>
+ *
+ * @param <T> the type of the result
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class LockFreeSupplier<T> implements Supplier<T> {
+
+    private static final Object NULL = new Object();
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(LockFreeSupplier.class, "value", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private volatile Supplier<? extends T> supplier;
+    @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+    private Object value;
+
+    /**
+     * Creates the supplier.
+     *
+     * @param supplier the supplier to remember the result of
+     */
+    LockFreeSupplier(final Supplier<? extends T> supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public T get() {
+        Object current = VALUE.getAcquire(this);
+        if (current == null) {
+            // the supplier is only cleared once the result is set
+            final Supplier<? extends T> pending = supplier;
+            if (pending != null) {
+                VALUE.compareAndSet(this, null, box(pending.get()));
+                supplier = null;
+            }
+            current = VALUE.getAcquire(this);
+        }
+        return unbox(current);
+    }
+
+    private static Object box(final Object result) {
+        if (result == null) {
+            return NULL;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T unbox(final Object current) {
+        if (current == NULL) {
+            return null;
+        }
+        return (T) current;
+    }
+
+}
@@ -0,0 +1,200 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class AdaptiveConditionTest implements WithAssertions {
+
+    private static final boolean[] BOOLEANS = {true, false};
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<Integer> trace = new ArrayList<>();
+
+    private AdaptiveCondition.Builder deterministic() {
+        return AdaptiveCondition.builder()
+                .ticker(clock::get)
+                .sampleEvery(1)
+                .reorderEvery(10);
+    }
+
+    /**
+     * A clause that takes {@code cost} nanoseconds by the test clock.
+     */
+    private BooleanSupplier clause(final int id, final long cost, final BooleanSupplier value) {
+        return () -> {
+            trace.add(id);
+            clock.addAndGet(cost);
+            return value.getAsBoolean();
+        };
+    }
+
+    private void evaluate(final LazyCondition condition, final int times) {
+        for (int i = 0; i < times; i++) {
+            condition.isTrue();
+        }
+    }
+
+    @Test
+    public void allOfIsTrueWhenAllClausesAreTrue() {
+        for (final boolean first : BOOLEANS) {
+            for (final boolean second : BOOLEANS) {
+                assertThat(AdaptiveCondition.allOf(() -> first, () -> second).isTrue())
+                        .as("%s and %s", first, second).isEqualTo(first && second);
+                assertThat(AdaptiveCondition.anyOf(() -> first, () -> second).isTrue())
+                        .as("%s or %s", first, second).isEqualTo(first || second);
+            }
+        }
+    }
+
+    @Test
+    public void clausesStartInTheWrittenOrder() {
+        //given
+        final AdaptiveCondition condition = deterministic().allOf(
+                clause(0, 1000, () -> true),
+                clause(1, 10, () -> false));
+        //when
+        condition.isTrue();
+        //then
+        assertThat(trace).containsExactly(0, 1);
+        assertThat(condition.order()).containsExactly(0, 1);
+    }
+
+    @Test
+    public void cheapDecisiveClauseMovesFirstInAllOf() {
+        //given
+        final AdaptiveCondition condition = deterministic().allOf(
+                clause(0, 1000, () -> true),
+                clause(1, 10, () -> false));
+        //when
+        evaluate(condition, 10);
+        trace.clear();
+        condition.isTrue();
+        //then
+        assertThat(condition.order()).containsExactly(1, 0);
+        assertThat(trace).containsExactly(1);
+    }
+
+    @Test
+    public void cheapDecisiveClauseMovesFirstInAnyOf() {
+        //given
+        final AdaptiveCondition condition = deterministic().anyOf(
+                clause(0, 1000, () -> false),
+                clause(1, 500, () -> false),
+                clause(2, 10, () -> true));
+        //when
+        evaluate(condition, 10);
+        //then
+        assertThat(condition.order()[0]).isEqualTo(2);
+    }
+
+    @Test
+    public void clauseThatNeverDecidesGoesLastEvenWhenCheap() {
+        //given
+        final AtomicLong count = new AtomicLong();
+        final AdaptiveCondition condition = deterministic().allOf(
+                clause(0, 1, () -> true),
+                clause(1, 100, () -> count.incrementAndGet() % 2 == 0));
+        //when
+        evaluate(condition, 10);
+        //then
+        assertThat(condition.order()).containsExactly(1, 0);
+    }
+
+    @Test
+    public void orderFollowsAChangingWorkload() {
+        //given
+        final AtomicBoolean firstPhase = new AtomicBoolean(true);
+        final AdaptiveCondition condition = deterministic().allOf(
+                clause(0, 100, firstPhase::get),
+                clause(1, 100, () -> !firstPhase.get()));
+        evaluate(condition, 10);
+        assertThat(condition.order()).containsExactly(1, 0);
+        //when
+        firstPhase.set(false);
+        evaluate(condition, 10);
+        //then
+        assertThat(condition.order()).containsExactly(0, 1);
+    }
+
+    @Test
+    public void rarelyEvaluatedExpensiveClauseStaysBehind() {
+        //given
+        final Random random = new Random(42);
+        final AdaptiveCondition condition = AdaptiveCondition.builder()
+                .ticker(clock::get)
+                .allOf(
+                        clause(0, 1000, random::nextBoolean),
+                        clause(1, 1, () -> random.nextInt(100) == 0));
+        for (int window = 0; window < 40; window++) {
+            //when
+            evaluate(condition, 1024);
+            //then
+            assertThat(condition.order()).as("window %d", window).containsExactly(1, 0);
+        }
+    }
+
+    @Test
+    public void resultIsUnchangedByReordering() {
+        //given
+        final boolean[][] rows = {{true, true, false}, {true, false, true}, {false, true, true}, {true, true, true}};
+        final int[] row = new int[1];
+        final AdaptiveCondition allOf = deterministic().allOf(
+                clause(0, 300, () -> rows[row[0]][0]),
+                clause(1, 200, () -> rows[row[0]][1]),
+                clause(2, 100, () -> rows[row[0]][2]));
+        final AdaptiveCondition anyOf = deterministic().anyOf(
+                clause(0, 300, () -> !rows[row[0]][0]),
+                clause(1, 200, () -> !rows[row[0]][1]),
+                clause(2, 100, () -> !rows[row[0]][2]));
+        for (int i = 0; i < 100; i++) {
+            row[0] = i % rows.length;
+            final boolean expected = rows[row[0]][0] && rows[row[0]][1] && rows[row[0]][2];
+            //then
+            assertThat(allOf.isTrue()).as("allOf %d", i).isEqualTo(expected);
+            assertThat(anyOf.isTrue()).as("anyOf %d", i).isEqualTo(!expected);
+        }
+    }
+
+    @Test
+    public void visitorSeesTheWrittenExpression() {
+        //given
+        final AdaptiveCondition condition = deterministic().allOf(
+                clause(0, 1000, () -> true),
+                clause(1, 10, () -> false));
+        evaluate(condition, 10);
+        trace.clear();
+        //when
+        final boolean result = ConditionCompiler.compile(condition).isTrue();
+        //then
+        assertThat(result).isFalse();
+        assertThat(trace).containsExactly(0, 1);
+    }
+
+    @Test
+    public void toStringShowsTheOrder() {
+        assertThat(AdaptiveCondition.anyOf(() -> true, () -> false).toString())
+                .isEqualTo("AdaptiveCondition{anyOf, order=[0, 1]}");
+    }
+
+    @Test
+    public void noClausesIsRejected() {
+        assertThatIllegalArgumentException().isThrownBy(AdaptiveCondition::allOf);
+    }
+
+    @Test
+    public void nonPositiveSettingsAreRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> AdaptiveCondition.builder().sampleEvery(0));
+        assertThatIllegalArgumentException().isThrownBy(() -> AdaptiveCondition.builder().reorderEvery(0));
+    }
+
+}
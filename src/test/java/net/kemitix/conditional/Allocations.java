@@ -0,0 +1,53 @@
+package net.kemitix.conditional;
+
+import org.junit.jupiter.api.Assumptions;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the heap allocated by the current thread.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class Allocations {
+
+    private static final int WARM_UP = 100_000;
+    private static final int OPERATIONS = 1_000_000;
+
+    private Allocations() {
+    }
+
+    /**
+     * The average number of bytes allocated by each run of the operation.
+     *
+     * <p>The operation is run untimed first so that any one-off allocation, such as lambda linkage, is not counted.
+     * The test is skipped on JVMs that can't report per-thread allocation.</p>
+     *
+     * @param operation the operation to measure
+     * @return the mean bytes allocated per run
+     */
+    static double bytesPerOperation(final Runnable operation) {
+        final com.sun.management.ThreadMXBean threads = threadMXBean();
+        for (int i = 0; i < WARM_UP; i++) {
+            operation.run();
+        }
+        final long threadId = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < OPERATIONS; i++) {
+            operation.run();
+        }
+        final long after = threads.getThreadAllocatedBytes(threadId);
+        return (double) (after - before) / OPERATIONS;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean,
+                "per-thread allocation is not available");
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported()
+                && threads.isThreadAllocatedMemoryEnabled(), "per-thread allocation is not enabled");
+        return threads;
+    }
+
+}
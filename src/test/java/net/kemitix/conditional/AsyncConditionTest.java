@@ -0,0 +1,145 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class AsyncConditionTest implements WithAssertions {
+
+    private static boolean join(final AsyncCondition condition) {
+        return condition.stage().toCompletableFuture().join();
+    }
+
+    private static Supplier<CompletionStage<Boolean>> supply(final boolean value) {
+        return () -> CompletableFuture.completedFuture(value);
+    }
+
+    @Test
+    public void whereIsKnown() {
+        assertThat(join(AsyncCondition.where(true))).isTrue();
+        assertThat(join(AsyncCondition.where(false))).isFalse();
+    }
+
+    @Test
+    public void not() {
+        assertThat(join(AsyncCondition.where(true).not())).isFalse();
+        assertThat(join(AsyncCondition.where(false).not())).isTrue();
+    }
+
+    @Test
+    public void andTruthTable() {
+        assertThat(join(AsyncCondition.where(true).and(supply(true)))).isTrue();
+        assertThat(join(AsyncCondition.where(true).and(supply(false)))).isFalse();
+        assertThat(join(AsyncCondition.where(false).and(supply(true)))).isFalse();
+        assertThat(join(AsyncCondition.where(false).and(supply(false)))).isFalse();
+    }
+
+    @Test
+    public void orTruthTable() {
+        assertThat(join(AsyncCondition.where(true).or(supply(true)))).isTrue();
+        assertThat(join(AsyncCondition.where(true).or(supply(false)))).isTrue();
+        assertThat(join(AsyncCondition.where(false).or(supply(true)))).isTrue();
+        assertThat(join(AsyncCondition.where(false).or(supply(false)))).isFalse();
+    }
+
+    @Test
+    public void rightHandStageIsNotStartedWhenLeftDecides() {
+        //given
+        final AtomicInteger started = new AtomicInteger();
+        final Supplier<CompletionStage<Boolean>> counted = () -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture(true);
+        };
+        //when
+        join(AsyncCondition.where(false).and(counted));
+        join(AsyncCondition.where(true).or(counted));
+        //then
+        assertThat(started.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void chainDoesNotWaitForPendingClause() {
+        //given
+        final CompletableFuture<Boolean> lookup = new CompletableFuture<>();
+        final AtomicInteger started = new AtomicInteger();
+        //when
+        final CompletionStage<Boolean> result = AsyncCondition.where(lookup)
+                .and(() -> {
+                    started.incrementAndGet();
+                    return CompletableFuture.completedFuture(true);
+                })
+                .not()
+                .stage();
+        //then
+        assertThat(result.toCompletableFuture().isDone()).isFalse();
+        assertThat(started.get()).isEqualTo(0);
+        lookup.complete(true);
+        assertThat(result.toCompletableFuture().join()).isFalse();
+        assertThat(started.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void thenPerformsResponseWhenTrue() {
+        //given
+        final AtomicInteger performed = new AtomicInteger();
+        //when
+        final AsyncCondition result = AsyncCondition.where(true).then(performed::incrementAndGet);
+        AsyncCondition.where(false).then(performed::incrementAndGet);
+        //then
+        assertThat(join(result)).isTrue();
+        assertThat(performed.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void otherwisePerformsResponseWhenFalse() {
+        //given
+        final AtomicInteger performed = new AtomicInteger();
+        //when
+        AsyncCondition.where(false)
+                .then(() -> performed.addAndGet(10))
+                .otherwise(performed::incrementAndGet)
+                .toCompletableFuture().join();
+        AsyncCondition.where(true).otherwise(performed::incrementAndGet);
+        //then
+        assertThat(performed.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void failureSkipsLaterClausesAndResponses() {
+        //given
+        final AtomicInteger performed = new AtomicInteger();
+        final CompletableFuture<Boolean> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("lookup failed"));
+        //when
+        final CompletionStage<Void> result = AsyncCondition.where(failed)
+                .or(() -> {
+                    performed.incrementAndGet();
+                    return CompletableFuture.completedFuture(true);
+                })
+                .then(performed::incrementAndGet)
+                .otherwise(performed::incrementAndGet);
+        //then
+        assertThatExceptionOfType(CompletionException.class)
+                .isThrownBy(() -> result.toCompletableFuture().join())
+                .withCauseInstanceOf(IllegalStateException.class);
+        assertThat(performed.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void evaluateAsCondition() {
+        //when
+        final Condition condition = AsyncCondition.where(false).or(supply(true))
+                .evaluate().toCompletableFuture().join();
+        //then
+        assertThat(condition.isTrue()).isTrue();
+    }
+
+}
@@ -0,0 +1,81 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class AsyncValueTest implements WithAssertions {
+
+    private static final String TRUE = "true";
+    private static final String FALSE = "false";
+
+    private static final Supplier<CompletionStage<String>> TRUE_SUPPLIER =
+            () -> CompletableFuture.completedFuture(TRUE);
+    private static final Supplier<CompletionStage<String>> FALSE_SUPPLIER =
+            () -> CompletableFuture.completedFuture(FALSE);
+
+    private static <T> T join(final CompletionStage<T> stage) {
+        return stage.toCompletableFuture().join();
+    }
+
+    @Test
+    public void whereTrue() {
+        assertThat(join(AsyncValue.where(AsyncCondition.where(true), TRUE_SUPPLIER, FALSE_SUPPLIER)))
+                .isEqualTo(TRUE);
+    }
+
+    @Test
+    public void whereFalse() {
+        assertThat(join(AsyncValue.where(AsyncCondition.where(false), TRUE_SUPPLIER, FALSE_SUPPLIER)))
+                .isEqualTo(FALSE);
+    }
+
+    @Test
+    public void whereTrueIsOptional() {
+        assertThat(join(AsyncValue.where(AsyncCondition.where(true), TRUE_SUPPLIER))).contains(TRUE);
+    }
+
+    @Test
+    public void whereFalseIsEmptyOptional() {
+        final Optional<String> result = join(AsyncValue.where(AsyncCondition.where(false), TRUE_SUPPLIER));
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void clauseThenOtherwise() {
+        //when
+        final CompletionStage<String> result = AsyncValue.<String>where(AsyncCondition.where(false).not())
+                .then(TRUE_SUPPLIER)
+                .otherwise(FALSE_SUPPLIER);
+        //then
+        assertThat(join(result)).isEqualTo(TRUE);
+    }
+
+    @Test
+    public void onlyTheBranchTakenIsStarted() {
+        //given
+        final AtomicInteger started = new AtomicInteger();
+        final CompletableFuture<Boolean> lookup = new CompletableFuture<>();
+        //when
+        final CompletionStage<String> result = AsyncValue.<String>where(AsyncCondition.where(lookup))
+                .then(() -> {
+                    started.incrementAndGet();
+                    return CompletableFuture.completedFuture(TRUE);
+                })
+                .otherwise(FALSE_SUPPLIER);
+        //then
+        assertThat(result.toCompletableFuture().isDone()).isFalse();
+        lookup.complete(false);
+        assertThat(join(result)).isEqualTo(FALSE);
+        assertThat(started.get()).isEqualTo(0);
+    }
+
+}
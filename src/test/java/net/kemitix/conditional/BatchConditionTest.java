@@ -0,0 +1,152 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class BatchConditionTest implements WithAssertions {
+
+    private static final int[] ROW_COUNTS = {0, 1, 63, 64, 65, 127, 128, 1000};
+    private static final int MAX_ROWS = 1000;
+
+    private final Random random = new Random(42L);
+    private final int[] ints = random.ints(MAX_ROWS, 0, 10).toArray();
+    private final long[] longs = random.longs(MAX_ROWS, -5, 5).toArray();
+    private final double[] doubles = random.doubles(MAX_ROWS).toArray();
+
+    private void assertSelects(final BatchCondition condition, final IntPredicate expected) {
+        for (final int rows : ROW_COUNTS) {
+            final long[] mask = condition.select(rows);
+            assertThat(mask.length).isEqualTo(MaskBits.words(rows));
+            for (int row = 0; row < rows; row++) {
+                assertThat(MaskBits.isSelected(mask, row))
+                        .as("row %d of %d", row, rows)
+                        .isEqualTo(expected.test(row));
+            }
+            if (rows % MaskBits.ROWS_PER_WORD != 0) {
+                assertThat(mask[mask.length - 1] >>> (rows % MaskBits.ROWS_PER_WORD))
+                        .as("tail of %d", rows)
+                        .isEqualTo(0L);
+            }
+        }
+    }
+
+    @Test
+    public void intComparisons() {
+        assertSelects(BatchCondition.lessThan(ints, 4), row -> ints[row] < 4);
+        assertSelects(BatchCondition.equalTo(ints, 4), row -> ints[row] == 4);
+        assertSelects(BatchCondition.greaterThan(ints, 4), row -> ints[row] > 4);
+    }
+
+    @Test
+    public void longComparisons() {
+        assertSelects(BatchCondition.lessThan(longs, 0L), row -> longs[row] < 0L);
+        assertSelects(BatchCondition.equalTo(longs, 0L), row -> longs[row] == 0L);
+        assertSelects(BatchCondition.greaterThan(longs, 0L), row -> longs[row] > 0L);
+    }
+
+    @Test
+    public void doubleComparisons() {
+        assertSelects(BatchCondition.lessThan(doubles, 0.5), row -> doubles[row] < 0.5);
+        assertSelects(BatchCondition.equalTo(doubles, doubles[3]), row -> doubles[row] == doubles[3]);
+        assertSelects(BatchCondition.greaterThan(doubles, 0.5), row -> doubles[row] > 0.5);
+    }
+
+    @Test
+    public void nanIsNeverSelected() {
+        //given
+        final double[] column = {Double.NaN, 1.0, Double.NaN};
+        //then
+        assertThat(BatchCondition.lessThan(column, 2.0).selectBitSet(3).toString()).isEqualTo("{1}");
+        assertThat(BatchCondition.equalTo(column, Double.NaN).selectBitSet(3).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void rowPredicate() {
+        assertSelects(BatchCondition.where(row -> row % 3 == 0), row -> row % 3 == 0);
+    }
+
+    @Test
+    public void andOrNot() {
+        //given
+        final BatchCondition small = BatchCondition.lessThan(ints, 3);
+        final BatchCondition negative = BatchCondition.lessThan(longs, 0L);
+        final BatchCondition high = BatchCondition.greaterThan(doubles, 0.7);
+        //then
+        assertSelects(small.and(negative), row -> ints[row] < 3 && longs[row] < 0L);
+        assertSelects(small.or(negative), row -> ints[row] < 3 || longs[row] < 0L);
+        assertSelects(small.not(), row -> ints[row] >= 3);
+        assertSelects(small.and(negative.not()).or(high),
+                row -> ints[row] < 3 && longs[row] >= 0L || doubles[row] > 0.7);
+    }
+
+    @Test
+    public void sharedCombinationsKeepTheirOwnScratchMask() {
+        //given
+        final BatchCondition small = BatchCondition.lessThan(ints, 3);
+        final BatchCondition negative = BatchCondition.lessThan(longs, 0L);
+        final BatchCondition both = small.and(negative);
+        //then
+        assertSelects(both.or(BatchCondition.greaterThan(doubles, 0.7).and(both)),
+                row -> ints[row] < 3 && longs[row] < 0L);
+        assertSelects(both.not().and(both.or(small)), row -> ints[row] < 3 && longs[row] >= 0L);
+    }
+
+    @Test
+    public void combinedSelectDoesNotAllocate() {
+        //given
+        final BatchCondition condition = BatchCondition.lessThan(ints, 3)
+                .and(BatchCondition.lessThan(longs, 0L).not())
+                .or(BatchCondition.greaterThan(doubles, 0.7));
+        final long[] mask = new long[MaskBits.words(MAX_ROWS)];
+        final ColumnKernels kernels = ColumnKernels.scalar();
+        //then
+        assertThat(Allocations.bytesPerOperation(() -> condition.select(MAX_ROWS, mask, kernels))).isLessThan(1.0);
+    }
+
+    @Test
+    public void selectIntoExistingMaskOverwritesIt() {
+        //given
+        final long[] mask = {-1L, -1L};
+        //when
+        BatchCondition.equalTo(ints, -1).select(100, mask);
+        //then
+        assertThat(mask).containsExactly(0L, 0L);
+    }
+
+    @Test
+    public void selectBitSetMatchesMask() {
+        //given
+        final BatchCondition condition = BatchCondition.greaterThan(ints, 6);
+        //when
+        final BitSet bitSet = condition.selectBitSet(MAX_ROWS);
+        //then
+        assertThat(bitSet).isEqualTo(BitSet.valueOf(condition.select(MAX_ROWS)));
+        assertThat(bitSet.cardinality()).isEqualTo(MaskBits.count(condition.select(MAX_ROWS), MAX_ROWS));
+    }
+
+    @Test
+    public void masksCombineWordAtATime() {
+        //given
+        final long[] target = {0b1100L, -1L};
+        //when
+        MaskBits.andNot(target, new long[]{0b0100L, 0L}, 70);
+        //then
+        assertThat(target).containsExactly(0b1000L, -1L);
+    }
+
+    @Test
+    public void maskWords() {
+        assertThat(MaskBits.words(0)).isEqualTo(0);
+        assertThat(MaskBits.words(1)).isEqualTo(1);
+        assertThat(MaskBits.words(64)).isEqualTo(1);
+        assertThat(MaskBits.words(65)).isEqualTo(2);
+    }
+
+}
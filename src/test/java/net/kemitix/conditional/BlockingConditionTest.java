@@ -0,0 +1,106 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class BlockingConditionTest implements WithAssertions {
+
+    private static Callable<Boolean> blockUntilInterrupted(
+            final CountDownLatch started,
+            final CountDownLatch interrupted
+    ) {
+        return () -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return true;
+        };
+    }
+
+    @Test
+    public void allOfBlockingTruthTable() throws Exception {
+        assertThat(Condition.allOfBlocking().isTrue()).isTrue();
+        assertThat(Condition.allOfBlocking(() -> true, () -> true).isTrue()).isTrue();
+        assertThat(Condition.allOfBlocking(() -> true, () -> false).isTrue()).isFalse();
+        assertThat(Condition.allOfBlocking(() -> false, () -> false).isTrue()).isFalse();
+    }
+
+    @Test
+    public void anyOfBlockingTruthTable() throws Exception {
+        assertThat(Condition.anyOfBlocking().isTrue()).isFalse();
+        assertThat(Condition.anyOfBlocking(() -> false, () -> false).isTrue()).isFalse();
+        assertThat(Condition.anyOfBlocking(() -> false, () -> true).isTrue()).isTrue();
+        assertThat(Condition.anyOfBlocking(() -> true, () -> true).isTrue()).isTrue();
+    }
+
+    @Test
+    public void anyOfBlockingRacesAheadOfSlowerClauses() throws Exception {
+        //given
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        //when
+        final Condition result = Condition.anyOfBlocking(blockUntilInterrupted(started, interrupted),
+                () -> started.await(10, TimeUnit.SECONDS));
+        //then
+        assertThat(result.isTrue()).isTrue();
+        assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void allOfBlockingStopsOnFirstFalse() throws Exception {
+        //given
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        //when
+        final Condition result = Condition.allOfBlocking(blockUntilInterrupted(started, interrupted),
+                () -> !started.await(10, TimeUnit.SECONDS));
+        //then
+        assertThat(result.isFalse()).isTrue();
+        assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void checkedExceptionIsThrownAsIs() {
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() -> Condition.anyOfBlocking(() -> false, () -> {
+                    throw new IOException("lookup failed");
+                }))
+                .withMessage("lookup failed");
+    }
+
+    @Test
+    public void firstFailureInOrderIsThrown() {
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() -> Condition.allOfBlocking(
+                        () -> {
+                            Thread.sleep(50);
+                            throw new IOException("first");
+                        },
+                        () -> {
+                            throw new IllegalStateException("second");
+                        }))
+                .withMessage("first");
+    }
+
+    @Test
+    public void decidingResultWinsOverFailure() throws Exception {
+        //when
+        final Condition result = Condition.anyOfBlocking(() -> {
+            throw new IOException("unavailable");
+        }, () -> true);
+        //then
+        assertThat(result.isTrue()).isTrue();
+    }
+
+}
@@ -0,0 +1,138 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for {@link BytecodeCompiler}.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class BytecodeCompilerTest implements WithAssertions {
+
+    private static final int EXPRESSIONS = 50;
+    private static final int ROWS = 100;
+
+    @Test
+    public void compiledAgreesWithInterpreted() {
+        Assumptions.assumeTrue(BytecodeCompiler.isSupported(), "hidden classes are not available");
+        for (int seed = 0; seed < EXPRESSIONS; seed++) {
+            //given
+            final RandomConditions conditions = new RandomConditions(seed, 1 + seed % 12);
+            final LazyCondition interpreted = conditions.expression();
+            final LazyCondition compiled = BytecodeCompiler.compile(interpreted);
+            assertThat(compiled).isNotSameAs(interpreted);
+            for (int row = 0; row < ROWS; row++) {
+                conditions.nextRow();
+                //when
+                final boolean expected = interpreted.isTrue();
+                final List<Integer> expectedTrace = conditions.takeTrace();
+                final boolean actual = compiled.isTrue();
+                final List<Integer> actualTrace = conditions.takeTrace();
+                //then
+                assertThat(actual).as("seed %d row %d", seed, row).isEqualTo(expected);
+                assertThat(actualTrace).as("seed %d row %d", seed, row).isEqualTo(expectedTrace);
+            }
+        }
+    }
+
+    @Test
+    public void compilesManyClauses() {
+        Assumptions.assumeTrue(BytecodeCompiler.isSupported(), "hidden classes are not available");
+        //given
+        LazyCondition condition = LazyCondition.where(true);
+        for (int i = 0; i < 500; i++) {
+            final boolean value = i % 7 != 3;
+            condition = condition.and(() -> value).or(() -> !value);
+        }
+        //when
+        final LazyCondition compiled = BytecodeCompiler.compile(condition);
+        //then
+        assertThat(compiled).isNotSameAs(condition);
+        assertThat(compiled.isTrue()).isEqualTo(condition.isTrue());
+    }
+
+    @Test
+    public void compiledKeepsStructureOfSource() {
+        //given
+        final LazyCondition source = LazyCondition.when(() -> true).or(() -> false).not();
+        //when
+        final LazyCondition compiled = BytecodeCompiler.compile(source);
+        //then
+        assertThat(compiled.accept(new ConditionCompilerTest.CountingVisitor()))
+                .isEqualTo(source.accept(new ConditionCompilerTest.CountingVisitor()));
+        assertThat(compiled.evaluate()).isSameAs(Condition.where(false));
+    }
+
+    @Test
+    public void exceptionsFromClausesArePropagated() {
+        //given
+        final IllegalArgumentException exception = new IllegalArgumentException();
+        final LazyCondition compiled = BytecodeCompiler.compile(LazyCondition.where(true).and(() -> {
+            throw exception;
+        }));
+        //then
+        assertThatThrownBy(compiled::isTrue).isSameAs(exception);
+    }
+
+    @Test
+    public void expressionTooLargeForOneMethodIsInterpreted() {
+        //given
+        final List<LazyCondition> clauses = new ArrayList<>();
+        for (int i = 0; i < 4_096; i++) {
+            clauses.add(LazyCondition.when(() -> true));
+        }
+        while (clauses.size() > 1) {
+            clauses.add(clauses.remove(0).and(clauses.remove(0)));
+        }
+        final LazyCondition condition = clauses.get(0);
+        //when
+        final LazyCondition compiled = BytecodeCompiler.compile(condition);
+        //then
+        assertThat(compiled).isSameAs(condition);
+    }
+
+    @Test
+    public void classThatFailsToLoadIsInterpreted() {
+        Assumptions.assumeTrue(BytecodeCompiler.isSupported(), "hidden classes are not available");
+        //given
+        final LazyCondition condition = LazyCondition.when(() -> true).and(() -> false);
+        final ConditionClassWriter writer = new ConditionClassWriter(condition);
+        final byte[] truncated = Arrays.copyOf(writer.toByteArray(), writer.toByteArray().length / 2);
+        //when
+        final LazyCondition compiled = BytecodeCompiler.define(condition, truncated, writer);
+        //then
+        assertThat(compiled).isSameAs(condition);
+    }
+
+    @Test
+    public void classThatFailsToVerifyIsInterpreted() {
+        Assumptions.assumeTrue(BytecodeCompiler.isSupported(), "hidden classes are not available");
+        //given
+        final LazyCondition condition = LazyCondition.when(() -> true).and(() -> false);
+        final ConditionClassWriter writer = new ConditionClassWriter(condition);
+        final byte[] classFile = writer.toByteArray();
+        // isTrue() is the last method and ends by returning an int; return an object instead
+        final int lastIntReturn = lastIndexOf(classFile, (byte) 0xac);
+        classFile[lastIntReturn] = (byte) 0xb0;
+        //when
+        final LazyCondition compiled = BytecodeCompiler.define(condition, classFile, writer);
+        //then
+        assertThat(compiled).isSameAs(condition);
+    }
+
+    private static int lastIndexOf(final byte[] bytes, final byte value) {
+        for (int i = bytes.length - 1; i >= 0; i--) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("not found");
+    }
+
+}
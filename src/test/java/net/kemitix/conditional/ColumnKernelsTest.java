@@ -0,0 +1,119 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class ColumnKernelsTest implements WithAssertions {
+
+    private static final int[] ROW_COUNTS = {0, 1, 3, 63, 64, 65, 200, 1000};
+    private static final int MAX_ROWS = 1000;
+
+    private final Random random = new Random(42L);
+    private final int[] ints = random.ints(MAX_ROWS, -3, 3).toArray();
+    private final long[] longs = random.longs(MAX_ROWS, -3, 3).toArray();
+    private final double[] doubles = random.ints(MAX_ROWS, -3, 3).asDoubleStream().toArray();
+
+    {
+        for (int i = 0; i < MAX_ROWS; i += 7) {
+            doubles[i] = Double.NaN;
+        }
+    }
+
+    private static List<ColumnKernels> vectorKernels() {
+        final List<ColumnKernels> kernels = new ArrayList<>();
+        for (final int bits : new int[]{128, 256, 512}) {
+            ColumnKernels.vector(bits).ifPresent(kernels::add);
+        }
+        return kernels;
+    }
+
+    private void assertSameMasks(final BatchCondition condition) {
+        for (final ColumnKernels kernels : vectorKernels()) {
+            for (final int rows : ROW_COUNTS) {
+                final long[] expected = new long[MaskBits.words(rows)];
+                final long[] actual = new long[MaskBits.words(rows)];
+                condition.select(rows, expected, ColumnKernels.scalar());
+                condition.select(rows, actual, kernels);
+                assertThat(actual).as("%s over %d rows", kernels.name(), rows).containsExactly(expected);
+            }
+        }
+    }
+
+    @Test
+    public void vectorIntComparisonsMatchScalar() {
+        for (int value = -4; value <= 4; value++) {
+            assertSameMasks(BatchCondition.lessThan(ints, value));
+            assertSameMasks(BatchCondition.equalTo(ints, value));
+            assertSameMasks(BatchCondition.greaterThan(ints, value));
+        }
+    }
+
+    @Test
+    public void vectorLongComparisonsMatchScalar() {
+        for (long value = -4; value <= 4; value++) {
+            assertSameMasks(BatchCondition.lessThan(longs, value));
+            assertSameMasks(BatchCondition.equalTo(longs, value));
+            assertSameMasks(BatchCondition.greaterThan(longs, value));
+        }
+    }
+
+    @Test
+    public void vectorDoubleComparisonsMatchScalarIncludingNaN() {
+        for (final double value : new double[]{-1.0, 0.0, 2.0, Double.NaN}) {
+            assertSameMasks(BatchCondition.lessThan(doubles, value));
+            assertSameMasks(BatchCondition.equalTo(doubles, value));
+            assertSameMasks(BatchCondition.greaterThan(doubles, value));
+        }
+    }
+
+    @Test
+    public void vectorCombinationsMatchScalar() {
+        assertSameMasks(BatchCondition.lessThan(ints, 0)
+                .and(BatchCondition.greaterThan(doubles, -2.0).not())
+                .or(BatchCondition.equalTo(longs, 1L)));
+    }
+
+    @Test
+    public void vectorKernelsAreNamedBySize() {
+        ColumnKernels.vector(256).ifPresent(kernels ->
+                assertThat(kernels.name()).isEqualTo("vector-256"));
+    }
+
+    @Test
+    public void scalarKernels() {
+        assertThat(ColumnKernels.scalar().name()).isEqualTo("scalar");
+    }
+
+    @Test
+    public void preferredKernelsAreVectorWhenAvailable() {
+        //given
+        final boolean vectorAvailable = ColumnKernels.vector(128).isPresent();
+        //then
+        assertThat(ColumnKernels.preferred().name().startsWith("vector-")).isEqualTo(vectorAvailable);
+    }
+
+    @Test
+    public void unsupportedVectorSizeIsRejected() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> ColumnKernels.vector(96))
+                .withMessageContaining("96");
+    }
+
+    @Test
+    public void maskRowAsCondition() {
+        //given
+        final long[] mask = BatchCondition.greaterThan(ints, 0).select(MAX_ROWS);
+        //then
+        for (int row = 0; row < MAX_ROWS; row++) {
+            assertThat(MaskBits.condition(mask, row).isTrue()).isEqualTo(ints[row] > 0);
+        }
+    }
+
+}
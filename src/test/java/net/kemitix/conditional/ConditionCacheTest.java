@@ -0,0 +1,228 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class ConditionCacheTest implements WithAssertions {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private boolean isEven(final Integer key) {
+        loads.incrementAndGet();
+        return key % 2 == 0;
+    }
+
+    @Test
+    public void cachesTheDecidedCondition() {
+        //given
+        final ConditionCache<Integer> cache = ConditionCache.<Integer>builder().build(this::isEven);
+        //when
+        final Condition first = cache.get(2);
+        final Condition second = cache.get(2);
+        //then
+        assertThat(first).isSameAs(Condition.where(true));
+        assertThat(second).isSameAs(first);
+        assertThat(cache.get(3)).isSameAs(Condition.where(false));
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.stats().hitCount()).isEqualTo(1L);
+        assertThat(cache.stats().missCount()).isEqualTo(2L);
+        assertThat(cache.stats().hitRate()).isCloseTo(1.0 / 3, within(1e-9));
+    }
+
+    @Test
+    public void evictsTheLeastRecentlyUsedKey() {
+        //given
+        final ConditionCache<Integer> cache = ConditionCache.<Integer>builder()
+                .maximumSize(2)
+                .concurrencyLevel(1)
+                .build(this::isEven);
+        cache.get(1);
+        cache.get(2);
+        cache.get(1);
+        //when
+        cache.get(3);
+        //then
+        assertThat(cache.size()).isEqualTo(2L);
+        assertThat(cache.getIfPresent(1)).isPresent();
+        assertThat(cache.getIfPresent(2)).isEmpty();
+        assertThat(cache.stats().evictionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void sizeIsBoundedAcrossSegments() {
+        //given
+        final ConditionCache<Integer> cache = ConditionCache.<Integer>builder()
+                .maximumSize(64)
+                .concurrencyLevel(8)
+                .build(this::isEven);
+        //when
+        for (int key = 0; key < 1000; key++) {
+            cache.get(key);
+        }
+        //then
+        assertThat(cache.size()).isLessThanOrEqualTo(64L);
+        assertThat(cache.stats().evictionCount()).isEqualTo(1000L - cache.size());
+    }
+
+    @Test
+    public void expiresAfterWrite() {
+        //given
+        final ConditionCache<Integer> cache = ConditionCache.<Integer>builder()
+                .expireAfterWrite(Duration.ofSeconds(10))
+                .ticker(now::get)
+                .build(this::isEven);
+        cache.get(2);
+        //when
+        now.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        cache.get(2);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        //then
+        assertThat(cache.getIfPresent(2)).isEmpty();
+        cache.get(2);
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.stats().expiryCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void refreshesAfterWriteWhileReturningTheCachedResult() {
+        //given
+        final AtomicBoolean enabled = new AtomicBoolean(true);
+        final ConditionCache<String> cache = ConditionCache.<String>builder()
+                .refreshAfterWrite(Duration.ofSeconds(5))
+                .executor(Runnable::run)
+                .ticker(now::get)
+                .build(key -> enabled.get());
+        cache.get("feature");
+        enabled.set(false);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        //when
+        final Condition stale = cache.get("feature");
+        final Condition refreshed = cache.get("feature");
+        //then
+        assertThat(stale.isTrue()).isTrue();
+        assertThat(refreshed.isFalse()).isTrue();
+        assertThat(cache.stats().refreshCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void failedRefreshKeepsTheCachedResult() {
+        //given
+        final AtomicBoolean failing = new AtomicBoolean();
+        final ConditionCache<String> cache = ConditionCache.<String>builder()
+                .refreshAfterWrite(Duration.ofSeconds(5))
+                .executor(Runnable::run)
+                .ticker(now::get)
+                .build(key -> {
+                    if (failing.get()) {
+                        throw new IllegalStateException("unavailable");
+                    }
+                    return true;
+                });
+        cache.get("feature");
+        failing.set(true);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        //when
+        cache.get("feature");
+        //then
+        assertThat(cache.get("feature").isTrue()).isTrue();
+        assertThat(cache.stats().loadFailureCount()).isEqualTo(2L);
+        assertThat(cache.stats().refreshCount()).isZero();
+    }
+
+    @Test
+    public void failedLoadIsNotCached() {
+        //given
+        final AtomicBoolean failing = new AtomicBoolean(true);
+        final ConditionCache<String> cache = ConditionCache.<String>builder()
+                .build(key -> {
+                    if (failing.get()) {
+                        throw new IllegalStateException("unavailable");
+                    }
+                    return true;
+                });
+        //when
+        assertThatIllegalStateException().isThrownBy(() -> cache.get("feature"));
+        failing.set(false);
+        //then
+        assertThat(cache.get("feature").isTrue()).isTrue();
+        assertThat(cache.stats().loadFailureCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void putAndInvalidate() {
+        //given
+        final ConditionCache<Integer> cache = ConditionCache.<Integer>builder().build(this::isEven);
+        //when
+        cache.put(1, true);
+        //then
+        assertThat(cache.get(1).isTrue()).isTrue();
+        cache.invalidate(1);
+        assertThat(cache.get(1).isTrue()).isFalse();
+        cache.invalidateAll();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void invalidSettingsAreRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> ConditionCache.builder().maximumSize(0));
+        assertThatIllegalArgumentException().isThrownBy(() -> ConditionCache.builder().concurrencyLevel(0));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> ConditionCache.builder().expireAfterWrite(Duration.ZERO));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> ConditionCache.builder().refreshAfterWrite(Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    public void nullKeyIsRejected() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> ConditionCache.<Integer>builder().build(this::isEven).get(null));
+    }
+
+    @Test
+    public void concurrentGetsAreAllCounted() throws Exception {
+        //given
+        final int threads = 8;
+        final int perThread = 10_000;
+        final ConditionCache<Integer> cache = ConditionCache.<Integer>builder()
+                .maximumSize(50)
+                .build(this::isEven);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            //when
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        assertThat(cache.get(i % 100).isTrue()).isEqualTo(i % 2 == 0);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        //then
+        final ConditionCache.Stats stats = cache.stats();
+        assertThat(stats.hitCount() + stats.missCount()).isEqualTo((long) threads * perThread);
+        assertThat(stats.missCount()).isEqualTo((long) loads.get());
+        assertThat(cache.size()).isLessThanOrEqualTo(50L);
+    }
+
+}
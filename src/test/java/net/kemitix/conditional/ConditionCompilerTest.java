@@ -0,0 +1,108 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Tests for {@link ConditionCompiler}.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class ConditionCompilerTest implements WithAssertions {
+
+    private static final int EXPRESSIONS = 50;
+    private static final int ROWS = 100;
+
+    @Test
+    public void compiledAgreesWithInterpreted() {
+        for (int seed = 0; seed < EXPRESSIONS; seed++) {
+            //given
+            final RandomConditions conditions = new RandomConditions(seed, 1 + seed % 12);
+            final LazyCondition interpreted = conditions.expression();
+            final LazyCondition compiled = ConditionCompiler.compile(interpreted);
+            for (int row = 0; row < ROWS; row++) {
+                conditions.nextRow();
+                //when
+                final boolean expected = interpreted.isTrue();
+                final List<Integer> expectedTrace = conditions.takeTrace();
+                final boolean actual = compiled.isTrue();
+                final List<Integer> actualTrace = conditions.takeTrace();
+                //then
+                assertThat(actual).as("seed %d row %d", seed, row).isEqualTo(expected);
+                assertThat(actualTrace).as("seed %d row %d", seed, row).isEqualTo(expectedTrace);
+            }
+        }
+    }
+
+    @Test
+    public void methodHandleTakesNoArgumentsAndReturnsBoolean() throws Throwable {
+        //when
+        final MethodHandle handle = ConditionCompiler.toMethodHandle(
+                LazyCondition.when(() -> true).and(() -> false).not());
+        //then
+        assertThat((boolean) handle.invokeExact()).isTrue();
+    }
+
+    @Test
+    public void exceptionsFromClausesArePropagated() {
+        //given
+        final IllegalArgumentException exception = new IllegalArgumentException();
+        final LazyCondition compiled = ConditionCompiler.compile(LazyCondition.where(true).and(() -> {
+            throw exception;
+        }));
+        //then
+        assertThatThrownBy(compiled::isTrue).isSameAs(exception);
+    }
+
+    @Test
+    public void compiledKeepsStructureOfSource() {
+        //given
+        final LazyCondition source = LazyCondition.when(() -> true).or(() -> false);
+        //when
+        final LazyCondition compiled = ConditionCompiler.compile(source);
+        //then
+        assertThat(compiled.accept(new CountingVisitor())).isEqualTo(source.accept(new CountingVisitor()));
+    }
+
+    /**
+     * Counts the clauses in an expression.
+     */
+    static final class CountingVisitor implements LazyCondition.Visitor<Integer> {
+
+        @Override
+        public Integer visitClause(final BooleanSupplier clause) {
+            return 1;
+        }
+
+        @Override
+        public Integer visitConstant(final boolean value) {
+            return 0;
+        }
+
+        @Override
+        public Integer visitAnd(final LazyCondition left, final LazyCondition right) {
+            return left.accept(this) + right.accept(this);
+        }
+
+        @Override
+        public Integer visitOr(final LazyCondition left, final LazyCondition right) {
+            return left.accept(this) + right.accept(this);
+        }
+
+        @Override
+        public Integer visitNot(final LazyCondition operand) {
+            return operand.accept(this);
+        }
+
+        @Override
+        public Integer visitFlatMap(final LazyCondition source, final Function<Boolean, Condition> f) {
+            return source.accept(this);
+        }
+    }
+
+}
@@ -0,0 +1,147 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class ConditionalCollectorsTest implements WithAssertions {
+
+    private static final int SIZE = 100_000;
+
+    private static Stream<Integer> numbers(final boolean parallel) {
+        final Stream<Integer> numbers = IntStream.range(0, SIZE).boxed();
+        if (parallel) {
+            return numbers.parallel();
+        }
+        return numbers;
+    }
+
+    @Test
+    public void partitionMatchesPartitioningBy() {
+        for (final boolean parallel : new boolean[]{false, true}) {
+            //when
+            final Map<Boolean, List<Integer>> result =
+                    numbers(parallel).collect(ConditionalCollectors.partition(i -> i % 3 == 0));
+            //then
+            assertThat(result).isEqualTo(numbers(false).collect(Collectors.partitioningBy(i -> i % 3 == 0)));
+        }
+    }
+
+    @Test
+    public void partitionWithDownstream() {
+        //when
+        final Map<Boolean, Long> result = numbers(true)
+                .collect(ConditionalCollectors.partition(i -> i < 10, Collectors.counting()));
+        //then
+        assertThat(result).containsEntry(true, 10L)
+                          .containsEntry(false, (long) SIZE - 10);
+    }
+
+    @Test
+    public void partitionOfNothingHasBothPartitions() {
+        //when
+        final Map<Boolean, List<Integer>> result =
+                Stream.<Integer>empty().collect(ConditionalCollectors.partition(i -> true));
+        //then
+        assertThat(result).containsEntry(true, Arrays.asList())
+                          .containsEntry(false, Arrays.asList());
+    }
+
+    @Test
+    public void routeToTheFirstMatchingClause() {
+        //when
+        final List<List<Integer>> routes = IntStream.range(0, 10).boxed()
+                .collect(ConditionalCollectors.route(i -> i % 3 == 0, i -> i % 2 == 0));
+        //then
+        assertThat(routes).containsExactly(
+                Arrays.asList(0, 3, 6, 9),
+                Arrays.asList(2, 4, 8),
+                Arrays.asList(1, 5, 7));
+    }
+
+    @Test
+    public void routeInParallelKeepsEncounterOrder() {
+        //when
+        final List<List<Integer>> routes = numbers(true)
+                .collect(ConditionalCollectors.route(i -> i % 3 == 0, i -> i % 3 == 1));
+        //then
+        for (int route = 0; route < 3; route++) {
+            final int expected = route;
+            assertThat(routes.get(route))
+                    .isEqualTo(numbers(false).filter(i -> i % 3 == expected).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void routeWithDownstream() {
+        //when
+        final List<Integer> sums = numbers(true).collect(ConditionalCollectors.route(
+                Arrays.asList(i -> i < 100, i -> i < 200),
+                Collectors.summingInt(i -> 1)));
+        //then
+        assertThat(sums).containsExactly(100, 100, SIZE - 200);
+    }
+
+    @Test
+    public void mappingSelectsTheFunctionForTheClause() {
+        for (final boolean parallel : new boolean[]{false, true}) {
+            //when
+            final List<String> result = numbers(parallel).collect(ConditionalCollectors.mapping(
+                    i -> i % 2 == 0, i -> "even", i -> "odd", Collectors.toList()));
+            //then
+            assertThat(result).hasSize(SIZE);
+            assertThat(result.get(0)).isEqualTo("even");
+            assertThat(result.get(SIZE - 1)).isEqualTo("odd");
+        }
+    }
+
+    @Test
+    public void mappingOnlyCallsTheSelectedFunction() {
+        //when
+        final int total = Stream.of(1, 2, 3).collect(ConditionalCollectors.mapping(
+                i -> i > 1,
+                i -> i,
+                i -> {
+                    if (i > 1) {
+                        throw new IllegalStateException("should not be called");
+                    }
+                    return 0;
+                },
+                Collectors.summingInt(i -> i)));
+        //then
+        assertThat(total).isEqualTo(5);
+    }
+
+    @Test
+    public void conditionClausesAgreeWithPredicates() {
+        //given
+        final List<Function<Integer, Condition>> clauses =
+                Arrays.asList(i -> Condition.where(i % 3 == 0), i -> Condition.where(i % 2 == 0));
+        //when
+        final Map<Boolean, List<Integer>> partitions = numbers(true)
+                .collect(ConditionalCollectors.partitionWhere(i -> Condition.where(i % 3 == 0)));
+        final List<List<Integer>> routes = IntStream.range(0, 10).boxed()
+                .collect(ConditionalCollectors.routeWhere(clauses, Collectors.toList()));
+        final List<String> mapped = IntStream.range(0, 4).boxed()
+                .collect(ConditionalCollectors.mappingWhere(i -> Condition.where(i % 2 == 0).and(() -> i > 0),
+                        i -> "even" + i, i -> "other" + i, Collectors.toList()));
+        //then
+        assertThat(partitions).isEqualTo(numbers(false).collect(ConditionalCollectors.partition(i -> i % 3 == 0)));
+        assertThat(routes).containsExactly(
+                Arrays.asList(0, 3, 6, 9),
+                Arrays.asList(2, 4, 8),
+                Arrays.asList(1, 5, 7));
+        assertThat(mapped).containsExactly("other0", "other1", "even2", "other3");
+    }
+
+}
@@ -0,0 +1,239 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class DecisionTableTest implements WithAssertions {
+
+    private final Predicate<Integer> positive = i -> i > 0;
+    private final Predicate<Integer> even = i -> i % 2 == 0;
+    private final Predicate<Integer> large = i -> i > 100;
+
+    private DecisionTable<Integer, String> table(final DecisionTable.HitPolicy hitPolicy) {
+        return DecisionTable.<Integer, String>builder(hitPolicy)
+                .when(positive, even).then(i -> "positive even")
+                .when(positive, large).priority(2).then(i -> "positive large")
+                .when(positive).priority(1).then(i -> "positive")
+                .when().then(i -> "other")
+                .build();
+    }
+
+    @Test
+    public void firstMatchingRowIsTheHit() {
+        //given
+        final DecisionTable<Integer, String> table = table(DecisionTable.HitPolicy.FIRST);
+        //then
+        assertThat(table.decide(4)).contains("positive even");
+        assertThat(table.decide(101)).contains("positive large");
+        assertThat(table.decide(3)).contains("positive");
+        assertThat(table.decide(-2)).contains("other");
+    }
+
+    @Test
+    public void highestPriorityMatchingRowIsTheHit() {
+        //given
+        final DecisionTable<Integer, String> table = table(DecisionTable.HitPolicy.PRIORITY);
+        //then
+        assertThat(table.decide(102)).contains("positive large");
+        assertThat(table.decide(4)).contains("positive");
+        assertThat(table.decide(-2)).contains("other");
+    }
+
+    @Test
+    public void rowsOfEqualPriorityKeepTheirOrder() {
+        //given
+        final DecisionTable<Integer, String> table = DecisionTable.<Integer, String>builder(
+                DecisionTable.HitPolicy.PRIORITY)
+                .when(positive).then(i -> "first")
+                .when(positive).then(i -> "second")
+                .build();
+        //then
+        assertThat(table.decide(1)).contains("first");
+    }
+
+    @Test
+    public void allMatchingRowsAreHits() {
+        //given
+        final DecisionTable<Integer, String> table = table(DecisionTable.HitPolicy.ALL);
+        //then
+        assertThat(table.decideAll(102)).containsExactly("positive even", "positive large", "positive", "other");
+        assertThat(table.decideAll(3)).containsExactly("positive", "other");
+        assertThat(table.decide(3)).contains("positive");
+    }
+
+    @Test
+    public void decideAllWithSingleHitPolicyHasAtMostOneOutcome() {
+        assertThat(table(DecisionTable.HitPolicy.FIRST).decideAll(4)).containsExactly("positive even");
+        assertThat(DecisionTable.<Integer, String>builder(DecisionTable.HitPolicy.FIRST)
+                .when(positive).then(i -> "positive")
+                .build()
+                .decideAll(-1)).isEmpty();
+    }
+
+    @Test
+    public void noMatchingRowIsEmpty() {
+        //given
+        final DecisionTable<Integer, String> table = DecisionTable.<Integer, String>builder(
+                DecisionTable.HitPolicy.FIRST)
+                .when(positive).then(i -> "positive")
+                .build();
+        //then
+        assertThat(table.decide(-1)).isEmpty();
+    }
+
+    @Test
+    public void nullOutcomeIsEmpty() {
+        //given
+        final DecisionTable<Integer, String> table = DecisionTable.<Integer, String>builder(
+                DecisionTable.HitPolicy.FIRST)
+                .when(positive).then(i -> null)
+                .build();
+        //then
+        assertThat(table.decide(1)).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    public void sharedClauseIsTestedOncePerDecision() {
+        //given
+        final AtomicInteger calls = new AtomicInteger();
+        final Predicate<Integer> counted = i -> {
+            calls.incrementAndGet();
+            return i > 0;
+        };
+        final DecisionTable<Integer, String> table = DecisionTable.<Integer, String>builder(
+                DecisionTable.HitPolicy.ALL)
+                .when(counted, even).then(i -> "a")
+                .when(even, counted).then(i -> "b")
+                .when(counted).then(i -> "c")
+                .build();
+        //when
+        final List<String> outcomes = table.decideAll(2);
+        //then
+        assertThat(outcomes).containsExactly("a", "b", "c");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    public void rowsWithAFailedSharedClauseAreSkipped() {
+        //given
+        final List<Integer> tested = new ArrayList<>();
+        final Predicate<Integer> gate = i -> false;
+        final DecisionTable.Builder<Integer, Integer> builder = DecisionTable.builder(DecisionTable.HitPolicy.FIRST);
+        for (int row = 0; row < 200; row++) {
+            final int id = row;
+            builder.when(gate, i -> tested.add(id)).then(i -> id);
+        }
+        final DecisionTable<Integer, Integer> table = builder.when().then(i -> -1).build();
+        //when
+        final Optional<Integer> outcome = table.decide(0);
+        //then
+        assertThat(outcome).contains(-1);
+        assertThat(tested).isEmpty();
+        assertThat(table.rows()).isEqualTo(201);
+    }
+
+    @Test
+    public void clausesOfARowStopAtTheFirstFalse() {
+        //given
+        final AtomicInteger calls = new AtomicInteger();
+        final DecisionTable<Integer, String> table = DecisionTable.<Integer, String>builder(
+                DecisionTable.HitPolicy.FIRST)
+                .when(positive, i -> calls.incrementAndGet() > 0).then(i -> "positive")
+                .build();
+        //when
+        table.decide(-1);
+        //then
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    public void outcomeIsOnlyComputedForTheHit() {
+        //given
+        final AtomicInteger calls = new AtomicInteger();
+        final DecisionTable<Integer, Integer> table = DecisionTable.<Integer, Integer>builder(
+                DecisionTable.HitPolicy.FIRST)
+                .when(positive).then(i -> calls.incrementAndGet())
+                .when().then(i -> calls.incrementAndGet())
+                .build();
+        //when
+        table.decide(1);
+        //then
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    public void largeTableMatchesLinearEvaluation() {
+        //given
+        final List<Predicate<Integer>> shared = new ArrayList<>();
+        for (int modulus = 2; modulus < 12; modulus++) {
+            final int m = modulus;
+            shared.add(i -> i % m == 0);
+        }
+        final List<List<Predicate<Integer>>> rows = new ArrayList<>();
+        final DecisionTable.Builder<Integer, Integer> builder = DecisionTable.builder(DecisionTable.HitPolicy.ALL);
+        for (int row = 0; row < 300; row++) {
+            final int id = row;
+            final Predicate<Integer> first = shared.get(row % shared.size());
+            final Predicate<Integer> second = shared.get(row / shared.size() % shared.size());
+            final Predicate<Integer> own = i -> (i + id) % 5 != 0;
+            final List<Predicate<Integer>> clauses = new ArrayList<>();
+            clauses.add(first);
+            clauses.add(second);
+            clauses.add(own);
+            rows.add(clauses);
+            builder.when(first, second, own).then(i -> id);
+        }
+        final DecisionTable<Integer, Integer> table = builder.build();
+        for (int input = 0; input < 500; input++) {
+            final int value = input;
+            final List<Integer> expected = new ArrayList<>();
+            for (int row = 0; row < rows.size(); row++) {
+                if (rows.get(row).stream().allMatch(clause -> clause.test(value))) {
+                    expected.add(row);
+                }
+            }
+            //then
+            assertThat(table.decideAll(input)).as("input %d", input).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void hitPolicyIsKept() {
+        assertThat(table(DecisionTable.HitPolicy.PRIORITY).hitPolicy()).isEqualTo(DecisionTable.HitPolicy.PRIORITY);
+    }
+
+    @Test
+    public void conditionClausesAndValueOutcomes() {
+        //given
+        final AtomicInteger calls = new AtomicInteger();
+        final Function<Integer, Condition> counted = i -> {
+            calls.incrementAndGet();
+            return Condition.where(i > 0);
+        };
+        final Function<Integer, Condition> small = i -> Condition.where(i < 10).and(() -> i != 5);
+        final DecisionTable<Integer, String> table = DecisionTable.<Integer, String>builder(
+                DecisionTable.HitPolicy.ALL)
+                .where(counted, small).then(() -> "small")
+                .where(small, counted).then(i -> "small " + i)
+                .where(counted).then(() -> "positive")
+                .where().then(() -> "any")
+                .build();
+        //when
+        final List<String> outcomes = table.decideAll(2);
+        //then
+        assertThat(outcomes).containsExactly("small", "small 2", "positive", "any");
+        assertThat(calls).hasValue(1);
+        assertThat(table.decideAll(5)).containsExactly("positive", "any");
+    }
+
+}
@@ -0,0 +1,72 @@
+package net.kemitix.conditional;
+
+import java.util.function.Supplier;
+
+/**
+ * A Condition implemented outside the library, with only the methods that had no default before the
+ * {@link java.util.function.BooleanSupplier} clauses and the {@link Outcome} methods were added.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class ExistingCondition implements Condition {
+
+    private final boolean value;
+
+    ExistingCondition(final boolean value) {
+        this.value = value;
+    }
+
+    @Override
+    public boolean isTrue() {
+        return value;
+    }
+
+    @Override
+    public boolean isFalse() {
+        return !value;
+    }
+
+    @Override
+    public Condition and(final Supplier<Boolean> clause) {
+        return Condition.where(value && clause.get());
+    }
+
+    @Override
+    public Condition or(final Supplier<Boolean> clause) {
+        return Condition.where(value || clause.get());
+    }
+
+    @Override
+    public Condition then(final Action response) {
+        return Condition.where(value).then(response);
+    }
+
+    @Override
+    public void otherwise(final Action response) {
+        Condition.where(value).otherwise(response);
+    }
+
+    @Override
+    public void thenThrow(final Exception exception) throws Exception {
+        if (value) {
+            throw exception;
+        }
+    }
+
+    @Override
+    public void thenThrow(final Supplier<Exception> exceptionSupplier) throws Exception {
+        Condition.where(value).thenThrow(exceptionSupplier);
+    }
+
+    @Override
+    public void otherwiseThrow(final Exception exception) throws Exception {
+        if (!value) {
+            throw exception;
+        }
+    }
+
+    @Override
+    public void otherwiseThrow(final Supplier<Exception> exceptionSupplier) throws Exception {
+        Condition.where(value).otherwiseThrow(exceptionSupplier);
+    }
+}
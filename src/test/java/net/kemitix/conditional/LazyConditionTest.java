@@ -0,0 +1,166 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Tests for {@link LazyCondition}.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class LazyConditionTest implements WithAssertions {
+
+    private static final boolean[] BOOLEANS = {true, false};
+
+    @Test
+    public void whenIsEvaluatedEachTime() {
+        //given
+        final AtomicBoolean flag = new AtomicBoolean();
+        final LazyCondition condition = Condition.when(flag::get);
+        //then
+        assertThat(condition.isTrue()).isFalse();
+        flag.set(true);
+        assertThat(condition.isTrue()).isTrue();
+        assertThat(condition.isFalse()).isFalse();
+    }
+
+    @Test
+    public void evaluateReturnsCondition() {
+        assertThat(LazyCondition.where(true).evaluate()).isSameAs(Condition.where(true));
+        assertThat(LazyCondition.where(false).evaluate()).isSameAs(Condition.where(false));
+    }
+
+    @Test
+    public void combinesLikeCondition() {
+        for (final boolean first : BOOLEANS) {
+            for (final boolean second : BOOLEANS) {
+                final LazyCondition lazy = LazyCondition.where(first);
+                final Condition eager = Condition.where(first);
+                assertThat(lazy.and(() -> second).evaluate()).as("%s and %s", first, second)
+                        .isSameAs(eager.and(() -> second));
+                assertThat(lazy.or(() -> second).evaluate()).as("%s or %s", first, second)
+                        .isSameAs(eager.or(() -> second));
+                assertThat(lazy.and(LazyCondition.where(second)).evaluate()).as("%s and %s", first, second)
+                        .isSameAs(eager.and(second));
+                assertThat(lazy.or(LazyCondition.where(second)).evaluate()).as("%s or %s", first, second)
+                        .isSameAs(eager.or(second));
+            }
+            assertThat(LazyCondition.where(first).not().evaluate()).isSameAs(Condition.where(first).not());
+        }
+    }
+
+    @Test
+    public void flatMapIsAppliedEachTime() {
+        //given
+        final AtomicBoolean flag = new AtomicBoolean();
+        final LazyCondition condition = LazyCondition.when(flag::get).flatMap(b -> Condition.where(!b));
+        //then
+        assertThat(condition.isTrue()).isTrue();
+        flag.set(true);
+        assertThat(condition.isTrue()).isFalse();
+    }
+
+    @Test
+    public void andShortCircuits() {
+        //given
+        final AtomicInteger calls = new AtomicInteger();
+        final LazyCondition condition = LazyCondition.where(false).and(() -> calls.incrementAndGet() > 0);
+        //when
+        condition.isTrue();
+        //then
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    public void orShortCircuits() {
+        //given
+        final AtomicInteger calls = new AtomicInteger();
+        final LazyCondition condition = LazyCondition.where(true).or(() -> calls.incrementAndGet() > 0);
+        //when
+        condition.isTrue();
+        //then
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    public void buildingDoesNotEvaluate() {
+        //given
+        final AtomicInteger calls = new AtomicInteger();
+        final BooleanSupplier clause = () -> calls.incrementAndGet() > 0;
+        //when
+        final LazyCondition condition = LazyCondition.when(clause).and(clause).or(clause).not()
+                .flatMap(Condition::where);
+        //then
+        assertThat(calls).hasValue(0);
+        condition.isTrue();
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    public void visitorSeesStructure() {
+        //given
+        final BooleanSupplier clause = () -> true;
+        final LazyCondition condition = LazyCondition.when(clause).and(LazyCondition.where(false)).not()
+                .or(() -> false).flatMap(Condition::where);
+        //when
+        final String structure = condition.accept(new Describer(clause));
+        //then
+        assertThat(structure).isEqualTo("flatMap(or(not(and(clause, false)), ?))");
+    }
+
+    @Test
+    public void evaluationDoesNotAllocate() {
+        //given
+        final LazyCondition condition = LazyCondition.when(() -> true)
+                .and(() -> false)
+                .or(LazyCondition.where(true).not())
+                .not();
+        //then
+        assertThat(Allocations.bytesPerOperation(condition::isTrue)).isLessThan(1.0);
+    }
+
+    private static final class Describer implements LazyCondition.Visitor<String> {
+
+        private final BooleanSupplier known;
+
+        Describer(final BooleanSupplier known) {
+            this.known = known;
+        }
+
+        @Override
+        public String visitClause(final BooleanSupplier clause) {
+            return clause == known ? "clause" : "?";
+        }
+
+        @Override
+        public String visitConstant(final boolean value) {
+            return String.valueOf(value);
+        }
+
+        @Override
+        public String visitAnd(final LazyCondition left, final LazyCondition right) {
+            return "and(" + left.accept(this) + ", " + right.accept(this) + ")";
+        }
+
+        @Override
+        public String visitOr(final LazyCondition left, final LazyCondition right) {
+            return "or(" + left.accept(this) + ", " + right.accept(this) + ")";
+        }
+
+        @Override
+        public String visitNot(final LazyCondition operand) {
+            return "not(" + operand.accept(this) + ")";
+        }
+
+        @Override
+        public String visitFlatMap(final LazyCondition source, final Function<Boolean, Condition> f) {
+            return "flatMap(" + source.accept(this) + ")";
+        }
+    }
+
+}
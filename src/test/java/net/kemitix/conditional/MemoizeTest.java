@@ -0,0 +1,176 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class MemoizeTest implements WithAssertions {
+
+    private static final int THREADS = 8;
+
+    @Test
+    public void everyModeComputesOnce() {
+        for (final Memoize.Mode mode : Memoize.Mode.values()) {
+            //given
+            final AtomicInteger calls = new AtomicInteger();
+            final Supplier<Object> memo = Memoize.supplier(() -> {
+                calls.incrementAndGet();
+                return new Object();
+            }, mode);
+            //when
+            final Object first = memo.get();
+            final Object second = memo.get();
+            //then
+            assertThat(second).as("%s", mode).isSameAs(first);
+            assertThat(calls.get()).as("%s", mode).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void nullResultIsRemembered() {
+        for (final Memoize.Mode mode : Memoize.Mode.values()) {
+            //given
+            final AtomicInteger calls = new AtomicInteger();
+            final Supplier<String> memo = Memoize.supplier(() -> {
+                calls.incrementAndGet();
+                return null;
+            }, mode);
+            //when
+            memo.get();
+            //then
+            assertThat(memo.get()).isNull();
+            assertThat(calls.get()).as("%s", mode).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void failureIsNotRemembered() {
+        for (final Memoize.Mode mode : Memoize.Mode.values()) {
+            //given
+            final AtomicInteger calls = new AtomicInteger();
+            final Supplier<String> memo = Memoize.supplier(() -> {
+                if (calls.incrementAndGet() == 1) {
+                    throw new IllegalStateException("first");
+                }
+                return "second";
+            }, mode);
+            //when
+            assertThatIllegalStateException().isThrownBy(memo::get);
+            //then
+            assertThat(memo.get()).isEqualTo("second");
+            assertThat(memo.get()).isEqualTo("second");
+            assertThat(calls.get()).as("%s", mode).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void defaultModeIsDoubleCheckedLocking() {
+        assertThat(Memoize.supplier(() -> "value")).isInstanceOf(DoubleCheckedSupplier.class);
+    }
+
+    @Test
+    public void doubleCheckedLockingComputesOnceUnderContention() throws Exception {
+        //given
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<Object> memo = Memoize.supplier(() -> {
+            calls.incrementAndGet();
+            sleep();
+            return new Object();
+        }, Memoize.Mode.DOUBLE_CHECKED_LOCKING);
+        //when
+        final List<Object> results = getConcurrently(memo);
+        //then
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(results.stream().distinct().count()).isEqualTo(1L);
+    }
+
+    @Test
+    public void lockFreeReturnsOneResultUnderContention() throws Exception {
+        //given
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<Object> memo = Memoize.supplier(() -> {
+            calls.incrementAndGet();
+            sleep();
+            return new Object();
+        }, Memoize.Mode.LOCK_FREE);
+        //when
+        final List<Object> results = getConcurrently(memo);
+        //then
+        assertThat(calls.get()).isBetween(1, THREADS);
+        assertThat(results.stream().distinct().count()).isEqualTo(1L);
+        assertThat(memo.get()).isSameAs(results.get(0));
+    }
+
+    @Test
+    public void clauseSharedBetweenConditionsIsEvaluatedOnce() {
+        //given
+        final AtomicInteger calls = new AtomicInteger();
+        final BooleanSupplier expensive = Memoize.clause(() -> {
+            calls.incrementAndGet();
+            return true;
+        });
+        //when
+        final boolean first = Condition.where(true).and(expensive).isTrue();
+        final boolean second = Condition.where(false).or(expensive).isTrue();
+        //then
+        assertThat(first && second).isTrue();
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void valueSupplierSharedBetweenOptionalAndOtherwise() {
+        //given
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<String> expensive = Memoize.supplier(() -> "value" + calls.incrementAndGet());
+        //when
+        final String otherwise = Value.<String>where(true).then(expensive).otherwise(() -> "other");
+        final String optional = Value.<String>where(true).then(expensive).optional().orElse("none");
+        //then
+        assertThat(otherwise).isEqualTo("value1");
+        assertThat(optional).isEqualTo("value1");
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<Object> getConcurrently(final Supplier<Object> memo) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return memo.get();
+                }));
+            }
+            start.countDown();
+            final List<Object> results = new ArrayList<>();
+            for (final Future<Object> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
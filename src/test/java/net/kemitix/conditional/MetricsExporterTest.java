@@ -0,0 +1,239 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class MetricsExporterTest implements WithAssertions {
+
+    private final RecordingProbe first = new RecordingProbe("first");
+    private final RecordingProbe second = new RecordingProbe("second");
+
+    private Map<String, Probe.Snapshot> snapshots() {
+        final Map<String, Probe.Snapshot> snapshots = new TreeMap<>();
+        snapshots.put(first.name(), first.snapshot());
+        snapshots.put(second.name(), second.snapshot());
+        return snapshots;
+    }
+
+    @Test
+    public void eachBatchHasTheCountsSinceTheLast() {
+        //given
+        final List<Probe.Snapshot> recorded = new ArrayList<>();
+        final MetricsExporter exporter = new MetricsExporter(this::snapshots,
+                Collections.singletonList(recorded::add));
+        first.where(true);
+        first.where(false);
+        //when
+        exporter.export();
+        first.where(true);
+        second.when(() -> false);
+        exporter.export();
+        exporter.export();
+        //then
+        assertThat(recorded).hasSize(3);
+        assertThat(recorded.get(0).name()).isEqualTo("first");
+        assertThat(recorded.get(0).trueCount()).isEqualTo(1);
+        assertThat(recorded.get(0).falseCount()).isEqualTo(1);
+        assertThat(recorded.get(1).name()).isEqualTo("first");
+        assertThat(recorded.get(1).trueCount()).isEqualTo(1);
+        assertThat(recorded.get(1).falseCount()).isZero();
+        assertThat(recorded.get(2).name()).isEqualTo("second");
+        assertThat(recorded.get(2).falseCount()).isEqualTo(1);
+        assertThat(recorded.get(2).supplierCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void resetProbeReportsItsNewCounts() {
+        //given
+        final List<Probe.Snapshot> recorded = new ArrayList<>();
+        final MetricsExporter exporter = new MetricsExporter(this::snapshots,
+                Collections.singletonList(recorded::add));
+        first.where(true);
+        first.where(true);
+        exporter.export();
+        //when
+        first.reset();
+        first.where(false);
+        exporter.export();
+        //then
+        assertThat(recorded).hasSize(2);
+        assertThat(recorded.get(1).trueCount()).isZero();
+        assertThat(recorded.get(1).falseCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void inMemoryMetricsKeepTheTotals() {
+        //given
+        final InMemoryMetrics metrics = new InMemoryMetrics();
+        final MetricsExporter exporter = new MetricsExporter(this::snapshots, Collections.singletonList(metrics));
+        //when
+        first.when(() -> true);
+        exporter.export();
+        first.when(() -> true);
+        first.when(() -> false);
+        exporter.export();
+        //then
+        final Probe.Snapshot total = metrics.snapshots().get("first");
+        assertThat(total.trueCount()).isEqualTo(2);
+        assertThat(total.falseCount()).isEqualTo(1);
+        assertThat(Arrays.stream(total.latencyHistogram()).sum()).isEqualTo(3);
+        assertThat(metrics.snapshots().containsKey("second")).isFalse();
+        //when
+        metrics.reset();
+        //then
+        assertThat(metrics.snapshots()).isEmpty();
+    }
+
+    @Test
+    public void inMemoryMetricsRecordConcurrently() throws InterruptedException {
+        //given
+        final InMemoryMetrics metrics = new InMemoryMetrics();
+        final long[] histogram = new long[Probe.Snapshot.BUCKETS];
+        histogram[3] = 1;
+        final Probe.Snapshot delta = new Probe.Snapshot("shared", 1, 2, 1, histogram);
+        final Thread[] threads = new Thread[4];
+        //when
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    metrics.record(delta);
+                }
+            });
+            threads[t].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        //then
+        final Probe.Snapshot total = metrics.snapshots().get("shared");
+        assertThat(total.trueCount()).isEqualTo(4000);
+        assertThat(total.falseCount()).isEqualTo(8000);
+        assertThat(total.latencyHistogram()[3]).isEqualTo(4000);
+    }
+
+    @Test
+    public void failingMetricsDoNotStopTheOthers() {
+        //given
+        final InMemoryMetrics metrics = new InMemoryMetrics();
+        final ConditionMetrics failing = delta -> {
+            throw new IllegalStateException("backend down");
+        };
+        final MetricsExporter exporter = new MetricsExporter(this::snapshots, Arrays.asList(failing, metrics));
+        first.where(true);
+        //when
+        exporter.export();
+        //then
+        assertThat(metrics.snapshots().get("first").trueCount()).isEqualTo(1);
+        assertThat(exporter.lastFailure()).isPresent();
+        assertThat(exporter.lastFailure().get().getMessage()).isEqualTo("backend down");
+    }
+
+    @Test
+    public void startedExporterReportsInTheBackground() throws InterruptedException {
+        //given
+        final InMemoryMetrics metrics = new InMemoryMetrics();
+        final RecordingProbe probe = ProbeRegistry.register("metrics.background");
+        //when
+        try (MetricsExporter exporter = MetricsExporter.start(Duration.ofMillis(10), metrics)) {
+            probe.where(true);
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!metrics.snapshots().containsKey("metrics.background") && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            probe.where(false);
+            assertThat(exporter.metrics()).containsExactly(metrics);
+        }
+        //then
+        final Probe.Snapshot total = metrics.snapshots().get("metrics.background");
+        assertThat(total.trueCount()).isEqualTo(1);
+        assertThat(total.falseCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void intervalMustBePositive() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> MetricsExporter.start(Duration.ZERO, new InMemoryMetrics()));
+    }
+
+    @Test
+    public void metricsAreDiscoveredAsServices() throws IOException {
+        //given
+        final Path root = Files.createTempDirectory("services");
+        final Path services = Files.createDirectories(root.resolve("META-INF/services"));
+        Files.write(services.resolve(ConditionMetrics.class.getName()),
+                (InMemoryMetrics.class.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+        //when
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{root.toUri().toURL()},
+                getClass().getClassLoader())) {
+            final List<ConditionMetrics> found = MetricsExporter.discover(loader);
+            //then
+            assertThat(found).hasSize(1);
+            assertThat(found.get(0)).isInstanceOf(InMemoryMetrics.class);
+        }
+    }
+
+    @Test
+    public void fileWriterWritesText() throws IOException {
+        //given
+        final Path file = Files.createTempDirectory("metrics").resolve("conditional.txt");
+        final MetricsFileWriter writer = new MetricsFileWriter(file, MetricsFileWriter.Format.TEXT);
+        final MetricsExporter exporter = new MetricsExporter(this::snapshots, Collections.singletonList(writer));
+        first.where(true);
+        second.where(false);
+        //when
+        exporter.export();
+        //then
+        assertThat(writer.file()).isEqualTo(file);
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).startsWith("Probe.Snapshot{name=first, true=1, false=0");
+        assertThat(lines.get(1)).startsWith("Probe.Snapshot{name=second, true=0, false=1");
+    }
+
+    @Test
+    public void fileWriterWritesPrometheus() throws IOException {
+        //given
+        final Path file = Files.createTempDirectory("metrics").resolve("conditional.prom");
+        final MetricsFileWriter writer = new MetricsFileWriter(file, MetricsFileWriter.Format.PROMETHEUS);
+        final long[] histogram = new long[Probe.Snapshot.BUCKETS];
+        histogram[0] = 1;
+        histogram[2] = 2;
+        //when
+        writer.record(new Probe.Snapshot("checkout \"premium\"", 3, 4, 3, histogram));
+        writer.flush();
+        writer.record(new Probe.Snapshot("checkout \"premium\"", 1, 0, 0, new long[Probe.Snapshot.BUCKETS]));
+        writer.flush();
+        //then
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8)).containsExactly(
+                "# HELP conditional_evaluations_total Evaluations of probed conditions, by outcome.",
+                "# TYPE conditional_evaluations_total counter",
+                "conditional_evaluations_total{probe=\"checkout \\\"premium\\\"\",outcome=\"true\"} 4",
+                "conditional_evaluations_total{probe=\"checkout \\\"premium\\\"\",outcome=\"false\"} 4",
+                "# HELP conditional_supplier_duration_seconds Time taken by the suppliers of probed conditions.",
+                "# TYPE conditional_supplier_duration_seconds histogram",
+                "conditional_supplier_duration_seconds_bucket{probe=\"checkout \\\"premium\\\"\",le=\"0.0\"} 1",
+                "conditional_supplier_duration_seconds_bucket{probe=\"checkout \\\"premium\\\"\",le=\"1.0E-9\"} 1",
+                "conditional_supplier_duration_seconds_bucket{probe=\"checkout \\\"premium\\\"\",le=\"3.0E-9\"} 3",
+                "conditional_supplier_duration_seconds_bucket{probe=\"checkout \\\"premium\\\"\",le=\"+Inf\"} 3",
+                "conditional_supplier_duration_seconds_count{probe=\"checkout \\\"premium\\\"\"} 3");
+    }
+
+}
@@ -0,0 +1,187 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class OutcomeTest implements WithAssertions {
+
+    @Test
+    public void whereTrueThenFailThrowsTheReason() {
+        assertThatExceptionOfType(ConditionFailedException.class)
+                .isThrownBy(() -> Condition.where(true).thenFail("rejected"))
+                .withMessage("rejected");
+        assertThatCode(() -> Condition.where(false).thenFail("rejected"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void whereFalseOtherwiseFailThrowsTheReason() {
+        assertThatExceptionOfType(ConditionFailedException.class)
+                .isThrownBy(() -> Condition.where(false).otherwiseFail("rejected"))
+                .withMessage("rejected");
+        assertThatCode(() -> Condition.where(true).otherwiseFail("rejected"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void failuresHaveNoStackTrace() {
+        //when
+        final ConditionFailedException exception = new ConditionFailedException("no stack");
+        //then
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.reason()).isEqualTo("no stack");
+        exception.addSuppressed(new IllegalStateException());
+        assertThat(exception.getSuppressed()).isEmpty();
+    }
+
+    @Test
+    public void failuresAreSharedByReason() {
+        //given
+        ConditionFailedException first = null;
+        ConditionFailedException second = null;
+        //when
+        try {
+            Condition.where(true).thenFail("shared");
+        } catch (ConditionFailedException e) {
+            first = e;
+        }
+        try {
+            Condition.where(false).otherwiseFail("shared");
+        } catch (ConditionFailedException e) {
+            second = e;
+        }
+        //then
+        assertThat(first).isSameAs(second).isSameAs(ConditionFailedException.of("shared"));
+        assertThat(ConditionFailedException.of("other")).isNotSameAs(first);
+    }
+
+    @Test
+    public void failuresForManyReasonsAreNotAllKept() {
+        //given
+        final ConditionFailedException first = ConditionFailedException.of("bad id 0");
+        //when
+        for (int id = 1; id < 10_000; id++) {
+            ConditionFailedException.of("bad id " + id);
+        }
+        //then
+        assertThat(ConditionFailedException.of("bad id 0")).isNotSameAs(first);
+        assertThat(ConditionFailedException.of("bad id 0")).isSameAs(ConditionFailedException.of("bad id 0"));
+    }
+
+    @Test
+    public void thenFailDoesNotAllocate() {
+        //given
+        final Condition condition = Condition.where(true);
+        final Runnable fail = () -> {
+            try {
+                condition.thenFail("allocation");
+            } catch (ConditionFailedException e) {
+                // expected
+            }
+        };
+        //then
+        assertThat(Allocations.bytesPerOperation(fail)).isLessThan(1.0);
+    }
+
+    @Test
+    public void rejectReturnsTheReason() {
+        //when
+        final Outcome thenReject = Condition.where(true).thenReject("then");
+        final Outcome otherwiseReject = Condition.where(false).otherwiseReject("otherwise");
+        //then
+        assertThat(thenReject.isRejected()).isTrue();
+        assertThat(thenReject.isAccepted()).isFalse();
+        assertThat(thenReject.reason()).contains("then");
+        assertThat(otherwiseReject.reason()).contains("otherwise");
+        assertThat(thenReject).isEqualTo(Outcome.rejected("then"));
+        assertThat(thenReject.hashCode()).isEqualTo(Outcome.rejected("then").hashCode());
+        assertThat(thenReject.toString()).isEqualTo("Outcome{rejected=then}");
+    }
+
+    @Test
+    public void otherwiseRejectAccepts() {
+        //when
+        final Outcome thenReject = Condition.where(false).thenReject("then");
+        final Outcome otherwiseReject = Condition.where(true).otherwiseReject("otherwise");
+        //then
+        assertThat(thenReject).isSameAs(Outcome.accepted());
+        assertThat(otherwiseReject).isSameAs(Outcome.accepted());
+        assertThat(thenReject.isAccepted()).isTrue();
+        assertThat(thenReject.reason()).isEmpty();
+        assertThat(thenReject.toString()).isEqualTo("Outcome{accepted}");
+    }
+
+    @Test
+    public void andStopsAtTheFirstRejection() {
+        //given
+        final AtomicInteger checks = new AtomicInteger();
+        //when
+        final Outcome outcome = Outcome.accepted()
+                .and(() -> {
+                    checks.incrementAndGet();
+                    return Condition.where(true).thenReject("first");
+                })
+                .and(() -> {
+                    checks.incrementAndGet();
+                    return Condition.where(true).thenReject("second");
+                });
+        //then
+        assertThat(outcome.reason()).contains("first");
+        assertThat(checks).hasValue(1);
+    }
+
+    @Test
+    public void orFailThrowsWhenRejected() {
+        assertThatExceptionOfType(ConditionFailedException.class)
+                .isThrownBy(() -> Outcome.rejected("rejected").orFail())
+                .withMessage("rejected");
+        assertThatCode(() -> Outcome.accepted().orFail())
+                .doesNotThrowAnyException();
+        assertThatNullPointerException()
+                .isThrownBy(() -> Outcome.rejected(null));
+    }
+
+    @Test
+    public void nullReasonsAreRejectedWhetherTrueOrFalse() {
+        final Condition[] conditions = {
+                Condition.where(true), Condition.where(false), new ExistingCondition(true), new ExistingCondition(false)
+        };
+        for (final Condition condition : conditions) {
+            assertThatNullPointerException().isThrownBy(() -> condition.thenFail(null)).withMessage("reason");
+            assertThatNullPointerException().isThrownBy(() -> condition.otherwiseFail(null)).withMessage("reason");
+            assertThatNullPointerException().isThrownBy(() -> condition.thenReject(null)).withMessage("reason");
+            assertThatNullPointerException().isThrownBy(() -> condition.otherwiseReject(null)).withMessage("reason");
+        }
+        assertThatNullPointerException().isThrownBy(() -> ConditionFailedException.of(null));
+    }
+
+    @Test
+    public void defaultsForExistingImplementationsAgree() {
+        for (final boolean value : new boolean[]{true, false}) {
+            //given
+            final Condition existing = new ExistingCondition(value);
+            final Condition condition = Condition.where(value);
+            //then
+            assertThat(existing.thenReject("then")).isEqualTo(condition.thenReject("then"));
+            assertThat(existing.otherwiseReject("otherwise")).isEqualTo(condition.otherwiseReject("otherwise"));
+            assertThat(failure(() -> existing.thenFail("then"))).isSameAs(failure(() -> condition.thenFail("then")));
+            assertThat(failure(() -> existing.otherwiseFail("otherwise")))
+                    .isSameAs(failure(() -> condition.otherwiseFail("otherwise")));
+        }
+    }
+
+    private static ConditionFailedException failure(final Runnable action) {
+        try {
+            action.run();
+            return null;
+        } catch (ConditionFailedException e) {
+            return e;
+        }
+    }
+
+}
@@ -0,0 +1,185 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class ParallelConditionTest implements WithAssertions {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static BooleanSupplier blockUntilInterrupted(
+            final CountDownLatch started,
+            final CountDownLatch interrupted
+    ) {
+        return () -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return true;
+        };
+    }
+
+    @Test
+    public void allOfNoClausesIsTrue() {
+        assertThat(Condition.allOf().isTrue()).isTrue();
+    }
+
+    @Test
+    public void anyOfNoClausesIsFalse() {
+        assertThat(Condition.anyOf().isFalse()).isTrue();
+    }
+
+    @Test
+    public void matchesSerialEvaluation() {
+        //given
+        final Random random = new Random(42L);
+        for (int trial = 0; trial < 200; trial++) {
+            final boolean[] values = new boolean[1 + random.nextInt(8)];
+            final BooleanSupplier[] clauses = new BooleanSupplier[values.length];
+            boolean all = true;
+            boolean any = false;
+            for (int i = 0; i < values.length; i++) {
+                final boolean value = random.nextBoolean();
+                values[i] = value;
+                clauses[i] = () -> value;
+                all = all && value;
+                any = any || value;
+            }
+            //then
+            assertThat(Condition.allOf(executor, clauses).isTrue()).isEqualTo(all);
+            assertThat(Condition.anyOf(executor, clauses).isTrue()).isEqualTo(any);
+            assertThat(Condition.allOf(clauses).isTrue()).isEqualTo(all);
+            assertThat(Condition.anyOf(clauses).isTrue()).isEqualTo(any);
+        }
+    }
+
+    @Test
+    public void clausesRunConcurrently() {
+        //given
+        final CyclicBarrier barrier = new CyclicBarrier(3);
+        final BooleanSupplier meet = () -> {
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        };
+        //when
+        final Condition result = Condition.allOf(executor, meet, meet, meet);
+        //then
+        assertThat(result.isTrue()).isTrue();
+    }
+
+    @Test
+    public void allOfCancelsRemainingClausesOnFirstFalse() throws InterruptedException {
+        //given
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final BooleanSupplier slow = blockUntilInterrupted(started, interrupted);
+        //when
+        final Condition result = Condition.allOf(executor, () -> awaitThen(started, false), slow);
+        //then
+        assertThat(result.isFalse()).isTrue();
+        assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void anyOfCancelsRemainingClausesOnFirstTrue() throws InterruptedException {
+        //given
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final BooleanSupplier slow = blockUntilInterrupted(started, interrupted);
+        //when
+        final Condition result = Condition.anyOf(executor, () -> awaitThen(started, true), slow);
+        //then
+        assertThat(result.isTrue()).isTrue();
+        assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void laterDecidingClauseCancelsClausesAfterIt() throws InterruptedException {
+        //given
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final BooleanSupplier slow = blockUntilInterrupted(started, interrupted);
+        //when
+        final Condition result = Condition.allOf(executor, () -> awaitThen(started, true), () -> false, slow);
+        //then
+        assertThat(result.isFalse()).isTrue();
+        assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static boolean awaitThen(final CountDownLatch latch, final boolean value) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+    @Test
+    public void exceptionBeforeDecidingClauseIsThrown() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> Condition.allOf(executor, () -> {
+                    throw new IllegalArgumentException("first");
+                }, () -> false))
+                .withMessage("first");
+    }
+
+    @Test
+    public void exceptionAfterDecidingClauseIsIgnored() {
+        //when
+        final Condition result = Condition.anyOf(executor, () -> false, () -> true, () -> {
+            throw new IllegalArgumentException("after");
+        });
+        //then
+        assertThat(result.isTrue()).isTrue();
+    }
+
+    @Test
+    public void exceptionFromClauseOnExecutorIsRethrown() {
+        assertThatIllegalStateException()
+                .isThrownBy(() -> Condition.anyOf(executor, () -> false, () -> {
+                    throw new IllegalStateException("second");
+                }))
+                .withMessage("second");
+    }
+
+    @Test
+    public void singleClauseRunsOnCallingThread() {
+        //given
+        final Thread caller = Thread.currentThread();
+        final AtomicBoolean onCaller = new AtomicBoolean();
+        //when
+        Condition.allOf(executor, () -> {
+            onCaller.set(Thread.currentThread() == caller);
+            return true;
+        });
+        //then
+        assertThat(onCaller.get()).isTrue();
+    }
+
+}
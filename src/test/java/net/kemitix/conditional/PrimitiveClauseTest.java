@@ -0,0 +1,181 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Tests for the {@link BooleanSupplier} clauses, which must agree with the boxed {@link Supplier} clauses.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class PrimitiveClauseTest implements WithAssertions {
+
+    private static final boolean[] BOOLEANS = {true, false};
+
+    private static final BooleanSupplier PRIMITIVE_TRUE = () -> true;
+    private static final BooleanSupplier PRIMITIVE_FALSE = () -> false;
+    private static final Supplier<Boolean> BOXED_TRUE = () -> true;
+    private static final Supplier<Boolean> BOXED_FALSE = () -> false;
+
+    private static BooleanSupplier primitive(final boolean value) {
+        return value ? PRIMITIVE_TRUE : PRIMITIVE_FALSE;
+    }
+
+    private static Supplier<Boolean> boxed(final boolean value) {
+        return value ? BOXED_TRUE : BOXED_FALSE;
+    }
+
+    @Test
+    public void conditionAndAgreesWithBoxedClause() {
+        for (final boolean first : BOOLEANS) {
+            for (final boolean second : BOOLEANS) {
+                assertThat(Condition.where(first).and(primitive(second)))
+                        .as("%s and %s", first, second)
+                        .isSameAs(Condition.where(first).and(boxed(second)))
+                        .isSameAs(Condition.where(first && second));
+            }
+        }
+    }
+
+    @Test
+    public void conditionOrAgreesWithBoxedClause() {
+        for (final boolean first : BOOLEANS) {
+            for (final boolean second : BOOLEANS) {
+                assertThat(Condition.where(first).or(primitive(second)))
+                        .as("%s or %s", first, second)
+                        .isSameAs(Condition.where(first).or(boxed(second)))
+                        .isSameAs(Condition.where(first || second));
+            }
+        }
+    }
+
+    @Test
+    public void conditionOtherwiseAgreesWithBoxedClause() {
+        for (final boolean first : BOOLEANS) {
+            for (final boolean second : BOOLEANS) {
+                assertThat(Condition.where(first).otherwise(primitive(second)))
+                        .as("%s otherwise %s", first, second)
+                        .isSameAs(Condition.where(first).otherwise(boxed(second)))
+                        .isSameAs(Condition.where(second));
+            }
+        }
+    }
+
+    @Test
+    public void valueClauseAgreesWithBoxedClause() {
+        for (final boolean first : BOOLEANS) {
+            for (final boolean second : BOOLEANS) {
+                assertThat(Value.<String>where(first).and(primitive(second)))
+                        .as("%s and %s", first, second)
+                        .isSameAs(Value.<String>where(first).and(boxed(second)));
+                assertThat(Value.<String>where(first).or(primitive(second)))
+                        .as("%s or %s", first, second)
+                        .isSameAs(Value.<String>where(first).or(boxed(second)));
+                assertThat(Value.<String>where(first).orNot(primitive(second)))
+                        .as("%s or not %s", first, second)
+                        .isSameAs(Value.<String>where(first).orNot(boxed(second)))
+                        .isSameAs(Value.<String>where(first || !second));
+            }
+        }
+    }
+
+    @Test
+    public void primitiveClausesShortCircuit() {
+        //given
+        final AtomicInteger calls = new AtomicInteger();
+        final BooleanSupplier clause = () -> calls.incrementAndGet() > 0;
+        //when
+        Condition.where(false).and(clause);
+        Condition.where(true).or(clause);
+        Value.<String>where(false).and(clause);
+        Value.<String>where(true).or(clause);
+        Value.<String>where(true).orNot(clause);
+        //then
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    public void conditionChainDoesNotAllocate() {
+        //given
+        final Runnable chain = () -> Condition.where(PRIMITIVE_TRUE.getAsBoolean())
+                .and(PRIMITIVE_TRUE)
+                .or(PRIMITIVE_FALSE)
+                .and(PRIMITIVE_FALSE)
+                .otherwise(PRIMITIVE_TRUE);
+        //then
+        assertThat(Allocations.bytesPerOperation(chain)).isLessThan(1.0);
+    }
+
+    @Test
+    public void valueClauseChainDoesNotAllocate() {
+        //given
+        final Runnable chain = () -> Value.<String>where(PRIMITIVE_FALSE.getAsBoolean())
+                .or(PRIMITIVE_TRUE)
+                .and(PRIMITIVE_TRUE)
+                .orNot(PRIMITIVE_FALSE)
+                .not();
+        //then
+        assertThat(Allocations.bytesPerOperation(chain)).isLessThan(1.0);
+    }
+
+    @Test
+    public void defaultsForExistingImplementationsAgreeWithBoxedClause() {
+        for (final boolean first : BOOLEANS) {
+            for (final boolean second : BOOLEANS) {
+                assertThat(new ExistingCondition(first).and(primitive(second)))
+                        .as("%s and %s", first, second)
+                        .isSameAs(Condition.where(first && second));
+                assertThat(new ExistingCondition(first).or(primitive(second)))
+                        .as("%s or %s", first, second)
+                        .isSameAs(Condition.where(first || second));
+                assertThat(new ExistingValueClause<String>(first).and(primitive(second)))
+                        .as("%s and %s", first, second)
+                        .isSameAs(Value.<String>where(first && second));
+                assertThat(new ExistingValueClause<String>(first).or(primitive(second)))
+                        .as("%s or %s", first, second)
+                        .isSameAs(Value.<String>where(first || second));
+                assertThat(new ExistingValueClause<String>(first).orNot(primitive(second)))
+                        .as("%s or not %s", first, second)
+                        .isSameAs(Value.<String>where(first || !second));
+            }
+        }
+    }
+
+    /**
+     * A ValueClause implemented outside the library, with only the methods that had no default before the
+     * {@link BooleanSupplier} clauses were added.
+     */
+    private static final class ExistingValueClause<T> implements Value.ValueClause<T> {
+
+        private final boolean value;
+
+        ExistingValueClause(final boolean value) {
+            this.value = value;
+        }
+
+        @Override
+        public Value.ValueClause<T> not() {
+            return Value.where(!value);
+        }
+
+        @Override
+        public ValueSupplier<T> then(final Supplier<T> trueSupplier) {
+            return Value.<T>where(value).then(trueSupplier);
+        }
+
+        @Override
+        public Value.ValueClause<T> and(final Supplier<Boolean> clause) {
+            return Value.where(value && clause.get());
+        }
+
+        @Override
+        public Value.ValueClause<T> or(final Supplier<Boolean> clause) {
+            return Value.where(value || clause.get());
+        }
+    }
+
+}
@@ -0,0 +1,128 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Tests for {@link IntValue}, {@link LongValue} and {@link DoubleValue}.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class PrimitiveValueTest implements WithAssertions {
+
+    private static final Condition TRUE_CONDITION = Condition.where(true);
+    private static final Condition FALSE_CONDITION = Condition.where(false);
+
+    private static final IntSupplier ONE = () -> 1;
+    private static final IntSupplier TWO = () -> 2;
+
+    @Test
+    public void intValueWhereIsTrue() {
+        assertThat(IntValue.where(true, ONE, TWO)).isEqualTo(1);
+        assertThat(IntValue.where(TRUE_CONDITION, ONE, TWO)).isEqualTo(1);
+    }
+
+    @Test
+    public void intValueWhereIsFalse() {
+        assertThat(IntValue.where(false, ONE, TWO)).isEqualTo(2);
+        assertThat(IntValue.where(FALSE_CONDITION, ONE, TWO)).isEqualTo(2);
+    }
+
+    @Test
+    public void intValueWhereIsOptional() {
+        assertThat(IntValue.where(true, ONE)).hasValue(1);
+        assertThat(IntValue.where(TRUE_CONDITION, ONE)).hasValue(1);
+        assertThat(IntValue.where(false, ONE)).isEmpty();
+        assertThat(IntValue.where(FALSE_CONDITION, ONE)).isEmpty();
+    }
+
+    @Test
+    public void intValueClauseThenOtherwise() {
+        assertThat(IntValue.where(true).then(ONE).otherwise(TWO)).isEqualTo(1);
+        assertThat(IntValue.where(false).then(ONE).otherwise(TWO)).isEqualTo(2);
+        assertThat(IntValue.where(TRUE_CONDITION).not().then(ONE).otherwise(TWO)).isEqualTo(2);
+        assertThat(IntValue.where(FALSE_CONDITION).not().then(ONE).otherwise(TWO)).isEqualTo(1);
+    }
+
+    @Test
+    public void intValueClauseThenOptional() {
+        assertThat(IntValue.where(true).then(ONE).optional()).isEqualTo(OptionalInt.of(1));
+        assertThat(IntValue.where(false).then(ONE).optional()).isEqualTo(OptionalInt.empty());
+    }
+
+    @Test
+    public void intValueClauseCombinesClauses() {
+        final boolean[] booleans = {true, false};
+        for (final boolean first : booleans) {
+            for (final boolean second : booleans) {
+                assertThat(IntValue.where(first).and(() -> second).then(ONE).otherwise(TWO))
+                        .as("%s and %s", first, second)
+                        .isEqualTo(first && second ? 1 : 2);
+                assertThat(IntValue.where(first).or(() -> second).then(ONE).otherwise(TWO))
+                        .as("%s or %s", first, second)
+                        .isEqualTo(first || second ? 1 : 2);
+                assertThat(IntValue.where(first).orNot(() -> second).then(ONE).otherwise(TWO))
+                        .as("%s or not %s", first, second)
+                        .isEqualTo(first || !second ? 1 : 2);
+            }
+        }
+    }
+
+    @Test
+    public void intValueOnlyCallsSelectedSupplier() {
+        //given
+        final AtomicInteger calls = new AtomicInteger();
+        final IntSupplier counted = calls::incrementAndGet;
+        //when
+        IntValue.where(true, ONE, counted);
+        IntValue.where(false, counted, TWO);
+        IntValue.where(false, counted);
+        IntValue.where(false).and(() -> calls.incrementAndGet() > 0).then(counted).optional();
+        IntValue.where(true).or(() -> calls.incrementAndGet() > 0).then(ONE).otherwise(counted);
+        //then
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    public void longValue() {
+        assertThat(LongValue.where(true, () -> 1L, () -> 2L)).isEqualTo(1L);
+        assertThat(LongValue.where(FALSE_CONDITION, () -> 1L, () -> 2L)).isEqualTo(2L);
+        assertThat(LongValue.where(true, () -> 1L)).isEqualTo(OptionalLong.of(1L));
+        assertThat(LongValue.where(false, () -> 1L)).isEqualTo(OptionalLong.empty());
+        assertThat(LongValue.where(true).and(() -> false).then(() -> 1L).otherwise(() -> 2L)).isEqualTo(2L);
+        assertThat(LongValue.where(false).or(() -> true).then(() -> 1L).optional()).isEqualTo(OptionalLong.of(1L));
+        assertThat(LongValue.where(false).orNot(() -> true).then(() -> 1L).optional()).isEqualTo(OptionalLong.empty());
+    }
+
+    @Test
+    public void doubleValue() {
+        assertThat(DoubleValue.where(true, () -> 1.5, () -> 2.5)).isEqualTo(1.5);
+        assertThat(DoubleValue.where(FALSE_CONDITION, () -> 1.5, () -> 2.5)).isEqualTo(2.5);
+        assertThat(DoubleValue.where(true, () -> 1.5)).isEqualTo(OptionalDouble.of(1.5));
+        assertThat(DoubleValue.where(false, () -> 1.5)).isEqualTo(OptionalDouble.empty());
+        assertThat(DoubleValue.where(true).not().then(() -> 1.5).otherwise(() -> 2.5)).isEqualTo(2.5);
+        assertThat(DoubleValue.where(false).or(() -> true).then(() -> 1.5).optional())
+                .isEqualTo(OptionalDouble.of(1.5));
+    }
+
+    @Test
+    public void primitiveValueWhereDoesNotAllocate() {
+        //given
+        final Runnable where = () -> {
+            IntValue.where(true, ONE, TWO);
+            LongValue.where(false, () -> 1L, () -> 2L);
+            DoubleValue.where(true, () -> 1.5, () -> 2.5);
+            IntValue.where(false).then(ONE).otherwise(TWO);
+            IntValue.where(false, ONE);
+        };
+        //then
+        assertThat(Allocations.bytesPerOperation(where)).isLessThan(1.0);
+    }
+
+}
@@ -0,0 +1,165 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class ProbeTest implements WithAssertions {
+
+    @Test
+    public void probesAreOffByDefault() {
+        //given
+        final Probe probe = Probe.named("off");
+        //when
+        final Condition condition = probe.where(true);
+        //then
+        assertThat(Probe.isEnabled()).isFalse();
+        assertThat(condition).isSameAs(Condition.where(true));
+        assertThat(probe.name()).isEqualTo("off");
+        assertThat(probe.snapshot().trueCount()).isZero();
+        assertThat(Probe.snapshots().containsKey("off")).isFalse();
+    }
+
+    @Test
+    public void disabledProbeStillEvaluates() {
+        //given
+        final Probe probe = new DisabledProbe("disabled");
+        final AtomicInteger calls = new AtomicInteger();
+        //then
+        assertThat(probe.when(() -> calls.incrementAndGet() > 0).isTrue()).isTrue();
+        assertThat(probe.<String>value(false, () -> "yes", () -> "no")).isEqualTo("no");
+        assertThat(calls).hasValue(1);
+        probe.reset();
+        assertThat(probe.snapshot().latencyHistogram()).containsOnly(0L);
+    }
+
+    @Test
+    public void whereCountsTrueAndFalse() {
+        //given
+        final Probe probe = new RecordingProbe("where");
+        //when
+        final Condition condition = probe.where(true);
+        probe.where(false);
+        probe.where(true);
+        //then
+        assertThat(condition.isTrue()).isTrue();
+        final Probe.Snapshot snapshot = probe.snapshot();
+        assertThat(snapshot.trueCount()).isEqualTo(2);
+        assertThat(snapshot.falseCount()).isEqualTo(1);
+        assertThat(snapshot.supplierCount()).isZero();
+    }
+
+    @Test
+    public void whenCountsAndTimesTheClause() {
+        //given
+        final Probe probe = new RecordingProbe("when");
+        //when
+        final Condition condition = probe.when(() -> false);
+        //then
+        assertThat(condition.isFalse()).isTrue();
+        final Probe.Snapshot snapshot = probe.snapshot();
+        assertThat(snapshot.falseCount()).isEqualTo(1);
+        assertThat(snapshot.supplierCount()).isEqualTo(1);
+        assertThat(Arrays.stream(snapshot.latencyHistogram()).sum()).isEqualTo(1);
+    }
+
+    @Test
+    public void evaluateCountsAndTimesTheExpression() {
+        //given
+        final Probe probe = new RecordingProbe("evaluate");
+        final AtomicInteger calls = new AtomicInteger();
+        //when
+        final Condition condition = probe.evaluate(LazyCondition.when(() -> calls.incrementAndGet() > 1)
+                .or(() -> calls.incrementAndGet() > 1));
+        //then
+        assertThat(condition.isTrue()).isTrue();
+        assertThat(calls).hasValue(2);
+        final Probe.Snapshot snapshot = probe.snapshot();
+        assertThat(snapshot.trueCount()).isEqualTo(1);
+        assertThat(snapshot.supplierCount()).isEqualTo(1);
+        assertThat(new DisabledProbe("evaluate").evaluate(LazyCondition.when(() -> false)).isFalse()).isTrue();
+    }
+
+    @Test
+    public void valueCallsOnlyTheChosenSupplier() {
+        //given
+        final Probe probe = new RecordingProbe("value");
+        final AtomicInteger calls = new AtomicInteger();
+        //when
+        final Integer value = probe.value(true, calls::incrementAndGet, () -> -1);
+        //then
+        assertThat(value).isEqualTo(1);
+        assertThat(calls).hasValue(1);
+        assertThat(probe.snapshot().trueCount()).isEqualTo(1);
+        assertThat(probe.snapshot().supplierCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void slowSupplierRaisesThePercentile() {
+        //given
+        final Probe probe = new RecordingProbe("slow");
+        //when
+        probe.when(() -> {
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        });
+        //then
+        final long p99 = probe.snapshot().latencyPercentile(0.99);
+        assertThat(p99).isGreaterThanOrEqualTo(2_000_000L);
+    }
+
+    @Test
+    public void percentilesOfAnEmptyHistogramAreZero() {
+        assertThat(new RecordingProbe("empty").snapshot().latencyPercentile(0.5)).isZero();
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new RecordingProbe("empty").snapshot().latencyPercentile(1.5));
+    }
+
+    @Test
+    public void resetClearsTheCounts() {
+        //given
+        final Probe probe = new RecordingProbe("reset");
+        probe.when(() -> true);
+        //when
+        probe.reset();
+        //then
+        final Probe.Snapshot snapshot = probe.snapshot();
+        assertThat(snapshot.trueCount()).isZero();
+        assertThat(snapshot.supplierCount()).isZero();
+        assertThat(snapshot.latencyHistogram()).containsOnly(0L);
+    }
+
+    @Test
+    public void registryHasOneProbePerName() {
+        //given
+        final RecordingProbe probe = ProbeRegistry.register("registry.shared");
+        //when
+        ProbeRegistry.register("registry.shared").where(true);
+        //then
+        assertThat(probe.snapshot().trueCount()).isEqualTo(1);
+        assertThat(Probe.snapshots().get("registry.shared").trueCount()).isEqualTo(1);
+        //when
+        Probe.resetAll();
+        //then
+        assertThat(probe.snapshot().trueCount()).isZero();
+    }
+
+    @Test
+    public void snapshotToString() {
+        //given
+        final Probe probe = new RecordingProbe("named");
+        probe.where(true);
+        //then
+        assertThat(probe.snapshot().toString()).startsWith("Probe.Snapshot{name=named, true=1, false=0");
+    }
+
+}
@@ -0,0 +1,84 @@
+package net.kemitix.conditional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Builds random {@link LazyCondition} expressions over clauses that read, and record reading, a row of inputs.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+final class RandomConditions {
+
+    private final Random random;
+    private final boolean[] inputs;
+    private final List<Integer> trace = new ArrayList<>();
+
+    RandomConditions(final long seed, final int clauses) {
+        this.random = new Random(seed);
+        this.inputs = new boolean[clauses];
+    }
+
+    /**
+     * A random expression using each clause once.
+     *
+     * @return the expression
+     */
+    LazyCondition expression() {
+        return expression(0, inputs.length);
+    }
+
+    private LazyCondition expression(final int from, final int to) {
+        if (to - from == 1) {
+            final LazyCondition clause = LazyCondition.when(clause(from));
+            switch (random.nextInt(6)) {
+                case 0:
+                    return clause.not();
+                case 1:
+                    return clause.flatMap(Condition::where);
+                case 2:
+                    return clause.and(LazyCondition.where(random.nextBoolean()));
+                default:
+                    return clause;
+            }
+        }
+        final int split = from + 1 + random.nextInt(to - from - 1);
+        final LazyCondition left = expression(from, split);
+        final LazyCondition right = expression(split, to);
+        if (random.nextBoolean()) {
+            return left.and(right);
+        }
+        return left.or(right);
+    }
+
+    private BooleanSupplier clause(final int index) {
+        return () -> {
+            trace.add(index);
+            return inputs[index];
+        };
+    }
+
+    /**
+     * Set the inputs to a new random row and clear the trace.
+     */
+    void nextRow() {
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = random.nextBoolean();
+        }
+        trace.clear();
+    }
+
+    /**
+     * The clauses evaluated since the last call, in order, and then clears it.
+     *
+     * @return the indexes of the clauses evaluated
+     */
+    List<Integer> takeTrace() {
+        final List<Integer> taken = new ArrayList<>(trace);
+        trace.clear();
+        return taken;
+    }
+
+}
@@ -0,0 +1,160 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class RuleSetTest implements WithAssertions {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private BooleanSupplier counted(final boolean value) {
+        return () -> {
+            calls.incrementAndGet();
+            return value;
+        };
+    }
+
+    @Test
+    public void sharedSupplierIsEvaluatedOnce() {
+        //given
+        final BooleanSupplier premium = counted(true);
+        final RuleSet rules = RuleSet.compile(
+                LazyCondition.when(premium).and(() -> true),
+                LazyCondition.when(() -> true).and(premium),
+                LazyCondition.when(premium).not());
+        //when
+        final boolean[] results = rules.evaluate();
+        //then
+        assertThat(results).containsExactly(true, true, false);
+        assertThat(calls).hasValue(1);
+        assertThat(rules.size()).isEqualTo(3);
+        assertThat(rules.distinctClauses()).isEqualTo(3);
+        assertThat(rules.clauseReferences()).isEqualTo(5);
+    }
+
+    @Test
+    public void clausesWithEqualKeysAreEvaluatedOnce() {
+        //given
+        final RuleSet rules = RuleSet.compile(
+                LazyCondition.when("inRegion", counted(true)),
+                LazyCondition.when("inRegion", counted(true)).and(LazyCondition.when("other", counted(false))));
+        //when
+        final boolean[] results = rules.evaluate();
+        //then
+        assertThat(results).containsExactly(true, false);
+        assertThat(calls).hasValue(2);
+        assertThat(rules.distinctClauses()).isEqualTo(2);
+    }
+
+    @Test
+    public void sharedClauseIsEvaluatedAgainEachEvaluation() {
+        //given
+        final AtomicBoolean flag = new AtomicBoolean();
+        final BooleanSupplier clause = flag::get;
+        final RuleSet rules = RuleSet.compile(LazyCondition.when(clause), LazyCondition.when(clause).not());
+        //then
+        assertThat(rules.evaluate()).containsExactly(false, true);
+        flag.set(true);
+        assertThat(rules.evaluate()).containsExactly(true, false);
+    }
+
+    @Test
+    public void rulesStillShortCircuit() {
+        //given
+        final RuleSet rules = RuleSet.compile(
+                LazyCondition.where(false).and(counted(true)),
+                LazyCondition.where(true).or(counted(true)));
+        //when
+        rules.evaluate();
+        //then
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    public void firstMatchStopsAtTheFirstTrueRule() {
+        //given
+        final RuleSet rules = RuleSet.compile(
+                LazyCondition.when(counted(false)),
+                LazyCondition.when(counted(true)),
+                LazyCondition.when(counted(true)));
+        //then
+        assertThat(rules.firstMatch()).isEqualTo(1);
+        assertThat(calls).hasValue(2);
+        assertThat(RuleSet.compile(LazyCondition.where(false)).firstMatch()).isEqualTo(-1);
+    }
+
+    @Test
+    public void statsCountSavedEvaluations() {
+        //given
+        final BooleanSupplier shared = counted(true);
+        final List<LazyCondition> conditions = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            conditions.add(LazyCondition.when(shared).and(counted(i % 2 == 0)));
+        }
+        final RuleSet rules = RuleSet.compile(conditions);
+        //when
+        rules.evaluate();
+        rules.evaluate();
+        final RuleSet.Stats stats = rules.stats();
+        //then
+        assertThat(stats.evaluationCount()).isEqualTo(2);
+        assertThat(stats.clauseEvaluationCount()).isEqualTo(22);
+        assertThat(stats.savedEvaluationCount()).isEqualTo(18);
+        assertThat(stats.savedRate()).isEqualTo(18.0 / 40);
+        assertThat(stats.toString()).contains("savedEvaluations=18");
+    }
+
+    @Test
+    public void statsBeforeAnyEvaluation() {
+        //given
+        final RuleSet.Stats stats = RuleSet.compile(LazyCondition.where(true)).stats();
+        //then
+        assertThat(stats.evaluationCount()).isZero();
+        assertThat(stats.savedRate()).isZero();
+    }
+
+    @Test
+    public void compiledRulesMatchEvaluatingEachRule() {
+        //given
+        final RandomConditions random = new RandomConditions(42L, 6);
+        final List<LazyCondition> conditions = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            final LazyCondition expression = random.expression();
+            conditions.add(expression);
+            conditions.add(expression.not());
+        }
+        final RuleSet rules = RuleSet.compile(conditions);
+        for (int row = 0; row < 100; row++) {
+            random.nextRow();
+            //when
+            final boolean[] results = rules.evaluate();
+            //then
+            for (int i = 0; i < conditions.size(); i++) {
+                assertThat(results[i]).as("row %d, rule %d", row, i).isEqualTo(conditions.get(i).isTrue());
+            }
+        }
+    }
+
+    @Test
+    public void compiledConditionsShareClausesWithTheirSource() {
+        //given
+        final BooleanSupplier shared = counted(true);
+        final LazyCondition source = LazyCondition.when(shared).and(() -> true);
+        final RuleSet rules = RuleSet.compile(ConditionCompiler.compile(source), LazyCondition.when(shared));
+        //when
+        final boolean[] results = rules.evaluate();
+        //then
+        assertThat(results).containsExactly(true, true);
+        assertThat(calls).hasValue(1);
+    }
+
+}
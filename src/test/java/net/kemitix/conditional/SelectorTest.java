@@ -0,0 +1,184 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class SelectorTest implements WithAssertions {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private <T> Supplier<T> counted(final T value) {
+        return () -> {
+            calls.incrementAndGet();
+            return value;
+        };
+    }
+
+    private enum Level {
+        LOW, MEDIUM, HIGH, SEVERE
+    }
+
+    /**
+     * A key with a fixed hash code, to force collisions.
+     */
+    private static final class Colliding {
+
+        private final String name;
+
+        Colliding(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Colliding && ((Colliding) other).name.equals(name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+
+    }
+
+    @Test
+    public void enumSelectsTheCaseOrOtherwise() {
+        //given
+        final Selector<Level, String> selector = Value.<Level, String>match(Level.class)
+                .when(Level.LOW, () -> "low")
+                .when(Level.HIGH, () -> "high")
+                .otherwise(() -> "other");
+        //then
+        assertThat(selector.select(Level.LOW)).isEqualTo("low");
+        assertThat(selector.select(Level.HIGH)).isEqualTo("high");
+        assertThat(selector.select(Level.MEDIUM)).isEqualTo("other");
+        assertThat(selector.select(null)).isEqualTo("other");
+    }
+
+    @Test
+    public void onlyTheSelectedSupplierIsCalled() {
+        //given
+        final Selector<String, Integer> selector = Selector.<String, Integer>forKeys()
+                .when("one", counted(1))
+                .when("two", counted(2))
+                .otherwise(counted(0));
+        //when
+        final Integer value = selector.select("two");
+        //then
+        assertThat(value).isEqualTo(2);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    public void stringKeysSelectTheCaseOrOtherwise() {
+        //given
+        final Selector.Builder<String, Integer> builder = Value.match();
+        for (int i = 0; i < 200; i++) {
+            final int value = i;
+            builder.when("key" + i, () -> value);
+        }
+        final Selector<String, Integer> selector = builder.otherwise(() -> -1);
+        //then
+        for (int i = 0; i < 200; i++) {
+            assertThat(selector.select("key" + i)).isEqualTo(i);
+        }
+        assertThat(selector.select("key200")).isEqualTo(-1);
+        assertThat(selector.select("")).isEqualTo(-1);
+        assertThat(selector.select(null)).isEqualTo(-1);
+    }
+
+    @Test
+    public void keysSharingAHashCodeStillSelectTheirCase() {
+        //given
+        final Selector<Colliding, String> selector = Selector.<Colliding, String>forKeys()
+                .when(new Colliding("a"), () -> "a")
+                .when(new Colliding("b"), () -> "b")
+                .otherwise(() -> "other");
+        //then
+        assertThat(selector.select(new Colliding("a"))).isEqualTo("a");
+        assertThat(selector.select(new Colliding("b"))).isEqualTo("b");
+        assertThat(selector.select(new Colliding("c"))).isEqualTo("other");
+    }
+
+    @Test
+    public void denseIntKeys() {
+        //given
+        final IntSelector<String> selector = Value.<String>matchInt()
+                .when(-2, () -> "minus two")
+                .when(0, () -> "zero")
+                .when(3, () -> "three")
+                .otherwise(() -> "other");
+        //then
+        assertThat(selector.select(-2)).isEqualTo("minus two");
+        assertThat(selector.select(0)).isEqualTo("zero");
+        assertThat(selector.select(3)).isEqualTo("three");
+        assertThat(selector.select(-3)).isEqualTo("other");
+        assertThat(selector.select(1)).isEqualTo("other");
+        assertThat(selector.select(4)).isEqualTo("other");
+        assertThat(selector.select(Integer.MIN_VALUE)).isEqualTo("other");
+        assertThat(selector.select(Integer.MAX_VALUE)).isEqualTo("other");
+    }
+
+    @Test
+    public void sparseIntKeys() {
+        //given
+        final IntSelector.Builder<Integer> builder = IntSelector.builder();
+        for (int i = 0; i < 64; i++) {
+            final int value = i;
+            builder.when(i * 1_000_003, () -> value);
+        }
+        builder.when(Integer.MIN_VALUE, () -> -2);
+        final IntSelector<Integer> selector = builder.otherwise(() -> -1);
+        //then
+        for (int i = 0; i < 64; i++) {
+            assertThat(selector.select(i * 1_000_003)).isEqualTo(i);
+            assertThat(selector.select(i * 1_000_003 + 1)).isEqualTo(-1);
+        }
+        assertThat(selector.select(Integer.MIN_VALUE)).isEqualTo(-2);
+    }
+
+    @Test
+    public void noCasesAlwaysSelectsOtherwise() {
+        assertThat(IntSelector.<String>builder().otherwise(() -> "other").select(0)).isEqualTo("other");
+        assertThat(Selector.<String, String>forKeys().otherwise(() -> "other").select("a")).isEqualTo("other");
+    }
+
+    @Test
+    public void duplicateCaseIsRejected() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> Selector.<Level, String>forEnum(Level.class)
+                        .when(Level.LOW, () -> "a")
+                        .when(Level.LOW, () -> "b"))
+                .withMessageContaining("LOW");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> IntSelector.<String>builder()
+                        .when(1, () -> "a")
+                        .when(1, () -> "b"))
+                .withMessageContaining("1");
+    }
+
+    @Test
+    public void perfectHashSlotsAreDistinct() {
+        //given
+        final int[] hashes = new int[1000];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = ("case" + i).hashCode();
+        }
+        //when
+        final PerfectHash hash = PerfectHash.find(hashes);
+        //then
+        assertThat(hash).isNotNull();
+        final boolean[] used = new boolean[hash.size()];
+        for (final int h : hashes) {
+            assertThat(used[hash.slot(h)]).isFalse();
+            used[hash.slot(h)] = true;
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class ValueSelectTest implements WithAssertions {
+
+    private static final int SIZE = 3 * Blend.CHUNK + 17;
+
+    private final Random random = new Random(42L);
+    private final boolean[] flags = new boolean[SIZE];
+    private final BitSet bitSet = new BitSet(SIZE);
+
+    {
+        for (int i = 0; i < SIZE; i++) {
+            flags[i] = random.nextBoolean();
+            bitSet.set(i, flags[i]);
+        }
+    }
+
+    private Mask[] masks() {
+        return new Mask[]{Mask.of(flags), Mask.of(bitSet), Mask.of(bitSet.toLongArray())};
+    }
+
+    @Test
+    public void maskIndexesBeyondTheEndAreNotSelected() {
+        //given
+        final Mask words = Mask.of(new long[]{-1L});
+        final Mask booleans = Mask.of(new boolean[]{true});
+        //then
+        assertThat(words.isSelected(63)).isTrue();
+        assertThat(words.isSelected(64)).isFalse();
+        assertThat(booleans.isSelected(0)).isTrue();
+        assertThat(booleans.isSelected(1)).isFalse();
+    }
+
+    @Test
+    public void selectObjectsFromArrays() {
+        //given
+        final String[] whenTrue = IntStream.range(0, SIZE).mapToObj(i -> "t" + i).toArray(String[]::new);
+        final String[] whenFalse = IntStream.range(0, SIZE).mapToObj(i -> "f" + i).toArray(String[]::new);
+        for (final Mask mask : masks()) {
+            final String[] sequential = new String[SIZE];
+            final String[] parallel = new String[SIZE];
+            //when
+            Value.select(mask, whenTrue, whenFalse, sequential);
+            Value.parallelSelect(mask, whenTrue, whenFalse, parallel);
+            //then
+            for (int i = 0; i < SIZE; i++) {
+                assertThat(sequential[i]).isSameAs(flags[i] ? whenTrue[i] : whenFalse[i]);
+            }
+            assertThat(parallel).containsExactly(sequential);
+        }
+    }
+
+    @Test
+    public void selectObjectsFromFunctionsCallsOnlyOneFunctionPerIndex() {
+        //given
+        final AtomicInteger calls = new AtomicInteger();
+        final Integer[] destination = new Integer[SIZE];
+        //when
+        Value.parallelSelect(Mask.of(flags),
+                i -> {
+                    calls.incrementAndGet();
+                    return i;
+                },
+                i -> {
+                    calls.incrementAndGet();
+                    return -i;
+                },
+                destination);
+        //then
+        assertThat(calls).hasValue(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            assertThat(destination[i]).isEqualTo(flags[i] ? i : -i);
+        }
+    }
+
+    @Test
+    public void selectInts() {
+        //given
+        final int[] whenTrue = IntStream.range(0, SIZE).toArray();
+        final int[] whenFalse = IntStream.range(0, SIZE).map(i -> -i).toArray();
+        for (final Mask mask : masks()) {
+            final int[] fromArrays = new int[SIZE];
+            final int[] fromFunctions = new int[SIZE];
+            final int[] parallel = new int[SIZE];
+            //when
+            IntValue.select(mask, whenTrue, whenFalse, fromArrays);
+            IntValue.select(mask, i -> i, i -> -i, fromFunctions);
+            IntValue.parallelSelect(mask, whenTrue, whenFalse, parallel);
+            //then
+            for (int i = 0; i < SIZE; i++) {
+                assertThat(fromArrays[i]).isEqualTo(flags[i] ? i : -i);
+            }
+            assertThat(fromFunctions).containsExactly(fromArrays);
+            assertThat(parallel).containsExactly(fromArrays);
+        }
+    }
+
+    @Test
+    public void selectLongs() {
+        //given
+        final long[] whenTrue = IntStream.range(0, SIZE).asLongStream().toArray();
+        final long[] whenFalse = IntStream.range(0, SIZE).asLongStream().map(i -> -i).toArray();
+        for (final Mask mask : masks()) {
+            final long[] fromArrays = new long[SIZE];
+            final long[] parallelFunctions = new long[SIZE];
+            //when
+            LongValue.select(mask, whenTrue, whenFalse, fromArrays);
+            LongValue.parallelSelect(mask, i -> i, i -> -i, parallelFunctions);
+            //then
+            for (int i = 0; i < SIZE; i++) {
+                assertThat(fromArrays[i]).isEqualTo(flags[i] ? (long) i : (long) -i);
+            }
+            assertThat(parallelFunctions).containsExactly(fromArrays);
+        }
+    }
+
+    @Test
+    public void selectDoubles() {
+        //given
+        final double[] whenTrue = IntStream.range(0, SIZE).asDoubleStream().toArray();
+        final double[] whenFalse = IntStream.range(0, SIZE).asDoubleStream().map(i -> -i).toArray();
+        for (final Mask mask : masks()) {
+            final double[] fromArrays = new double[SIZE];
+            final double[] parallelFunctions = new double[SIZE];
+            //when
+            DoubleValue.select(mask, whenTrue, whenFalse, fromArrays);
+            DoubleValue.parallelSelect(mask, i -> i, i -> -i, parallelFunctions);
+            //then
+            for (int i = 0; i < SIZE; i++) {
+                assertThat(fromArrays[i]).isEqualTo(flags[i] ? (double) i : (double) -i);
+            }
+            assertThat(parallelFunctions).containsExactly(fromArrays);
+        }
+    }
+
+    @Test
+    public void selectWithBatchConditionMask() {
+        //given
+        final int[] column = IntStream.range(0, 100).toArray();
+        final Mask mask = Mask.of(BatchCondition.lessThan(column, 50).select(column.length));
+        final int[] destination = new int[column.length];
+        //when
+        IntValue.select(mask, i -> 1, i -> 0, destination);
+        //then
+        assertThat(IntStream.of(destination).sum()).isEqualTo(50);
+    }
+
+    @Test
+    public void sourceShorterThanDestinationIsRejected() {
+        assertThatExceptionOfType(ArrayIndexOutOfBoundsException.class)
+                .isThrownBy(() -> IntValue.select(Mask.of(flags), new int[1], new int[1], new int[2]));
+    }
+
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * @author Paul Campbell (pcampbell@kemitix.net).
@@ -18,6 +19,9 @@ public class ValueTest implements WithAssertions {
     private static final Condition TRUE_CONDITION = Condition.where(true);
     private static final Condition FALSE_CONDITION = Condition.where(false);
 
+    private static final Supplier<String> TRUE_SUPPLIER = () -> TRUE;
+    private static final Supplier<String> FALSE_SUPPLIER = () -> FALSE;
+
     @Test
     public void valueWhereClauseIsTrueTypeSafe() {
         //when
@@ -317,4 +321,42 @@ public class ValueTest implements WithAssertions {
         //then
         assertThat(result).isSameAs(TRUE);
     }
+
+    @Test
+    public void falseValueClausesShareValueSupplier() {
+        //when
+        final Value.ValueClause.ValueSupplier<String> first = Value.<String>where(false).then(() -> TRUE);
+        final Value.ValueClause.ValueSupplier<Integer> second = Value.<Integer>where(false).then(() -> 1);
+        //then
+        assertThat(first).isSameAs(second);
+    }
+
+    @Test
+    public void valueWhereDoesNotAllocate() {
+        //given
+        final boolean[] clauses = {true, false};
+        final AtomicInteger index = new AtomicInteger();
+        final Runnable where = () -> Value.where(clauses[index.getAndIncrement() & 1], TRUE_SUPPLIER, FALSE_SUPPLIER);
+        //then
+        assertThat(Allocations.bytesPerOperation(where)).isLessThan(1.0);
+    }
+
+    @Test
+    public void valueWhereFalseOptionalDoesNotAllocate() {
+        //given
+        final Runnable where = () -> Value.where(FALSE_CONDITION, TRUE_SUPPLIER);
+        //then
+        assertThat(Allocations.bytesPerOperation(where)).isLessThan(1.0);
+    }
+
+    @Test
+    public void valueClauseFalseDoesNotAllocate() {
+        //given
+        final Runnable where = () -> {
+            Value.<String>where(false).then(TRUE_SUPPLIER).otherwise(FALSE_SUPPLIER);
+            Value.<String>where(false).then(TRUE_SUPPLIER).optional();
+        };
+        //then
+        assertThat(Allocations.bytesPerOperation(where)).isLessThan(1.0);
+    }
 }
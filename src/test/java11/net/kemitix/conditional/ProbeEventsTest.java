@@ -0,0 +1,160 @@
+package net.kemitix.conditional;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class ProbeEventsTest implements WithAssertions {
+
+    /**
+     * Run the action while recording, and read back the events from this library.
+     */
+    private static List<RecordedEvent> record(
+            final Consumer<Recording> settings,
+            final Runnable action
+    ) throws IOException {
+        final Path file = Files.createTempFile("conditional", ".jfr");
+        try (Recording recording = new Recording()) {
+            settings.accept(recording);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("net.kemitix.conditional."))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> ofType(final List<RecordedEvent> events, final String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void probeEvaluationsAreRecorded() throws IOException {
+        //given
+        final Probe probe = new RecordingProbe("jfr.probe");
+        //when
+        final List<RecordedEvent> events = record(
+                recording -> recording.enable(ConditionEvaluatedEvent.NAME).withThreshold(Duration.ZERO),
+                () -> {
+                    probe.where(true);
+                    probe.when(() -> false);
+                    probe.evaluate(LazyCondition.when(() -> true).and(() -> true).or(() -> false));
+                    probe.value(true, () -> "yes", () -> "no");
+                });
+        //then
+        final List<RecordedEvent> evaluated = ofType(events, ConditionEvaluatedEvent.NAME);
+        assertThat(evaluated).hasSize(4);
+        assertThat(evaluated.stream().map(event -> event.getString("probe")).distinct().collect(Collectors.toList()))
+                .containsExactly("jfr.probe");
+        assertThat(evaluated.stream().map(event -> event.getBoolean("outcome")).collect(Collectors.toList()))
+                .containsExactly(true, false, true, true);
+        assertThat(evaluated.stream().map(event -> event.getInt("clauseCount")).collect(Collectors.toList()))
+                .containsExactly(1, 1, 3, 1);
+        assertThat(evaluated.get(2).getDuration().isNegative()).isFalse();
+    }
+
+    @Test
+    public void thrownExceptionsAreRecorded() throws IOException {
+        //when
+        final List<RecordedEvent> events = record(
+                recording -> recording.enable(ConditionThrownEvent.NAME),
+                () -> {
+                    assertThatExceptionOfType(IOException.class)
+                            .isThrownBy(() -> Condition.where(true).thenThrow(() -> new IOException("then")));
+                    assertThatExceptionOfType(IllegalStateException.class)
+                            .isThrownBy(() -> Condition.where(false)
+                                    .otherwiseThrow(() -> new IllegalStateException("otherwise")));
+                });
+        //then
+        final List<RecordedEvent> thrown = ofType(events, ConditionThrownEvent.NAME);
+        assertThat(thrown).hasSize(2);
+        assertThat(thrown.get(0).getString("operation")).isEqualTo("thenThrow");
+        assertThat(thrown.get(0).getClass("exceptionClass").getName()).isEqualTo(IOException.class.getName());
+        assertThat(thrown.get(0).getString("message")).isEqualTo("then");
+        assertThat(thrown.get(1).getString("operation")).isEqualTo("otherwiseThrow");
+        assertThat(thrown.get(1).getString("message")).isEqualTo("otherwise");
+    }
+
+    @Test
+    public void eventsAreDisabledByDefault() throws IOException {
+        //when
+        final List<RecordedEvent> events = record(
+                recording -> {
+                    // default settings
+                },
+                () -> {
+                    new RecordingProbe("jfr.default").when(() -> true);
+                    assertThatExceptionOfType(IOException.class)
+                            .isThrownBy(() -> Condition.where(true).thenThrow(() -> new IOException("default")));
+                });
+        //then
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    public void evaluationsUnderTheThresholdAreNotRecorded() throws IOException {
+        //when
+        final List<RecordedEvent> events = record(
+                recording -> recording.enable(ConditionEvaluatedEvent.NAME).withThreshold(Duration.ofSeconds(10)),
+                () -> new RecordingProbe("jfr.threshold").when(() -> true));
+        //then
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    public void disabledProbesEmitNoEvents() throws IOException {
+        //when
+        final List<RecordedEvent> events = record(
+                recording -> recording.enable(ConditionEvaluatedEvent.NAME).withThreshold(Duration.ZERO),
+                () -> {
+                    final Probe probe = new DisabledProbe("jfr.disabled");
+                    probe.where(true);
+                    probe.when(() -> true);
+                    probe.evaluate(LazyCondition.when(() -> true));
+                    probe.value(true, () -> "yes", () -> "no");
+                });
+        //then
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    public void conditionsStillThrowWithoutTheJfrModule() throws IOException, InterruptedException {
+        //given
+        final Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+        final ProcessBuilder builder = new ProcessBuilder(java.toString(),
+                "--limit-modules", "java.base,java.management",
+                "-cp", System.getProperty("java.class.path"),
+                WithoutJfr.class.getName())
+                .redirectErrorStream(true);
+        //when
+        final Process process = builder.start();
+        final String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        //then
+        assertThat(process.waitFor(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(output).isEqualTo(WithoutJfr.EXPECTED);
+        assertThat(process.exitValue()).isZero();
+    }
+
+}
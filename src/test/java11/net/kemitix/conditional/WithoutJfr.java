@@ -0,0 +1,34 @@
+package net.kemitix.conditional;
+
+import java.io.IOException;
+
+/**
+ * Throws from conditions and evaluates probes, for a JVM started without the {@code jdk.jfr} module.
+ *
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public final class WithoutJfr {
+
+    static final String EXPECTED = "IOException expected\nConditionFailedException failed\ntrue\n";
+
+    private WithoutJfr() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void main(final String[] args) {
+        final StringBuilder output = new StringBuilder();
+        try {
+            Condition.where(true).thenThrow(() -> new IOException("expected"));
+        } catch (Exception e) {
+            output.append(e.getClass().getSimpleName()).append(' ').append(e.getMessage()).append('\n');
+        }
+        try {
+            Condition.where(false).otherwiseFail("failed");
+        } catch (ConditionFailedException e) {
+            output.append(e.getClass().getSimpleName()).append(' ').append(e.getMessage()).append('\n');
+        }
+        output.append(new RecordingProbe("without.jfr").when(() -> true).isTrue()).append('\n');
+        System.out.print(output);
+    }
+
+}
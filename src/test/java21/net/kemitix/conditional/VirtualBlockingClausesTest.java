@@ -0,0 +1,45 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class VirtualBlockingClausesTest implements WithAssertions {
+
+    @Test
+    public void clausesRunOnVirtualThreads() throws Exception {
+        //given
+        final AtomicBoolean virtual = new AtomicBoolean();
+        //when
+        Condition.allOfBlocking(() -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            return true;
+        });
+        //then
+        assertThat(virtual.get()).isTrue();
+    }
+
+    @Test
+    public void cancelledClausesHaveFinishedOnReturn() throws Exception {
+        //given
+        final CountDownLatch finished = new CountDownLatch(1);
+        //when
+        Condition.anyOfBlocking(() -> {
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                return false;
+            } finally {
+                finished.countDown();
+            }
+        }, () -> true);
+        //then
+        assertThat(finished.getCount()).isEqualTo(0L);
+    }
+
+}
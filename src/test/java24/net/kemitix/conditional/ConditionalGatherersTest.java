@@ -0,0 +1,109 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class ConditionalGatherersTest implements WithAssertions {
+
+    private static final int SIZE = 100_000;
+
+    @Test
+    public void mappingSelectsTheFunctionForTheClause() {
+        //when
+        final List<String> result = Stream.of(1, 2, 3, 4)
+                .gather(ConditionalGatherers.mapping(i -> i % 2 == 0, i -> "even" + i, i -> "odd" + i))
+                .toList();
+        //then
+        assertThat(result).containsExactly("odd1", "even2", "odd3", "even4");
+    }
+
+    @Test
+    public void mappingInParallelMatchesSequential() {
+        //when
+        final List<Integer> parallel = IntStream.range(0, SIZE).boxed().parallel()
+                .gather(ConditionalGatherers.mapping(i -> i % 3 == 0, i -> i, i -> -i))
+                .toList();
+        //then
+        assertThat(parallel).isEqualTo(IntStream.range(0, SIZE).boxed().map(i -> i % 3 == 0 ? i : -i).toList());
+    }
+
+    @Test
+    public void routeMapsWithTheFunctionOfTheFirstMatchingClause() {
+        //when
+        final List<String> result = IntStream.range(0, 7).boxed()
+                .gather(ConditionalGatherers.route(
+                        List.<Predicate<Integer>>of(i -> i % 3 == 0, i -> i % 2 == 0),
+                        List.<Function<Integer, String>>of(i -> "three", i -> "two", i -> "other")))
+                .toList();
+        //then
+        assertThat(result).containsExactly("three", "other", "two", "three", "two", "other", "three");
+    }
+
+    @Test
+    public void routeNeedsAFunctionForNoClause() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> ConditionalGatherers.route(
+                        List.<Predicate<Integer>>of(i -> true),
+                        List.<Function<Integer, String>>of(i -> "only")));
+    }
+
+    @Test
+    public void partitionedPassesOnMatchingThenOthersInOrder() {
+        for (final boolean parallel : new boolean[]{false, true}) {
+            //given
+            final Stream<Integer> numbers = IntStream.range(0, SIZE).boxed();
+            //when
+            final List<Integer> result = (parallel ? numbers.parallel() : numbers)
+                    .gather(ConditionalGatherers.partitioned(i -> i % 2 == 0))
+                    .toList();
+            //then
+            assertThat(result.subList(0, SIZE / 2))
+                    .isEqualTo(IntStream.range(0, SIZE / 2).map(i -> i * 2).boxed().toList());
+            assertThat(result.subList(SIZE / 2, SIZE))
+                    .isEqualTo(IntStream.range(0, SIZE / 2).map(i -> i * 2 + 1).boxed().toList());
+        }
+    }
+
+    @Test
+    public void partitionedStopsWhenDownstreamIsDone() {
+        //when
+        final List<Integer> result = Stream.of(1, 2, 3, 4)
+                .gather(ConditionalGatherers.partitioned(i -> i > 2))
+                .limit(3)
+                .toList();
+        //then
+        assertThat(result).containsExactly(3, 4, 1);
+    }
+
+    @Test
+    public void conditionClausesAgreeWithPredicates() {
+        //when
+        final List<String> mapped = Stream.of(1, 2, 3, 4)
+                .gather(ConditionalGatherers.mappingWhere(i -> Condition.where(i % 2 == 0), i -> "even" + i,
+                        i -> "odd" + i))
+                .toList();
+        final List<String> routed = IntStream.range(0, 7).boxed()
+                .gather(ConditionalGatherers.routeWhere(
+                        List.<Function<Integer, Condition>>of(
+                                i -> Condition.where(i % 3 == 0), i -> Condition.where(i % 2 == 0)),
+                        List.<Function<Integer, String>>of(i -> "three", i -> "two", i -> "other")))
+                .toList();
+        final List<Integer> partitioned = Stream.of(1, 2, 3, 4)
+                .gather(ConditionalGatherers.partitionedWhere(i -> Condition.where(i % 2 == 0)))
+                .toList();
+        //then
+        assertThat(mapped).containsExactly("odd1", "even2", "odd3", "even4");
+        assertThat(routed).containsExactly("three", "other", "two", "three", "two", "other", "three");
+        assertThat(partitioned).containsExactly(2, 4, 1, 3);
+    }
+
+}
@@ -0,0 +1,421 @@
+package net.kemitix.conditional;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * @author Paul Campbell (pcampbell@kemitix.net).
+ */
+public class ConditionalFlowTest implements WithAssertions {
+
+    private static List<Integer> range(final int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    public void filterPassesOnOnlyMatchingItems() {
+        //given
+        final RangePublisher publisher = new RangePublisher(10);
+        final Recorder<Integer> recorder = new Recorder<>(Long.MAX_VALUE);
+        final Flow.Processor<Integer, Integer> processor = ConditionalFlow.filter(i -> i % 2 == 0);
+        //when
+        processor.subscribe(recorder);
+        publisher.subscribe(processor);
+        //then
+        assertThat(recorder.items).containsExactly(0, 2, 4, 6, 8);
+        assertThat(recorder.completed).isTrue();
+    }
+
+    @Test
+    public void mapAppliesTheFunctionForTheClause() {
+        //given
+        final RangePublisher publisher = new RangePublisher(5);
+        final Recorder<String> recorder = new Recorder<>(Long.MAX_VALUE);
+        final Flow.Processor<Integer, String> processor =
+                ConditionalFlow.map(i -> i < 2, i -> "low" + i, i -> "high" + i);
+        //when
+        processor.subscribe(recorder);
+        publisher.subscribe(processor);
+        //then
+        assertThat(recorder.items).containsExactly("low0", "low1", "high2", "high3", "high4");
+        assertThat(recorder.completed).isTrue();
+    }
+
+    @Test
+    public void splitRoutesToTheFirstMatchingClause() {
+        //given
+        final RangePublisher publisher = new RangePublisher(10);
+        final ConditionalSplit<Integer> split = ConditionalFlow.split(i -> i % 3 == 0, i -> i % 2 == 0);
+        final Recorder<Integer> threes = new Recorder<>(Long.MAX_VALUE);
+        final Recorder<Integer> evens = new Recorder<>(Long.MAX_VALUE);
+        final Recorder<Integer> others = new Recorder<>(Long.MAX_VALUE);
+        //when
+        split.route(0).subscribe(threes);
+        split.route(1).subscribe(evens);
+        split.otherwise().subscribe(others);
+        publisher.subscribe(split);
+        //then
+        assertThat(threes.items).containsExactly(0, 3, 6, 9);
+        assertThat(evens.items).containsExactly(2, 4, 8);
+        assertThat(others.items).containsExactly(1, 5, 7);
+        assertThat(threes.completed && evens.completed && others.completed).isTrue();
+    }
+
+    @Test
+    public void conditionClausesAgreeWithPredicates() {
+        //given
+        final RangePublisher publisher = new RangePublisher(10);
+        final Flow.Processor<Integer, Integer> filter =
+                ConditionalFlow.filterWhere(i -> Condition.where(i % 2 == 0).and(() -> i > 2));
+        final Flow.Processor<Integer, String> map =
+                ConditionalFlow.mapWhere(i -> Condition.where(i < 2), i -> "low" + i, i -> "high" + i);
+        final List<Function<Integer, Condition>> clauses =
+                Arrays.asList(i -> Condition.where(i % 3 == 0), i -> Condition.where(i % 2 == 0));
+        final ConditionalSplit<Integer> split = ConditionalFlow.splitWhere(clauses);
+        final Recorder<Integer> filtered = new Recorder<>(Long.MAX_VALUE);
+        final Recorder<String> mapped = new Recorder<>(Long.MAX_VALUE);
+        final Recorder<Integer> threes = new Recorder<>(Long.MAX_VALUE);
+        final Recorder<Integer> evens = new Recorder<>(Long.MAX_VALUE);
+        final Recorder<Integer> others = new Recorder<>(Long.MAX_VALUE);
+        //when
+        filter.subscribe(filtered);
+        map.subscribe(mapped);
+        split.route(0).subscribe(threes);
+        split.route(1).subscribe(evens);
+        split.otherwise().subscribe(others);
+        publisher.subscribe(filter);
+        new RangePublisher(5).subscribe(map);
+        new RangePublisher(10).subscribe(split);
+        //then
+        assertThat(filtered.items).containsExactly(4, 6, 8);
+        assertThat(mapped.items).containsExactly("low0", "low1", "high2", "high3", "high4");
+        assertThat(threes.items).containsExactly(0, 3, 6, 9);
+        assertThat(evens.items).containsExactly(2, 4, 8);
+        assertThat(others.items).containsExactly(1, 5, 7);
+    }
+
+    @Test
+    public void itemsAreOnlyDeliveredOnDemand() {
+        //given
+        final RangePublisher publisher = new RangePublisher(100);
+        final Recorder<Integer> recorder = new Recorder<>(0);
+        final Flow.Processor<Integer, Integer> processor = ConditionalFlow.filter(i -> true, 16);
+        processor.subscribe(recorder);
+        publisher.subscribe(processor);
+        //when
+        recorder.subscription.request(3);
+        //then
+        assertThat(recorder.items).containsExactly(0, 1, 2);
+        assertThat(publisher.requested()).isEqualTo(16L);
+        //when
+        recorder.subscription.request(Long.MAX_VALUE);
+        //then
+        assertThat(recorder.items).isEqualTo(range(100));
+        assertThat(recorder.completed).isTrue();
+    }
+
+    @Test
+    public void upstreamIsRequestedInBatches() {
+        //given
+        final RangePublisher publisher = new RangePublisher(1000);
+        final Recorder<Integer> recorder = new Recorder<>(Long.MAX_VALUE);
+        final Flow.Processor<Integer, Integer> processor = ConditionalFlow.filter(i -> i % 10 == 0, 16);
+        //when
+        processor.subscribe(recorder);
+        publisher.subscribe(processor);
+        //then
+        assertThat(recorder.items).hasSize(100);
+        assertThat(publisher.requests.stream().allMatch(n -> n >= 12 && n <= 16)).isTrue();
+        assertThat(publisher.requests.size()).isLessThanOrEqualTo(1000 / 12 + 1);
+    }
+
+    @Test
+    public void slowRouteHoldsBackUpstream() {
+        //given
+        final RangePublisher publisher = new RangePublisher(100);
+        final ConditionalSplit<Integer> split = ConditionalFlow.split(Collections.singletonList(i -> i % 2 == 0), 8);
+        final Recorder<Integer> evens = new Recorder<>(Long.MAX_VALUE);
+        final Recorder<Integer> odds = new Recorder<>(0);
+        split.route(0).subscribe(evens);
+        split.otherwise().subscribe(odds);
+        //when
+        publisher.subscribe(split);
+        //then
+        assertThat(publisher.requested()).isLessThanOrEqualTo(16L);
+        assertThat(evens.completed).isFalse();
+        //when
+        odds.subscription.cancel();
+        //then
+        assertThat(evens.items).hasSize(50);
+        assertThat(evens.completed).isTrue();
+        assertThat(odds.items).isEmpty();
+    }
+
+    @Test
+    public void cancellingEveryRouteCancelsUpstream() {
+        //given
+        final RangePublisher publisher = new RangePublisher(100);
+        final Recorder<Integer> recorder = new Recorder<>(1);
+        final Flow.Processor<Integer, Integer> processor = ConditionalFlow.filter(i -> true);
+        processor.subscribe(recorder);
+        publisher.subscribe(processor);
+        //when
+        recorder.subscription.cancel();
+        //then
+        assertThat(publisher.cancelled).isTrue();
+    }
+
+    @Test
+    public void upstreamErrorReachesEveryRouteAfterBufferedItems() {
+        //given
+        final ConditionalSplit<Integer> split = ConditionalFlow.split(i -> i > 0);
+        final Recorder<Integer> positive = new Recorder<>(Long.MAX_VALUE);
+        final Recorder<Integer> others = new Recorder<>(Long.MAX_VALUE);
+        split.route(0).subscribe(positive);
+        split.otherwise().subscribe(others);
+        final IllegalStateException error = new IllegalStateException("upstream");
+        //when
+        split.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(final long n) {
+                // items are sent directly
+            }
+
+            @Override
+            public void cancel() {
+                // nothing to cancel
+            }
+        });
+        split.onNext(1);
+        split.onError(error);
+        //then
+        assertThat(positive.items).containsExactly(1);
+        assertThat(positive.error).isSameAs(error);
+        assertThat(others.error).isSameAs(error);
+    }
+
+    @Test
+    public void failingClauseCancelsUpstreamAndErrors() {
+        //given
+        final RangePublisher publisher = new RangePublisher(10);
+        final Recorder<Integer> recorder = new Recorder<>(Long.MAX_VALUE);
+        final Flow.Processor<Integer, Integer> processor = ConditionalFlow.filter(i -> {
+            if (i == 3) {
+                throw new IllegalArgumentException("three");
+            }
+            return true;
+        });
+        processor.subscribe(recorder);
+        //when
+        publisher.subscribe(processor);
+        //then
+        assertThat(recorder.items).containsExactly(0, 1, 2);
+        assertThat(recorder.error).isInstanceOf(IllegalArgumentException.class);
+        assertThat(publisher.cancelled).isTrue();
+    }
+
+    @Test
+    public void functionReturningNullCancelsUpstreamAndErrors() {
+        //given
+        final RangePublisher publisher = new RangePublisher(10);
+        final Recorder<String> recorder = new Recorder<>(Long.MAX_VALUE);
+        final Flow.Processor<Integer, String> processor =
+                ConditionalFlow.map(i -> i < 3, i -> "low" + i, i -> null);
+        processor.subscribe(recorder);
+        //when
+        publisher.subscribe(processor);
+        //then
+        assertThat(recorder.items).containsExactly("low0", "low1", "low2");
+        assertThat(recorder.error).isInstanceOf(NullPointerException.class);
+        assertThat(publisher.cancelled).isTrue();
+    }
+
+    @Test
+    public void secondSubscriberIsRejected() {
+        //given
+        final Flow.Processor<Integer, Integer> processor = ConditionalFlow.filter(i -> true);
+        processor.subscribe(new Recorder<>(0));
+        final Recorder<Integer> second = new Recorder<>(0);
+        //when
+        processor.subscribe(second);
+        //then
+        assertThat(second.error).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void nonPositiveRequestIsAnError() {
+        //given
+        final RangePublisher publisher = new RangePublisher(10);
+        final Recorder<Integer> recorder = new Recorder<>(0);
+        final Flow.Processor<Integer, Integer> processor = ConditionalFlow.filter(i -> true);
+        processor.subscribe(recorder);
+        publisher.subscribe(processor);
+        //when
+        recorder.subscription.request(0);
+        //then
+        assertThat(recorder.error).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void unknownRouteIsRejected() {
+        assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                .isThrownBy(() -> ConditionalFlow.split(i -> true).route(1));
+    }
+
+    @Test
+    public void splitAcrossThreads() throws InterruptedException {
+        //given
+        final int count = 100_000;
+        final ConditionalSplit<Integer> split = ConditionalFlow.split(i -> i % 3 == 0, i -> i % 3 == 1);
+        final CountDownLatch finished = new CountDownLatch(3);
+        final AtomicInteger total = new AtomicInteger();
+        final List<Recorder<Integer>> routes = new ArrayList<>();
+        for (final Flow.Publisher<Integer> route : List.of(split.route(0), split.route(1), split.otherwise())) {
+            final Recorder<Integer> recorder = new Recorder<Integer>(7) {
+                @Override
+                public void onNext(final Integer item) {
+                    super.onNext(item);
+                    total.incrementAndGet();
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onComplete() {
+                    super.onComplete();
+                    finished.countDown();
+                }
+            };
+            routes.add(recorder);
+            route.subscribe(recorder);
+        }
+        //when
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(split);
+            for (int i = 0; i < count; i++) {
+                publisher.submit(i);
+            }
+        }
+        //then
+        assertThat(finished.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(total.get()).isEqualTo(count);
+        for (int route = 0; route < 3; route++) {
+            final int expected = route;
+            assertThat(routes.get(route).items.stream().allMatch(i -> i % 3 == expected)).isTrue();
+        }
+    }
+
+    /**
+     * Publishes 0 to count - 1, on the thread that requests them, recording each request.
+     */
+    private static class RangePublisher implements Flow.Publisher<Integer> {
+
+        private final int count;
+        private final List<Long> requests = new ArrayList<>();
+        private volatile boolean cancelled;
+
+        RangePublisher(final int count) {
+            this.count = count;
+        }
+
+        long requested() {
+            return requests.stream().mapToLong(Long::longValue).sum();
+        }
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Range(subscriber));
+        }
+
+        private class Range implements Flow.Subscription {
+
+            private final Flow.Subscriber<? super Integer> subscriber;
+            private long demand;
+            private int next;
+            private boolean emitting;
+
+            Range(final Flow.Subscriber<? super Integer> subscriber) {
+                this.subscriber = subscriber;
+            }
+
+            @Override
+            public void request(final long n) {
+                requests.add(n);
+                demand += n;
+                if (emitting) {
+                    return;
+                }
+                emitting = true;
+                while (demand > 0 && next < count && !cancelled) {
+                    demand--;
+                    subscriber.onNext(next++);
+                }
+                if (next == count && !cancelled) {
+                    next++;
+                    subscriber.onComplete();
+                }
+                emitting = false;
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+            }
+
+        }
+
+    }
+
+    /**
+     * Records the signals it receives, requesting the initial demand on subscribing.
+     */
+    private static class Recorder<T> implements Flow.Subscriber<T> {
+
+        private final long initialDemand;
+        final List<T> items = Collections.synchronizedList(new ArrayList<>());
+        Flow.Subscription subscription;
+        volatile boolean completed;
+        volatile Throwable error;
+
+        Recorder(final long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+        }
+
+        @Override
+        public void onNext(final T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+    }
+
+}